@@ -0,0 +1,44 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info.stats;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategy.SnakeCaseStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * Summary of flow RTT measurements of one flow direction collected over an aggregation window. All durations and the
+ * timestamp are in nanoseconds, the timestamp is the time of the latest measurement in the window.
+ */
+@Value
+@Builder
+@JsonNaming(value = SnakeCaseStrategy.class)
+public class FlowRttStatsEntry implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    String flowId;
+    String direction;
+    long timestamp;
+    int count;
+    long min;
+    long avg;
+    long max;
+    double percentile;
+    long percentileValue;
+}
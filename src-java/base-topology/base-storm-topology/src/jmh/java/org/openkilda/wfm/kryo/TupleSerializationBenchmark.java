@@ -0,0 +1,133 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.kryo;
+
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.rule.FlowApplyActions;
+import org.openkilda.messaging.info.rule.FlowEntry;
+import org.openkilda.messaging.info.rule.FlowInstructions;
+import org.openkilda.messaging.info.rule.FlowMatchField;
+import org.openkilda.messaging.info.rule.SwitchFlowEntries;
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.CommandContext;
+
+import org.apache.storm.Config;
+import org.apache.storm.serialization.DefaultKryoFactory;
+import org.apache.storm.serialization.KryoValuesDeserializer;
+import org.apache.storm.serialization.KryoValuesSerializer;
+import org.apache.storm.utils.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares serialization of a tuple passed between workers by the default Storm Kryo factory, which falls back to
+ * Java serialization for Kilda classes, and by {@link KildaKryoFactory}. The tuple carries a key, a message with a
+ * dump of switch rules and a command context, like tuples of hub and spoke bolts do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TupleSerializationBenchmark {
+    @Param({"java", "kryo"})
+    private String serialization;
+
+    @Param({"1", "100"})
+    private int rulesCount;
+
+    private KryoValuesSerializer serializer;
+    private KryoValuesDeserializer deserializer;
+    private List<Object> tuple;
+    private byte[] serializedTuple;
+
+    /**
+     * Creates serializers and the tuple.
+     */
+    @Setup
+    public void setUp() {
+        Map<String, Object> conf = Utils.readDefaultConfig();
+        if ("kryo".equals(serialization)) {
+            conf.put(Config.TOPOLOGY_KRYO_FACTORY, KildaKryoFactory.class.getName());
+            conf.put(Config.TOPOLOGY_FALL_BACK_ON_JAVA_SERIALIZATION, false);
+        } else {
+            conf.put(Config.TOPOLOGY_KRYO_FACTORY, DefaultKryoFactory.class.getName());
+            conf.put(Config.TOPOLOGY_FALL_BACK_ON_JAVA_SERIALIZATION, true);
+        }
+        serializer = new KryoValuesSerializer(conf);
+        deserializer = new KryoValuesDeserializer(conf);
+
+        SwitchId switchId = new SwitchId(1);
+        List<FlowEntry> rules = new ArrayList<>();
+        for (int i = 0; i < rulesCount; i++) {
+            rules.add(FlowEntry.builder()
+                    .cookie(0x4000_0000_0000_0000L + i)
+                    .tableId(2)
+                    .priority(32768)
+                    .version("OF_13")
+                    .packetCount(i * 100)
+                    .byteCount(i * 10000)
+                    .match(FlowMatchField.builder()
+                            .inPort(String.valueOf(i % 48 + 1))
+                            .vlanVid(String.valueOf(i + 100))
+                            .build())
+                    .instructions(FlowInstructions.builder()
+                            .applyActions(FlowApplyActions.builder()
+                                    .flowOutput(String.valueOf(i % 48 + 1))
+                                    .pushVlan("0x8100")
+                                    .build())
+                            .goToMeter((long) i + 32)
+                            .build())
+                    .build());
+        }
+        SwitchFlowEntries dump = SwitchFlowEntries.builder()
+                .switchId(switchId)
+                .flowEntries(rules)
+                .build();
+        String correlationId = "1d8a6c8e-2a3b-4c5d-8e9f-0a1b2c3d4e5f : fork";
+        tuple = Arrays.asList(
+                correlationId, new InfoMessage(dump, System.currentTimeMillis(), correlationId),
+                new CommandContext(correlationId));
+        serializedTuple = serializer.serialize(tuple);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(tuple);
+    }
+
+    @Benchmark
+    public List<Object> deserialize() {
+        return deserializer.deserialize(serializedTuple);
+    }
+}
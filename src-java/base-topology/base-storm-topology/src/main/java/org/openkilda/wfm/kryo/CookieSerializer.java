@@ -0,0 +1,49 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.kryo;
+
+import org.openkilda.model.cookie.CookieBase;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+import java.util.function.LongFunction;
+
+/**
+ * Writes a cookie as its raw value and restores it by the factory of the concrete cookie class, so one serializer
+ * instance must be registered per each cookie class.
+ */
+public class CookieSerializer<T extends CookieBase> extends Serializer<T> {
+    private final LongFunction<T> factory;
+
+    public CookieSerializer(LongFunction<T> factory) {
+        super(false, true);
+        this.factory = factory;
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, T cookie) {
+        output.writeLong(cookie.getValue());
+    }
+
+    @Override
+    public T read(Kryo kryo, Input input, Class<T> type) {
+        return factory.apply(input.readLong());
+    }
+}
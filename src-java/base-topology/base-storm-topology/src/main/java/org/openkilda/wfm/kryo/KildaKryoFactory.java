@@ -0,0 +1,110 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.kryo;
+
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.error.ErrorData;
+import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.model.MeterId;
+import org.openkilda.model.PathId;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.cookie.Cookie;
+import org.openkilda.model.cookie.ExclusionCookie;
+import org.openkilda.model.cookie.FlowSegmentCookie;
+import org.openkilda.model.cookie.FlowSharedSegmentCookie;
+import org.openkilda.model.cookie.PortColourCookie;
+import org.openkilda.model.cookie.ServiceCookie;
+import org.openkilda.wfm.CommandContext;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.serializers.JavaSerializer;
+import org.apache.storm.Config;
+import org.apache.storm.serialization.IKryoFactory;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * Kryo factory for tuples passed between workers. It's built against the Kryo version of storm-core (3.x), because
+ * Storm workers load that one.
+ * <p/>
+ * The default Storm factory serializes every class which is not registered in the topology config by Java
+ * serialization. This factory uses the Kryo default serializer for such classes instead, without a requirement to
+ * register them, so messages and payloads of hub and spoke bolts don't need to be listed one by one. They are
+ * serialized field by field. Model entities (e.g. {@code Flow}, {@code FlowPath}, {@code Switch}) declare
+ * {@code @DefaultSerializer(BeanSerializer.class)}, so they are serialized by their bean properties instead. Classes
+ * without a default constructor are instantiated bypassing constructors, the same way as Java serialization does.
+ * References are tracked, as model entities refer each other (a flow and its paths).
+ * <p/>
+ * Frequently passed classes are registered here to be written by an id instead of the class name, and value types
+ * of the model get compact serializers. The registration order defines the ids, so it must be the same in all
+ * workers of the topology, i.e. only append new registrations.
+ * <p/>
+ * Java serialization can be turned back by {@link Config#TOPOLOGY_FALL_BACK_ON_JAVA_SERIALIZATION} for serializable
+ * classes which are not registered here.
+ */
+public class KildaKryoFactory implements IKryoFactory {
+    @Override
+    public Kryo getKryo(Map conf) {
+        Kryo kryo = new Kryo();
+        kryo.setRegistrationRequired(false);
+        kryo.setReferences(true);
+        kryo.setInstantiatorStrategy(new Kryo.DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+        if (Boolean.TRUE.equals(conf.get(Config.TOPOLOGY_FALL_BACK_ON_JAVA_SERIALIZATION))) {
+            kryo.addDefaultSerializer(Serializable.class, JavaSerializer.class);
+        }
+        return kryo;
+    }
+
+    @Override
+    public void preRegister(Kryo kryo, Map conf) {
+        kryo.register(SwitchId.class, new SwitchIdSerializer());
+        kryo.register(PathId.class, new PathIdSerializer());
+        kryo.register(MeterId.class, new MeterIdSerializer());
+        kryo.register(Cookie.class, new CookieSerializer<>(Cookie::new));
+        kryo.register(FlowSegmentCookie.class, new CookieSerializer<>(FlowSegmentCookie::new));
+        kryo.register(FlowSharedSegmentCookie.class, new CookieSerializer<>(FlowSharedSegmentCookie::new));
+        kryo.register(ServiceCookie.class, new CookieSerializer<>(ServiceCookie::new));
+        kryo.register(PortColourCookie.class, new CookieSerializer<>(PortColourCookie::new));
+        kryo.register(ExclusionCookie.class, new CookieSerializer<>(ExclusionCookie::new));
+
+        kryo.register(CommandContext.class);
+        kryo.register(InfoMessage.class);
+        kryo.register(CommandMessage.class);
+        kryo.register(ErrorMessage.class);
+        kryo.register(ErrorData.class);
+
+        // model entities expose path segments as unmodifiable lists
+        kryo.register(Collections.unmodifiableList(new ArrayList<>()).getClass(), new UnmodifiableListSerializer());
+        kryo.register(Collections.unmodifiableList(new LinkedList<>()).getClass(), new UnmodifiableListSerializer());
+    }
+
+    @Override
+    public void postRegister(Kryo kryo, Map conf) {
+        // no-op
+    }
+
+    @Override
+    public void postDecorate(Kryo kryo, Map conf) {
+        // no-op
+    }
+}
@@ -0,0 +1,43 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.kryo;
+
+import org.openkilda.model.MeterId;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Writes {@link MeterId} as its numeric value, meter ids are small, so the value is variable length encoded.
+ */
+public class MeterIdSerializer extends Serializer<MeterId> {
+    public MeterIdSerializer() {
+        super(false, true);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, MeterId meterId) {
+        output.writeVarLong(meterId.getValue(), true);
+    }
+
+    @Override
+    public MeterId read(Kryo kryo, Input input, Class<MeterId> type) {
+        return new MeterId(input.readVarLong(true));
+    }
+}
@@ -35,7 +35,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Random;
+import java.util.OptionalLong;
 
 /**
  * The resource pool is responsible for meter de-/allocation.
@@ -49,7 +49,7 @@ public class MeterPool {
     private final MeterId maxMeterId;
     private final int poolSize;
 
-    private Map<SwitchId, MeterId> nextMeters = new HashMap<>();
+    private final Map<SwitchId, ResourceIdBitmap> switchMeters = new HashMap<>();
 
     public MeterPool(PersistenceManager persistenceManager, MeterId minMeterId, MeterId maxMeterId, int poolSize) {
         transactionManager = persistenceManager.getTransactionManager();
@@ -66,48 +66,22 @@ public class MeterPool {
      */
     @TransactionRequired
     public MeterId allocate(SwitchId switchId, String flowId, PathId pathId) {
-        MeterId nextMeter = nextMeters.get(switchId);
-        if (nextMeter != null && nextMeter.getValue() > 0) {
-            if (nextMeter.compareTo(maxMeterId) <= 0 && !flowMeterRepository.exists(switchId, nextMeter)) {
-                addMeter(flowId, pathId, switchId, nextMeter);
-                nextMeters.put(switchId, new MeterId(nextMeter.getValue() + 1));
-                return nextMeter;
-            } else {
-                nextMeters.remove(switchId);
-            }
-        }
-        // The pool requires (re-)initialization.
-        if (!nextMeters.containsKey(switchId)) {
-            long numOfPools = (maxMeterId.getValue() - minMeterId.getValue()) / poolSize;
-            if (numOfPools > 1) {
-                long poolToTake = Math.abs(new Random().nextInt()) % numOfPools;
-                Optional<MeterId> availableMeter = flowMeterRepository.findFirstUnassignedMeter(switchId,
-                        new MeterId(minMeterId.getValue() + poolToTake * poolSize),
-                        new MeterId(minMeterId.getValue() + (poolToTake + 1) * poolSize - 1));
-                if (availableMeter.isPresent()) {
-                    nextMeter = availableMeter.get();
-                    addMeter(flowId, pathId, switchId, nextMeter);
-                    nextMeters.put(switchId, new MeterId(nextMeter.getValue() + 1));
-                    return nextMeter;
-                }
-            }
-            // The pool requires full scan.
-            nextMeter = new MeterId(-1);
-            nextMeters.put(switchId, nextMeter);
-        }
-        if (nextMeter != null && nextMeter.getValue() == -1) {
-            Optional<MeterId> availableMeter = flowMeterRepository.findFirstUnassignedMeter(switchId,
-                    minMeterId, maxMeterId);
-            if (availableMeter.isPresent()) {
-                nextMeter = availableMeter.get();
-                addMeter(flowId, pathId, switchId, nextMeter);
-                nextMeters.put(switchId, new MeterId(nextMeter.getValue() + 1));
-                return nextMeter;
-            }
+        OptionalLong availableMeter = getSwitchMeters(switchId).allocate(
+                meterId -> flowMeterRepository.exists(switchId, new MeterId(meterId)),
+                () -> flowMeterRepository.findMeterIdsBySwitch(switchId).stream().mapToLong(MeterId::getValue));
+        if (availableMeter.isPresent()) {
+            MeterId meterId = new MeterId(availableMeter.getAsLong());
+            addMeter(flowId, pathId, switchId, meterId);
+            return meterId;
         }
         throw new ResourceNotAvailableException(format("No meter available for switch %s", switchId));
     }
 
+    private ResourceIdBitmap getSwitchMeters(SwitchId switchId) {
+        return switchMeters.computeIfAbsent(switchId,
+                ignore -> new ResourceIdBitmap(minMeterId.getValue(), maxMeterId.getValue(), poolSize));
+    }
+
     private void addMeter(String flowId, PathId pathId, SwitchId switchId, MeterId meterId) {
         FlowMeter flowMeter = FlowMeter.builder()
                 .meterId(meterId)
@@ -129,7 +103,10 @@ public class MeterPool {
                     .map(Optional::get)
                     .collect(toList());
 
-            meters.forEach(flowMeterRepository::remove);
+            meters.forEach(meter -> {
+                flowMeterRepository.remove(meter);
+                getSwitchMeters(meter.getSwitchId()).release(meter.getMeterId().getValue());
+            });
         });
     }
 }
@@ -0,0 +1,123 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static java.lang.String.format;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.BitSet;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * In-memory index of assigned resource ids in the range [minId, maxId]. It lets a resource pool find an unassigned id
+ * without range queries to the database, which only confirms that the found id is still free.
+ * <p/>
+ * The index is loaded on the first allocation and kept consistent on allocations and deallocations made via the pool.
+ * Ids allocated by other workers are detected by the confirmation, ids released by other workers (or kept by
+ * rolled back transactions) are picked up when the index runs out of unassigned ids and gets reloaded.
+ * <p/>
+ * The implementation is not thread-safe.
+ */
+@Slf4j
+public class ResourceIdBitmap {
+    private final long minId;
+    private final long maxId;
+    private final int poolSize;
+    private final Random random = new Random();
+
+    private final BitSet assigned;
+    private boolean loaded;
+    private int nextIndex;
+
+    public ResourceIdBitmap(long minId, long maxId, int poolSize) {
+        if (maxId < minId || maxId - minId >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(format("Invalid resource id range %d - %d", minId, maxId));
+        }
+        this.minId = minId;
+        this.maxId = maxId;
+        this.poolSize = poolSize;
+        this.assigned = new BitSet((int) (maxId - minId + 1));
+    }
+
+    /**
+     * Finds an unassigned id and marks it as assigned.
+     *
+     * @param existsInStore checks whether the id is already assigned in the database.
+     * @param loader provides all assigned ids to (re-)load the index.
+     * @return the found id or empty if all ids are assigned.
+     */
+    public OptionalLong allocate(LongPredicate existsInStore, Supplier<LongStream> loader) {
+        if (!loaded) {
+            load(loader);
+        }
+        OptionalLong result = findUnassigned(existsInStore);
+        if (!result.isPresent()) {
+            log.debug("No unassigned id in range {} - {}, reloading the index", minId, maxId);
+            load(loader);
+            result = findUnassigned(existsInStore);
+        }
+        return result;
+    }
+
+    /**
+     * Marks the id as unassigned.
+     */
+    public void release(long id) {
+        if (id >= minId && id <= maxId) {
+            assigned.clear((int) (id - minId));
+        }
+    }
+
+    private OptionalLong findUnassigned(LongPredicate existsInStore) {
+        int index;
+        while ((index = nextUnassignedIndex()) >= 0) {
+            assigned.set(index);
+            nextIndex = index + 1;
+            long id = minId + index;
+            if (!existsInStore.test(id)) {
+                return OptionalLong.of(id);
+            }
+            // The id has been assigned by another worker.
+        }
+        return OptionalLong.empty();
+    }
+
+    private int nextUnassignedIndex() {
+        int size = (int) (maxId - minId + 1);
+        int index = assigned.nextClearBit(nextIndex);
+        if (index >= size) {
+            index = assigned.nextClearBit(0);
+        }
+        return index < size ? index : -1;
+    }
+
+    private void load(Supplier<LongStream> loader) {
+        assigned.clear();
+        loader.get()
+                .filter(id -> id >= minId && id <= maxId)
+                .forEach(id -> assigned.set((int) (id - minId)));
+
+        // Start from a random sub-pool to lower the chance of conflicts with other workers.
+        long numOfPools = (maxId - minId) / poolSize;
+        nextIndex = numOfPools > 1 ? random.nextInt((int) numOfPools) * poolSize : 0;
+        loaded = true;
+    }
+}
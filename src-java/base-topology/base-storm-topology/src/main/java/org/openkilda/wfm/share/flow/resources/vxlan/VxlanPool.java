@@ -24,13 +24,14 @@ import org.openkilda.persistence.repositories.VxlanRepository;
 import org.openkilda.persistence.tx.TransactionManager;
 import org.openkilda.persistence.tx.TransactionRequired;
 import org.openkilda.wfm.share.flow.resources.EncapsulationResourcesProvider;
+import org.openkilda.wfm.share.flow.resources.ResourceIdBitmap;
 import org.openkilda.wfm.share.flow.resources.ResourceNotAvailableException;
 
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collection;
 import java.util.Optional;
-import java.util.Random;
+import java.util.OptionalLong;
 
 /**
  * The resource pool is responsible for vxlan de-/allocation.
@@ -40,20 +41,14 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
     private final TransactionManager transactionManager;
     private final VxlanRepository vxlanRepository;
 
-    private final int minVxlan;
-    private final int maxVxlan;
-    private final int poolSize;
-
-    private int nextVxlan = 0;
+    private final ResourceIdBitmap vxlans;
 
     public VxlanPool(PersistenceManager persistenceManager, int minVxlan, int maxVxlan, int poolSize) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         vxlanRepository = repositoryFactory.createVxlanRepository();
 
-        this.minVxlan = minVxlan;
-        this.maxVxlan = maxVxlan;
-        this.poolSize = poolSize;
+        vxlans = new ResourceIdBitmap(minVxlan, maxVxlan, poolSize);
     }
 
     /**
@@ -67,36 +62,10 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
 
     @TransactionRequired
     private VxlanEncapsulation allocate(Flow flow, PathId pathId) {
-        if (nextVxlan > 0) {
-            if (nextVxlan <= maxVxlan && !vxlanRepository.exists(nextVxlan)) {
-                return addVxlan(flow, pathId, nextVxlan++);
-            } else {
-                nextVxlan = 0;
-            }
-        }
-        // The pool requires (re-)initialization.
-        if (nextVxlan == 0) {
-            long numOfPools = (maxVxlan - minVxlan) / poolSize;
-            if (numOfPools > 1) {
-                long poolToTake = Math.abs(new Random().nextInt()) % numOfPools;
-                Optional<Integer> availableVxlan = vxlanRepository.findFirstUnassignedVxlan(
-                        minVxlan + (int) poolToTake * poolSize,
-                        minVxlan + (int) (poolToTake + 1) * poolSize - 1);
-                if (availableVxlan.isPresent()) {
-                    nextVxlan = availableVxlan.get();
-                    return addVxlan(flow, pathId, nextVxlan++);
-                }
-            }
-            // The pool requires full scan.
-            nextVxlan = -1;
-        }
-        if (nextVxlan == -1) {
-            Optional<Integer> availableVxlan = vxlanRepository.findFirstUnassignedVxlan(minVxlan,
-                    maxVxlan);
-            if (availableVxlan.isPresent()) {
-                nextVxlan = availableVxlan.get();
-                return addVxlan(flow, pathId, nextVxlan++);
-            }
+        OptionalLong availableVxlan = vxlans.allocate(vxlan -> vxlanRepository.exists((int) vxlan),
+                () -> vxlanRepository.findAllVnis().stream().mapToLong(Integer::longValue));
+        if (availableVxlan.isPresent()) {
+            return addVxlan(flow, pathId, (int) availableVxlan.getAsLong());
         }
         throw new ResourceNotAvailableException("No vxlan available");
     }
@@ -121,7 +90,10 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
     public void deallocate(PathId pathId) {
         transactionManager.doInTransaction(() ->
                 vxlanRepository.findByPathId(pathId, null)
-                        .forEach(vxlanRepository::remove));
+                        .forEach(vxlan -> {
+                            vxlanRepository.remove(vxlan);
+                            vxlans.release(vxlan.getVni());
+                        }));
     }
 
     /**
@@ -17,39 +17,200 @@ package org.openkilda.wfm.share.history.bolt;
 
 import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
 
+import org.openkilda.bluegreen.LifecycleEvent;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.context.PersistenceContextRequired;
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
 import org.openkilda.wfm.share.history.service.HistoryService;
+import org.openkilda.wfm.share.metrics.MeterRegistryHolder;
+import org.openkilda.wfm.share.zk.ZkStreams;
+import org.openkilda.wfm.share.zk.ZooKeeperBolt;
 
+import com.google.common.annotations.VisibleForTesting;
+import lombok.Value;
 import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Stores flow history records.
+ * <p/>
+ * With the batch size greater than 1 records are collected and written in a single transaction once the batch is
+ * full or its oldest record waits longer than the batch window. Tuples of collected records are acked only after they
+ * are stored, so if the history falls behind, spouts are throttled by max spout pending instead of piling records up in
+ * memory. Collected records are also stored on the lifecycle shutdown event and on the bolt cleanup.
+ */
 public class HistoryBolt extends AbstractBolt {
+    private static final int TICK_INTERVAL_SECONDS = 1;
+
     private final PersistenceManager persistenceManager;
+    private final int batchSize;
+    private final long batchWindowMillis;
+    private final Clock clock;
+
     private transient HistoryService historyService;
+    private transient List<PendingRecord> pending;
+    private transient boolean deferAck;
 
     public HistoryBolt(PersistenceManager persistenceManager) {
+        this(persistenceManager, null, 1, Duration.ZERO, null);
+    }
+
+    /**
+     * Create the bolt which stores history records in batches.
+     *
+     * @param lifeCycleEventSourceComponent source of lifecycle events, null if the bolt doesn't handle them
+     * @param batchSize max number of records stored in a single transaction, 1 disables batching
+     * @param batchWindow max time a record waits for the batch to be filled
+     * @param meterOutputStream stream for lag and batch metrics, null disables metrics
+     */
+    public HistoryBolt(PersistenceManager persistenceManager, String lifeCycleEventSourceComponent, int batchSize,
+                       Duration batchWindow, String meterOutputStream) {
+        this(persistenceManager, lifeCycleEventSourceComponent, batchSize, batchWindow, meterOutputStream,
+                Clock.systemUTC());
+    }
+
+    @VisibleForTesting
+    HistoryBolt(PersistenceManager persistenceManager, String lifeCycleEventSourceComponent, int batchSize,
+                Duration batchWindow, String meterOutputStream, Clock clock) {
+        super(lifeCycleEventSourceComponent);
         this.persistenceManager = persistenceManager;
+        this.batchSize = Math.max(batchSize, 1);
+        this.batchWindowMillis = batchWindow.toMillis();
+        this.clock = clock;
+        if (meterOutputStream != null) {
+            enableMeterRegistry("kilda.flow_history", meterOutputStream);
+        }
     }
 
     @Override
     protected void init() {
         historyService = new HistoryService(persistenceManager);
+        pending = new ArrayList<>();
+    }
+
+    @Override
+    protected void dispatch(Tuple input) throws Exception {
+        if (TupleUtils.isTick(input) && !isBatchWindowExpired()) {
+            // don't push metrics on every tick
+            return;
+        }
+        super.dispatch(input);
     }
 
     @Override
     protected void handleInput(Tuple input) throws Exception {
+        if (TupleUtils.isTick(input)) {
+            flush();
+            return;
+        }
+
         Object payload = input.getValueByField(FIELD_ID_PAYLOAD);
-        if (payload instanceof FlowHistoryHolder) {
+        if (!(payload instanceof FlowHistoryHolder)) {
+            log.error("Skip undefined payload: {}", payload);
+        } else if (batchSize == 1) {
             historyService.store((FlowHistoryHolder) payload);
         } else {
-            log.error("Skip undefined payload: {}", payload);
+            pending.add(new PendingRecord((FlowHistoryHolder) payload, input, clock.millis()));
+            deferAck = true;
+            MeterRegistryHolder.getRegistry().ifPresent(
+                    registry -> registry.gauge("history.pending", pending, List::size));
+            if (pending.size() >= batchSize || isBatchWindowExpired()) {
+                flush();
+            }
         }
     }
 
+    @Override
+    protected void ack(Tuple input) {
+        if (deferAck) {
+            // the record is acked when it is stored
+            deferAck = false;
+        } else {
+            super.ack(input);
+        }
+    }
+
+    @Override
+    protected boolean deactivate(LifecycleEvent event) {
+        flush();
+        return true;
+    }
+
+    @Override
+    @PersistenceContextRequired(requiresNew = true)
+    public void cleanup() {
+        // storm doesn't guarantee the cleanup call on a cluster, the shutdown lifecycle event is the main way to store
+        // collected records before the bolt is stopped
+        flush();
+        super.cleanup();
+    }
+
+    @Override
+    protected CommandContext setupCommandContext() {
+        if (TupleUtils.isTick(getCurrentTuple())) {
+            return new CommandContext();
+        }
+        return super.setupCommandContext();
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        if (batchSize == 1) {
+            return null;
+        }
+        return TupleUtils.putTickFrequencyIntoComponentConfig(null, TICK_INTERVAL_SECONDS);
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
+        super.declareOutputFields(declarer);
+        declarer.declareStream(ZkStreams.ZK.toString(),
+                new Fields(ZooKeeperBolt.FIELD_ID_STATE, ZooKeeperBolt.FIELD_ID_CONTEXT));
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<PendingRecord> batch = new ArrayList<>(pending);
+        pending.clear();
+
+        long startTime = System.nanoTime();
+        historyService.store(batch.stream().map(PendingRecord::getHolder).collect(Collectors.toList()));
+        long storeDuration = System.nanoTime() - startTime;
+
+        // failed records are logged by the service, there is nothing to retry them from
+        batch.forEach(each -> super.ack(each.getTuple()));
+
+        long lag = clock.millis() - batch.get(0).getReceivedAt();
+        MeterRegistryHolder.getRegistry().ifPresent(registry -> {
+            registry.timer("history.lag").record(lag, TimeUnit.MILLISECONDS);
+            registry.timer("history.store").record(storeDuration, TimeUnit.NANOSECONDS);
+            registry.counter("history.stored").increment(batch.size());
+        });
+        log.debug("Stored {} history records, the oldest one waited {} ms", batch.size(), lag);
+    }
+
+    private boolean isBatchWindowExpired() {
+        return !pending.isEmpty() && clock.millis() - pending.get(0).getReceivedAt() >= batchWindowMillis;
+    }
 
+    @Value
+    private static class PendingRecord {
+        FlowHistoryHolder holder;
+        Tuple tuple;
+        long receivedAt;
     }
 }
@@ -35,6 +35,7 @@ import org.openkilda.wfm.share.mappers.HistoryMapper;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -64,26 +65,29 @@ public class HistoryService {
      * @param historyHolder holder of history information.
      */
     public void store(FlowHistoryHolder historyHolder) {
-        transactionManager.doInTransaction(() -> {
-            String taskId = historyHolder.getTaskId();
-            if (historyHolder.getFlowEventData() != null) {
-                FlowEvent event = HistoryMapper.INSTANCE.map(historyHolder.getFlowEventData());
-                event.setTaskId(taskId);
-                flowEventRepository.add(event);
-            }
-
-            if (historyHolder.getFlowHistoryData() != null) {
-                FlowHistory history = HistoryMapper.INSTANCE.map(historyHolder.getFlowHistoryData());
-                history.setTaskId(taskId);
-                flowHistoryRepository.add(history);
-            }
+        transactionManager.doInTransaction(() -> persist(historyHolder));
+    }
 
-            if (historyHolder.getFlowDumpData() != null) {
-                FlowDump dump = HistoryMapper.INSTANCE.map(historyHolder.getFlowDumpData());
-                dump.setTaskId(taskId);
-                flowDumpRepository.add(dump);
+    /**
+     * Save a batch of history data into data storage in a single transaction. If the transaction fails, the records
+     * are saved one by one, so a broken record doesn't prevent storing the rest of the batch.
+     *
+     * @param historyHolders holders of history information.
+     */
+    public void store(Collection<FlowHistoryHolder> historyHolders) {
+        try {
+            transactionManager.doInTransaction(() -> historyHolders.forEach(this::persist));
+        } catch (Exception e) {
+            log.warn("Failed to store a batch of {} history records, store them one by one: {}",
+                    historyHolders.size(), e.getMessage());
+            for (FlowHistoryHolder each : historyHolders) {
+                try {
+                    store(each);
+                } catch (Exception ex) {
+                    log.error("Failed to store history record of task {}", each.getTaskId(), ex);
+                }
             }
-        });
+        }
     }
 
     /**
@@ -120,4 +124,25 @@ public class HistoryService {
         result.forEach(portHistoryRepository::detach);
         return result;
     }
+
+    private void persist(FlowHistoryHolder historyHolder) {
+        String taskId = historyHolder.getTaskId();
+        if (historyHolder.getFlowEventData() != null) {
+            FlowEvent event = HistoryMapper.INSTANCE.map(historyHolder.getFlowEventData());
+            event.setTaskId(taskId);
+            flowEventRepository.add(event);
+        }
+
+        if (historyHolder.getFlowHistoryData() != null) {
+            FlowHistory history = HistoryMapper.INSTANCE.map(historyHolder.getFlowHistoryData());
+            history.setTaskId(taskId);
+            flowHistoryRepository.add(history);
+        }
+
+        if (historyHolder.getFlowDumpData() != null) {
+            FlowDump dump = HistoryMapper.INSTANCE.map(historyHolder.getFlowDumpData());
+            dump.setTaskId(taskId);
+            flowDumpRepository.add(dump);
+        }
+    }
 }
@@ -20,6 +20,7 @@ import static org.openkilda.wfm.share.hubandspoke.CoordinatedBolt.COMMAND_FIELD;
 import static org.openkilda.wfm.share.hubandspoke.CoordinatedBolt.TIMEOUT_FIELD;
 
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.share.utils.HierarchicalTimingWheel;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -31,12 +32,7 @@ import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 /**
  * Storm bolt that keeps track of duration of operation's execution and then sends callback to the requester.
@@ -47,7 +43,7 @@ public final class CoordinatorBolt extends AbstractBolt {
     public static final String INCOME_STREAM = "coordinator.command";
 
     private Map<String, Callback> callbacks = new HashMap<>();
-    private SortedMap<Long, Set<String>> timeouts = new TreeMap<>();
+    private HierarchicalTimingWheel<String> timeouts = new HierarchicalTimingWheel<>(1);
 
     @Override
     protected void handleInput(Tuple input) {
@@ -81,19 +77,22 @@ public final class CoordinatorBolt extends AbstractBolt {
     @VisibleForTesting
     void registerCallback(String key, Object context, int timeout, int taskId) {
         log.trace("Adding callback for {} with timeout {}", key, timeout);
-        long triggerTime = System.currentTimeMillis() + timeout;
-        timeouts.computeIfAbsent(triggerTime, mappingFunction -> new HashSet<>())
-                .add(key);
+        long timer = timeouts.schedule(key, System.currentTimeMillis(), timeout);
 
         Values value = new Values(key, context);
-        callbacks.put(key, Callback.of(taskId, value));
+        Callback replaced = callbacks.put(key, Callback.of(taskId, value, timer));
+        if (replaced != null) {
+            timeouts.cancel(replaced.timer);
+        }
     }
 
     @VisibleForTesting
     void cancelCallback(String key) {
-        if (callbacks.remove(key) == null) {
+        Callback callback = callbacks.remove(key);
+        if (callback == null) {
             log.warn("{} is already cancelled", key);
         } else {
+            timeouts.cancel(callback.timer);
             log.debug("Request processing of {} is finished", key);
         }
     }
@@ -103,15 +102,14 @@ public final class CoordinatorBolt extends AbstractBolt {
      */
     @VisibleForTesting
     void tick(Long currentTime) {
-        SortedMap<Long, Set<String>> outdatedCallbacks = timeouts.headMap(currentTime);
-        for (Set<String> callbacks : outdatedCallbacks.values()) {
-            callbacks.stream()
-                    .map(this.callbacks::remove)
-                    .filter(Objects::nonNull)
-                    .forEach(callback -> getOutput().emitDirect(callback.taskId, callback.context));
-        }
+        timeouts.advance(currentTime, this::emitCallback);
+    }
 
-        outdatedCallbacks.clear();
+    private void emitCallback(String key) {
+        Callback callback = callbacks.remove(key);
+        if (callback != null) {
+            getOutput().emitDirect(callback.taskId, callback.context);
+        }
     }
 
     @Override
@@ -126,7 +124,7 @@ public final class CoordinatorBolt extends AbstractBolt {
     }
 
     @VisibleForTesting
-    SortedMap<Long, Set<String>> getTimeouts() {
+    HierarchicalTimingWheel<String> getTimeouts() {
         return timeouts;
     }
 
@@ -139,5 +137,6 @@ public final class CoordinatorBolt extends AbstractBolt {
     private static class Callback {
         private final int taskId;
         private final Values context;
+        private final long timer;
     }
 }
@@ -0,0 +1,308 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel (Varghese and Lauck) to track a big number of timeouts. Scheduling and cancellation take
+ * O(1), expired timeouts are collected when the wheel is advanced to the current time. Timeouts which don't fit into
+ * the lowest level are kept on the upper levels and cascade down as the time goes on.
+ * <p/>
+ * Timers are kept in a pool of primitive arrays linked into per-slot lists by indexes, so the wheel doesn't allocate
+ * objects while scheduling. A timer is referred by a {@code long} id, which combines the pool index with a generation
+ * number, so an id of an expired or cancelled timer never matches a timer which reuses its pool entry.
+ * <p/>
+ * The time is measured in arbitrary units (milliseconds, nanoseconds), which must be the same for all calls. A timeout
+ * expires on the first {@link #advance} to the time not less than its deadline, rounded up to the tick duration.
+ * <p/>
+ * The implementation is not thread-safe.
+ */
+public class HierarchicalTimingWheel<T> implements Serializable {
+    /**
+     * Id that never refers to a timer, can be used to mark an absence of the timer.
+     */
+    public static final long NO_TIMER = 0;
+
+    private static final int NIL = -1;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final long tickDuration;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+
+    private final int[] heads;
+    private final int[] levelSizes;
+
+    private long[] deadlines;
+    private Object[] payloads;
+    private int[] next;
+    private int[] prev;
+    private int[] slots;
+    private int[] generations;
+    private int allocated;
+    private int freeHead = NIL;
+    private int size;
+
+    private boolean started;
+    private long currentTick;
+
+    /**
+     * Creates a wheel of 4 levels by 64 slots, i.e. able to place timeouts up to 2^24 ticks without re-cascading.
+     */
+    public HierarchicalTimingWheel(long tickDuration) {
+        this(tickDuration, 64, 4);
+    }
+
+    public HierarchicalTimingWheel(long tickDuration, int slotsPerLevel, int levels) {
+        checkArgument(tickDuration > 0, "tickDuration must be positive");
+        checkArgument(slotsPerLevel > 1 && Integer.bitCount(slotsPerLevel) == 1,
+                "slotsPerLevel must be a power of two");
+        checkArgument(levels > 0 && Integer.numberOfTrailingZeros(slotsPerLevel) * levels < Long.SIZE - 1,
+                "Too many levels");
+
+        this.tickDuration = tickDuration;
+        this.bits = Integer.numberOfTrailingZeros(slotsPerLevel);
+        this.mask = slotsPerLevel - 1;
+        this.levels = levels;
+
+        heads = new int[slotsPerLevel * levels];
+        Arrays.fill(heads, NIL);
+        levelSizes = new int[levels];
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Schedules the payload to expire after the timeout.
+     *
+     * @param payload payload passed to the consumer of expired timeouts
+     * @param now current time, the first call to the wheel defines its start time
+     * @param timeout timeout, relative to the current time
+     * @return id of the timer, to be used for cancellation
+     */
+    public long schedule(T payload, long now, long timeout) {
+        start(now);
+
+        int node = allocateNode();
+        long deadline = Math.floorDiv(now + timeout + tickDuration - 1, tickDuration);
+        deadlines[node] = Math.max(deadline, currentTick + 1);
+        payloads[node] = payload;
+        place(node);
+        size++;
+
+        return ((long) generations[node] << Integer.SIZE) | node;
+    }
+
+    /**
+     * Cancels the timer.
+     *
+     * @return true if the timer was pending, false if it is already expired or cancelled
+     */
+    public boolean cancel(long timerId) {
+        int node = (int) timerId;
+        if (node < 0 || node >= allocated || slots[node] == NIL
+                || generations[node] != (int) (timerId >>> Integer.SIZE)) {
+            return false;
+        }
+        unlink(node);
+        release(node);
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the current time and passes payloads of expired timeouts to the consumer. The consumer is
+     * allowed to schedule and cancel timers.
+     */
+    public void advance(long now, Consumer<T> expired) {
+        start(now);
+
+        long targetTick = Math.floorDiv(now, tickDuration);
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick;
+                break;
+            }
+            int lowest = 0;
+            while (levelSizes[lowest] == 0) {
+                lowest++;
+            }
+            if (lowest > 0) {
+                // nothing happens till the lowest occupied level cascades, jump to the tick preceding it
+                long roundEnd = currentTick | ((1L << (lowest * bits)) - 1);
+                if (targetTick <= roundEnd) {
+                    currentTick = targetTick;
+                    break;
+                }
+                currentTick = roundEnd;
+            }
+
+            currentTick++;
+            cascade();
+            expire(expired);
+        }
+    }
+
+    /**
+     * Cancels all pending timers.
+     */
+    public void clear() {
+        for (int node = 0; node < allocated; node++) {
+            if (slots[node] != NIL) {
+                release(node);
+            }
+        }
+        Arrays.fill(heads, NIL);
+        Arrays.fill(levelSizes, 0);
+    }
+
+    /**
+     * Returns the number of pending timers.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "HierarchicalTimingWheel{size=" + size + ", currentTick=" + currentTick + "}";
+    }
+
+    private void start(long now) {
+        if (!started) {
+            currentTick = Math.floorDiv(now, tickDuration);
+            started = true;
+        }
+    }
+
+    /**
+     * Moves timers from the current slots of the upper levels to the lower ones, each level slot is visited once per
+     * round of the level below it.
+     */
+    private void cascade() {
+        for (int level = 1; level < levels; level++) {
+            int shift = level * bits;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                break;
+            }
+            int slot = level * (mask + 1) + (int) ((currentTick >> shift) & mask);
+            int node = heads[slot];
+            heads[slot] = NIL;
+            while (node != NIL) {
+                int following = next[node];
+                levelSizes[level]--;
+                place(node);
+                node = following;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expire(Consumer<T> expired) {
+        int slot = (int) (currentTick & mask);
+        int node;
+        while ((node = heads[slot]) != NIL) {
+            T payload = (T) payloads[node];
+            unlink(node);
+            release(node);
+            expired.accept(payload);
+        }
+    }
+
+    private void place(int node) {
+        long delta = deadlines[node] - currentTick;
+        long span = 1L << (levels * bits);
+        long placeTick = delta < span ? deadlines[node] : currentTick + span - 1;
+
+        int level = 0;
+        while (level < levels - 1 && delta >= 1L << ((level + 1) * bits)) {
+            level++;
+        }
+        int slot = level * (mask + 1) + (int) ((placeTick >> (level * bits)) & mask);
+
+        int head = heads[slot];
+        next[node] = head;
+        prev[node] = NIL;
+        if (head != NIL) {
+            prev[head] = node;
+        }
+        heads[slot] = node;
+        slots[node] = slot;
+        levelSizes[level]++;
+    }
+
+    private void unlink(int node) {
+        int slot = slots[node];
+        if (prev[node] != NIL) {
+            next[prev[node]] = next[node];
+        } else {
+            heads[slot] = next[node];
+        }
+        if (next[node] != NIL) {
+            prev[next[node]] = prev[node];
+        }
+        levelSizes[slot / (mask + 1)]--;
+    }
+
+    private int allocateNode() {
+        if (freeHead != NIL) {
+            int node = freeHead;
+            freeHead = next[node];
+            return node;
+        }
+        if (allocated == payloads.length) {
+            allocate(payloads.length * 2);
+        }
+        generations[allocated] = 1;
+        return allocated++;
+    }
+
+    private void release(int node) {
+        payloads[node] = null;
+        slots[node] = NIL;
+        // zero generation is skipped, so a timer id is never equal to NO_TIMER
+        generations[node] = generations[node] == -1 ? 1 : generations[node] + 1;
+        next[node] = freeHead;
+        freeHead = node;
+        size--;
+    }
+
+    private void allocate(int capacity) {
+        if (payloads == null) {
+            deadlines = new long[capacity];
+            payloads = new Object[capacity];
+            next = new int[capacity];
+            prev = new int[capacity];
+            slots = new int[capacity];
+            generations = new int[capacity];
+        } else {
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            payloads = Arrays.copyOf(payloads, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            slots = Arrays.copyOf(slots, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+        }
+    }
+}
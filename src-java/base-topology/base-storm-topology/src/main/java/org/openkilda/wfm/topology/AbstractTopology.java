@@ -42,6 +42,7 @@ import org.openkilda.wfm.kafka.CustomNamedSubscription;
 import org.openkilda.wfm.kafka.MessageDeserializer;
 import org.openkilda.wfm.kafka.MessageSerializer;
 import org.openkilda.wfm.kafka.ObjectSerializer;
+import org.openkilda.wfm.kryo.KildaKryoFactory;
 import org.openkilda.wfm.topology.utils.AbstractMessageTranslator;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
@@ -240,6 +241,9 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
 
     private Config makeStormConfig() {
         Config stormConfig = new Config();
+        // tuples passed between workers are serialized by Kryo only, see KildaKryoFactory
+        stormConfig.put(Config.TOPOLOGY_KRYO_FACTORY, KildaKryoFactory.class.getName());
+        stormConfig.setFallBackOnJavaSerialization(false);
 
         getTopologyWorkers().ifPresent(stormConfig::setNumWorkers);
         if (topologyConfig.getDisruptorWaitTimeout() != null) {
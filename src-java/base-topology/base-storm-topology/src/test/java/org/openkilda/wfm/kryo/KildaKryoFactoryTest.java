@@ -0,0 +1,174 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.kryo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.rule.FlowEntry;
+import org.openkilda.messaging.info.rule.SwitchFlowEntries;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.FlowPathDirection;
+import org.openkilda.model.FlowStatus;
+import org.openkilda.model.MeterId;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.cookie.Cookie;
+import org.openkilda.model.cookie.FlowSegmentCookie;
+import org.openkilda.wfm.CommandContext;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.serializers.BeanSerializer;
+import org.apache.storm.Config;
+import org.apache.storm.serialization.KryoValuesDeserializer;
+import org.apache.storm.serialization.KryoValuesSerializer;
+import org.apache.storm.serialization.SerializationFactory;
+import org.apache.storm.utils.Utils;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class KildaKryoFactoryTest {
+    private static final SwitchId SWITCH_ID = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_ID_2 = new SwitchId("00:00:00:00:00:00:00:02");
+
+    @Test
+    public void shouldBeUsedByStormKryo() {
+        Kryo kryo = SerializationFactory.getKryo(makeConfig());
+
+        assertTrue(kryo.getInstantiatorStrategy() instanceof Kryo.DefaultInstantiatorStrategy);
+        assertTrue(kryo.getSerializer(SwitchId.class) instanceof SwitchIdSerializer);
+        assertTrue(kryo.getSerializer(FlowSegmentCookie.class) instanceof CookieSerializer);
+        // model entities choose their serializer by the annotation
+        assertTrue(kryo.getSerializer(Flow.class) instanceof BeanSerializer);
+    }
+
+    @Test
+    public void shouldSerializeMessagesAndModelValues() {
+        SwitchFlowEntries entries = SwitchFlowEntries.builder()
+                .switchId(SWITCH_ID)
+                .flowEntries(Arrays.asList(
+                        FlowEntry.builder().cookie(1).priority(100).flags(new String[]{"flag"}).build(),
+                        FlowEntry.builder().cookie(2).tableId(1).build()))
+                .build();
+        List<Object> values = Arrays.asList(
+                "key",
+                new InfoMessage(entries, 1000, "correlation-id"),
+                new CommandContext("correlation-id"),
+                SWITCH_ID,
+                new PathId("path"),
+                new MeterId(32),
+                new Cookie(0x8000_0000_0000_0001L),
+                new FlowSegmentCookie(FlowPathDirection.FORWARD, 10));
+
+        assertEquals(values, roundTrip(values));
+    }
+
+    @Test
+    public void shouldSerializeClassesWithoutJavaSerialization() {
+        NotSerializable first = new NotSerializable("first", null);
+        NotSerializable second = new NotSerializable("second", first);
+        first.next = second;
+
+        List<Object> result = roundTrip(Arrays.asList(first, second));
+        NotSerializable firstCopy = (NotSerializable) result.get(0);
+        assertEquals("first", firstCopy.name);
+        assertEquals("second", firstCopy.next.name);
+        assertSame(firstCopy, firstCopy.next.next);
+    }
+
+    @Test
+    public void shouldSerializeFlowWithPaths() {
+        Switch srcSwitch = Switch.builder().switchId(SWITCH_ID).build();
+        Switch destSwitch = Switch.builder().switchId(SWITCH_ID_2).build();
+        Flow flow = Flow.builder()
+                .flowId("flow")
+                .srcSwitch(srcSwitch).srcPort(1)
+                .destSwitch(destSwitch).destPort(2)
+                .bandwidth(1000)
+                .status(FlowStatus.UP)
+                .build();
+        FlowPath forwardPath = FlowPath.builder()
+                .pathId(new PathId("forward"))
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .cookie(new FlowSegmentCookie(FlowPathDirection.FORWARD, 1))
+                .meterId(new MeterId(32))
+                .bandwidth(1000)
+                .build();
+        forwardPath.setSegments(Collections.singletonList(PathSegment.builder()
+                .pathId(forwardPath.getPathId())
+                .srcSwitch(srcSwitch).srcPort(10)
+                .destSwitch(destSwitch).destPort(20)
+                .build()));
+        FlowPath reversePath = FlowPath.builder()
+                .pathId(new PathId("reverse"))
+                .srcSwitch(destSwitch)
+                .destSwitch(srcSwitch)
+                .cookie(new FlowSegmentCookie(FlowPathDirection.REVERSE, 1))
+                .meterId(new MeterId(33))
+                .bandwidth(1000)
+                .build();
+        reversePath.setSegments(Collections.singletonList(PathSegment.builder()
+                .pathId(reversePath.getPathId())
+                .srcSwitch(destSwitch).srcPort(20)
+                .destSwitch(srcSwitch).destPort(10)
+                .build()));
+        flow.setForwardPath(forwardPath);
+        flow.setReversePath(reversePath);
+
+        Flow flowCopy = (Flow) roundTrip(Collections.singletonList(flow)).get(0);
+        assertEquals(flow, flowCopy);
+        assertEquals(forwardPath, flowCopy.getForwardPath());
+        assertEquals(reversePath, flowCopy.getReversePath());
+        assertEquals(forwardPath.getSegments(), flowCopy.getForwardPath().getSegments());
+        assertEquals(reversePath.getSegments(), flowCopy.getReversePath().getSegments());
+        assertSame(flowCopy, flowCopy.getForwardPath().getFlow());
+        assertSame(flowCopy, flowCopy.getReversePath().getFlow());
+    }
+
+    private static List<Object> roundTrip(List<Object> values) {
+        Map<String, Object> conf = makeConfig();
+        byte[] serialized = new KryoValuesSerializer(conf).serialize(values);
+        return new KryoValuesDeserializer(conf).deserialize(serialized);
+    }
+
+    private static Map<String, Object> makeConfig() {
+        Map<String, Object> conf = Utils.readDefaultConfig();
+        conf.put(Config.TOPOLOGY_KRYO_FACTORY, KildaKryoFactory.class.getName());
+        conf.put(Config.TOPOLOGY_FALL_BACK_ON_JAVA_SERIALIZATION, false);
+        return conf;
+    }
+
+    private static class NotSerializable {
+        private final String name;
+        private NotSerializable next;
+
+        NotSerializable(String name, NotSerializable next) {
+            this.name = name;
+            this.next = next;
+        }
+    }
+}
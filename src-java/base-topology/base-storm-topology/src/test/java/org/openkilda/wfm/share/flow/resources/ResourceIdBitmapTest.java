@@ -0,0 +1,88 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.OptionalLong;
+import java.util.Set;
+
+public class ResourceIdBitmapTest {
+    private static final long MIN_ID = 10;
+    private static final long MAX_ID = 29;
+
+    private final Set<Long> store = new HashSet<>();
+    private final ResourceIdBitmap bitmap = new ResourceIdBitmap(MIN_ID, MAX_ID, 5);
+
+    @Test
+    public void shouldAllocateAllIdsOnce() {
+        for (long i = MIN_ID; i <= MAX_ID; i++) {
+            long id = allocate().getAsLong();
+            assertTrue(id >= MIN_ID && id <= MAX_ID);
+            assertTrue(store.add(id));
+        }
+        assertFalse(allocate().isPresent());
+    }
+
+    @Test
+    public void shouldSkipIdsAssignedInStore() {
+        for (long i = MIN_ID; i <= MAX_ID; i += 2) {
+            store.add(i);
+        }
+        for (long i = MIN_ID; i <= MAX_ID; i += 2) {
+            long id = allocate().getAsLong();
+            assertEquals(1, id % 2);
+            store.add(id);
+        }
+        assertFalse(allocate().isPresent());
+    }
+
+    @Test
+    public void shouldAllocateReleasedId() {
+        for (long i = MIN_ID; i <= MAX_ID; i++) {
+            store.add(allocate().getAsLong());
+        }
+        store.remove(MIN_ID + 3);
+        bitmap.release(MIN_ID + 3);
+
+        assertEquals(MIN_ID + 3, allocate().getAsLong());
+    }
+
+    @Test
+    public void shouldReloadIdsReleasedInStore() {
+        for (long i = MIN_ID; i <= MAX_ID; i++) {
+            store.add(allocate().getAsLong());
+        }
+        // Released by another worker, so the bitmap isn't aware of it.
+        store.remove(MAX_ID);
+
+        assertEquals(MAX_ID, allocate().getAsLong());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailOnInvalidRange() {
+        new ResourceIdBitmap(MAX_ID, MIN_ID, 1);
+    }
+
+    private OptionalLong allocate() {
+        return bitmap.allocate(store::contains, () -> store.stream().mapToLong(Long::longValue));
+    }
+}
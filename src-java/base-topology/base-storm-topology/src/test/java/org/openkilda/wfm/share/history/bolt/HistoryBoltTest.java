@@ -0,0 +1,274 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.share.history.bolt;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.bluegreen.LifecycleEvent;
+import org.openkilda.bluegreen.Signal;
+import org.openkilda.model.history.FlowEvent;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.history.FlowEventRepository;
+import org.openkilda.persistence.tx.TransactionCallbackWithoutResult;
+import org.openkilda.persistence.tx.TransactionManager;
+import org.openkilda.stubs.ManualClock;
+import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.share.history.model.FlowEventData;
+import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
+import org.openkilda.wfm.share.zk.ZkStreams;
+import org.openkilda.wfm.share.zk.ZooKeeperSpout;
+import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
+
+import org.apache.storm.Constants;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.TupleImpl;
+import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.Utils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HistoryBoltTest {
+    private static final String HUB_COMPONENT = "hub";
+
+    private static final int HUB_TASK_ID = 1;
+    private static final int ZOOKEEPER_SPOUT_TASK_ID = 2;
+
+    private static final Fields HUB_STREAM_FIELDS = new Fields(KafkaRecordTranslator.FIELD_ID_KEY,
+            KafkaRecordTranslator.FIELD_ID_PAYLOAD, AbstractBolt.FIELD_ID_CONTEXT);
+
+    private static final int BATCH_SIZE = 3;
+    private static final Duration BATCH_WINDOW = Duration.ofSeconds(5);
+
+    private final ManualClock clock = new ManualClock(Instant.EPOCH, ZoneOffset.UTC);
+
+    @Mock
+    private PersistenceManager persistenceManager;
+
+    @Mock
+    private TransactionManager transactionManager;
+
+    @Mock
+    private RepositoryFactory repositoryFactory;
+
+    @Mock
+    private FlowEventRepository flowEventRepository;
+
+    @Mock
+    private OutputCollector output;
+
+    @Mock
+    private TopologyContext topologyContext;
+
+    @Before
+    public void setUp() {
+        when(persistenceManager.getTransactionManager()).thenReturn(transactionManager);
+        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
+        when(repositoryFactory.createFlowEventRepository()).thenReturn(flowEventRepository);
+        doAnswer(invocation -> {
+            TransactionCallbackWithoutResult tr = invocation.getArgument(0);
+            tr.doInTransaction();
+            return null;
+        }).when(transactionManager).doInTransaction(any(TransactionCallbackWithoutResult.class));
+
+        when(topologyContext.getComponentId(HUB_TASK_ID)).thenReturn(HUB_COMPONENT);
+        when(topologyContext.getComponentOutputFields(HUB_COMPONENT, Utils.DEFAULT_STREAM_ID))
+                .thenReturn(HUB_STREAM_FIELDS);
+    }
+
+    @Test
+    public void shouldStoreRecordWithoutBatching() {
+        HistoryBolt bolt = makeBolt(1);
+
+        Tuple record = makeRecordTuple("flow1");
+        bolt.execute(record);
+
+        verify(transactionManager).doInTransaction(any(TransactionCallbackWithoutResult.class));
+        verify(output).ack(record);
+        assertEquals(Collections.singletonList("flow1"), captureStoredFlowIds(1));
+    }
+
+    @Test
+    public void shouldDeferAckUntilBatchIsFull() {
+        HistoryBolt bolt = makeBolt(BATCH_SIZE);
+
+        Tuple first = makeRecordTuple("flow1");
+        Tuple second = makeRecordTuple("flow2");
+        bolt.execute(first);
+        bolt.execute(second);
+
+        verify(output, never()).ack(any(Tuple.class));
+        verify(transactionManager, never()).doInTransaction(any(TransactionCallbackWithoutResult.class));
+
+        Tuple third = makeRecordTuple("flow3");
+        bolt.execute(third);
+
+        verify(transactionManager).doInTransaction(any(TransactionCallbackWithoutResult.class));
+        verify(output).ack(first);
+        verify(output).ack(second);
+        verify(output).ack(third);
+        assertEquals(Arrays.asList("flow1", "flow2", "flow3"), captureStoredFlowIds(3));
+    }
+
+    @Test
+    public void shouldFlushWhenBatchWindowExpires() {
+        HistoryBolt bolt = makeBolt(BATCH_SIZE);
+
+        Tuple first = makeRecordTuple("flow1");
+        bolt.execute(first);
+        verify(output, never()).ack(first);
+
+        clock.adjust(BATCH_WINDOW);
+        Tuple second = makeRecordTuple("flow2");
+        bolt.execute(second);
+
+        verify(transactionManager).doInTransaction(any(TransactionCallbackWithoutResult.class));
+        verify(output).ack(first);
+        verify(output).ack(second);
+        assertEquals(Arrays.asList("flow1", "flow2"), captureStoredFlowIds(2));
+    }
+
+    @Test
+    public void shouldFlushOnTickOnlyAfterBatchWindow() {
+        HistoryBolt bolt = makeBolt(BATCH_SIZE);
+        when(topologyContext.getComponentId((int) Constants.SYSTEM_TASK_ID)).thenReturn(Constants.SYSTEM_COMPONENT_ID);
+        when(topologyContext.getComponentOutputFields(Constants.SYSTEM_COMPONENT_ID, Constants.SYSTEM_TICK_STREAM_ID))
+                .thenReturn(new Fields());
+
+        Tuple record = makeRecordTuple("flow1");
+        bolt.execute(record);
+
+        clock.adjust(BATCH_WINDOW.minusSeconds(1));
+        Tuple earlyTick = makeTickTuple();
+        bolt.execute(earlyTick);
+
+        verify(output).ack(earlyTick);
+        verify(output, never()).ack(record);
+        verify(transactionManager, never()).doInTransaction(any(TransactionCallbackWithoutResult.class));
+
+        clock.adjust(Duration.ofSeconds(1));
+        Tuple tick = makeTickTuple();
+        bolt.execute(tick);
+
+        verify(transactionManager).doInTransaction(any(TransactionCallbackWithoutResult.class));
+        verify(output).ack(record);
+        verify(output).ack(tick);
+        assertEquals(Collections.singletonList("flow1"), captureStoredFlowIds(1));
+    }
+
+    @Test
+    public void shouldFlushOnShutdownEvent() {
+        HistoryBolt bolt = makeBolt(BATCH_SIZE);
+        when(topologyContext.getComponentId(ZOOKEEPER_SPOUT_TASK_ID)).thenReturn(ZooKeeperSpout.SPOUT_ID);
+        when(topologyContext.getComponentOutputFields(ZooKeeperSpout.SPOUT_ID, Utils.DEFAULT_STREAM_ID))
+                .thenReturn(new Fields(ZooKeeperSpout.FIELD_ID_LIFECYCLE_EVENT, ZooKeeperSpout.FIELD_ID_CONTEXT));
+
+        bolt.execute(makeLifecycleTuple(Signal.START));
+
+        Tuple record = makeRecordTuple("flow1");
+        bolt.execute(record);
+        verify(output, never()).ack(record);
+
+        Tuple shutdown = makeLifecycleTuple(Signal.SHUTDOWN);
+        bolt.execute(shutdown);
+
+        verify(transactionManager).doInTransaction(any(TransactionCallbackWithoutResult.class));
+        verify(output).ack(record);
+        verify(output).emit(eq(ZkStreams.ZK.toString()), eq(shutdown), anyList());
+        assertEquals(Collections.singletonList("flow1"), captureStoredFlowIds(1));
+    }
+
+    @Test
+    public void shouldFlushOnCleanup() {
+        HistoryBolt bolt = makeBolt(BATCH_SIZE);
+
+        Tuple record = makeRecordTuple("flow1");
+        bolt.execute(record);
+        verify(output, never()).ack(record);
+
+        bolt.cleanup();
+
+        verify(transactionManager).doInTransaction(any(TransactionCallbackWithoutResult.class));
+        verify(output).ack(record);
+        assertEquals(Collections.singletonList("flow1"), captureStoredFlowIds(1));
+    }
+
+    private HistoryBolt makeBolt(int batchSize) {
+        HistoryBolt bolt = new HistoryBolt(persistenceManager, ZooKeeperSpout.SPOUT_ID, batchSize, BATCH_WINDOW,
+                null, clock);
+        bolt.prepare(Collections.emptyMap(), topologyContext, output);
+        return bolt;
+    }
+
+    private List<String> captureStoredFlowIds(int expectedCount) {
+        ArgumentCaptor<FlowEvent> captor = ArgumentCaptor.forClass(FlowEvent.class);
+        verify(flowEventRepository, times(expectedCount)).add(captor.capture());
+        return captor.getAllValues().stream()
+                .map(FlowEvent::getFlowId)
+                .collect(Collectors.toList());
+    }
+
+    private Tuple makeRecordTuple(String flowId) {
+        FlowHistoryHolder holder = FlowHistoryHolder.builder()
+                .taskId(flowId)
+                .flowEventData(FlowEventData.builder()
+                        .flowId(flowId)
+                        .initiator(FlowEventData.Initiator.NB)
+                        .event(FlowEventData.Event.CREATE)
+                        .time(clock.instant())
+                        .build())
+                .build();
+        return new TupleImpl(topologyContext, new Values(flowId, holder, new CommandContext()), HUB_TASK_ID,
+                Utils.DEFAULT_STREAM_ID);
+    }
+
+    private Tuple makeLifecycleTuple(Signal signal) {
+        return new TupleImpl(topologyContext,
+                new Values(LifecycleEvent.builder().signal(signal).build(), new CommandContext()),
+                ZOOKEEPER_SPOUT_TASK_ID, Utils.DEFAULT_STREAM_ID);
+    }
+
+    private Tuple makeTickTuple() {
+        return new TupleImpl(topologyContext, Collections.emptyList(),
+                (int) Constants.SYSTEM_TASK_ID, Constants.SYSTEM_TICK_STREAM_ID);
+    }
+}
@@ -0,0 +1,115 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.share.history.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.history.FlowEvent;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.history.FlowEventRepository;
+import org.openkilda.persistence.tx.TransactionCallbackWithoutResult;
+import org.openkilda.persistence.tx.TransactionManager;
+import org.openkilda.wfm.share.history.model.FlowEventData;
+import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HistoryServiceTest {
+    private static final String BROKEN_FLOW_ID = "broken";
+
+    @Mock
+    private TransactionManager transactionManager;
+
+    @Mock
+    private RepositoryFactory repositoryFactory;
+
+    @Mock
+    private FlowEventRepository flowEventRepository;
+
+    private HistoryService service;
+
+    @Before
+    public void setUp() {
+        when(repositoryFactory.createFlowEventRepository()).thenReturn(flowEventRepository);
+        doAnswer(invocation -> {
+            TransactionCallbackWithoutResult tr = invocation.getArgument(0);
+            tr.doInTransaction();
+            return null;
+        }).when(transactionManager).doInTransaction(any(TransactionCallbackWithoutResult.class));
+
+        service = new HistoryService(transactionManager, repositoryFactory);
+    }
+
+    @Test
+    public void shouldStoreBatchInSingleTransaction() {
+        service.store(Arrays.asList(makeHolder("flow1"), makeHolder("flow2"), makeHolder("flow3")));
+
+        verify(transactionManager).doInTransaction(any(TransactionCallbackWithoutResult.class));
+        assertEquals(Arrays.asList("flow1", "flow2", "flow3"), captureAddedFlowIds(3));
+    }
+
+    @Test
+    public void shouldStoreRecordsOneByOneWhenBatchFails() {
+        doThrow(new IllegalStateException("broken record"))
+                .when(flowEventRepository).add(argThat(event -> BROKEN_FLOW_ID.equals(event.getFlowId())));
+
+        service.store(Arrays.asList(makeHolder("flow1"), makeHolder(BROKEN_FLOW_ID), makeHolder("flow3")));
+
+        // the failed batch transaction and a transaction per record
+        verify(transactionManager, times(4)).doInTransaction(any(TransactionCallbackWithoutResult.class));
+        // flow1 is added by the batch and again on its own, the broken record fails both times
+        assertEquals(Arrays.asList("flow1", BROKEN_FLOW_ID, "flow1", BROKEN_FLOW_ID, "flow3"), captureAddedFlowIds(5));
+    }
+
+    private List<String> captureAddedFlowIds(int expectedCount) {
+        ArgumentCaptor<FlowEvent> captor = ArgumentCaptor.forClass(FlowEvent.class);
+        verify(flowEventRepository, times(expectedCount)).add(captor.capture());
+        return captor.getAllValues().stream()
+                .map(FlowEvent::getFlowId)
+                .collect(Collectors.toList());
+    }
+
+    private FlowHistoryHolder makeHolder(String flowId) {
+        return FlowHistoryHolder.builder()
+                .taskId(flowId)
+                .flowEventData(FlowEventData.builder()
+                        .flowId(flowId)
+                        .initiator(FlowEventData.Initiator.NB)
+                        .event(FlowEventData.Event.CREATE)
+                        .time(Instant.EPOCH)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class HierarchicalTimingWheelTest {
+    private final List<Long> expired = new ArrayList<>();
+
+    @Test
+    public void shouldExpireTimeoutsAtTheirDeadlines() {
+        // small wheel to exercise cascading between levels and the placement of out of range timeouts
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1, 4, 2);
+        Random random = new Random(42);
+        long start = -37;
+        Map<Long, Long> deadlines = new HashMap<>();
+        for (long i = 0; i < 1000; i++) {
+            long timeout = random.nextInt(100);
+            wheel.schedule(i, start, timeout);
+            deadlines.put(i, start + Math.max(timeout, 1));
+        }
+
+        for (long now = start; now < start + 200; now++) {
+            wheel.advance(now, expired::add);
+            for (Long each : expired) {
+                assertEquals("expiration time of " + each, (long) deadlines.remove(each), now);
+            }
+            expired.clear();
+        }
+        assertTrue(deadlines.isEmpty());
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void shouldExpireAllTimeoutsOnBigTimeStep() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10);
+        wheel.schedule(1L, 1000, 5);
+        wheel.schedule(2L, 1000, 100_000);
+        wheel.schedule(3L, 1000, 1_000_000_000L);
+
+        wheel.advance(1009, expired::add);
+        assertEquals(Collections.emptyList(), expired);
+        wheel.advance(1010, expired::add);
+        assertEquals(Collections.singletonList(1L), expired);
+
+        wheel.advance(1_000_000_000_000L, expired::add);
+        assertEquals(3, expired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void shouldCancelTimeouts() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1);
+        long first = wheel.schedule(1L, 0, 10);
+        long second = wheel.schedule(2L, 0, 10_000);
+        assertEquals(2, wheel.size());
+
+        assertTrue(wheel.cancel(first));
+        assertFalse(wheel.cancel(first));
+        assertFalse(wheel.cancel(HierarchicalTimingWheel.NO_TIMER));
+
+        // the released pool entry is reused, but the id of the cancelled timer doesn't match the new one
+        long third = wheel.schedule(3L, 0, 10);
+        assertNotEquals(first, third);
+        assertFalse(wheel.cancel(first));
+
+        wheel.advance(100_000, expired::add);
+        assertEquals(2, expired.size());
+        assertFalse(expired.contains(1L));
+        assertFalse(wheel.cancel(second));
+    }
+
+    @Test
+    public void shouldAllowRescheduleFromConsumer() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1);
+        wheel.schedule(1L, 0, 10);
+        for (long now = 0; now <= 100; now++) {
+            long tickTime = now;
+            wheel.advance(now, payload -> {
+                expired.add(tickTime);
+                wheel.schedule(payload, tickTime, 10);
+            });
+        }
+        assertEquals(10, expired.size());
+        assertEquals(Long.valueOf(100), expired.get(9));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    public void shouldCancelAllTimeoutsOnClear() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1);
+        long timer = wheel.schedule(1L, 0, 10);
+        wheel.schedule(2L, 0, 10_000);
+
+        wheel.clear();
+        assertEquals(0, wheel.size());
+        assertFalse(wheel.cancel(timer));
+
+        wheel.advance(100_000, expired::add);
+        assertTrue(expired.isEmpty());
+    }
+}
@@ -23,9 +23,14 @@ import org.openkilda.wfm.share.zk.ZooKeeperBolt;
 import org.openkilda.wfm.share.zk.ZooKeeperSpout;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.connecteddevices.bolts.PacketBolt;
+import org.openkilda.wfm.topology.connecteddevices.bolts.TickBolt;
+import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
 
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.topology.TopologyBuilder;
+import org.apache.storm.tuple.Fields;
+
+import java.time.Duration;
 
 public class ConnectedDevicesTopology extends AbstractTopology<ConnectedDevicesTopologyConfig> {
     public static final String CONNECTED_DEVICES_SPOUT_ID = "connected-devices-spout";
@@ -48,6 +53,7 @@ public class ConnectedDevicesTopology extends AbstractTopology<ConnectedDevicesT
 
         createSpout(builder);
         createPacketBolt(builder, persistenceManager);
+        createTickBolt(builder);
 
         createZkBolt(builder);
 
@@ -60,10 +66,27 @@ public class ConnectedDevicesTopology extends AbstractTopology<ConnectedDevicesT
         declareSpout(builder, zooKeeperSpout, ZooKeeperSpout.SPOUT_ID);
     }
 
+    private void createTickBolt(TopologyBuilder builder) {
+        if (isWriteBehind()) {
+            declareBolt(builder, new TickBolt(topologyConfig.getFlushIntervalSeconds()), TickBolt.BOLT_ID);
+        }
+    }
+
     private void createPacketBolt(TopologyBuilder builder, PersistenceManager persistenceManager) {
-        PacketBolt routerBolt = new PacketBolt(persistenceManager, ZooKeeperSpout.SPOUT_ID);
+        if (!isWriteBehind()) {
+            PacketBolt routerBolt = new PacketBolt(persistenceManager, ZooKeeperSpout.SPOUT_ID);
+            declareBolt(builder, routerBolt, PACKET_BOLT_ID)
+                    .shuffleGrouping(CONNECTED_DEVICES_SPOUT_ID)
+                    .allGrouping(ZooKeeperSpout.SPOUT_ID);
+            return;
+        }
+
+        PacketBolt routerBolt = new PacketBolt(persistenceManager, ZooKeeperSpout.SPOUT_ID,
+                Duration.ofSeconds(topologyConfig.getLastSeenRefreshIntervalSeconds()));
+        // speaker uses switch id as kafka key, so devices of a switch are always kept by the same bolt instance
         declareBolt(builder, routerBolt, PACKET_BOLT_ID)
-                .shuffleGrouping(CONNECTED_DEVICES_SPOUT_ID)
+                .fieldsGrouping(CONNECTED_DEVICES_SPOUT_ID, new Fields(KafkaRecordTranslator.FIELD_ID_KEY))
+                .allGrouping(TickBolt.BOLT_ID)
                 .allGrouping(ZooKeeperSpout.SPOUT_ID);
     }
 
@@ -78,6 +101,10 @@ public class ConnectedDevicesTopology extends AbstractTopology<ConnectedDevicesT
                 .allGrouping(PACKET_BOLT_ID, ZkStreams.ZK.toString());
     }
 
+    private boolean isWriteBehind() {
+        return topologyConfig.getFlushIntervalSeconds() > 0;
+    }
+
     @Override
     protected String getZkTopoName() {
         return "connecteddevices";
@@ -18,10 +18,24 @@ package org.openkilda.wfm.topology.connecteddevices;
 import org.openkilda.wfm.topology.AbstractTopologyConfig;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
 
 @Configuration
 public interface ConnectedDevicesTopologyConfig extends AbstractTopologyConfig {
 
+    /**
+     * Interval of the connected devices write-behind flush, 0 disables write-behind (each packet is written in its
+     * own transaction).
+     */
+    @Key("connected.devices.flush.interval.seconds")
+    @Default("5")
+    int getFlushIntervalSeconds();
+
+    @Key("connected.devices.last.seen.refresh.interval.seconds")
+    @Default("60")
+    int getLastSeenRefreshIntervalSeconds();
+
     default String getKafkaTopoConnectedDevicesTopic() {
         return getKafkaTopics().getTopoConnectedDevicesTopic();
     }
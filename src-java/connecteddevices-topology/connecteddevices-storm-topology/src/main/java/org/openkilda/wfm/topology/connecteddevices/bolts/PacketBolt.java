@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.connecteddevices.bolts;
 
 import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
 
+import org.openkilda.bluegreen.LifecycleEvent;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
@@ -35,24 +36,51 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 
+import java.time.Duration;
+
 @Slf4j
 public class PacketBolt extends AbstractBolt {
     private final PersistenceManager persistenceManager;
+    private final Duration lastSeenRefreshInterval;
     private transient PacketService packetService;
 
     public PacketBolt(PersistenceManager persistenceManager, String lifeCycleEventSourceComponent) {
+        this(persistenceManager, lifeCycleEventSourceComponent, null);
+    }
+
+    /**
+     * Creates bolt which coalesces device updates and writes them on ticks of {@link TickBolt}.
+     *
+     * @param lastSeenRefreshInterval refresh interval of the device last seen time, null disables write-behind
+     */
+    public PacketBolt(
+            PersistenceManager persistenceManager, String lifeCycleEventSourceComponent,
+            Duration lastSeenRefreshInterval) {
         super(lifeCycleEventSourceComponent);
         this.persistenceManager = persistenceManager;
+        this.lastSeenRefreshInterval = lastSeenRefreshInterval;
     }
 
     @Override
     protected void init() {
-        packetService = new PacketService(persistenceManager);
+        if (lastSeenRefreshInterval != null) {
+            packetService = new PacketService(persistenceManager, lastSeenRefreshInterval);
+        } else {
+            packetService = new PacketService(persistenceManager);
+        }
+    }
+
+    @Override
+    protected boolean deactivate(LifecycleEvent event) {
+        packetService.flushAll();
+        return true;
     }
 
     @Override
     protected void handleInput(Tuple input) throws PipelineException {
-        if (active) {
+        if (active && TickBolt.BOLT_ID.equals(input.getSourceComponent())) {
+            packetService.flush();
+        } else if (active) {
             Message message = pullValue(input, FIELD_ID_PAYLOAD, Message.class);
 
             if (message instanceof InfoMessage) {
@@ -33,6 +33,7 @@ import static org.openkilda.model.cookie.Cookie.LLDP_TRANSIT_COOKIE;
 import org.openkilda.messaging.info.event.ArpInfoData;
 import org.openkilda.messaging.info.event.ConnectedDevicePacketBase;
 import org.openkilda.messaging.info.event.LldpInfoData;
+import org.openkilda.model.ConnectedDeviceType;
 import org.openkilda.model.Flow;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchConnectedDevice;
@@ -46,23 +47,71 @@ import org.openkilda.persistence.repositories.TransitVlanRepository;
 import org.openkilda.persistence.tx.TransactionManager;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Iterables;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
+/**
+ * Persists connected devices seen by the speaker.
+ * <p/>
+ * In the write-behind mode packets are collected in the in-memory device table and written by {@link #flush()} in
+ * batched transactions. A packet which doesn't change the device only updates its last seen time in memory, the
+ * persisted last seen time is refreshed once per refresh interval. If a batch fails, its devices are written one by
+ * one, so a single broken device doesn't block the others. A device which fails to be written on several flushes in a
+ * row is dropped from the device table.
+ */
 @Slf4j
 public class PacketService {
     public static final int FULL_PORT_VLAN = 0;
 
+    private static final int FLUSH_BATCH_SIZE = 100;
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+
     private TransactionManager transactionManager;
     private SwitchRepository switchRepository;
     private SwitchConnectedDeviceRepository switchConnectedDeviceRepository;
     private TransitVlanRepository transitVlanRepository;
     private FlowRepository flowRepository;
 
+    private final boolean writeBehind;
+    private final long refreshIntervalMillis;
+    private final Clock clock;
+    private final Map<DeviceKey, DeviceEntry> devices = new HashMap<>();
+
+    /**
+     * Creates service which writes each packet in its own transaction.
+     */
     public PacketService(PersistenceManager persistenceManager) {
+        this(persistenceManager, false, Duration.ZERO, Clock.systemUTC());
+    }
+
+    /**
+     * Creates service which coalesces device updates in the in-memory device table.
+     *
+     * @param refreshInterval minimal interval between writes of the last seen time of an unchanged device, a device
+     *                        which was not seen during this interval is evicted from the device table
+     */
+    public PacketService(PersistenceManager persistenceManager, Duration refreshInterval) {
+        this(persistenceManager, true, refreshInterval, Clock.systemUTC());
+    }
+
+    @VisibleForTesting
+    PacketService(PersistenceManager persistenceManager, boolean writeBehind, Duration refreshInterval, Clock clock) {
+        this.writeBehind = writeBehind;
+        this.refreshIntervalMillis = refreshInterval.toMillis();
+        this.clock = clock;
+
         transactionManager = persistenceManager.getTransactionManager();
         switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         switchConnectedDeviceRepository = persistenceManager.getRepositoryFactory()
@@ -75,52 +124,180 @@ public class PacketService {
      * Handle LLDP info data.
      */
     public void handleLldpData(LldpInfoData data) {
-        transactionManager.doInTransaction(() -> {
-
-            FlowRelatedData flowRelatedData = findFlowRelatedData(data);
-            if (flowRelatedData == null) {
-                return;
-            }
-
-            SwitchConnectedDevice device = getOrCreateLldpDevice(data, flowRelatedData.originalVlan);
-
-            if (device == null) {
-                return;
-            }
-
-            device.setTtl(data.getTtl());
-            device.setPortDescription(data.getPortDescription());
-            device.setSystemName(data.getSystemName());
-            device.setSystemDescription(data.getSystemDescription());
-            device.setSystemCapabilities(data.getSystemCapabilities());
-            device.setManagementAddress(data.getManagementAddress());
-            device.setTimeLastSeen(Instant.ofEpochMilli(data.getTimestamp()));
-            device.setFlowId(flowRelatedData.flowId);
-            device.setSource(flowRelatedData.source);
-        });
+        if (writeBehind) {
+            registerPacket(DeviceKey.of(data), data);
+        } else {
+            transactionManager.doInTransaction(() -> persistLldpData(data, data.getTimestamp()));
+        }
     }
 
     /**
      * Handle Arp info data.
      */
     public void handleArpData(ArpInfoData data) {
-        transactionManager.doInTransaction(() -> {
+        if (writeBehind) {
+            registerPacket(DeviceKey.of(data), data);
+        } else {
+            transactionManager.doInTransaction(() -> persistArpData(data, data.getTimestamp()));
+        }
+    }
+
+    /**
+     * Write new and changed devices and due last seen time refreshes in batched transactions, evict devices which were
+     * not seen during the refresh interval.
+     */
+    public void flush() {
+        flushDevices(false);
+    }
+
+    /**
+     * Write all devices with unsaved changes or last seen time and clear the device table.
+     */
+    public void flushAll() {
+        flushDevices(true);
+        devices.clear();
+    }
 
-            FlowRelatedData flowRelatedData = findFlowRelatedData(data);
-            if (flowRelatedData == null) {
-                return;
+    @VisibleForTesting
+    int getDeviceTableSize() {
+        return devices.size();
+    }
+
+    private void flushDevices(boolean force) {
+        long now = clock.millis();
+        List<DeviceEntry> pending = new ArrayList<>();
+        Iterator<DeviceEntry> iterator = devices.values().iterator();
+        while (iterator.hasNext()) {
+            DeviceEntry entry = iterator.next();
+            if (entry.dirty || isRefreshRequired(entry, force)) {
+                pending.add(entry);
+            } else if (now - entry.touchedAt >= refreshIntervalMillis) {
+                iterator.remove();
             }
+        }
 
-            SwitchConnectedDevice device = getOrCreateArpDevice(data, flowRelatedData.originalVlan);
+        for (List<DeviceEntry> batch : Iterables.partition(pending, FLUSH_BATCH_SIZE)) {
+            try {
+                transactionManager.doInTransaction(() -> batch.forEach(this::persist));
+            } catch (Exception e) {
+                log.warn("Failed to write {} connected devices in one transaction, writing them one by one: {}",
+                        batch.size(), e.getMessage());
+                batch.forEach(this::flushDevice);
+                continue;
+            }
+            batch.forEach(this::markPersisted);
+        }
+        if (!pending.isEmpty()) {
+            log.debug("Flushed {} of {} connected devices", pending.size(), devices.size());
+        }
+    }
 
-            if (device == null) {
-                return;
+    private void flushDevice(DeviceEntry entry) {
+        try {
+            transactionManager.doInTransaction(() -> persist(entry));
+        } catch (Exception e) {
+            entry.failedAttempts++;
+            if (entry.failedAttempts < MAX_FLUSH_ATTEMPTS) {
+                // the entry stays pending and will be written on the next flush
+                log.error("Failed to write connected device {} (attempt {}): {}",
+                        entry.key, entry.failedAttempts, e.getMessage(), e);
+            } else {
+                devices.remove(entry.key);
+                log.error("Failed to write connected device {} {} times, dropping it: {}",
+                        entry.key, entry.failedAttempts, e.getMessage(), e);
             }
+            return;
+        }
+        markPersisted(entry);
+    }
+
+    private void markPersisted(DeviceEntry entry) {
+        entry.dirty = false;
+        entry.persistedLastSeen = entry.data.getTimestamp();
+        entry.failedAttempts = 0;
+    }
+
+    private void registerPacket(DeviceKey key, ConnectedDevicePacketBase data) {
+        long now = clock.millis();
+        DeviceEntry entry = devices.get(key);
+        if (entry == null) {
+            devices.put(key, new DeviceEntry(key, data, now));
+            return;
+        }
+
+        if (!entry.dirty && isChanged(entry.data, data)) {
+            entry.dirty = true;
+        }
+        entry.data = data;
+        entry.touchedAt = now;
+    }
+
+    private void persist(DeviceEntry entry) {
+        if (entry.data instanceof LldpInfoData) {
+            persistLldpData((LldpInfoData) entry.data, entry.firstSeen);
+        } else if (entry.data instanceof ArpInfoData) {
+            persistArpData((ArpInfoData) entry.data, entry.firstSeen);
+        }
+    }
+
+    private boolean isRefreshRequired(DeviceEntry entry, boolean force) {
+        long notPersisted = entry.data.getTimestamp() - entry.persistedLastSeen;
+        return force ? notPersisted > 0 : notPersisted >= refreshIntervalMillis;
+    }
+
+    private boolean isChanged(ConnectedDevicePacketBase current, ConnectedDevicePacketBase update) {
+        if (current instanceof LldpInfoData && update instanceof LldpInfoData) {
+            LldpInfoData lldpCurrent = (LldpInfoData) current;
+            LldpInfoData lldpUpdate = (LldpInfoData) update;
+            return !Objects.equals(lldpCurrent.getTtl(), lldpUpdate.getTtl())
+                    || !Objects.equals(lldpCurrent.getPortDescription(), lldpUpdate.getPortDescription())
+                    || !Objects.equals(lldpCurrent.getSystemName(), lldpUpdate.getSystemName())
+                    || !Objects.equals(lldpCurrent.getSystemDescription(), lldpUpdate.getSystemDescription())
+                    || !Objects.equals(lldpCurrent.getSystemCapabilities(), lldpUpdate.getSystemCapabilities())
+                    || !Objects.equals(lldpCurrent.getManagementAddress(), lldpUpdate.getManagementAddress());
+        }
+        // all significant ARP fields are the part of the device key
+        return false;
+    }
+
+    private void persistLldpData(LldpInfoData data, long firstSeen) {
+        FlowRelatedData flowRelatedData = findFlowRelatedData(data);
+        if (flowRelatedData == null) {
+            return;
+        }
+
+        SwitchConnectedDevice device = getOrCreateLldpDevice(data, flowRelatedData.originalVlan, firstSeen);
 
-            device.setTimeLastSeen(Instant.ofEpochMilli(data.getTimestamp()));
-            device.setFlowId(flowRelatedData.flowId);
-            device.setSource(flowRelatedData.source);
-        });
+        if (device == null) {
+            return;
+        }
+
+        device.setTtl(data.getTtl());
+        device.setPortDescription(data.getPortDescription());
+        device.setSystemName(data.getSystemName());
+        device.setSystemDescription(data.getSystemDescription());
+        device.setSystemCapabilities(data.getSystemCapabilities());
+        device.setManagementAddress(data.getManagementAddress());
+        device.setTimeLastSeen(Instant.ofEpochMilli(data.getTimestamp()));
+        device.setFlowId(flowRelatedData.flowId);
+        device.setSource(flowRelatedData.source);
+    }
+
+    private void persistArpData(ArpInfoData data, long firstSeen) {
+        FlowRelatedData flowRelatedData = findFlowRelatedData(data);
+        if (flowRelatedData == null) {
+            return;
+        }
+
+        SwitchConnectedDevice device = getOrCreateArpDevice(data, flowRelatedData.originalVlan, firstSeen);
+
+        if (device == null) {
+            return;
+        }
+
+        device.setTimeLastSeen(Instant.ofEpochMilli(data.getTimestamp()));
+        device.setFlowId(flowRelatedData.flowId);
+        device.setSource(flowRelatedData.source);
     }
 
     private FlowRelatedData findFlowRelatedData(ConnectedDevicePacketBase data) {
@@ -346,7 +523,7 @@ public class PacketService {
         }
     }
 
-    private SwitchConnectedDevice getOrCreateLldpDevice(LldpInfoData data, int vlan) {
+    private SwitchConnectedDevice getOrCreateLldpDevice(LldpInfoData data, int vlan, long firstSeen) {
         Optional<SwitchConnectedDevice> device = switchConnectedDeviceRepository
                 .findLldpByUniqueFieldCombination(
                         data.getSwitchId(), data.getPortNumber(), vlan, data.getMacAddress(),
@@ -373,13 +550,13 @@ public class PacketService {
                 .type(LLDP)
                 .chassisId(data.getChassisId())
                 .portId(data.getPortId())
-                .timeFirstSeen(Instant.ofEpochMilli(data.getTimestamp()))
+                .timeFirstSeen(Instant.ofEpochMilli(firstSeen))
                 .build();
         switchConnectedDeviceRepository.add(connectedDevice);
         return connectedDevice;
     }
 
-    private SwitchConnectedDevice getOrCreateArpDevice(ArpInfoData data, int vlan) {
+    private SwitchConnectedDevice getOrCreateArpDevice(ArpInfoData data, int vlan, long firstSeen) {
         Optional<SwitchConnectedDevice> device = switchConnectedDeviceRepository
                 .findArpByUniqueFieldCombination(
                         data.getSwitchId(), data.getPortNumber(), vlan, data.getMacAddress(), data.getIpAddress());
@@ -404,7 +581,7 @@ public class PacketService {
                 .macAddress(data.getMacAddress())
                 .type(ARP)
                 .ipAddress(data.getIpAddress())
-                .timeFirstSeen(Instant.ofEpochMilli(data.getTimestamp()))
+                .timeFirstSeen(Instant.ofEpochMilli(firstSeen))
                 .build();
         switchConnectedDeviceRepository.add(connectedDevice);
         return connectedDevice;
@@ -427,4 +604,48 @@ public class PacketService {
         String flowId;
         Boolean source; // device connected to source of Flow or to destination
     }
+
+    /**
+     * Identity of the device in the device table. Includes the raw packet vlans and cookie, because the flow related
+     * data of the device is resolved from them.
+     */
+    @Value
+    private static class DeviceKey {
+        ConnectedDeviceType type;
+        SwitchId switchId;
+        int portNumber;
+        List<Integer> vlans;
+        long cookie;
+        String macAddress;
+        String chassisId;
+        String portId;
+        String ipAddress;
+
+        static DeviceKey of(LldpInfoData data) {
+            return new DeviceKey(LLDP, data.getSwitchId(), data.getPortNumber(), data.getVlans(), data.getCookie(),
+                    data.getMacAddress(), data.getChassisId(), data.getPortId(), null);
+        }
+
+        static DeviceKey of(ArpInfoData data) {
+            return new DeviceKey(ARP, data.getSwitchId(), data.getPortNumber(), data.getVlans(), data.getCookie(),
+                    data.getMacAddress(), null, null, data.getIpAddress());
+        }
+    }
+
+    private static class DeviceEntry {
+        private final DeviceKey key;
+        private ConnectedDevicePacketBase data;
+        private final long firstSeen;
+        private long persistedLastSeen;
+        private boolean dirty = true;
+        private long touchedAt;
+        private int failedAttempts;
+
+        DeviceEntry(DeviceKey key, ConnectedDevicePacketBase data, long touchedAt) {
+            this.key = key;
+            this.data = data;
+            this.firstSeen = data.getTimestamp();
+            this.touchedAt = touchedAt;
+        }
+    }
 }
@@ -19,6 +19,8 @@ import static com.google.common.collect.Lists.newArrayList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static org.openkilda.model.cookie.Cookie.ARP_INPUT_PRE_DROP_COOKIE;
 import static org.openkilda.model.cookie.Cookie.LLDP_INPUT_PRE_DROP_COOKIE;
 
@@ -44,6 +46,8 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -81,6 +85,8 @@ public class PacketServiceTest extends InMemoryGraphBasedTest {
     public static final int VLAN_3 = 3;
     public static final int TTL_1 = 120;
     public static final int TTL_2 = 240;
+    public static final long START = 1_600_000_000_000L;
+    public static final Duration REFRESH_INTERVAL = Duration.ofSeconds(60);
 
     private static SwitchConnectedDeviceRepository switchConnectedDeviceRepository;
     private static SwitchRepository switchRepository;
@@ -389,6 +395,112 @@ public class PacketServiceTest extends InMemoryGraphBasedTest {
         assertEquals(source, flowRelatedData.getSource());
     }
 
+    @Test
+    public void testWriteBehindCoalescesUnchangedLldpPackets() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(START);
+        PacketService service = new PacketService(persistenceManager, true, REFRESH_INTERVAL, clock);
+
+        LldpInfoData data = createLldpInfoDataData();
+        data.setTimestamp(START);
+        service.handleLldpData(data);
+        assertTrue(switchConnectedDeviceRepository.findAll().isEmpty());
+
+        service.flush();
+        assertEquals(1, switchConnectedDeviceRepository.findAll().size());
+        assertLldpConnectedDeviceExistInDatabase(data);
+
+        // same device within the refresh interval is not written again
+        LldpInfoData repeated = createLldpInfoDataData();
+        repeated.setTimestamp(START + 1000);
+        service.handleLldpData(repeated);
+        service.flush();
+        SwitchConnectedDevice device = switchConnectedDeviceRepository.findAll().iterator().next();
+        assertEquals(START, device.getTimeLastSeen().toEpochMilli());
+
+        // refresh interval is passed, last seen time must be updated
+        LldpInfoData late = createLldpInfoDataData();
+        late.setTimestamp(START + REFRESH_INTERVAL.toMillis());
+        service.handleLldpData(late);
+        service.flush();
+        device = switchConnectedDeviceRepository.findAll().iterator().next();
+        assertEquals(START, device.getTimeFirstSeen().toEpochMilli());
+        assertEquals(late.getTimestamp(), device.getTimeLastSeen().toEpochMilli());
+    }
+
+    @Test
+    public void testWriteBehindWritesChangedLldpAttributesOnFlush() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(START);
+        PacketService service = new PacketService(persistenceManager, true, REFRESH_INTERVAL, clock);
+
+        LldpInfoData data = createLldpInfoDataData();
+        data.setTimestamp(START);
+        service.handleLldpData(data);
+        service.flush();
+
+        LldpInfoData updated = createLldpInfoDataData();
+        updated.setSystemName(SYSTEM_NAME_2);
+        updated.setTimestamp(START + 1000);
+        service.handleLldpData(updated);
+        service.flush();
+
+        Collection<SwitchConnectedDevice> devices = switchConnectedDeviceRepository.findAll();
+        assertEquals(1, devices.size());
+        assertLldpInfoDataDataEqualsSwitchConnectedDevice(updated, devices.iterator().next());
+        assertEquals(updated.getTimestamp(), devices.iterator().next().getTimeLastSeen().toEpochMilli());
+    }
+
+    @Test
+    public void testWriteBehindFlushAllWritesPendingLastSeen() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(START);
+        PacketService service = new PacketService(persistenceManager, true, REFRESH_INTERVAL, clock);
+
+        ArpInfoData data = createArpInfoData();
+        data.setTimestamp(START);
+        service.handleArpData(data);
+        service.flush();
+
+        ArpInfoData repeated = createArpInfoData();
+        repeated.setTimestamp(START + 1000);
+        service.handleArpData(repeated);
+        service.flush();
+        assertEquals(START, switchConnectedDeviceRepository.findAll().iterator().next()
+                .getTimeLastSeen().toEpochMilli());
+
+        service.flushAll();
+        assertEquals(repeated.getTimestamp(), switchConnectedDeviceRepository.findAll().iterator().next()
+                .getTimeLastSeen().toEpochMilli());
+    }
+
+    @Test
+    public void testWriteBehindWritesDevicesOfFailedBatchOneByOne() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(START);
+        PacketService service = new PacketService(persistenceManager, true, REFRESH_INTERVAL, clock);
+
+        LldpInfoData data = createLldpInfoDataData();
+        data.setTimestamp(START);
+        service.handleLldpData(data);
+        // the packet without vlans fails to be written and breaks the whole batch
+        LldpInfoData broken = createLldpInfoDataData(SWITCH_ID_1, null, PORT_NUMBER_2);
+        broken.setTimestamp(START);
+        service.handleLldpData(broken);
+
+        service.flush();
+        assertEquals(1, switchConnectedDeviceRepository.findAll().size());
+        assertLldpConnectedDeviceExistInDatabase(data);
+        assertEquals(2, service.getDeviceTableSize());
+
+        // the broken device is retried on next flushes and dropped after the last attempt
+        service.flush();
+        assertEquals(2, service.getDeviceTableSize());
+        service.flush();
+        assertEquals(1, service.getDeviceTableSize());
+        assertEquals(1, switchConnectedDeviceRepository.findAll().size());
+    }
+
     private void runHandleLldpDataWithAddedDevice(LldpInfoData updatedData) {
         LldpInfoData data = createLldpInfoDataData();
         packetService.handleLldpData(data);
@@ -0,0 +1,149 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.info;
+
+import org.openkilda.messaging.info.event.ConnectedDevicePacketBase;
+import org.openkilda.messaging.info.event.IslBaseLatency;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.IslOneWayLatency;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.model.SwitchId;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Routing keys of an {@link InfoMessage} sent by the speaker. They are passed in kafka record headers, so the
+ * floodlight router is able to route the message without decoding its payload.
+ */
+@Value
+@Builder
+public class InfoMessageRoutingKeys implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final String HEADER_PAYLOAD_TYPE = "kilda.routing.payload.type";
+    public static final String HEADER_SWITCH_ID = "kilda.routing.switch.id";
+    public static final String HEADER_REGION = "kilda.routing.region";
+    public static final String HEADER_TIMESTAMP = "kilda.routing.timestamp";
+    public static final String HEADER_CORRELATION_ID = "kilda.routing.correlation.id";
+
+    /**
+     * Class name of the message payload.
+     */
+    @NonNull
+    String payloadType;
+
+    /**
+     * Switch which active region must match the region of the message, null if the message is not bound to the
+     * region of some switch.
+     */
+    SwitchId switchId;
+
+    String region;
+    long timestamp;
+    String correlationId;
+
+    /**
+     * Extract routing keys from the message. Only plain {@link InfoMessage} has routing keys, any other message must
+     * be decoded by the router.
+     */
+    public static Optional<InfoMessageRoutingKeys> of(Object message) {
+        if (message == null || message.getClass() != InfoMessage.class) {
+            return Optional.empty();
+        }
+
+        InfoMessage envelope = (InfoMessage) message;
+        InfoData payload = envelope.getData();
+        if (payload == null) {
+            return Optional.empty();
+        }
+        return Optional.of(InfoMessageRoutingKeys.builder()
+                .payloadType(payload.getClass().getName())
+                .switchId(lookupSwitchId(payload))
+                .region(envelope.getRegion())
+                .timestamp(envelope.getTimestamp())
+                .correlationId(envelope.getCorrelationId())
+                .build());
+    }
+
+    /**
+     * Decode routing keys from the headers.
+     *
+     * @param headers lookup of header value by header name, returns null for missing headers
+     * @return routing keys or empty result if the record has no (valid) routing headers
+     */
+    public static Optional<InfoMessageRoutingKeys> fromHeaders(Function<String, String> headers) {
+        String payloadType = headers.apply(HEADER_PAYLOAD_TYPE);
+        String timestamp = headers.apply(HEADER_TIMESTAMP);
+        if (payloadType == null || timestamp == null) {
+            return Optional.empty();
+        }
+
+        String switchId = headers.apply(HEADER_SWITCH_ID);
+        try {
+            return Optional.of(InfoMessageRoutingKeys.builder()
+                    .payloadType(payloadType)
+                    .switchId(switchId != null ? new SwitchId(switchId) : null)
+                    .region(headers.apply(HEADER_REGION))
+                    .timestamp(Long.parseLong(timestamp))
+                    .correlationId(headers.apply(HEADER_CORRELATION_ID))
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Encode routing keys into headers, keys with null values are skipped.
+     */
+    public Map<String, String> toHeaders() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(HEADER_PAYLOAD_TYPE, payloadType);
+        if (switchId != null) {
+            headers.put(HEADER_SWITCH_ID, switchId.toString());
+        }
+        if (region != null) {
+            headers.put(HEADER_REGION, region);
+        }
+        headers.put(HEADER_TIMESTAMP, Long.toString(timestamp));
+        if (correlationId != null) {
+            headers.put(HEADER_CORRELATION_ID, correlationId);
+        }
+        return headers;
+    }
+
+    private static SwitchId lookupSwitchId(InfoData payload) {
+        if (payload instanceof IslInfoData) {
+            PathNode destination = ((IslInfoData) payload).getDestination();
+            return destination != null ? destination.getSwitchId() : null;
+        } else if (payload instanceof IslOneWayLatency) {
+            return ((IslOneWayLatency) payload).getDstSwitchId();
+        } else if (payload instanceof IslBaseLatency) {
+            return ((IslBaseLatency) payload).getSrcSwitchId();
+        } else if (payload instanceof ConnectedDevicePacketBase) {
+            return ((ConnectedDevicePacketBase) payload).getSwitchId();
+        }
+        return null;
+    }
+}
@@ -53,6 +53,21 @@ public interface KildaCoreConfig {
     @Default("5000")
     int getServer42UdpPortOffset();
 
+    /**
+     * OF sessions of the same switch closed within this window share one closing barrier request. Zero disables
+     * coalescing, so each session sends own barrier.
+     */
+    @Key("session-barrier-coalescing-window-millis")
+    @Default("5")
+    long getSessionBarrierCoalescingWindowMillis();
+
+    /**
+     * The shared barrier is sent without waiting for the coalescing window end if this many sessions are closed.
+     */
+    @Key("session-barrier-coalescing-batch-size")
+    @Default("128")
+    int getSessionBarrierCoalescingBatchSize();
+
     @Key("role")
     @Default("management")
     @Converter(EnumLowerCaseConverter.class)
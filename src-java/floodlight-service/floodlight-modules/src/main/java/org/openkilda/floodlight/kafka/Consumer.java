@@ -30,6 +30,7 @@ import org.openkilda.floodlight.service.zookeeper.ZooKeeperService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
 
 import com.google.common.annotations.VisibleForTesting;
+import lombok.Value;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
@@ -39,19 +40,25 @@ import org.apache.kafka.common.errors.InterruptException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Consumer implements Runnable, ZooKeeperEventObserver {
     private static final Logger logger = LoggerFactory.getLogger(Consumer.class);
 
-    private final ExecutorService handlersPool;
+    private final KeyAffinityExecutor handlersPool;
+    private final Executor routingExecutor;
     private final RecordHandler.Factory handlerFactory;
     private final KafkaConsumerSetup kafkaSetup;
     private final long commitInterval;
@@ -60,16 +67,17 @@ public class Consumer implements Runnable, ZooKeeperEventObserver {
     private final KafkaUtilityService kafkaUtilityService;
     private final ISwitchManager switchManager; // HACK alert.. adding to facilitate safeSwitchTick()
 
-    private final Set<Future<?>> tasks = new HashSet<>();
+    private final PendingRecordRegistry pendingRecords;
 
     private final ZooKeeperService zkService;
     private LifecycleEvent deferredShutdownEvent;
     private final AtomicBoolean active = new AtomicBoolean(false);
 
-    public Consumer(FloodlightModuleContext moduleContext, ExecutorService handlersPool,
-                    KafkaConsumerSetup kafkaSetup, Factory handlerFactory,
-                    long commitInterval, long pollTimeout) {
+    public Consumer(FloodlightModuleContext moduleContext, KeyAffinityExecutor handlersPool,
+                    Executor routingExecutor, KafkaConsumerSetup kafkaSetup, Factory handlerFactory,
+                    long commitInterval, long pollTimeout, int maxPendingRecords) {
         this.handlersPool = requireNonNull(handlersPool);
+        this.routingExecutor = requireNonNull(routingExecutor);
         this.handlerFactory = requireNonNull(handlerFactory);
         this.kafkaSetup = kafkaSetup;
 
@@ -77,6 +85,8 @@ public class Consumer implements Runnable, ZooKeeperEventObserver {
         this.commitInterval = commitInterval;
         checkArgument(pollTimeout > 0, "pollTimeout must be positive");
         this.pollTimeout = pollTimeout;
+        checkArgument(maxPendingRecords > 0, "maxPendingRecords must be positive");
+        this.pendingRecords = new PendingRecordRegistry(maxPendingRecords);
 
         kafkaUtilityService = moduleContext.getServiceImpl(KafkaUtilityService.class);
         switchManager = moduleContext.getServiceImpl(ISwitchManager.class);
@@ -104,30 +114,27 @@ public class Consumer implements Runnable, ZooKeeperEventObserver {
                 logger.info("Kafka consumer: start. Topics: {}", kafkaSetup.getTopics());
 
                 KafkaOffsetRegistry offsetRegistry = new KafkaOffsetRegistry(consumer, commitInterval);
+                // records of the previous consumer are redelivered starting from its last committed offsets
+                pendingRecords.clear();
 
                 while (true) {
                     try {
-                        if (!tasks.isEmpty()) {
-                            Set<Future<?>> toRemove = new HashSet<>();
-                            for (Future<?> task : tasks) {
-                                if (task.get() == null) {
-                                    toRemove.add(task);
-                                }
-                            }
-                            tasks.removeAll(toRemove);
-                        } else if (deferredShutdownEvent != null && !active.get()) {
+                        if (!pendingRecords.hasUnfinishedRecords() && deferredShutdownEvent != null
+                                && !active.get()) {
                             zkService.processLifecycleEvent(deferredShutdownEvent);
                             deferredShutdownEvent = null;
                         }
 
                         ConsumerRecords<String, String> batch = consumer.poll(pollTimeout);
                         if (!batch.isEmpty()) {
-                            handle(batch, offsetRegistry);
+                            handle(batch);
                         }
                         tick();
                     } finally {
-                        // force to commit after each completed batch or in a case of an exception / error.
+                        // force to commit handled records after each batch or in a case of an exception / error.
+                        pendingRecords.completeHandledRecords(offsetRegistry);
                         offsetRegistry.commitOffsets();
+                        pendingRecords.applyBackPressure(consumer);
                     }
 
                     switchManager.safeModeTick(); // HACK alert .. should go in its own timer loop
@@ -165,26 +172,151 @@ public class Consumer implements Runnable, ZooKeeperEventObserver {
         }
     }
 
-    private void handle(ConsumerRecords<String, String> recordsBatch, KafkaOffsetRegistry offsetRegistry) {
+    private void handle(ConsumerRecords<String, String> recordsBatch) {
         logger.debug("Received records batch contain {} messages", recordsBatch.count());
         for (ConsumerRecord<String, String> record : recordsBatch) {
-            handle(record);
-            offsetRegistry.addAndCommit(record);
+            pendingRecords.add(record, handle(record));
         }
     }
 
-    private void handle(ConsumerRecord<String, String> record) {
+    private Future<?> handle(ConsumerRecord<String, String> record) {
         if (!active.get()) {
-            return;
+            return CompletableFuture.completedFuture(null);
         }
         logger.trace("received message: {} - key:{}, value:{}", record.offset(), record.key(), record.value());
-        tasks.add(handlersPool.submit(handlerFactory.produce(record)));
+        RecordHandler handler = handlerFactory.produce(record);
+        CompletableFuture<Void> handling = new CompletableFuture<>();
+        // The routing executor is single threaded, so records are passed into lanes in the order of arrival.
+        routingExecutor.execute(() -> route(record, handler, handling));
+        return handling;
+    }
+
+    /**
+     * Passes the handler into the lane of the target switch, so commands for the same switch are handled one by one
+     * in the order of arrival. Looking up the target switch parses the record, it's done here rather than in the poll
+     * loop, the handler reuses the parsed record.
+     */
+    private void route(ConsumerRecord<String, String> record, RecordHandler handler,
+                       CompletableFuture<Void> handling) {
+        Object affinityKey;
+        try {
+            affinityKey = handler.getTargetSwitch()
+                    .map(Object.class::cast)
+                    .orElseGet(() -> record.key() != null ? record.key() : record.offset());
+        } catch (Exception e) {
+            logger.error(format("Unable to route the record %d - key:%s", record.offset(), record.key()), e);
+            handling.completeExceptionally(e);
+            return;
+        }
+        handlersPool.submit(affinityKey, handler).whenComplete((ignore, error) -> {
+            if (error instanceof CancellationException) {
+                handling.cancel(false);
+            } else {
+                handling.complete(null);
+            }
+        });
     }
 
     private void tick() {
         handlersPool.execute(new TickHandler(handlerFactory.getContext()));
     }
 
+    @Value
+    private static class PendingRecord {
+        ConsumerRecord<String, String> record;
+        Future<?> handling;
+
+        boolean isFinished() {
+            return handling.isDone();
+        }
+
+        boolean isCancelled() {
+            return handling.isCancelled();
+        }
+    }
+
+    /**
+     * Tracks polled records until their handling completes. Records are handled concurrently, so only the leading
+     * handled records of each partition can be committed.
+     * <p/>
+     * A partition is paused while it has too many pending records, it bounds both the queues of the handlers pool
+     * and the records completed behind a slow one, and doesn't block the poll loop.
+     * <p/>
+     * Note: the implementation is not thread-safe.
+     */
+    @VisibleForTesting
+    static class PendingRecordRegistry {
+        private final int maxPendingRecords;
+
+        private final Map<TopicPartition, Deque<PendingRecord>> partitionToRecords = new HashMap<>();
+
+        PendingRecordRegistry(int maxPendingRecords) {
+            this.maxPendingRecords = maxPendingRecords;
+        }
+
+        void add(ConsumerRecord<String, String> record, Future<?> handling) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            partitionToRecords.computeIfAbsent(partition, ignore -> new ArrayDeque<>())
+                    .add(new PendingRecord(record, handling));
+        }
+
+        /**
+         * Passes the leading handled records of each partition into the offset registry. A cancelled handling stops
+         * the partition: neither its offset nor the later ones are committed, so the records are redelivered to the
+         * next consumer.
+         */
+        void completeHandledRecords(KafkaOffsetRegistry offsetRegistry) {
+            Iterator<Deque<PendingRecord>> iterator = partitionToRecords.values().iterator();
+            while (iterator.hasNext()) {
+                Deque<PendingRecord> partitionRecords = iterator.next();
+                while (!partitionRecords.isEmpty() && partitionRecords.peek().isFinished()
+                        && !partitionRecords.peek().isCancelled()) {
+                    offsetRegistry.addAndCommit(partitionRecords.poll().getRecord());
+                }
+                if (partitionRecords.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        /**
+         * Pauses the partitions which have reached the limit of pending records and resumes the drained ones.
+         */
+        void applyBackPressure(org.apache.kafka.clients.consumer.Consumer<String, String> consumer) {
+            Set<TopicPartition> overflowed = new HashSet<>();
+            for (Entry<TopicPartition, Deque<PendingRecord>> entry : partitionToRecords.entrySet()) {
+                if (entry.getValue().size() >= maxPendingRecords) {
+                    overflowed.add(entry.getKey());
+                }
+            }
+            // partitions may have been revoked since their records were polled
+            overflowed.retainAll(consumer.assignment());
+
+            Set<TopicPartition> drained = new HashSet<>(consumer.paused());
+            drained.removeAll(overflowed);
+            if (!drained.isEmpty()) {
+                consumer.resume(drained);
+            }
+            if (!overflowed.isEmpty()) {
+                consumer.pause(overflowed);
+            }
+        }
+
+        /**
+         * Checks whether any record is still being handled. Cancelled records are finished, they will never be
+         * handled by this consumer.
+         */
+        boolean hasUnfinishedRecords() {
+            return partitionToRecords.values().stream()
+                    .flatMap(Deque::stream)
+                    .anyMatch(record -> !record.isFinished());
+        }
+
+        void clear() {
+            partitionToRecords.clear();
+        }
+    }
+
     /**
      * Holds offsets for Kafka partitions and performs sync commits of them.
      * <p/>
@@ -30,6 +30,7 @@ import org.openkilda.floodlight.switchmanager.SwitchTrackingService;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.IFloodlightModule;
 import net.floodlightcontroller.core.module.IFloodlightService;
@@ -41,9 +42,6 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.RejectedExecutionHandler;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 public class KafkaMessageCollector implements IFloodlightModule {
@@ -97,13 +95,15 @@ public class KafkaMessageCollector implements IFloodlightModule {
     protected void launchTopics(KafkaMessageCollectorConfig consumerConfig,
                                 KafkaChannel kafkaChannel,
                                 ConsumerLauncher launcher) {
-        ExecutorService generalExecutor = buildExecutorWithNoQueue(consumerConfig.getGeneralExecutorCount());
+        KeyAffinityExecutor generalExecutor = buildKeyAffinityExecutor(
+                "kafka-consumer-general", consumerConfig.getGeneralExecutorCount(), consumerConfig);
         logger.info("Kafka Consumer: general executor threads = {}", consumerConfig.getGeneralExecutorCount());
         launcher.launch(generalExecutor, new KafkaConsumerSetup(kafkaChannel.getSpeakerTopic()));
         launcher.launch(generalExecutor, new KafkaConsumerSetup(kafkaChannel.getSpeakerFlowTopic()));
         launcher.launch(generalExecutor, new KafkaConsumerSetup(kafkaChannel.getSpeakerFlowPingTopic()));
 
-        ExecutorService discoCommandExecutor = buildExecutorWithNoQueue(consumerConfig.getDiscoExecutorCount());
+        KeyAffinityExecutor discoCommandExecutor = buildKeyAffinityExecutor(
+                "kafka-consumer-disco", consumerConfig.getDiscoExecutorCount(), consumerConfig);
         logger.info("Kafka Consumer: disco executor threads = {}", consumerConfig.getDiscoExecutorCount());
 
         KafkaConsumerSetup kafkaSetup = new KafkaConsumerSetup(kafkaChannel.getSpeakerDiscoTopic());
@@ -111,10 +111,10 @@ public class KafkaMessageCollector implements IFloodlightModule {
         launcher.launch(discoCommandExecutor, kafkaSetup);
     }
 
-    protected ExecutorService buildExecutorWithNoQueue(int executorCount) {
-        // A thread pool of fixed sized and no work queue.
-        return new ThreadPoolExecutor(executorCount, executorCount, 0L, TimeUnit.MILLISECONDS,
-                new SynchronousQueue<>(), new RetryableExecutionHandler());
+    protected KeyAffinityExecutor buildKeyAffinityExecutor(
+            String name, int executorCount, KafkaMessageCollectorConfig consumerConfig) {
+        // Each thread has own queue, commands for the same switch always go into the same queue.
+        return new KeyAffinityExecutor(name, executorCount);
     }
 
     protected static class ConsumerLauncher {
@@ -131,29 +131,16 @@ public class KafkaMessageCollector implements IFloodlightModule {
             this.handlerFactory = new RecordHandler.Factory(context);
         }
 
-        protected void launch(ExecutorService handlerExecutor, KafkaConsumerSetup kafkaSetup) {
-            Consumer consumer = new Consumer(moduleContext, handlerExecutor, kafkaSetup, handlerFactory,
-                    consumerConfig.getAutoCommitInterval(), consumerConfig.getKafkaConsumerPollTimeoutMillis());
+        protected void launch(KeyAffinityExecutor handlerExecutor, KafkaConsumerSetup kafkaSetup) {
+            ExecutorService routingExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("kafka-consumer-routing-%d")
+                    .setDaemon(true)
+                    .build());
+            Consumer consumer = new Consumer(moduleContext, handlerExecutor, routingExecutor, kafkaSetup,
+                    handlerFactory, consumerConfig.getAutoCommitInterval(),
+                    consumerConfig.getKafkaConsumerPollTimeoutMillis(), consumerConfig.getMaxPendingRecords());
             Executors.newSingleThreadScheduledExecutor()
                     .scheduleWithFixedDelay(consumer, 0, 1, TimeUnit.MILLISECONDS);
         }
     }
-
-    /**
-     * Handler of rejected messages by ThreadPoolExecutor, in case of reject this handler will wait
-     * until one of executors becomes available.
-     */
-    private static class RetryableExecutionHandler implements RejectedExecutionHandler {
-        @Override
-        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
-            if (!executor.isShutdown()) {
-                try {
-                    executor.getQueue().put(r);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    logger.error("Couldn't retry to process message", e);
-                }
-            }
-        }
-    }
 }
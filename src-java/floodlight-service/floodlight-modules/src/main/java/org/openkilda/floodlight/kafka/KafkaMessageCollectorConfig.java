@@ -35,6 +35,11 @@ public interface KafkaMessageCollectorConfig {
     @Min(1)
     int getDiscoExecutorCount();
 
+    @Key("consumer-max-pending-records")
+    @Default("500")
+    @Min(1)
+    int getMaxPendingRecords();
+
     @Key("consumer-auto-commit-interval")
     @Default("1000")
     @Min(1)
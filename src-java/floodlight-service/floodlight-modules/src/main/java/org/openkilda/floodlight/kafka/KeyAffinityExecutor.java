@@ -0,0 +1,102 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes tasks in a set of single threaded lanes. Tasks with the same key are always executed by the same lane, so
+ * they are executed one by one in the order of submission, while tasks with different keys run in parallel.
+ * <p/>
+ * Lane queues are not bounded, the submitter is responsible for limiting the number of tasks in flight.
+ */
+public class KeyAffinityExecutor {
+    private final ThreadPoolExecutor[] lanes;
+
+    public KeyAffinityExecutor(String name, int lanesCount) {
+        checkArgument(lanesCount > 0, "lanesCount must be positive");
+
+        ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat(name + "-%d")
+                .setDaemon(true)
+                .build();
+        lanes = new ThreadPoolExecutor[lanesCount];
+        for (int i = 0; i < lanesCount; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), threadFactory);
+        }
+    }
+
+    /**
+     * Submits the task into the lane bound to the key. The returned future is cancelled if the lane is shut down and
+     * the task will never be executed.
+     */
+    public CompletableFuture<Void> submit(Object key, Runnable task) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        try {
+            lanes[laneIndex(key)].execute(() -> {
+                try {
+                    task.run();
+                    result.complete(null);
+                } catch (Throwable e) {
+                    // the same as FutureTask does, the error is reported to the submitter
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.cancel(false);
+        }
+        return result;
+    }
+
+    /**
+     * Executes the task which has no ordering requirements in the least loaded lane.
+     */
+    public void execute(Runnable task) {
+        ThreadPoolExecutor target = lanes[0];
+        for (int i = 1; i < lanes.length && !target.getQueue().isEmpty(); i++) {
+            if (lanes[i].getQueue().size() < target.getQueue().size()) {
+                target = lanes[i];
+            }
+        }
+        target.execute(task);
+    }
+
+    /**
+     * Initiates shutdown of all lanes, already submitted tasks are executed.
+     */
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    private int laneIndex(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, lanes.length);
+    }
+}
@@ -21,6 +21,7 @@ import static org.openkilda.floodlight.switchmanager.SwitchManager.INGRESS_TABLE
 import static org.openkilda.floodlight.switchmanager.SwitchManager.POST_INGRESS_TABLE_ID;
 import static org.openkilda.floodlight.switchmanager.SwitchManager.TRANSIT_TABLE_ID;
 import static org.openkilda.messaging.Utils.MAPPER;
+import static org.openkilda.messaging.Utils.PAYLOAD;
 import static org.openkilda.model.cookie.Cookie.ARP_INGRESS_COOKIE;
 import static org.openkilda.model.cookie.Cookie.ARP_INPUT_PRE_DROP_COOKIE;
 import static org.openkilda.model.cookie.Cookie.ARP_POST_INGRESS_COOKIE;
@@ -173,6 +174,7 @@ import org.openkilda.model.cookie.PortColourCookie;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import lombok.Getter;
@@ -189,6 +191,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -202,6 +205,8 @@ class RecordHandler implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(RecordHandler.class);
 
     private static final UUID EMPTY_COMMAND_ID = new UUID(0, 0);
+    private static final String SWITCH_ID_FIELD = "switch_id";
+    private static final String ENDPOINT_FIELD = "endpoint";
 
     private final ConsumerContext context;
     private final List<CommandDispatcher<?>> dispatchers;
@@ -209,6 +214,8 @@ class RecordHandler implements Runnable {
 
     private final CommandProcessorService commandProcessor;
 
+    private JsonNode recordTree;
+
     public RecordHandler(ConsumerContext context, List<CommandDispatcher<?>> dispatchers,
                          ConsumerRecord<String, String> record) {
         this.context = context;
@@ -1624,12 +1631,11 @@ class RecordHandler implements Runnable {
 
         CommandMessage message;
         try {
-            String value = record.value();
             // TODO: Prior to Message changes, this MAPPER would read Message ..
             //          but, changed to BaseMessage and got an error wrt "timestamp" ..
             //          so, need to experiment with why CommandMessage can't be read as
             //          a BaseMessage
-            message = MAPPER.readValue(value, CommandMessage.class);
+            message = MAPPER.treeToValue(readRecordTree(), CommandMessage.class);
         } catch (Exception exception) {
             logger.error("error parsing record '{}'", record.value(), exception);
             return;
@@ -1764,7 +1770,7 @@ class RecordHandler implements Runnable {
         try {
             TypeReference<SpeakerCommand<SpeakerCommandReport>> commandType
                     = new TypeReference<SpeakerCommand<SpeakerCommandReport>>() {};
-            speakerCommand = MAPPER.readValue(record.value(), commandType);
+            speakerCommand = MAPPER.readerFor(commandType).readValue(readRecordTree());
         } catch (JsonMappingException e) {
             logger.trace("Received deprecated command message");
             return false;
@@ -1790,6 +1796,40 @@ class RecordHandler implements Runnable {
         parseRecord(record);
     }
 
+    /**
+     * Returns the switch targeted by the record's command, if the record carries it. Commands for the same switch
+     * must be handled in the order they were received.
+     */
+    Optional<SwitchId> getTargetSwitch() {
+        JsonNode root;
+        try {
+            root = readRecordTree();
+        } catch (IOException e) {
+            // the record will be reported as malformed by the handler itself
+            return Optional.empty();
+        }
+
+        JsonNode payload = root.path(PAYLOAD);
+        for (JsonNode node : Arrays.asList(root, root.path(ENDPOINT_FIELD), payload, payload.path(ENDPOINT_FIELD))) {
+            JsonNode switchId = node.path(SWITCH_ID_FIELD);
+            if (switchId.isTextual()) {
+                try {
+                    return Optional.of(new SwitchId(switchId.asText()));
+                } catch (IllegalArgumentException e) {
+                    logger.debug("Unable to parse switch id '{}' of record {}", switchId.asText(), record.key());
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private JsonNode readRecordTree() throws IOException {
+        if (recordTree == null) {
+            recordTree = MAPPER.readTree(record.value());
+        }
+        return recordTree;
+    }
+
     private boolean dispatch(CommandContext commandContext, CommandMessage message) {
         CommandData payload = message.getData();
 
@@ -30,7 +30,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
-import java.util.concurrent.ExecutorService;
 
 public class StatsKafkaMessageCollector extends KafkaMessageCollector {
     private static final Logger logger = LoggerFactory.getLogger(StatsKafkaMessageCollector.class);
@@ -50,7 +49,8 @@ public class StatsKafkaMessageCollector extends KafkaMessageCollector {
     protected void launchTopics(KafkaMessageCollectorConfig consumerConfig,
                                 KafkaChannel kafkaChannel,
                                 ConsumerLauncher launcher) {
-        ExecutorService generalExecutor = buildExecutorWithNoQueue(consumerConfig.getGeneralExecutorCount());
+        KeyAffinityExecutor generalExecutor = buildKeyAffinityExecutor(
+                "kafka-consumer-general", consumerConfig.getGeneralExecutorCount(), consumerConfig);
         logger.info("Kafka Consumer: general executor threads = {}", consumerConfig.getGeneralExecutorCount());
 
         // disco-topic we need to get and handle region alive requests
@@ -25,6 +25,7 @@ import org.openkilda.messaging.AbstractMessage;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.InfoMessageRoutingKeys;
 import org.openkilda.messaging.info.event.IslInfoData;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -37,6 +38,8 @@ import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class KafkaProducerService implements IKafkaProducerService, ZooKeeperEventObserver {
@@ -135,7 +138,14 @@ public class KafkaProducerService implements IKafkaProducerService, ZooKeeperEve
     }
 
     private ProducerRecord<String, String> encode(String topic, String key, Object payload) {
-        return new ProducerRecord<>(topic, key, encodeValue(payload));
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, key, encodeValue(payload));
+        // routing keys allow floodlight router to proxy the message without decoding it
+        InfoMessageRoutingKeys.of(payload).ifPresent(routing -> {
+            for (Map.Entry<String, String> entry : routing.toHeaders().entrySet()) {
+                record.headers().add(entry.getKey(), entry.getValue().getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        return record;
     }
 
     private String encodeValue(Object message) {
@@ -51,6 +51,9 @@ import java.util.stream.Stream;
  * successful write operation.
  *
  * <p>In other words you will not get successful confirmation for sent messaged until you close the session.
+ *
+ * <p>If barrier coalescing is enabled, sessions of the same switch closed within a short window share one
+ * BarrierRequest, so a burst of commands costs a single barrier round-trip.
  */
 public class Session implements AutoCloseable {
     private static final Logger log = LoggerFactory.getLogger(Session.class);
@@ -107,6 +110,13 @@ public class Session implements AutoCloseable {
             throw new IllegalStateException("Session already closed");
         }
 
+        if (group.isBarrierCoalescingEnabled()) {
+            // the barrier is shared with other sessions of the switch closed within the coalescing window
+            closingBarrier = new CompletableFuture<>();
+            group.closeDeferred(this);
+            return;
+        }
+
         OFBarrierRequest barrier = sw.getOFFactory().barrierRequest();
         closingBarrier = prepareRequest(barrier);
         try {
@@ -135,6 +145,32 @@ public class Session implements AutoCloseable {
         }
     }
 
+    /**
+     * Complete the session by the response on the shared barrier, written after all requests of this session.
+     */
+    void completeClose(OFMessage barrierReply) {
+        // Setup correlationId (because this method called asynchronously by FL core).
+        try (CorrelationContext.CorrelationContextClosable closable = CorrelationContext.create(
+                context.getCorrelationId())) {
+            closingBarrier.complete(Optional.of(barrierReply));
+            incompleteRequestsStream()
+                    .forEach(entry -> entry.complete(Optional.empty()));
+        }
+    }
+
+    /**
+     * Fail the session because the shared barrier can't be written.
+     */
+    void failClose(SwitchWriteException error) {
+        try (CorrelationContext.CorrelationContextClosable closable = CorrelationContext.create(
+                context.getCorrelationId())) {
+            closingBarrier.completeExceptionally(error);
+            SessionCloseException closeError = new SessionCloseException(sw.getId());
+            incompleteRequestsStream()
+                    .forEach(entry -> entry.completeExceptionally(closeError));
+        }
+    }
+
     /**
      * Handle switch response.
      *
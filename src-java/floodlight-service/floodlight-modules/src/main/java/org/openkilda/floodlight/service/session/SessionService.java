@@ -15,6 +15,8 @@
 
 package org.openkilda.floodlight.service.session;
 
+import org.openkilda.floodlight.KildaCore;
+import org.openkilda.floodlight.KildaCoreConfig;
 import org.openkilda.floodlight.command.Command;
 import org.openkilda.floodlight.command.CommandContext;
 import org.openkilda.floodlight.model.OfInput;
@@ -27,6 +29,7 @@ import com.google.common.annotations.VisibleForTesting;
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFType;
 import org.projectfloodlight.openflow.types.DatapathId;
@@ -35,12 +38,17 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 
 public class SessionService implements IService, IInputTranslator {
     private static final Logger log = LoggerFactory.getLogger(SessionService.class);
 
     private final Map<DatapathId, SwitchSessions> sessionsByDatapath = new ConcurrentHashMap<>();
 
+    private ScheduledExecutorService barrierCoalescingScheduler;
+    private long barrierCoalescingWindowMillis;
+    private int barrierCoalescingBatchSize;
+
     public Session open(IOFSwitch sw) {
         return open(new MessageContext(), sw);
     }
@@ -65,6 +73,16 @@ public class SessionService implements IService, IInputTranslator {
         inputService.addTranslator(OFType.BARRIER_REPLY, this);
 
         new SwitchEventsTranslator(this, moduleContext.getServiceImpl(IOFSwitchService.class));
+
+        KildaCore kildaCore = moduleContext.getServiceImpl(KildaCore.class);
+        if (kildaCore != null && kildaCore.getConfig().getSessionBarrierCoalescingWindowMillis() > 0) {
+            KildaCoreConfig config = kildaCore.getConfig();
+            barrierCoalescingScheduler = moduleContext.getServiceImpl(IThreadPoolService.class).getScheduledExecutor();
+            barrierCoalescingWindowMillis = config.getSessionBarrierCoalescingWindowMillis();
+            barrierCoalescingBatchSize = config.getSessionBarrierCoalescingBatchSize();
+            log.info("OF session barriers coalescing is enabled: window {} ms, batch size {}",
+                    barrierCoalescingWindowMillis, barrierCoalescingBatchSize);
+        }
     }
 
     @Override
@@ -97,7 +115,8 @@ public class SessionService implements IService, IInputTranslator {
      * <p>Called from main FL thread, that why we can avoid `synchronization` here.
      */
     void switchActivate(DatapathId dpId) {
-        SwitchSessions group = new SwitchSessions();
+        SwitchSessions group = new SwitchSessions(
+                barrierCoalescingScheduler, barrierCoalescingWindowMillis, barrierCoalescingBatchSize);
         SwitchSessions previous;
         previous = sessionsByDatapath.put(dpId, group);
 
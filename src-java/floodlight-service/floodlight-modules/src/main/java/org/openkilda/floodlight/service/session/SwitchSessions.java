@@ -15,33 +15,84 @@
 
 package org.openkilda.floodlight.service.session;
 
+import org.openkilda.floodlight.error.SwitchWriteException;
 import org.openkilda.messaging.MessageContext;
 
 import net.floodlightcontroller.core.IOFSwitch;
+import org.projectfloodlight.openflow.protocol.OFBarrierRequest;
 import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 class SwitchSessions {
+    private static final Logger log = LoggerFactory.getLogger(SwitchSessions.class);
+
     private final Map<Long, Session> sessionsByXid = new HashMap<>();
 
+    private final ScheduledExecutorService coalescingScheduler;
+    private final long coalescingWindowMillis;
+    private final int coalescingBatchSize;
+
+    private final List<Session> deferredClose = new ArrayList<>();
+    private final Map<Long, List<Session>> sessionsBySharedBarrierXid = new HashMap<>();
+    private ScheduledFuture<?> deferredCloseTask;
+
+    SwitchSessions() {
+        this(null, 0, 0);
+    }
+
+    SwitchSessions(ScheduledExecutorService coalescingScheduler, long coalescingWindowMillis,
+                   int coalescingBatchSize) {
+        this.coalescingScheduler = coalescingScheduler;
+        this.coalescingWindowMillis = coalescingWindowMillis;
+        this.coalescingBatchSize = coalescingBatchSize;
+    }
+
     Session open(IOFSwitch sw, MessageContext context) {
         return new Session(this, sw, context);
     }
 
     void handleResponse(OFMessage message) {
         Session session;
+        List<Session> closedBySharedBarrier = null;
         synchronized (sessionsByXid) {
             session = sessionsByXid.get(message.getXid());
+            if (session == null) {
+                closedBySharedBarrier = sessionsBySharedBarrierXid.remove(message.getXid());
+            }
         }
 
-        if (session != null && session.handleResponse(message)) {
+        if (closedBySharedBarrier != null) {
+            for (Session entry : closedBySharedBarrier) {
+                entry.completeClose(message);
+                unbindSession(entry);
+            }
+        } else if (session != null && session.handleResponse(message)) {
             unbindSession(session);
         }
     }
 
     void disconnect() {
+        List<Session> pending = new ArrayList<>();
+        synchronized (deferredClose) {
+            cancelDeferredCloseTask();
+            pending.addAll(deferredClose);
+            deferredClose.clear();
+        }
+        synchronized (sessionsByXid) {
+            sessionsBySharedBarrierXid.values().forEach(pending::addAll);
+            sessionsBySharedBarrierXid.clear();
+        }
+        pending.forEach(Session::disconnect);
+
         sessionsByXid.values()
                 // Session can be listed multiple time into sessionsByXid map
                 // so .disconnect() will be called multiple times. Session.disconnect
@@ -57,6 +108,76 @@ class SwitchSessions {
         }
     }
 
+    boolean isBarrierCoalescingEnabled() {
+        return coalescingScheduler != null;
+    }
+
+    /**
+     * Queue the closed session to be completed by the next barrier shared with other sessions of the switch. The
+     * barrier is written when the coalescing window expires or when enough sessions are queued.
+     */
+    void closeDeferred(Session session) {
+        synchronized (deferredClose) {
+            deferredClose.add(session);
+            if (deferredClose.size() >= coalescingBatchSize) {
+                writeSharedBarrier();
+            } else if (deferredCloseTask == null) {
+                deferredCloseTask = coalescingScheduler.schedule(
+                        this::writeSharedBarrierOnTimeout, coalescingWindowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void writeSharedBarrierOnTimeout() {
+        synchronized (deferredClose) {
+            deferredCloseTask = null;
+            writeSharedBarrier();
+        }
+    }
+
+    private void writeSharedBarrier() {
+        cancelDeferredCloseTask();
+        if (deferredClose.isEmpty()) {
+            return;
+        }
+        List<Session> sessions = new ArrayList<>(deferredClose);
+        deferredClose.clear();
+
+        // all requests of these sessions are already written, so the barrier reply confirms all of them
+        IOFSwitch sw = sessions.get(0).getSw();
+        OFBarrierRequest barrier = sw.getOFFactory().barrierRequest();
+        synchronized (sessionsByXid) {
+            sessionsBySharedBarrierXid.put(barrier.getXid(), sessions);
+        }
+
+        log.debug("push shared OF barrier to {} for {} session(s)", sw.getId(), sessions.size());
+        boolean isWritten;
+        try {
+            isWritten = sw.write(barrier);
+        } catch (Exception e) {
+            log.error("Unable to write shared OF barrier to {}: {}", sw.getId(), e.getMessage());
+            isWritten = false;
+        }
+
+        if (!isWritten) {
+            synchronized (sessionsByXid) {
+                sessionsBySharedBarrierXid.remove(barrier.getXid());
+            }
+            SwitchWriteException error = new SwitchWriteException(sw.getId(), barrier);
+            for (Session entry : sessions) {
+                entry.failClose(error);
+                unbindSession(entry);
+            }
+        }
+    }
+
+    private void cancelDeferredCloseTask() {
+        if (deferredCloseTask != null) {
+            deferredCloseTask.cancel(false);
+            deferredCloseTask = null;
+        }
+    }
+
     private void unbindSession(Session session) {
         synchronized (sessionsByXid) {
             for (long xid : session.getAllXids()) {
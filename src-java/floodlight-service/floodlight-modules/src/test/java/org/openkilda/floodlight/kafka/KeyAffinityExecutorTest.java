@@ -0,0 +1,82 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class KeyAffinityExecutorTest {
+    private final KeyAffinityExecutor executor = new KeyAffinityExecutor("test", 4);
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldExecuteTasksWithSameKeyInSubmissionOrder() throws Exception {
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        Future<?> last = null;
+        for (int i = 0; i < 100; i++) {
+            int index = i;
+            last = executor.submit("switch", () -> executed.add(index));
+        }
+        last.get(1, TimeUnit.SECONDS);
+
+        assertEquals(100, executed.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.valueOf(i), executed.get(i));
+        }
+    }
+
+    @Test
+    public void shouldNotBlockOtherKeysBySlowTask() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        // small integer keys are bound to lanes by their value
+        Future<?> slow = executor.submit(0, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Future<?> fast = executor.submit(1, () -> { });
+
+        fast.get(1, TimeUnit.SECONDS);
+        assertFalse(slow.isDone());
+
+        release.countDown();
+        slow.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void shouldCancelTaskSubmittedAfterShutdown() {
+        executor.shutdown();
+
+        assertTrue(executor.submit("switch", () -> { }).isCancelled());
+    }
+}
@@ -0,0 +1,149 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.floodlight.kafka.Consumer.KafkaOffsetRegistry;
+import org.openkilda.floodlight.kafka.Consumer.PendingRecordRegistry;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+
+public class PendingRecordRegistryTest {
+    private static final String TOPIC = "test";
+    private static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+
+    private MockConsumer<String, String> consumer;
+    private KafkaOffsetRegistry offsetRegistry;
+    private PendingRecordRegistry pendingRecords;
+
+    @Before
+    public void setUp() {
+        consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(Arrays.asList(PARTITION_0, PARTITION_1));
+        offsetRegistry = new KafkaOffsetRegistry(consumer, Long.MAX_VALUE);
+        pendingRecords = new PendingRecordRegistry(3);
+    }
+
+    @Test
+    public void shouldCommitRecordOnlyAfterItsHandlingCompletes() {
+        CompletableFuture<Void> handling = new CompletableFuture<>();
+        pendingRecords.add(makeRecord(0, 10), handling);
+
+        complete();
+        assertNull(consumer.committed(PARTITION_0));
+        assertTrue(pendingRecords.hasUnfinishedRecords());
+
+        handling.complete(null);
+        complete();
+        assertEquals(11, consumer.committed(PARTITION_0).offset());
+        assertFalse(pendingRecords.hasUnfinishedRecords());
+    }
+
+    @Test
+    public void shouldNotCommitRecordsHandledBeforePreviousOnes() {
+        CompletableFuture<Void> slow = new CompletableFuture<>();
+        CompletableFuture<Void> fast = new CompletableFuture<>();
+        pendingRecords.add(makeRecord(0, 10), slow);
+        pendingRecords.add(makeRecord(0, 11), fast);
+        pendingRecords.add(makeRecord(1, 20), CompletableFuture.completedFuture(null));
+
+        fast.complete(null);
+        complete();
+        assertNull(consumer.committed(PARTITION_0));
+        assertEquals(21, consumer.committed(PARTITION_1).offset());
+
+        slow.complete(null);
+        complete();
+        assertEquals(12, consumer.committed(PARTITION_0).offset());
+    }
+
+    @Test
+    public void shouldCommitRecordsWhoseHandlingFailed() {
+        CompletableFuture<Void> handling = new CompletableFuture<>();
+        pendingRecords.add(makeRecord(0, 10), handling);
+
+        handling.completeExceptionally(new IllegalStateException("test"));
+        complete();
+        assertEquals(11, consumer.committed(PARTITION_0).offset());
+    }
+
+    @Test
+    public void shouldNotCommitRecordsAfterCancelledOne() {
+        CompletableFuture<Void> cancelled = new CompletableFuture<>();
+        pendingRecords.add(makeRecord(0, 10), CompletableFuture.completedFuture(null));
+        pendingRecords.add(makeRecord(0, 11), cancelled);
+        pendingRecords.add(makeRecord(0, 12), CompletableFuture.completedFuture(null));
+
+        cancelled.cancel(false);
+        complete();
+        assertEquals(11, consumer.committed(PARTITION_0).offset());
+        // the cancelled record will never be handled by this consumer, so it doesn't hold the shutdown
+        assertFalse(pendingRecords.hasUnfinishedRecords());
+    }
+
+    @Test
+    public void shouldPausePartitionWithTooManyPendingRecords() {
+        CompletableFuture<Void> slow = new CompletableFuture<>();
+        pendingRecords.add(makeRecord(0, 10), slow);
+        pendingRecords.add(makeRecord(0, 11), CompletableFuture.completedFuture(null));
+        pendingRecords.add(makeRecord(0, 12), CompletableFuture.completedFuture(null));
+        pendingRecords.add(makeRecord(1, 20), new CompletableFuture<>());
+
+        complete();
+        pendingRecords.applyBackPressure(consumer);
+        // the records completed behind the slow one are kept pending too
+        assertEquals(Collections.singleton(PARTITION_0), consumer.paused());
+
+        slow.complete(null);
+        complete();
+        pendingRecords.applyBackPressure(consumer);
+        assertEquals(Collections.emptySet(), consumer.paused());
+    }
+
+    @Test
+    public void shouldNotPauseRevokedPartition() {
+        for (int offset = 0; offset < 3; offset++) {
+            pendingRecords.add(makeRecord(0, offset), new CompletableFuture<>());
+        }
+        consumer.assign(Collections.singletonList(PARTITION_1));
+
+        pendingRecords.applyBackPressure(consumer);
+        assertEquals(Collections.emptySet(), consumer.paused());
+    }
+
+    private void complete() {
+        pendingRecords.completeHandledRecords(offsetRegistry);
+        offsetRegistry.commitOffsets();
+    }
+
+    private ConsumerRecord<String, String> makeRecord(int partition, long offset) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, "key", "value");
+    }
+}
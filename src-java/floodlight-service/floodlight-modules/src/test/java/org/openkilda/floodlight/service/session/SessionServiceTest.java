@@ -54,6 +54,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 public class SessionServiceTest extends EasyMockSupport {
@@ -259,6 +261,88 @@ public class SessionServiceTest extends EasyMockSupport {
         }
     }
 
+    @Test
+    public void sharedBarrierOnBatchSize() throws Exception {
+        IOFSwitch sw = createMock(IOFSwitch.class);
+        setupSwitchMock(sw, dpId);
+        swWriteAlwaysSuccess(sw);
+        replayAll();
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            SwitchSessions group = new SwitchSessions(scheduler, TimeUnit.HOURS.toMillis(1), 2);
+            OFFactory ofFactory = sw.getOFFactory();
+            CompletableFuture<Optional<OFMessage>> first;
+            CompletableFuture<Optional<OFMessage>> second;
+            try (Session session = group.open(sw, context)) {
+                first = session.write(makePacketOut(ofFactory, 1));
+            }
+            Assert.assertEquals(1, swWriteMessages.getValues().size());
+
+            try (Session session = group.open(sw, context)) {
+                second = session.write(makePacketOut(ofFactory, 2));
+            }
+
+            List<OFMessage> swActualWrite = swWriteMessages.getValues();
+            Assert.assertEquals(3, swActualWrite.size());
+            OFMessage barrier = swActualWrite.get(2);
+            Assert.assertEquals(OFType.BARRIER_REQUEST, barrier.getType());
+            Assert.assertFalse(first.isDone());
+            Assert.assertFalse(second.isDone());
+
+            group.handleResponse(ofFactory.buildBarrierReply().setXid(barrier.getXid()).build());
+
+            expectNoResponse(first);
+            expectNoResponse(second);
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void sharedBarrierOnWindowEnd() throws Exception {
+        IOFSwitch sw = createMock(IOFSwitch.class);
+        setupSwitchMock(sw, dpId);
+        swWriteAlwaysSuccess(sw);
+        replayAll();
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            SwitchSessions group = new SwitchSessions(scheduler, 10, 100);
+            OFFactory ofFactory = sw.getOFFactory();
+            OFPacketOut pktOut = makePacketOut(ofFactory, 1);
+            CompletableFuture<Optional<OFMessage>> error;
+            CompletableFuture<Optional<OFMessage>> success;
+            try (Session session = group.open(sw, context)) {
+                error = session.write(pktOut);
+            }
+            try (Session session = group.open(sw, context)) {
+                success = session.write(makePacketOut(ofFactory, 2));
+            }
+
+            group.handleResponse(ofFactory.errorMsgs().buildBadRequestErrorMsg()
+                    .setXid(pktOut.getXid())
+                    .setCode(OFBadRequestCode.BAD_PORT)
+                    .build());
+
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(1);
+            while (swWriteMessages.getValues().size() < 3 && System.currentTimeMillis() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(5);
+            }
+            List<OFMessage> swActualWrite = swWriteMessages.getValues();
+            Assert.assertEquals(3, swActualWrite.size());
+            OFMessage barrier = swActualWrite.get(2);
+            Assert.assertEquals(OFType.BARRIER_REQUEST, barrier.getType());
+
+            group.handleResponse(ofFactory.buildBarrierReply().setXid(barrier.getXid()).build());
+
+            expectExceptionResponse(error, SessionErrorResponseException.class);
+            expectNoResponse(success);
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
     private OFPacketOut makePacketOut(OFFactory ofFactory, int inPort) {
         return ofFactory.buildPacketOut()
                 .setInPort(OFPort.of(inPort))
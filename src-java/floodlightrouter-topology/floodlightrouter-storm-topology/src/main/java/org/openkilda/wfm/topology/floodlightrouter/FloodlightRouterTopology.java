@@ -16,12 +16,12 @@
 package org.openkilda.wfm.topology.floodlightrouter;
 
 import org.openkilda.config.KafkaTopicsConfig;
+import org.openkilda.messaging.info.InfoData;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.spi.PersistenceProvider;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.error.ConfigurationException;
 import org.openkilda.wfm.kafka.AbstractMessageSerializer;
-import org.openkilda.wfm.kafka.MessageSerializer;
 import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
 import org.openkilda.wfm.share.zk.ZooKeeperSpout;
@@ -36,14 +36,18 @@ import org.openkilda.wfm.topology.floodlightrouter.bolts.SwitchMonitorBolt;
 
 import joptsimple.internal.Strings;
 import lombok.Value;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.bolt.mapper.FieldNameBasedTupleToKafkaMapper;
+import org.apache.storm.kafka.spout.KafkaSpout;
+import org.apache.storm.kafka.spout.KafkaSpoutConfig;
 import org.apache.storm.topology.BoltDeclarer;
 import org.apache.storm.topology.TopologyBuilder;
 import org.apache.storm.tuple.Fields;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -141,8 +145,9 @@ public class FloodlightRouterTopology extends AbstractTopology<FloodlightRouterT
     }
 
     private void speakerToNetwork(TopologyBuilder topology, TopologyOutput output) {
-        declareKafkaSpout(topology,
-                makeRegionTopics(kafkaTopics.getTopoDiscoRegionTopic()), ComponentType.KILDA_TOPO_DISCO_KAFKA_SPOUT);
+        declareSpeakerKafkaSpout(topology,
+                makeRegionTopics(kafkaTopics.getTopoDiscoRegionTopic()), ComponentType.KILDA_TOPO_DISCO_KAFKA_SPOUT,
+                SpeakerToNetworkProxyBolt.CONSUMED_PAYLOAD_TYPES);
         SpeakerToNetworkProxyBolt proxy = new SpeakerToNetworkProxyBolt(
                 kafkaTopics.getTopoDiscoTopic(), Duration.ofSeconds(topologyConfig.getSwitchMappingRemoveDelay()));
         declareBolt(topology, proxy, SpeakerToNetworkProxyBolt.BOLT_ID)
@@ -294,7 +299,7 @@ public class FloodlightRouterTopology extends AbstractTopology<FloodlightRouterT
     private TopologyOutput kafkaOutput(TopologyBuilder topology) {
         RegionAwareKafkaTopicSelector topicSelector = new RegionAwareKafkaTopicSelector();
         BoltDeclarer generic = declareBolt(topology,
-                makeKafkaBolt(MessageSerializer.class)
+                makeKafkaBolt(PassThroughMessageSerializer.class)
                         .withTopicSelector(topicSelector),
                 ComponentType.KAFKA_GENERIC_OUTPUT);
         BoltDeclarer hs = declareBolt(topology,
@@ -308,7 +313,9 @@ public class FloodlightRouterTopology extends AbstractTopology<FloodlightRouterT
     private void declareSpeakerToControllerProxy(
             TopologyBuilder topology, String speakerTopicsSeed, String controllerTopic, String spoutId,
             String proxyBoltId, BoltDeclarer output) {
-        declareKafkaSpout(topology, makeRegionTopics(speakerTopicsSeed), spoutId);
+        declareSpeakerKafkaSpout(
+                topology, makeRegionTopics(speakerTopicsSeed), spoutId,
+                SpeakerToControllerProxyBolt.CONSUMED_PAYLOAD_TYPES);
 
         declareSpeakerToControllerProxy(topology, controllerTopic, spoutId, proxyBoltId, output);
     }
@@ -348,6 +355,19 @@ public class FloodlightRouterTopology extends AbstractTopology<FloodlightRouterT
         output.shuffleGrouping(proxyBoltId);
     }
 
+    /**
+     * Creates kafka spout for speaker topics. Records which carry routing keys in their headers are decoded only if
+     * their payload type is in the consumed payload types list, all other ones are forwarded as is.
+     */
+    private void declareSpeakerKafkaSpout(
+            TopologyBuilder topology, List<String> topics, String spoutId,
+            Collection<Class<? extends InfoData>> consumedPayloadTypes) {
+        KafkaSpoutConfig<String, byte[]> config = makeKafkaSpoutConfig(topics, spoutId, ByteArrayDeserializer.class)
+                .setRecordTranslator(new SpeakerKafkaTranslator(consumedPayloadTypes))
+                .build();
+        declareSpout(topology, new KafkaSpout<>(config), spoutId);
+    }
+
     private List<String> makeRegionTopics(String topicSeed) {
         List<String> regionTopics = new ArrayList<>(regions.size());
         for (String entry : regions) {
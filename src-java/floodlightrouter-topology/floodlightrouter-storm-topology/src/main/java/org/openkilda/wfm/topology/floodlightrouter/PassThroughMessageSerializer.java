@@ -0,0 +1,56 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.floodlightrouter;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.wfm.kafka.MessageSerializer;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+
+/**
+ * Serializes {@link Message} objects the same way {@link MessageSerializer} does, while payloads which are already
+ * encoded (i.e. forwarded by the router without decoding) are written as is.
+ */
+public class PassThroughMessageSerializer implements Serializer<Object> {
+    private final MessageSerializer messageSerializer = new MessageSerializer();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        messageSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null || data instanceof byte[]) {
+            return (byte[]) data;
+        }
+        if (data instanceof Message) {
+            return messageSerializer.serialize(topic, (Message) data);
+        }
+        throw new SerializationException(String.format(
+                "Unable to serialize %s for topic %s, only %s and byte[] are supported",
+                data.getClass().getName(), topic, Message.class.getName()));
+    }
+
+    @Override
+    public void close() {
+        messageSerializer.close();
+    }
+}
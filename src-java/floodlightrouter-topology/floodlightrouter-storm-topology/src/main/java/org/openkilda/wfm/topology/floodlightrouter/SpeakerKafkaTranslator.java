@@ -0,0 +1,91 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.floodlightrouter;
+
+import static org.openkilda.wfm.AbstractBolt.FIELD_ID_CONTEXT;
+import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_KEY;
+import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoMessageRoutingKeys;
+import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.kafka.MessageDeserializer;
+import org.openkilda.wfm.topology.floodlightrouter.model.RawSpeakerMessage;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.storm.kafka.spout.RecordTranslator;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Values;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Translates speaker records using routing keys passed in record headers. The payload is decoded only if the record
+ * has no routing headers or if its payload type is consumed by the router, otherwise it is emitted as
+ * {@link RawSpeakerMessage} and forwarded to the consumer without decoding and re-encoding.
+ */
+public class SpeakerKafkaTranslator implements RecordTranslator<String, byte[]> {
+    public static final Fields STREAM_FIELDS = new Fields(FIELD_ID_KEY, FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT);
+
+    private static final MessageDeserializer DESERIALIZER = new MessageDeserializer();
+
+    private final Set<String> consumedPayloadTypes = new HashSet<>();
+
+    public SpeakerKafkaTranslator(Collection<Class<? extends InfoData>> consumedPayloadTypes) {
+        for (Class<? extends InfoData> entry : consumedPayloadTypes) {
+            this.consumedPayloadTypes.add(entry.getName());
+        }
+    }
+
+    @Override
+    public List<Object> apply(ConsumerRecord<String, byte[]> record) {
+        InfoMessageRoutingKeys routing = InfoMessageRoutingKeys.fromHeaders(name -> lookupHeader(record, name))
+                .orElse(null);
+        if (routing == null || consumedPayloadTypes.contains(routing.getPayloadType())) {
+            Message message = DESERIALIZER.deserialize(record.topic(), record.value());
+            return new Values(record.key(), message, new CommandContext(message, record));
+        }
+
+        CommandContext context = routing.getCorrelationId() != null
+                ? new CommandContext(routing.getCorrelationId(), record) : new CommandContext(record);
+        return new Values(record.key(), new RawSpeakerMessage(routing, record.value()), context);
+    }
+
+    @Override
+    public Fields getFieldsFor(String stream) {
+        return STREAM_FIELDS;
+    }
+
+    @Override
+    public List<String> streams() {
+        return DEFAULT_STREAM;
+    }
+
+    private static String lookupHeader(ConsumerRecord<?, ?> record, String name) {
+        Header header = record.headers().lastHeader(name);
+        if (header == null || header.value() == null) {
+            return null;
+        }
+        return new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
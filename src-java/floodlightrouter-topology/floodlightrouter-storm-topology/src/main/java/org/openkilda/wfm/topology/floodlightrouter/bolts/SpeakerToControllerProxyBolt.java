@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.floodlightrouter.bolts;
 import org.openkilda.bluegreen.LifecycleEvent;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.InfoMessageRoutingKeys;
 import org.openkilda.messaging.info.event.ConnectedDevicePacketBase;
 import org.openkilda.messaging.info.event.IslBaseLatency;
 import org.openkilda.messaging.info.event.IslInfoData;
@@ -30,6 +31,7 @@ import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
 import org.openkilda.wfm.share.zk.ZooKeeperSpout;
 import org.openkilda.wfm.topology.floodlightrouter.RegionAwareKafkaTopicSelector;
+import org.openkilda.wfm.topology.floodlightrouter.model.RawSpeakerMessage;
 import org.openkilda.wfm.topology.floodlightrouter.model.RegionMapping;
 import org.openkilda.wfm.topology.floodlightrouter.model.RegionMappingUpdate;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
@@ -43,10 +45,19 @@ import org.apache.storm.tuple.Values;
 
 import java.time.Clock;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 @Slf4j
 public class SpeakerToControllerProxyBolt extends AbstractBolt {
+    /**
+     * Payload types which must be decoded by the spout, all other messages carrying routing keys are proxied without
+     * decoding.
+     */
+    public static final List<Class<? extends InfoData>> CONSUMED_PAYLOAD_TYPES = Collections.singletonList(
+            PortInfoData.class);
+
     private final String controllerTopic;
 
     private RegionMapping switchMapping;
@@ -84,7 +95,9 @@ public class SpeakerToControllerProxyBolt extends AbstractBolt {
     }
 
     private void proxy(String key, Object value) {
-        if (value instanceof InfoMessage) {
+        if (value instanceof RawSpeakerMessage) {
+            proxyRawMessage(key, (RawSpeakerMessage) value);
+        } else if (value instanceof InfoMessage) {
             proxyInfoMessage(key, (InfoMessage) value);
         } else {
             proxyOther(key, value);
@@ -110,8 +123,21 @@ public class SpeakerToControllerProxyBolt extends AbstractBolt {
         }
     }
 
+    protected void proxyRawMessage(String key, RawSpeakerMessage message) {
+        InfoMessageRoutingKeys routing = message.getRouting();
+        if (routing.getSwitchId() != null) {
+            proxyOnlyIfActiveRegion(key, message, routing.getSwitchId(), routing.getRegion());
+        } else {
+            proxyOther(key, message);
+        }
+    }
+
     protected void proxyOther(String key, Object value) {
-        getOutput().emit(getCurrentTuple(), makeDefaultTuple(key, value));
+        Object payload = value;
+        if (value instanceof RawSpeakerMessage) {
+            payload = ((RawSpeakerMessage) value).getPayload();
+        }
+        getOutput().emit(getCurrentTuple(), makeDefaultTuple(key, payload));
     }
 
     private void proxyOnlyIfActiveRegion(String key, InfoMessage envelope, IslInfoData payload) {
@@ -132,14 +158,17 @@ public class SpeakerToControllerProxyBolt extends AbstractBolt {
     }
 
     private void proxyOnlyIfActiveRegion(String key, InfoMessage envelope, SwitchId switchId) {
+        proxyOnlyIfActiveRegion(key, envelope, switchId, envelope.getRegion());
+    }
+
+    private void proxyOnlyIfActiveRegion(String key, Object value, SwitchId switchId, String region) {
         switchMapping.lookupReadWriteRegion(switchId).ifPresent(activeRegion -> {
-            String region = envelope.getRegion();
             if (Objects.equals(activeRegion, region)) {
-                proxyOther(key, envelope);
+                proxyOther(key, value);
             } else {
                 log.debug(
                         "Suppress speaker event {} (received via region \"{}\" while active region is \"{}\")",
-                        envelope, region, activeRegion);
+                        value, region, activeRegion);
             }
         });
     }
@@ -18,24 +18,31 @@ package org.openkilda.wfm.topology.floodlightrouter.bolts;
 import org.openkilda.messaging.AliveResponse;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.InfoMessageRoutingKeys;
 import org.openkilda.messaging.info.discovery.NetworkDumpSwitchData;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.topology.floodlightrouter.ComponentType;
+import org.openkilda.wfm.topology.floodlightrouter.model.RawSpeakerMessage;
 
+import com.google.common.collect.ImmutableList;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Values;
 
 import java.time.Duration;
+import java.util.List;
 
 @Slf4j
 public class SpeakerToNetworkProxyBolt extends SpeakerToControllerProxyBolt {
     public static final String BOLT_ID = ComponentType.KILDA_TOPO_DISCO_REPLY_BOLT;
 
+    public static final List<Class<? extends InfoData>> CONSUMED_PAYLOAD_TYPES = ImmutableList.of(
+            AliveResponse.class, SwitchInfoData.class, NetworkDumpSwitchData.class, PortInfoData.class);
+
     public static final String FIELD_ID_REGION = "region";
     public static final String FIELD_ID_TIMESTAMP = "timestamp";
     public static final String FIELD_ID_SWITCH_ID = "switch_id";
@@ -75,10 +82,21 @@ public class SpeakerToNetworkProxyBolt extends SpeakerToControllerProxyBolt {
         }
     }
 
+    @Override
+    protected void proxyRawMessage(String key, RawSpeakerMessage message) {
+        InfoMessageRoutingKeys routing = message.getRouting();
+        emitAliveEvidence(routing.getRegion(), routing.getTimestamp());
+
+        super.proxyRawMessage(key, message);
+    }
+
     private void emitAliveEvidence(InfoMessage envelope) {
+        emitAliveEvidence(envelope.getRegion(), envelope.getTimestamp());
+    }
+
+    private void emitAliveEvidence(String region, long timestamp) {
         getOutput().emit(
-                STREAM_ALIVE_EVIDENCE_ID, getCurrentTuple(),
-                makeAliveEvidenceTuple(envelope.getRegion(), envelope.getTimestamp()));
+                STREAM_ALIVE_EVIDENCE_ID, getCurrentTuple(), makeAliveEvidenceTuple(region, timestamp));
     }
 
     private void emitRegionNotification(String region, AliveResponse response) {
@@ -0,0 +1,38 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.floodlightrouter.model;
+
+import org.openkilda.messaging.info.InfoMessageRoutingKeys;
+
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * Speaker message which is not decoded by the router, it is forwarded to the consumer as is.
+ */
+@Value
+public class RawSpeakerMessage implements Serializable {
+    @NonNull
+    InfoMessageRoutingKeys routing;
+
+    @NonNull
+    @ToString.Exclude
+    byte[] payload;
+}
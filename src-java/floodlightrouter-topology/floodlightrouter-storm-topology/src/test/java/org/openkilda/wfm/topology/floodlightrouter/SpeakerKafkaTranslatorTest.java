@@ -0,0 +1,97 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.floodlightrouter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.InfoMessageRoutingKeys;
+import org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation;
+import org.openkilda.messaging.info.event.PortChangeType;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.model.NetworkEndpoint;
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.topology.floodlightrouter.bolts.SpeakerToNetworkProxyBolt;
+import org.openkilda.wfm.topology.floodlightrouter.model.RawSpeakerMessage;
+import org.openkilda.wfm.topology.utils.SerializationUtils;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+public class SpeakerKafkaTranslatorTest {
+    private static final String REGION = "1";
+    private static final SwitchId SWITCH_ID = new SwitchId(1);
+
+    private final SpeakerKafkaTranslator subject = new SpeakerKafkaTranslator(
+            SpeakerToNetworkProxyBolt.CONSUMED_PAYLOAD_TYPES);
+
+    @Test
+    public void shouldForwardRecordWithRoutingHeadersWithoutDecoding() throws Exception {
+        InfoMessage message = new InfoMessage(
+                new DiscoPacketSendingConfirmation(new NetworkEndpoint(SWITCH_ID, 1), 1L),
+                3L, "discovery-confirmation", REGION);
+        ConsumerRecord<String, byte[]> record = makeRecord(message, true);
+
+        List<Object> tuple = subject.apply(record);
+        assertTrue(tuple.get(1) instanceof RawSpeakerMessage);
+        RawSpeakerMessage raw = (RawSpeakerMessage) tuple.get(1);
+        assertArrayEquals(record.value(), raw.getPayload());
+        assertEquals(REGION, raw.getRouting().getRegion());
+        assertEquals(3L, raw.getRouting().getTimestamp());
+        assertEquals(DiscoPacketSendingConfirmation.class.getName(), raw.getRouting().getPayloadType());
+        assertEquals("discovery-confirmation", ((CommandContext) tuple.get(2)).getCorrelationId());
+    }
+
+    @Test
+    public void shouldDecodeConsumedPayloadTypes() throws Exception {
+        InfoMessage message = new InfoMessage(
+                new PortInfoData(SWITCH_ID, 1, PortChangeType.UP), 3L, "port-up", REGION);
+
+        List<Object> tuple = subject.apply(makeRecord(message, true));
+        assertEquals(message, tuple.get(1));
+    }
+
+    @Test
+    public void shouldDecodeRecordsWithoutRoutingHeaders() throws Exception {
+        InfoMessage message = new InfoMessage(
+                new DiscoPacketSendingConfirmation(new NetworkEndpoint(SWITCH_ID, 1), 1L),
+                3L, "discovery-confirmation", REGION);
+
+        List<Object> tuple = subject.apply(makeRecord(message, false));
+        assertEquals(message, tuple.get(1));
+        assertEquals("discovery-confirmation", ((CommandContext) tuple.get(2)).getCorrelationId());
+    }
+
+    private static ConsumerRecord<String, byte[]> makeRecord(InfoMessage message, boolean withHeaders)
+            throws Exception {
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(
+                "speaker", 0, 0, SWITCH_ID.toString(), SerializationUtils.MAPPER.writeValueAsBytes(message));
+        if (withHeaders) {
+            for (Map.Entry<String, String> entry : InfoMessageRoutingKeys.of(message).get().toHeaders().entrySet()) {
+                record.headers().add(entry.getKey(), entry.getValue().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return record;
+    }
+}
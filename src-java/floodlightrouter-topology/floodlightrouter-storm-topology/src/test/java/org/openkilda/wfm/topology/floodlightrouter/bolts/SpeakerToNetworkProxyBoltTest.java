@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.floodlightrouter.bolts;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -26,6 +27,7 @@ import static org.mockito.Mockito.when;
 import org.openkilda.bluegreen.LifecycleEvent;
 import org.openkilda.bluegreen.Signal;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.InfoMessageRoutingKeys;
 import org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation;
 import org.openkilda.messaging.model.NetworkEndpoint;
 import org.openkilda.model.SwitchId;
@@ -34,6 +36,7 @@ import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.zk.ZooKeeperSpout;
 import org.openkilda.wfm.topology.floodlightrouter.ComponentType;
 import org.openkilda.wfm.topology.floodlightrouter.Stream;
+import org.openkilda.wfm.topology.floodlightrouter.model.RawSpeakerMessage;
 import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
 
 import com.google.common.collect.ImmutableMap;
@@ -135,6 +138,34 @@ public class SpeakerToNetworkProxyBoltTest {
         assertEquals(discoveryConfirmation, topoDiscoCaptor.getValue().get(1));
     }
 
+    @Test
+    public void verifyRawSpeakerMessageIsProxiedWithoutDecoding() throws Exception {
+        injectLifecycleEventUpdate(START_SIGNAL);
+
+        InfoMessage discoveryConfirmation = new InfoMessage(
+                new DiscoPacketSendingConfirmation(new NetworkEndpoint(switchAlpha, 1), 1L),
+                3L, "discovery-confirmation", REGION_ONE);
+        byte[] payload = {1, 2, 3};
+        RawSpeakerMessage raw = new RawSpeakerMessage(
+                InfoMessageRoutingKeys.of(discoveryConfirmation).get(), payload);
+        Tuple tuple = new TupleImpl(
+                generalTopologyContext, new Values(
+                        switchAlpha.toString(), raw, new CommandContext(discoveryConfirmation)),
+                TASK_ID_SPOUT, STREAM_SPOUT_DEFAULT);
+        subject.execute(tuple);
+
+        ArgumentCaptor<Values> aliveEvidenceCaptor = ArgumentCaptor.forClass(Values.class);
+        verify(outputCollector).emit(
+                eq(SpeakerToNetworkProxyBolt.STREAM_ALIVE_EVIDENCE_ID), eq(tuple), aliveEvidenceCaptor.capture());
+        assertEquals(REGION_ONE, aliveEvidenceCaptor.getValue().get(0));
+        assertEquals(discoveryConfirmation.getTimestamp(), aliveEvidenceCaptor.getValue().get(1));
+
+        ArgumentCaptor<Values> topoDiscoCaptor = ArgumentCaptor.forClass(Values.class);
+        verify(outputCollector).emit(eq(tuple), topoDiscoCaptor.capture());
+        assertEquals(switchAlpha.toString(), topoDiscoCaptor.getValue().get(0));
+        assertArrayEquals(payload, (byte[]) topoDiscoCaptor.getValue().get(1));
+    }
+
     private void injectLifecycleEventUpdate(Signal signal) {
         LifecycleEvent event = LifecycleEvent.builder()
                 .signal(signal)
@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.flowhs;
 
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ISL_AVAILABLE_BANDWIDTH_UPDATE;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ROUTER_TO_FLOW_CREATE_HUB;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ROUTER_TO_FLOW_DELETE_HUB;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ROUTER_TO_FLOW_PATH_SWAP_HUB;
@@ -60,11 +61,14 @@ import org.openkilda.wfm.topology.flowhs.bolts.FlowUpdateHubBolt.FlowUpdateConfi
 import org.openkilda.wfm.topology.flowhs.bolts.RouterBolt;
 import org.openkilda.wfm.topology.flowhs.bolts.SpeakerWorkerBolt;
 
+import com.google.common.collect.Lists;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.bolt.KafkaBolt;
 import org.apache.storm.topology.TopologyBuilder;
 import org.apache.storm.tuple.Fields;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
@@ -80,6 +84,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
 
         inputSpout(tb);
         inputRouter(tb);
+        networkSpout(tb);
 
         PersistenceManager persistenceManager =
                 PersistenceProvider.getInstance().getPersistenceManager(configurationProvider);
@@ -129,7 +134,7 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 getBoltInstancesCount(ComponentId.FLOW_CREATE_HUB.name(), ComponentId.FLOW_UPDATE_HUB.name(),
                         ComponentId.FLOW_DELETE_HUB.name(), ComponentId.FLOW_PATH_SWAP_HUB.name(),
                         ComponentId.FLOW_REROUTE_HUB.name(), ComponentId.FLOW_SWAP_ENDPOINTS_HUB.name(),
-                        ComponentId.FLOW_ROUTER_BOLT.name()));
+                        ComponentId.FLOW_ROUTER_BOLT.name(), ComponentId.HISTORY_BOLT.name()));
         declareBolt(topologyBuilder, zooKeeperBolt, ZooKeeperBolt.BOLT_ID)
                 .allGrouping(ComponentId.FLOW_CREATE_HUB.name(), ZkStreams.ZK.toString())
                 .allGrouping(ComponentId.FLOW_UPDATE_HUB.name(), ZkStreams.ZK.toString())
@@ -137,13 +142,20 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .allGrouping(ComponentId.FLOW_PATH_SWAP_HUB.name(), ZkStreams.ZK.toString())
                 .allGrouping(ComponentId.FLOW_REROUTE_HUB.name(), ZkStreams.ZK.toString())
                 .allGrouping(ComponentId.FLOW_SWAP_ENDPOINTS_HUB.name(), ZkStreams.ZK.toString())
-                .allGrouping(ComponentId.FLOW_ROUTER_BOLT.name(), ZkStreams.ZK.toString());
+                .allGrouping(ComponentId.FLOW_ROUTER_BOLT.name(), ZkStreams.ZK.toString())
+                .allGrouping(ComponentId.HISTORY_BOLT.name(), ZkStreams.ZK.toString());
     }
 
     private void inputSpout(TopologyBuilder topologyBuilder) {
         declareKafkaSpout(topologyBuilder, getConfig().getKafkaFlowHsTopic(), ComponentId.FLOW_SPOUT.name());
     }
 
+    private void networkSpout(TopologyBuilder topologyBuilder) {
+        List<String> networkTopics = Lists.newArrayList(getConfig().getKafkaNetworkIslStatusTopic(),
+                getConfig().getKafkaNetworkIslChangedTopic());
+        declareKafkaSpout(topologyBuilder, networkTopics, ComponentId.NETWORK_SPOUT.name());
+    }
+
     private void inputRouter(TopologyBuilder topologyBuilder) {
         declareBolt(topologyBuilder, new RouterBolt(ZooKeeperSpout.SPOUT_ID), ComponentId.FLOW_ROUTER_BOLT.name())
                 .shuffleGrouping(ComponentId.FLOW_SPOUT.name())
@@ -175,7 +187,12 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .directGrouping(ComponentId.FLOW_CREATE_SPEAKER_WORKER.name(),
                         Stream.SPEAKER_WORKER_TO_HUB_CREATE.name())
                 .allGrouping(ZooKeeperSpout.SPOUT_ID)
-                .directGrouping(CoordinatorBolt.ID);
+                .directGrouping(CoordinatorBolt.ID)
+                .allGrouping(ComponentId.NETWORK_SPOUT.name())
+                .allGrouping(ComponentId.FLOW_CREATE_HUB.name(), ISL_AVAILABLE_BANDWIDTH_UPDATE.name())
+                .allGrouping(ComponentId.FLOW_UPDATE_HUB.name(), ISL_AVAILABLE_BANDWIDTH_UPDATE.name())
+                .allGrouping(ComponentId.FLOW_REROUTE_HUB.name(), ISL_AVAILABLE_BANDWIDTH_UPDATE.name())
+                .allGrouping(ComponentId.FLOW_DELETE_HUB.name(), ISL_AVAILABLE_BANDWIDTH_UPDATE.name());
     }
 
     private void flowUpdateHub(TopologyBuilder topologyBuilder, PersistenceManager persistenceManager) {
@@ -202,7 +219,12 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .directGrouping(ComponentId.FLOW_UPDATE_SPEAKER_WORKER.name(),
                         Stream.SPEAKER_WORKER_TO_HUB_UPDATE.name())
                 .allGrouping(ZooKeeperSpout.SPOUT_ID)
-                .directGrouping(CoordinatorBolt.ID);
+                .directGrouping(CoordinatorBolt.ID)
+                .allGrouping(ComponentId.NETWORK_SPOUT.name())
+                .allGrouping(ComponentId.FLOW_CREATE_HUB.name(), ISL_AVAILABLE_BANDWIDTH_UPDATE.name())
+                .allGrouping(ComponentId.FLOW_UPDATE_HUB.name(), ISL_AVAILABLE_BANDWIDTH_UPDATE.name())
+                .allGrouping(ComponentId.FLOW_REROUTE_HUB.name(), ISL_AVAILABLE_BANDWIDTH_UPDATE.name())
+                .allGrouping(ComponentId.FLOW_DELETE_HUB.name(), ISL_AVAILABLE_BANDWIDTH_UPDATE.name());
     }
 
     private void flowSwapProtectedHub(TopologyBuilder topologyBuilder, PersistenceManager persistenceManager) {
@@ -251,7 +273,12 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .directGrouping(ComponentId.FLOW_REROUTE_SPEAKER_WORKER.name(),
                         Stream.SPEAKER_WORKER_TO_HUB_REROUTE.name())
                 .allGrouping(ZooKeeperSpout.SPOUT_ID)
-                .directGrouping(CoordinatorBolt.ID);
+                .directGrouping(CoordinatorBolt.ID)
+                .allGrouping(ComponentId.NETWORK_SPOUT.name())
+                .allGrouping(ComponentId.FLOW_CREATE_HUB.name(), ISL_AVAILABLE_BANDWIDTH_UPDATE.name())
+                .allGrouping(ComponentId.FLOW_UPDATE_HUB.name(), ISL_AVAILABLE_BANDWIDTH_UPDATE.name())
+                .allGrouping(ComponentId.FLOW_REROUTE_HUB.name(), ISL_AVAILABLE_BANDWIDTH_UPDATE.name())
+                .allGrouping(ComponentId.FLOW_DELETE_HUB.name(), ISL_AVAILABLE_BANDWIDTH_UPDATE.name());
     }
 
     private void flowDeleteHub(TopologyBuilder topologyBuilder, PersistenceManager persistenceManager) {
@@ -474,8 +501,11 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
     }
 
     private void history(TopologyBuilder topologyBuilder, PersistenceManager persistenceManager) {
-        HistoryBolt historyBolt = new HistoryBolt(persistenceManager);
+        HistoryBolt historyBolt = new HistoryBolt(persistenceManager, ZooKeeperSpout.SPOUT_ID,
+                topologyConfig.getHistoryBatchSize(), Duration.ofMillis(topologyConfig.getHistoryBatchWindowMillis()),
+                Stream.HUB_TO_METRICS_BOLT.name());
         declareBolt(topologyBuilder, historyBolt, ComponentId.HISTORY_BOLT.name())
+                .allGrouping(ZooKeeperSpout.SPOUT_ID)
                 .shuffleGrouping(ComponentId.FLOW_CREATE_HUB.name(), Stream.HUB_TO_HISTORY_BOLT.name())
                 .shuffleGrouping(ComponentId.FLOW_UPDATE_HUB.name(), Stream.HUB_TO_HISTORY_BOLT.name())
                 .shuffleGrouping(ComponentId.FLOW_REROUTE_HUB.name(), Stream.HUB_TO_HISTORY_BOLT.name())
@@ -497,12 +527,14 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
                 .shuffleGrouping(ComponentId.FLOW_DELETE_HUB.name(), Stream.HUB_TO_METRICS_BOLT.name())
                 .shuffleGrouping(ComponentId.FLOW_PATH_SWAP_HUB.name(), Stream.HUB_TO_METRICS_BOLT.name())
                 .shuffleGrouping(ComponentId.FLOW_REROUTE_HUB.name(), Stream.HUB_TO_METRICS_BOLT.name())
-                .shuffleGrouping(ComponentId.FLOW_UPDATE_HUB.name(), Stream.HUB_TO_METRICS_BOLT.name());
+                .shuffleGrouping(ComponentId.FLOW_UPDATE_HUB.name(), Stream.HUB_TO_METRICS_BOLT.name())
+                .shuffleGrouping(ComponentId.HISTORY_BOLT.name(), Stream.HUB_TO_METRICS_BOLT.name());
     }
 
     public enum ComponentId {
         FLOW_SPOUT("flow.spout"),
         SPEAKER_WORKER_SPOUT("fl.worker.spout"),
+        NETWORK_SPOUT("network.spout"),
 
         FLOW_ROUTER_BOLT("flow.router.bolt"),
         FLOW_CREATE_HUB("flow.create.hub.bolt"),
@@ -571,7 +603,9 @@ public class FlowHsTopology extends AbstractTopology<FlowHsTopologyConfig> {
         HUB_TO_RESPONSE_SENDER,
         HUB_TO_PING_SENDER,
         HUB_TO_SERVER42_CONTROL_TOPOLOGY_SENDER,
-        HUB_TO_FLOW_MONITORING_TOPOLOGY_SENDER
+        HUB_TO_FLOW_MONITORING_TOPOLOGY_SENDER,
+
+        ISL_AVAILABLE_BANDWIDTH_UPDATE
     }
 
     /**
@@ -53,6 +53,14 @@ public interface FlowHsTopologyConfig extends AbstractTopologyConfig {
         return getKafkaTopics().getFlowHsFlowMonitoringNotifyTopic();
     }
 
+    default String getKafkaNetworkIslStatusTopic() {
+        return getKafkaTopics().getNetworkIslStatusTopic();
+    }
+
+    default String getKafkaNetworkIslChangedTopic() {
+        return getKafkaTopics().getNetworkFlowMonitoringNotifyTopic();
+    }
+
 
     @Key("flow.path.allocation.retries")
     @Default("10")
@@ -133,4 +141,12 @@ public interface FlowHsTopologyConfig extends AbstractTopologyConfig {
     @Key("flow.pathswap.speaker.command.retries")
     @Default("3")
     int getPathSwapSpeakerCommandRetries();
+
+    @Key("flow.history.batch.size")
+    @Default("100")
+    int getHistoryBatchSize();
+
+    @Key("flow.history.batch.window.millis")
+    @Default("500")
+    int getHistoryBatchWindowMillis();
 }
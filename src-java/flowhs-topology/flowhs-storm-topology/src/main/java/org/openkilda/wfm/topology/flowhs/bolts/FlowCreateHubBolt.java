@@ -22,6 +22,7 @@ import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_NB_
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_PING_SENDER;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_SERVER42_CONTROL_TOPOLOGY_SENDER;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_SPEAKER_WORKER;
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ISL_AVAILABLE_BANDWIDTH_UPDATE;
 import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
 
 import org.openkilda.bluegreen.LifecycleEvent;
@@ -38,6 +39,7 @@ import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.pce.PathComputerFactory;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 import org.openkilda.server42.control.messaging.flowrtt.ActivateFlowMonitoringInfoData;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
@@ -47,11 +49,13 @@ import org.openkilda.wfm.share.hubandspoke.HubBolt;
 import org.openkilda.wfm.share.utils.KeyProvider;
 import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
+import org.openkilda.wfm.topology.flowhs.FlowHsTopology.ComponentId;
 import org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream;
 import org.openkilda.wfm.topology.flowhs.mapper.RequestedFlowMapper;
 import org.openkilda.wfm.topology.flowhs.model.RequestedFlow;
 import org.openkilda.wfm.topology.flowhs.service.FlowCreateHubCarrier;
 import org.openkilda.wfm.topology.flowhs.service.FlowCreateService;
+import org.openkilda.wfm.topology.flowhs.service.NetworkSnapshotService;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import lombok.Builder;
@@ -61,6 +65,9 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
 
     private final FlowCreateConfig config;
@@ -69,6 +76,7 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
     private final FlowResourcesConfig flowResourcesConfig;
 
     private transient FlowCreateService service;
+    private transient NetworkSnapshotService networkSnapshotService;
     private String currentKey;
 
     private LifecycleEvent deferredShutdownEvent;
@@ -92,6 +100,7 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
                 new AvailableNetworkFactory(pathComputerConfig, persistenceManager.getRepositoryFactory());
         PathComputer pathComputer =
                 new PathComputerFactory(pathComputerConfig, availableNetworkFactory).getPathComputer();
+        networkSnapshotService = new NetworkSnapshotService(availableNetworkFactory);
 
         service = new FlowCreateService(this, persistenceManager, pathComputer, resourcesManager,
                 config.getFlowCreationRetriesLimit(), config.getPathAllocationRetriesLimit(),
@@ -112,6 +121,28 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
         service.activate();
     }
 
+    @Override
+    protected void handleInput(Tuple input) throws Exception {
+        if (ComponentId.NETWORK_SPOUT.name().equals(input.getSourceComponent())) {
+            Message message = pullValue(input, FIELD_ID_PAYLOAD, Message.class);
+            if (message instanceof InfoMessage) {
+                networkSnapshotService.handleNetworkNotification(((InfoMessage) message).getData(),
+                        message.getTimestamp());
+            }
+        } else if (ISL_AVAILABLE_BANDWIDTH_UPDATE.name().equals(input.getSourceStreamId())) {
+            // Own updates are applied before the broadcast.
+            if (input.getSourceTask() != getTaskId()) {
+                networkSnapshotService.handleIslAvailableBandwidthUpdate(pullIslAvailableBandwidthUpdate(input));
+            }
+        } else {
+            super.handleInput(input);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<IslEndpoints, Long> pullIslAvailableBandwidthUpdate(Tuple input) throws PipelineException {
+        return pullValue(input, FIELD_ID_PAYLOAD, Map.class);
+    }
 
     @Override
     protected void onRequest(Tuple input) throws PipelineException {
@@ -190,6 +221,16 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
                 new Values(flowInfo.getFlowId(), message));
     }
 
+    @Override
+    public void sendIslAvailableBandwidthUpdate(Map<IslEndpoints, Long> updatedIsls) {
+        if (updatedIsls.isEmpty()) {
+            return;
+        }
+        networkSnapshotService.handleIslAvailableBandwidthUpdate(updatedIsls);
+        emitWithContext(ISL_AVAILABLE_BANDWIDTH_UPDATE.name(), getCurrentTuple(),
+                new Values(currentKey, new HashMap<>(updatedIsls)));
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         super.declareOutputFields(declarer);
@@ -199,6 +240,7 @@ public class FlowCreateHubBolt extends HubBolt implements FlowCreateHubCarrier {
         declarer.declareStream(HUB_TO_HISTORY_BOLT.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_PING_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_SERVER42_CONTROL_TOPOLOGY_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
+        declarer.declareStream(ISL_AVAILABLE_BANDWIDTH_UPDATE.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(ZkStreams.ZK.toString(),
                 new Fields(ZooKeeperBolt.FIELD_ID_STATE, ZooKeeperBolt.FIELD_ID_CONTEXT));
         declarer.declareStream(HUB_TO_FLOW_MONITORING_TOPOLOGY_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
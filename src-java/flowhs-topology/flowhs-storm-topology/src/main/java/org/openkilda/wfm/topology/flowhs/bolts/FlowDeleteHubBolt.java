@@ -22,6 +22,7 @@ import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_NB_
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_PING_SENDER;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_SERVER42_CONTROL_TOPOLOGY_SENDER;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_SPEAKER_WORKER;
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ISL_AVAILABLE_BANDWIDTH_UPDATE;
 import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
 
 import org.openkilda.bluegreen.LifecycleEvent;
@@ -35,6 +36,7 @@ import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.flow.UpdateFlowInfo;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 import org.openkilda.server42.control.messaging.flowrtt.DeactivateFlowMonitoringInfoData;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
@@ -56,6 +58,9 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class FlowDeleteHubBolt extends HubBolt implements FlowDeleteHubCarrier {
 
     private final FlowDeleteConfig config;
@@ -180,6 +185,15 @@ public class FlowDeleteHubBolt extends HubBolt implements FlowDeleteHubCarrier {
                 new Values(flowInfo.getFlowId(), message));
     }
 
+    @Override
+    public void sendIslAvailableBandwidthUpdate(Map<IslEndpoints, Long> updatedIsls) {
+        if (updatedIsls.isEmpty()) {
+            return;
+        }
+        emitWithContext(ISL_AVAILABLE_BANDWIDTH_UPDATE.name(), getCurrentTuple(),
+                new Values(currentKey, new HashMap<>(updatedIsls)));
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         super.declareOutputFields(declarer);
@@ -189,6 +203,7 @@ public class FlowDeleteHubBolt extends HubBolt implements FlowDeleteHubCarrier {
         declarer.declareStream(HUB_TO_HISTORY_BOLT.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_PING_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_SERVER42_CONTROL_TOPOLOGY_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
+        declarer.declareStream(ISL_AVAILABLE_BANDWIDTH_UPDATE.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(ZkStreams.ZK.toString(),
                 new Fields(ZooKeeperBolt.FIELD_ID_STATE, ZooKeeperBolt.FIELD_ID_CONTEXT));
         declarer.declareStream(HUB_TO_FLOW_MONITORING_TOPOLOGY_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
@@ -22,6 +22,7 @@ import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_NB_
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_PING_SENDER;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_REROUTE_RESPONSE_SENDER;
 import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.HUB_TO_SPEAKER_WORKER;
+import static org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream.ISL_AVAILABLE_BANDWIDTH_UPDATE;
 import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PAYLOAD;
 
 import org.openkilda.bluegreen.LifecycleEvent;
@@ -40,6 +41,7 @@ import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.pce.PathComputerFactory;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
@@ -48,9 +50,11 @@ import org.openkilda.wfm.share.hubandspoke.HubBolt;
 import org.openkilda.wfm.share.utils.KeyProvider;
 import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
+import org.openkilda.wfm.topology.flowhs.FlowHsTopology.ComponentId;
 import org.openkilda.wfm.topology.flowhs.FlowHsTopology.Stream;
 import org.openkilda.wfm.topology.flowhs.service.FlowRerouteHubCarrier;
 import org.openkilda.wfm.topology.flowhs.service.FlowRerouteService;
+import org.openkilda.wfm.topology.flowhs.service.NetworkSnapshotService;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import lombok.Builder;
@@ -60,6 +64,9 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier {
 
     private final FlowRerouteConfig config;
@@ -68,6 +75,7 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
     private final FlowResourcesConfig flowResourcesConfig;
 
     private transient FlowRerouteService service;
+    private transient NetworkSnapshotService networkSnapshotService;
     private String currentKey;
 
     private LifecycleEvent deferredShutdownEvent;
@@ -90,6 +98,7 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
                 new AvailableNetworkFactory(pathComputerConfig, persistenceManager.getRepositoryFactory());
         PathComputer pathComputer =
                 new PathComputerFactory(pathComputerConfig, availableNetworkFactory).getPathComputer();
+        networkSnapshotService = new NetworkSnapshotService(availableNetworkFactory);
 
         FlowResourcesManager resourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
         service = new FlowRerouteService(this, persistenceManager, pathComputer, resourcesManager,
@@ -111,6 +120,29 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
         service.activate();
     }
 
+    @Override
+    protected void handleInput(Tuple input) throws Exception {
+        if (ComponentId.NETWORK_SPOUT.name().equals(input.getSourceComponent())) {
+            Message message = pullValue(input, FIELD_ID_PAYLOAD, Message.class);
+            if (message instanceof InfoMessage) {
+                networkSnapshotService.handleNetworkNotification(((InfoMessage) message).getData(),
+                        message.getTimestamp());
+            }
+        } else if (ISL_AVAILABLE_BANDWIDTH_UPDATE.name().equals(input.getSourceStreamId())) {
+            // Own updates are applied before the broadcast.
+            if (input.getSourceTask() != getTaskId()) {
+                networkSnapshotService.handleIslAvailableBandwidthUpdate(pullIslAvailableBandwidthUpdate(input));
+            }
+        } else {
+            super.handleInput(input);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<IslEndpoints, Long> pullIslAvailableBandwidthUpdate(Tuple input) throws PipelineException {
+        return pullValue(input, FIELD_ID_PAYLOAD, Map.class);
+    }
+
     @Override
     protected void onRequest(Tuple input) throws PipelineException {
         currentKey = pullKey(input);
@@ -191,6 +223,16 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
                 new Values(currentKey, message));
     }
 
+    @Override
+    public void sendIslAvailableBandwidthUpdate(Map<IslEndpoints, Long> updatedIsls) {
+        if (updatedIsls.isEmpty()) {
+            return;
+        }
+        networkSnapshotService.handleIslAvailableBandwidthUpdate(updatedIsls);
+        emitWithContext(ISL_AVAILABLE_BANDWIDTH_UPDATE.name(), getCurrentTuple(),
+                new Values(currentKey, new HashMap<>(updatedIsls)));
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         super.declareOutputFields(declarer);
@@ -200,6 +242,7 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
         declarer.declareStream(HUB_TO_REROUTE_RESPONSE_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_HISTORY_BOLT.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(HUB_TO_PING_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
+        declarer.declareStream(ISL_AVAILABLE_BANDWIDTH_UPDATE.name(), MessageKafkaTranslator.STREAM_FIELDS);
         declarer.declareStream(ZkStreams.ZK.toString(),
                 new Fields(ZooKeeperBolt.FIELD_ID_STATE, ZooKeeperBolt.FIELD_ID_CONTEXT));
         declarer.declareStream(HUB_TO_FLOW_MONITORING_TOPOLOGY_SENDER.name(), MessageKafkaTranslator.STREAM_FIELDS);
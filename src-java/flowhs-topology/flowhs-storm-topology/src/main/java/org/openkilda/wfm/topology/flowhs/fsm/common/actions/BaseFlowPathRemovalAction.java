@@ -21,6 +21,7 @@ import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 import org.openkilda.wfm.share.history.model.FlowDumpData;
 import org.openkilda.wfm.share.history.model.FlowDumpData.DumpType;
 import org.openkilda.wfm.share.mappers.HistoryMapper;
@@ -29,6 +30,11 @@ import org.openkilda.wfm.topology.flowhs.fsm.common.FlowProcessingFsm;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 /**
  * A base for action classes that remove flow paths.
  */
@@ -43,15 +49,18 @@ public abstract class BaseFlowPathRemovalAction<T extends FlowProcessingFsm<T, S
         islRepository = persistenceManager.getRepositoryFactory().createIslRepository();
     }
 
-    protected void updateIslsForFlowPath(FlowPath... paths) {
-        for (FlowPath path : paths) {
-            if (!path.isIgnoreBandwidth()) {
-                path.getSegments().forEach(pathSegment ->
-                        transactionManager.doInTransaction(() ->
-                                islRepository.updateAvailableBandwidth(
-                                        pathSegment.getSrcSwitchId(), pathSegment.getSrcPort(),
-                                        pathSegment.getDestSwitchId(), pathSegment.getDestPort())));
-            }
+    protected void updateIslsForFlowPath(T stateMachine, FlowPath... paths) {
+        Set<IslEndpoints> islEndpoints = Stream.of(paths)
+                .filter(path -> !path.isIgnoreBandwidth())
+                .flatMap(path -> path.getSegments().stream())
+                .map(pathSegment -> new IslEndpoints(pathSegment.getSrcSwitchId().toString(),
+                        pathSegment.getSrcPort(), pathSegment.getDestSwitchId().toString(),
+                        pathSegment.getDestPort()))
+                .collect(Collectors.toSet());
+        if (!islEndpoints.isEmpty()) {
+            Map<IslEndpoints, Long> updatedIsls =
+                    transactionManager.doInTransaction(() -> islRepository.updateAvailableBandwidth(islEndpoints));
+            stateMachine.getCarrier().sendIslAvailableBandwidthUpdate(updatedIsls);
         }
     }
 
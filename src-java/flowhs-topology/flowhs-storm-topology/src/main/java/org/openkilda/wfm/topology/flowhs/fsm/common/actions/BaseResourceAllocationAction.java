@@ -210,9 +210,10 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
     }
 
     @SneakyThrows
-    protected GetPathsResult allocatePathPair(Flow flow, PathId newForwardPathId, PathId newReversePathId,
-                                              boolean forceToIgnoreBandwidth, List<PathId> pathsToReuseBandwidth,
-                                              FlowPathPair oldPaths, boolean allowOldPaths,
+    protected GetPathsResult allocatePathPair(T stateMachine, Flow flow, PathId newForwardPathId,
+                                              PathId newReversePathId, boolean forceToIgnoreBandwidth,
+                                              List<PathId> pathsToReuseBandwidth, FlowPathPair oldPaths,
+                                              boolean allowOldPaths,
                                               Predicate<GetPathsResult> whetherCreatePathSegments)
             throws RecoverableException, UnroutableFlowException, ResourceAllocationException {
         // Lazy initialisable map with reused bandwidth...
@@ -271,10 +272,13 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
                         List<PathSegment> reverseSegments = flowPathBuilder.buildPathSegments(newReversePathId,
                                 potentialPath.getReverse(), flow.getBandwidth(), ignoreBandwidth);
 
-                        transactionManager.doInTransaction(() -> {
-                            createPathSegments(forwardSegments, reuseBandwidthPerIsl);
-                            createPathSegments(reverseSegments, reuseBandwidthPerIsl);
+                        Map<IslEndpoints, Long> updatedIsls = transactionManager.doInTransaction(() -> {
+                            Map<IslEndpoints, Long> result = new HashMap<>();
+                            result.putAll(createPathSegments(forwardSegments, reuseBandwidthPerIsl));
+                            result.putAll(createPathSegments(reverseSegments, reuseBandwidthPerIsl));
+                            return result;
                         });
+                        stateMachine.getCarrier().sendIslAvailableBandwidthUpdate(updatedIsls);
                     }
 
                     return potentialPath;
@@ -286,25 +290,41 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
         }
     }
 
+    /**
+     * Persists the path segments and updates available bandwidth of the ISLs they occupy.
+     *
+     * @return the updated available bandwidth of the ISLs.
+     */
     @VisibleForTesting
-    void createPathSegments(List<PathSegment> segments, Supplier<Map<IslEndpoints, Long>> reuseBandwidth)
+    Map<IslEndpoints, Long> createPathSegments(List<PathSegment> segments,
+                                               Supplier<Map<IslEndpoints, Long>> reuseBandwidth)
             throws ResourceAllocationException {
+        Map<IslEndpoints, Long> updatedIsls = new HashMap<>();
         for (PathSegment segment : segments) {
             log.debug("Persisting the segment {}", segment);
-            long updatedAvailableBandwidth =
-                    pathSegmentRepository.addSegmentAndUpdateIslAvailableBandwidth(segment).orElse(0L);
+            Optional<Long> updatedIslAvailableBandwidth =
+                    pathSegmentRepository.addSegmentAndUpdateIslAvailableBandwidth(segment);
+            if (!updatedIslAvailableBandwidth.isPresent()) {
+                continue;
+            }
+            long updatedAvailableBandwidth = updatedIslAvailableBandwidth.get();
+            IslEndpoints isl = new IslEndpoints(segment.getSrcSwitchId().toString(), segment.getSrcPort(),
+                    segment.getDestSwitchId().toString(), segment.getDestPort());
+            updatedIsls.put(isl, updatedAvailableBandwidth);
             if (!segment.isIgnoreBandwidth() && updatedAvailableBandwidth < 0) {
-                IslEndpoints isl = new IslEndpoints(segment.getSrcSwitchId().toString(), segment.getSrcPort(),
-                        segment.getDestSwitchId().toString(), segment.getDestPort());
                 log.debug("ISL {} is being over-provisioned, check if it's allowed", isl);
 
                 long allowedOverprovisionedBandwidth = reuseBandwidth.get().getOrDefault(isl, 0L);
                 if ((updatedAvailableBandwidth + allowedOverprovisionedBandwidth) < 0) {
+                    // The allocation is rolled back, but the network snapshot must not offer the ISL on retries.
+                    pathComputer.updateIslAvailableBandwidth(segment.getSrcSwitchId(), segment.getSrcPort(),
+                            segment.getDestSwitchId(), segment.getDestPort(), updatedAvailableBandwidth);
                     throw new ResourceAllocationException(format("ISL %s_%d-%s_%d was overprovisioned",
                             isl.getSrcSwitch(), isl.getSrcPort(), isl.getDestSwitch(), isl.getDestPort()));
                 }
             }
         }
+        return updatedIsls;
     }
 
     @SneakyThrows
@@ -237,7 +237,7 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
 
         log.debug("Creating the primary path {} for flow {}", paths, stateMachine.getFlowId());
 
-        transactionManager.doInTransaction(() -> {
+        Map<IslEndpoints, Long> updatedIsls = transactionManager.doInTransaction(() -> {
             Flow flow = getFlow(stateMachine.getFlowId());
             FlowResources flowResources = resourcesManager.allocateFlowResources(flow);
             final FlowSegmentCookieBuilder cookieBuilder = FlowSegmentCookie.builder()
@@ -259,14 +259,17 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
             flowPathRepository.add(reverse);
             flow.setReversePath(reverse);
 
-            updateIslsForFlowPath(forward.getPathId());
-            updateIslsForFlowPath(reverse.getPathId());
+            Map<IslEndpoints, Long> result = new HashMap<>();
+            result.putAll(updateIslsForFlowPath(forward.getPathId()));
+            result.putAll(updateIslsForFlowPath(reverse.getPathId()));
 
             stateMachine.setForwardPathId(forward.getPathId());
             stateMachine.setReversePathId(reverse.getPathId());
             log.debug("Allocated resources for the flow {}: {}", flow.getFlowId(), flowResources);
             stateMachine.getFlowResources().add(flowResources);
+            return result;
         });
+        stateMachine.getCarrier().sendIslAvailableBandwidthUpdate(updatedIsls);
     }
 
     private void allocateProtectedPath(FlowCreateFsm stateMachine) throws UnroutableFlowException,
@@ -291,7 +294,7 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
 
         log.debug("Creating the protected path {} for flow {}", protectedPath, tmpFlow);
 
-        transactionManager.doInTransaction(() -> {
+        Map<IslEndpoints, Long> updatedIsls = transactionManager.doInTransaction(() -> {
             Flow flow = getFlow(flowId);
 
             FlowResources flowResources = resourcesManager.allocateFlowResources(flow);
@@ -312,25 +315,32 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
             flowPathRepository.add(reverse);
             flow.setProtectedReversePath(reverse);
 
-            updateIslsForFlowPath(forward.getPathId());
-            updateIslsForFlowPath(reverse.getPathId());
+            Map<IslEndpoints, Long> result = new HashMap<>();
+            result.putAll(updateIslsForFlowPath(forward.getPathId()));
+            result.putAll(updateIslsForFlowPath(reverse.getPathId()));
 
             stateMachine.setProtectedForwardPathId(forward.getPathId());
             stateMachine.setProtectedReversePathId(reverse.getPathId());
             log.debug("Allocated resources for the flow {}: {}", flow.getFlowId(), flowResources);
             stateMachine.getFlowResources().add(flowResources);
+            return result;
         });
+        stateMachine.getCarrier().sendIslAvailableBandwidthUpdate(updatedIsls);
     }
 
-    private void updateIslsForFlowPath(PathId pathId) throws ResourceAllocationException {
+    private Map<IslEndpoints, Long> updateIslsForFlowPath(PathId pathId) throws ResourceAllocationException {
         Map<IslEndpoints, Long> updatedIsls = islRepository.updateAvailableBandwidthOnIslsOccupiedByPath(pathId);
         for (Entry<IslEndpoints, Long> entry : updatedIsls.entrySet()) {
             IslEndpoints isl = entry.getKey();
             if (entry.getValue() < 0) {
+                // The allocation is rolled back, but the network snapshot must not offer the ISL on retries.
+                pathComputer.updateIslAvailableBandwidth(new SwitchId(isl.getSrcSwitch()), isl.getSrcPort(),
+                        new SwitchId(isl.getDestSwitch()), isl.getDestPort(), entry.getValue());
                 throw new ResourceAllocationException(format("ISL %s_%d-%s_%d was over-provisioned",
                         isl.getSrcSwitch(), isl.getSrcPort(), isl.getDestSwitch(), isl.getDestPort()));
             }
         }
+        return updatedIsls;
     }
 
     private void saveHistory(FlowCreateFsm stateMachine, Flow flow) {
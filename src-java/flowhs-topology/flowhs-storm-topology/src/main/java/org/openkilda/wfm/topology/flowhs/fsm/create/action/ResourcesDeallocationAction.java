@@ -21,6 +21,7 @@ import org.openkilda.model.Flow;
 import org.openkilda.model.PathSegment;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 import org.openkilda.wfm.share.flow.resources.FlowResources;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
 import org.openkilda.wfm.topology.flowhs.exception.FlowProcessingException;
@@ -35,6 +36,9 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Slf4j
@@ -72,7 +76,7 @@ public class ResourcesDeallocationAction extends FlowProcessingAction<FlowCreate
                             flowPathRepository.remove(pathId)
                                     .ifPresent(path -> removedSegments.addAll(path.getSegments())));
 
-            updateIslsForSegments(removedSegments);
+            updateIslsForSegments(stateMachine, removedSegments);
 
             transactionManager.doInTransaction(() ->
                     resourcesManager.deallocatePathResources(resources));
@@ -85,11 +89,16 @@ public class ResourcesDeallocationAction extends FlowProcessingAction<FlowCreate
         stateMachine.saveActionToHistory("The resources have been deallocated");
     }
 
-    private void updateIslsForSegments(List<PathSegment> pathSegments) {
-        pathSegments.forEach(pathSegment ->
-                transactionManager.doInTransaction(() ->
-                        islRepository.updateAvailableBandwidth(
-                                pathSegment.getSrcSwitchId(), pathSegment.getSrcPort(),
-                                pathSegment.getDestSwitchId(), pathSegment.getDestPort())));
+    private void updateIslsForSegments(FlowCreateFsm stateMachine, List<PathSegment> pathSegments) {
+        Set<IslEndpoints> islEndpoints = pathSegments.stream()
+                .map(pathSegment -> new IslEndpoints(pathSegment.getSrcSwitchId().toString(),
+                        pathSegment.getSrcPort(), pathSegment.getDestSwitchId().toString(),
+                        pathSegment.getDestPort()))
+                .collect(Collectors.toSet());
+        if (!islEndpoints.isEmpty()) {
+            Map<IslEndpoints, Long> updatedIsls =
+                    transactionManager.doInTransaction(() -> islRepository.updateAvailableBandwidth(islEndpoints));
+            stateMachine.getCarrier().sendIslAvailableBandwidthUpdate(updatedIsls);
+        }
     }
 }
@@ -44,7 +44,7 @@ public class CompleteFlowPathRemovalAction extends
         flow.getPathIds().forEach(pathId -> {
             Optional<FlowPath> deletedPath = flowPathRepository.remove(pathId);
             deletedPath.ifPresent(path -> {
-                updateIslsForFlowPath(path);
+                updateIslsForFlowPath(stateMachine, path);
                 saveRemovalActionWithDumpToHistory(stateMachine, flow, new FlowPathPair(path, path));
             });
         });
@@ -78,9 +78,9 @@ public class AllocatePrimaryResourcesAction extends
         pathsToReuse.addAll(stateMachine.getRejectedPaths());
 
         log.debug("Finding a new primary path for flow {}", flowId);
-        GetPathsResult allocatedPaths = allocatePathPair(tmpFlowCopy, newForwardPathId, newReversePathId,
-                stateMachine.isIgnoreBandwidth(), pathsToReuse, oldPaths, stateMachine.isRecreateIfSamePath(),
-                path -> true);
+        GetPathsResult allocatedPaths = allocatePathPair(stateMachine, tmpFlowCopy, newForwardPathId,
+                newReversePathId, stateMachine.isIgnoreBandwidth(), pathsToReuse, oldPaths,
+                stateMachine.isRecreateIfSamePath(), path -> true);
         if (allocatedPaths != null) {
             log.debug("New primary paths have been allocated: {}", allocatedPaths);
             stateMachine.setBackUpPrimaryPathComputationWayUsed(allocatedPaths.isBackUpPathComputationWayUsed());
@@ -89,9 +89,9 @@ public class AllocateProtectedResourcesAction extends
         pathsToReuse.addAll(stateMachine.getRejectedPaths());
 
         log.debug("Finding a new protected path for flow {}", flowId);
-        GetPathsResult allocatedPaths = allocatePathPair(tmpFlowCopy, newForwardPathId, newReversePathId,
-                stateMachine.isIgnoreBandwidth(), pathsToReuse, oldPaths, stateMachine.isRecreateIfSamePath(),
-                testNonOverlappingPath);
+        GetPathsResult allocatedPaths = allocatePathPair(stateMachine, tmpFlowCopy, newForwardPathId,
+                newReversePathId, stateMachine.isIgnoreBandwidth(), pathsToReuse, oldPaths,
+                stateMachine.isRecreateIfSamePath(), testNonOverlappingPath);
         if (allocatedPaths != null) {
             stateMachine.setBackUpProtectedPathComputationWayUsed(allocatedPaths.isBackUpPathComputationWayUsed());
 
@@ -58,18 +58,18 @@ public class CompleteFlowPathRemovalAction extends
                 if (oldPrimaryReverse != null) {
                     log.debug("Removed the flow paths {} / {}", oldPrimaryForward, oldPrimaryReverse);
                     removedPaths = new FlowPathPair(oldPrimaryForward, oldPrimaryReverse);
-                    updateIslsForFlowPath(removedPaths.getForward(), removedPaths.getReverse());
+                    updateIslsForFlowPath(stateMachine, removedPaths.getForward(), removedPaths.getReverse());
                 } else {
                     log.debug("Removed the flow path {} (no reverse pair)", oldPrimaryForward);
                     // TODO: History dumps require paired paths, fix it to support any (without opposite one).
                     removedPaths = new FlowPathPair(oldPrimaryForward, oldPrimaryForward);
-                    updateIslsForFlowPath(removedPaths.getForward());
+                    updateIslsForFlowPath(stateMachine, removedPaths.getForward());
                 }
             } else if (oldPrimaryReverse != null) {
                 log.debug("Removed the flow path {} (no forward pair)", oldPrimaryReverse);
                 // TODO: History dumps require paired paths, fix it to support any (without opposite one).
                 removedPaths = new FlowPathPair(oldPrimaryReverse, oldPrimaryReverse);
-                updateIslsForFlowPath(removedPaths.getReverse());
+                updateIslsForFlowPath(stateMachine, removedPaths.getReverse());
             }
             if (removedPaths != null) {
                 saveRemovalActionWithDumpToHistory(stateMachine, flow, removedPaths);
@@ -90,18 +90,18 @@ public class CompleteFlowPathRemovalAction extends
                 if (oldProtectedReverse != null) {
                     log.debug("Removed the flow paths {} / {}", oldProtectedForward, oldProtectedReverse);
                     removedPaths = new FlowPathPair(oldProtectedForward, oldProtectedReverse);
-                    updateIslsForFlowPath(removedPaths.getForward(), removedPaths.getReverse());
+                    updateIslsForFlowPath(stateMachine, removedPaths.getForward(), removedPaths.getReverse());
                 } else {
                     log.debug("Removed the flow path {} (no reverse pair)", oldProtectedForward);
                     // TODO: History dumps require paired paths, fix it to support any (without opposite one).
                     removedPaths = new FlowPathPair(oldProtectedForward, oldProtectedForward);
-                    updateIslsForFlowPath(removedPaths.getForward());
+                    updateIslsForFlowPath(stateMachine, removedPaths.getForward());
                 }
             } else if (oldProtectedReverse != null) {
                 log.debug("Removed the flow path {} (no forward pair)", oldProtectedReverse);
                 // TODO: History dumps require paired paths, fix it to support any (without opposite one).
                 removedPaths = new FlowPathPair(oldProtectedReverse, oldProtectedReverse);
-                updateIslsForFlowPath(removedPaths.getReverse());
+                updateIslsForFlowPath(stateMachine, removedPaths.getReverse());
             }
             if (removedPaths != null) {
                 saveRemovalActionWithDumpToHistory(stateMachine, flow, removedPaths);
@@ -114,7 +114,7 @@ public class CompleteFlowPathRemovalAction extends
                 .forEach(pathId ->
                         flowPathRepository.remove(pathId)
                                 .ifPresent(flowPath -> {
-                                    updateIslsForFlowPath(flowPath);
+                                    updateIslsForFlowPath(stateMachine, flowPath);
                                     saveRemovalActionWithDumpToHistory(stateMachine, flow, flowPath);
                                 }));
     }
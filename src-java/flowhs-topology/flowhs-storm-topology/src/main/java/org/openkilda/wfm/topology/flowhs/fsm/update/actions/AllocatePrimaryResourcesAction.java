@@ -77,8 +77,8 @@ public class AllocatePrimaryResourcesAction extends
         PathId newReversePathId = resourcesManager.generatePathId(flowId);
 
         log.debug("Finding a new primary path for flow {}", flowId);
-        GetPathsResult allocatedPaths = allocatePathPair(tmpFlow, newForwardPathId, newReversePathId,
-                false, pathIdsToReuse, oldPaths, true, path -> true);
+        GetPathsResult allocatedPaths = allocatePathPair(stateMachine, tmpFlow, newForwardPathId,
+                newReversePathId, false, pathIdsToReuse, oldPaths, true, path -> true);
         if (allocatedPaths == null) {
             throw new ResourceAllocationException("Unable to allocate a path");
         }
@@ -85,8 +85,8 @@ public class AllocateProtectedResourcesAction extends
         PathId newReversePathId = resourcesManager.generatePathId(flowId);
 
         log.debug("Finding a new protected path for flow {}", flowId);
-        GetPathsResult allocatedPaths = allocatePathPair(tmpFlow, newForwardPathId, newReversePathId,
-                false, pathIdsToReuse, oldPaths, true, testNonOverlappingPath);
+        GetPathsResult allocatedPaths = allocatePathPair(stateMachine, tmpFlow, newForwardPathId,
+                newReversePathId, false, pathIdsToReuse, oldPaths, true, testNonOverlappingPath);
         if (allocatedPaths == null) {
             throw new ResourceAllocationException("Unable to allocate a path");
         }
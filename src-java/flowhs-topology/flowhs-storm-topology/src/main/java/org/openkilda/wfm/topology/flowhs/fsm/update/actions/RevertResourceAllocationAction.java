@@ -69,7 +69,7 @@ public class RevertResourceAllocationAction extends
                 .forEach(pathId ->
                         flowPathRepository.remove(pathId)
                                 .ifPresent(flowPath -> {
-                                    updateIslsForFlowPath(flowPath);
+                                    updateIslsForFlowPath(stateMachine, flowPath);
                                     saveRemovalActionWithDumpToHistory(stateMachine, flow, flowPath);
                                 }));
 
@@ -77,7 +77,7 @@ public class RevertResourceAllocationAction extends
                 .forEach(pathId ->
                         flowPathRepository.remove(pathId)
                                 .ifPresent(flowPath -> {
-                                    updateIslsForFlowPath(flowPath);
+                                    updateIslsForFlowPath(stateMachine, flowPath);
                                     saveRemovalActionWithDumpToHistory(stateMachine, flow, flowPath);
                                 }));
 
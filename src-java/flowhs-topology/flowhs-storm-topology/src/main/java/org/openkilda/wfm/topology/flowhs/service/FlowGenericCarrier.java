@@ -19,9 +19,12 @@ import org.openkilda.floodlight.api.request.FlowSegmentRequest;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.info.flow.UpdateFlowInfo;
 import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
 import org.openkilda.wfm.topology.flowhs.model.RequestedFlow;
 
+import java.util.Map;
+
 public interface FlowGenericCarrier {
     /**
      * Sends response to northbound component.
@@ -65,4 +68,10 @@ public interface FlowGenericCarrier {
      * @param flowInfo message to send
      */
     default void sendNotifyFlowMonitor(UpdateFlowInfo flowInfo) {}
+
+    /**
+     * Sends ISL available bandwidth updated by resource allocation or deallocation to hubs which compute paths.
+     * @param updatedIsls ISLs with updated available bandwidth
+     */
+    default void sendIslAvailableBandwidthUpdate(Map<IslEndpoints, Long> updatedIsls) {}
 }
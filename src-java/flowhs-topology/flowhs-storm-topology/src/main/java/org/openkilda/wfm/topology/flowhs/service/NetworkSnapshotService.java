@@ -0,0 +1,77 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.flowhs.service;
+
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.event.IslChangedInfoData;
+import org.openkilda.messaging.info.event.IslStatusUpdateNotification;
+import org.openkilda.model.IslEndpoint;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Keeps the network snapshot of a hub up to date with ISL events and bandwidth (de)allocations made by other hubs.
+ */
+@Slf4j
+public class NetworkSnapshotService {
+    private final AvailableNetworkFactory availableNetworkFactory;
+
+    public NetworkSnapshotService(AvailableNetworkFactory availableNetworkFactory) {
+        this.availableNetworkFactory = availableNetworkFactory;
+    }
+
+    /**
+     * Handles a notification from the network topology.
+     */
+    public void handleNetworkNotification(InfoData data, long eventTime) {
+        if (data instanceof IslStatusUpdateNotification) {
+            handleIslStatusUpdate((IslStatusUpdateNotification) data, eventTime);
+        } else if (data instanceof IslChangedInfoData) {
+            // A new or restored ISL can't be patched into the snapshot, so reload it.
+            availableNetworkFactory.invalidateNetworkSnapshot(eventTime);
+        } else {
+            log.debug("Skip unexpected network notification {}", data);
+        }
+    }
+
+    /**
+     * Applies available bandwidth of ISLs updated by resource allocation or deallocation.
+     */
+    public void handleIslAvailableBandwidthUpdate(Map<IslEndpoints, Long> updatedIsls) {
+        updatedIsls.forEach((isl, availableBandwidth) -> availableNetworkFactory.updateIslAvailableBandwidth(
+                new SwitchId(isl.getSrcSwitch()), isl.getSrcPort(), new SwitchId(isl.getDestSwitch()),
+                isl.getDestPort(), availableBandwidth));
+    }
+
+    private void handleIslStatusUpdate(IslStatusUpdateNotification notification, long eventTime) {
+        if (notification.getStatus() == IslStatus.ACTIVE) {
+            availableNetworkFactory.invalidateNetworkSnapshot(eventTime);
+            return;
+        }
+
+        availableNetworkFactory.removeIslsAt(Arrays.asList(
+                new IslEndpoint(notification.getSrcSwitchId(), notification.getSrcPortNo()),
+                new IslEndpoint(notification.getDstSwitchId(), notification.getDstPortNo())), eventTime);
+    }
+}
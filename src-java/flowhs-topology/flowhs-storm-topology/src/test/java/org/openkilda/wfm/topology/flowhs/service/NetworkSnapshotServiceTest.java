@@ -0,0 +1,113 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.flowhs.service;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import org.openkilda.messaging.info.event.IslChangedInfoData;
+import org.openkilda.messaging.info.event.IslStatusUpdateNotification;
+import org.openkilda.messaging.info.event.PortChangeType;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.model.NetworkEndpoint;
+import org.openkilda.model.IslEndpoint;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Arrays;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NetworkSnapshotServiceTest {
+    private static final SwitchId SWITCH_ID_1 = new SwitchId(1);
+    private static final SwitchId SWITCH_ID_2 = new SwitchId(2);
+    private static final long EVENT_TIME = 1000L;
+
+    @Mock
+    private AvailableNetworkFactory availableNetworkFactory;
+
+    private NetworkSnapshotService service;
+
+    @Before
+    public void setUp() {
+        service = new NetworkSnapshotService(availableNetworkFactory);
+    }
+
+    @Test
+    public void shouldRemoveIslsOfFailedIsl() {
+        service.handleNetworkNotification(
+                new IslStatusUpdateNotification(SWITCH_ID_1, 1, SWITCH_ID_2, 2, IslStatus.INACTIVE), EVENT_TIME);
+
+        verify(availableNetworkFactory).removeIslsAt(
+                Arrays.asList(new IslEndpoint(SWITCH_ID_1, 1), new IslEndpoint(SWITCH_ID_2, 2)), EVENT_TIME);
+        verifyNoMoreInteractions(availableNetworkFactory);
+    }
+
+    @Test
+    public void shouldRemoveIslsOfMovedIsl() {
+        service.handleNetworkNotification(
+                new IslStatusUpdateNotification(SWITCH_ID_1, 1, SWITCH_ID_2, 2, IslStatus.MOVED), EVENT_TIME);
+
+        verify(availableNetworkFactory).removeIslsAt(
+                Arrays.asList(new IslEndpoint(SWITCH_ID_1, 1), new IslEndpoint(SWITCH_ID_2, 2)), EVENT_TIME);
+        verifyNoMoreInteractions(availableNetworkFactory);
+    }
+
+    @Test
+    public void shouldInvalidateSnapshotOnActiveIsl() {
+        service.handleNetworkNotification(
+                new IslStatusUpdateNotification(SWITCH_ID_1, 1, SWITCH_ID_2, 2, IslStatus.ACTIVE), EVENT_TIME);
+
+        verify(availableNetworkFactory).invalidateNetworkSnapshot(EVENT_TIME);
+        verifyNoMoreInteractions(availableNetworkFactory);
+    }
+
+    @Test
+    public void shouldInvalidateSnapshotOnIslChange() {
+        service.handleNetworkNotification(new IslChangedInfoData(
+                new NetworkEndpoint(SWITCH_ID_1, 1), new NetworkEndpoint(SWITCH_ID_2, 2)), EVENT_TIME);
+
+        verify(availableNetworkFactory).invalidateNetworkSnapshot(EVENT_TIME);
+        verifyNoMoreInteractions(availableNetworkFactory);
+    }
+
+    @Test
+    public void shouldSkipUnexpectedNotification() {
+        service.handleNetworkNotification(new PortInfoData(SWITCH_ID_1, 1, PortChangeType.DOWN), EVENT_TIME);
+
+        verifyNoMoreInteractions(availableNetworkFactory);
+    }
+
+    @Test
+    public void shouldUpdateIslAvailableBandwidth() {
+        service.handleIslAvailableBandwidthUpdate(ImmutableMap.of(
+                new IslEndpoints(SWITCH_ID_1.toString(), 1, SWITCH_ID_2.toString(), 2), 100L,
+                new IslEndpoints(SWITCH_ID_2.toString(), 2, SWITCH_ID_1.toString(), 1), 200L));
+
+        verify(availableNetworkFactory).updateIslAvailableBandwidth(SWITCH_ID_1, 1, SWITCH_ID_2, 2, 100L);
+        verify(availableNetworkFactory).updateIslAvailableBandwidth(SWITCH_ID_2, 2, SWITCH_ID_1, 1, 200L);
+        verifyNoMoreInteractions(availableNetworkFactory);
+    }
+}
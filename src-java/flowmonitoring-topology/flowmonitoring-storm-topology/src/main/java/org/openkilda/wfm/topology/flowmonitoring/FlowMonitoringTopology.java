@@ -84,13 +84,14 @@ public class FlowMonitoringTopology extends AbstractTopology<FlowMonitoringTopol
     }
 
     private void tickBolt(TopologyBuilder topologyBuilder) {
-        declareBolt(topologyBuilder, new TickBolt(topologyConfig.getFlowSlaCheckIntervalSeconds()),
-                ComponentId.TICK_BOLT.name());
+        // flow SLA checks are spread over the check interval, a part of flows is checked on each tick
+        declareBolt(topologyBuilder, new TickBolt(1), ComponentId.TICK_BOLT.name());
     }
 
     private void flowCacheBolt(TopologyBuilder topologyBuilder, PersistenceManager persistenceManager) {
         FlowCacheBolt flowCacheBolt = new FlowCacheBolt(persistenceManager,
-                getConfig().getFlowRttStatsExpirationSeconds(), ZooKeeperSpout.SPOUT_ID);
+                getConfig().getFlowRttStatsExpirationSeconds(), getConfig().getFlowSlaCheckIntervalSeconds(),
+                ZooKeeperSpout.SPOUT_ID);
         declareBolt(topologyBuilder, flowCacheBolt, ComponentId.FLOW_CACHE_BOLT.name())
                 .allGrouping(ComponentId.FLOW_SPOUT.name())
                 .allGrouping(ComponentId.FLOW_LATENCY_SPOUT.name())
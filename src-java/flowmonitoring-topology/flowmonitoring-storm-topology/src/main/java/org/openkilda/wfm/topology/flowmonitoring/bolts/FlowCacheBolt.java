@@ -21,7 +21,9 @@ import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PA
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.flow.UpdateFlowInfo;
+import org.openkilda.messaging.info.stats.FlowRttStatsBatchData;
 import org.openkilda.messaging.info.stats.FlowRttStatsData;
+import org.openkilda.messaging.info.stats.FlowRttStatsEntry;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.context.PersistenceContextRequired;
 import org.openkilda.server42.messaging.FlowDirection;
@@ -30,6 +32,7 @@ import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
 import org.openkilda.wfm.topology.flowmonitoring.FlowMonitoringTopology.ComponentId;
+import org.openkilda.wfm.topology.flowmonitoring.model.FlowLatencyRequest;
 import org.openkilda.wfm.topology.flowmonitoring.model.Link;
 import org.openkilda.wfm.topology.flowmonitoring.service.FlowCacheBoltCarrier;
 import org.openkilda.wfm.topology.flowmonitoring.service.FlowCacheService;
@@ -46,26 +49,29 @@ public class FlowCacheBolt extends AbstractBolt implements FlowCacheBoltCarrier
     public static final String FLOW_ID_FIELD = "flow-id";
     public static final String FLOW_DIRECTION_FIELD = "flow-direction";
     public static final String FLOW_PATH_FIELD = "flow-path";
+    public static final String FLOW_LATENCY_REQUESTS_FIELD = "flow-latency-requests";
     public static final String LATENCY_FIELD = "latency";
     public static final String MAX_LATENCY_FIELD = "max-latency";
     public static final String MAX_LATENCY_TIER_2_FIELD = "max-latency-tier-2";
 
     private PersistenceManager persistenceManager;
     private long flowRttStatsExpirationTime;
+    private int checkSlotCount;
 
     private transient FlowCacheService flowCacheService;
 
     public FlowCacheBolt(PersistenceManager persistenceManager, long flowRttStatsExpirationTime,
-                         String lifeCycleEventSourceComponent) {
+                         int checkSlotCount, String lifeCycleEventSourceComponent) {
         super(lifeCycleEventSourceComponent);
         this.persistenceManager = persistenceManager;
         this.flowRttStatsExpirationTime = flowRttStatsExpirationTime;
+        this.checkSlotCount = checkSlotCount;
     }
 
     @PersistenceContextRequired(requiresNew = true)
     protected void init() {
         flowCacheService = new FlowCacheService(persistenceManager, Clock.systemUTC(),
-                flowRttStatsExpirationTime, this);
+                flowRttStatsExpirationTime, checkSlotCount, this);
     }
 
     @Override
@@ -80,6 +86,10 @@ public class FlowCacheBolt extends AbstractBolt implements FlowCacheBoltCarrier
             if (payload instanceof FlowRttStatsData) {
                 FlowRttStatsData flowRttStatsData = (FlowRttStatsData) payload;
                 flowCacheService.processFlowRttStatsData(flowRttStatsData);
+            } else if (payload instanceof FlowRttStatsBatchData) {
+                for (FlowRttStatsEntry entry : ((FlowRttStatsBatchData) payload).getStats()) {
+                    flowCacheService.processFlowRttStatsData(entry);
+                }
             } else if (payload instanceof UpdateFlowInfo) {
                 UpdateFlowInfo updateFlowInfo = (UpdateFlowInfo) payload;
                 flowCacheService.updateFlowInfo(updateFlowInfo);
@@ -90,10 +100,8 @@ public class FlowCacheBolt extends AbstractBolt implements FlowCacheBoltCarrier
     }
 
     @Override
-    public void emitCalculateFlowLatencyRequest(String flowId, FlowDirection direction,
-                                                List<Link> flowPath, Long maxLatency, Long maxLatencyTier2) {
-        emit(getCurrentTuple(), new Values(flowId, direction, flowPath, maxLatency, maxLatencyTier2,
-                getCommandContext()));
+    public void emitCalculateFlowLatencyRequest(List<Link> flowPath, List<FlowLatencyRequest> requests) {
+        emit(getCurrentTuple(), new Values(flowPath, requests, getCommandContext()));
     }
 
     @Override
@@ -105,8 +113,7 @@ public class FlowCacheBolt extends AbstractBolt implements FlowCacheBoltCarrier
 
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
-        declarer.declare(new Fields(FLOW_ID_FIELD, FLOW_DIRECTION_FIELD,
-                FLOW_PATH_FIELD, MAX_LATENCY_FIELD, MAX_LATENCY_TIER_2_FIELD, FIELD_ID_CONTEXT));
+        declarer.declare(new Fields(FLOW_PATH_FIELD, FLOW_LATENCY_REQUESTS_FIELD, FIELD_ID_CONTEXT));
         declarer.declareStream(ACTION_STREAM_ID.name(), new Fields(FLOW_ID_FIELD, FLOW_DIRECTION_FIELD,
                 LATENCY_FIELD, MAX_LATENCY_FIELD, MAX_LATENCY_TIER_2_FIELD, FIELD_ID_CONTEXT));
         declarer.declareStream(ZkStreams.ZK.toString(), new Fields(ZooKeeperBolt.FIELD_ID_STATE,
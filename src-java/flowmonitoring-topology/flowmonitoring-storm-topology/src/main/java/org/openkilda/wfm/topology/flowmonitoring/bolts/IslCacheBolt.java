@@ -18,6 +18,7 @@ package org.openkilda.wfm.topology.flowmonitoring.bolts;
 import static org.openkilda.wfm.topology.flowmonitoring.FlowMonitoringTopology.Stream.ACTION_STREAM_ID;
 import static org.openkilda.wfm.topology.flowmonitoring.bolts.FlowCacheBolt.FLOW_DIRECTION_FIELD;
 import static org.openkilda.wfm.topology.flowmonitoring.bolts.FlowCacheBolt.FLOW_ID_FIELD;
+import static org.openkilda.wfm.topology.flowmonitoring.bolts.FlowCacheBolt.FLOW_LATENCY_REQUESTS_FIELD;
 import static org.openkilda.wfm.topology.flowmonitoring.bolts.FlowCacheBolt.FLOW_PATH_FIELD;
 import static org.openkilda.wfm.topology.flowmonitoring.bolts.FlowCacheBolt.LATENCY_FIELD;
 import static org.openkilda.wfm.topology.flowmonitoring.bolts.FlowCacheBolt.MAX_LATENCY_FIELD;
@@ -32,12 +33,12 @@ import org.openkilda.messaging.info.event.IslOneWayLatency;
 import org.openkilda.messaging.info.event.IslRoundTripLatency;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.context.PersistenceContextRequired;
-import org.openkilda.server42.messaging.FlowDirection;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
 import org.openkilda.wfm.topology.flowmonitoring.FlowMonitoringTopology.ComponentId;
+import org.openkilda.wfm.topology.flowmonitoring.model.FlowLatencyRequest;
 import org.openkilda.wfm.topology.flowmonitoring.model.Link;
 import org.openkilda.wfm.topology.flowmonitoring.service.IslCacheService;
 
@@ -110,16 +111,17 @@ public class IslCacheBolt extends AbstractBolt {
         }
 
         if (ComponentId.FLOW_CACHE_BOLT.name().equals(input.getSourceComponent())) {
-            String flowId = pullValue(input, FLOW_ID_FIELD, String.class);
-            FlowDirection direction = pullValue(input, FLOW_DIRECTION_FIELD, FlowDirection.class);
             List<Link> flowPath = (List<Link>) pullValue(input, FLOW_PATH_FIELD, List.class);
-            Long maxLatency = pullValue(input, MAX_LATENCY_FIELD, Long.class);
-            Long maxLatencyTier2 = pullValue(input, MAX_LATENCY_TIER_2_FIELD, Long.class);
+            List<FlowLatencyRequest> requests = (List<FlowLatencyRequest>) pullValue(input,
+                    FLOW_LATENCY_REQUESTS_FIELD, List.class);
 
+            // flows with the same path share the calculated latency
             long latency = islCacheService.calculateLatencyForPath(flowPath);
 
-            emit(ACTION_STREAM_ID.name(), input, new Values(flowId, direction, latency, maxLatency, maxLatencyTier2,
-                    getCommandContext()));
+            for (FlowLatencyRequest request : requests) {
+                emit(ACTION_STREAM_ID.name(), input, new Values(request.getFlowId(), request.getDirection(),
+                        latency, request.getMaxLatency(), request.getMaxLatencyTier2(), getCommandContext()));
+            }
         } else {
             unhandledInput(input);
         }
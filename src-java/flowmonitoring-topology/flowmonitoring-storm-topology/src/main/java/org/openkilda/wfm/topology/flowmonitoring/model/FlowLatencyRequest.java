@@ -1,4 +1,4 @@
-/* Copyright 2019 Telstra Open Source
+/* Copyright 2021 Telstra Open Source
  *
  *   Licensed under the Apache License, Version 2.0 (the "License");
  *   you may not use this file except in compliance with the License.
@@ -13,14 +13,20 @@
  *   limitations under the License.
  */
 
-package org.openkilda.wfm.topology.stats;
+package org.openkilda.wfm.topology.flowmonitoring.model;
 
-import org.openkilda.model.SwitchId;
+import org.openkilda.server42.messaging.FlowDirection;
 
 import lombok.Value;
 
+import java.io.Serializable;
+
 @Value
-public class CookieCacheKey {
-    private SwitchId switchId;
-    private long cookie;
+public class FlowLatencyRequest implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    String flowId;
+    FlowDirection direction;
+    Long maxLatency;
+    Long maxLatencyTier2;
 }
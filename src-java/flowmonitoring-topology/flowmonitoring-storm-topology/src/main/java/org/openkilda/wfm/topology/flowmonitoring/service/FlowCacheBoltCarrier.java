@@ -16,14 +16,14 @@
 package org.openkilda.wfm.topology.flowmonitoring.service;
 
 import org.openkilda.server42.messaging.FlowDirection;
+import org.openkilda.wfm.topology.flowmonitoring.model.FlowLatencyRequest;
 import org.openkilda.wfm.topology.flowmonitoring.model.Link;
 
 import java.util.List;
 
 public interface FlowCacheBoltCarrier {
 
-    void emitCalculateFlowLatencyRequest(String flowId, FlowDirection direction, List<Link> flowPath,
-                                         Long maxLatency, Long maxLatencyTier2);
+    void emitCalculateFlowLatencyRequest(List<Link> flowPath, List<FlowLatencyRequest> requests);
 
     void emitCheckFlowLatencyRequest(String flowId, FlowDirection direction, long latency,
                                      Long maxLatency, Long maxLatencyTier2);
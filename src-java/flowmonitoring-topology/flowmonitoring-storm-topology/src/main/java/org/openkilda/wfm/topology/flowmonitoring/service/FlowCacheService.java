@@ -16,22 +16,42 @@
 package org.openkilda.wfm.topology.flowmonitoring.service;
 
 import static org.openkilda.server42.messaging.FlowDirection.FORWARD;
+import static org.openkilda.server42.messaging.FlowDirection.REVERSE;
 
 import org.openkilda.messaging.info.flow.UpdateFlowInfo;
 import org.openkilda.messaging.info.stats.FlowRttStatsData;
+import org.openkilda.messaging.info.stats.FlowRttStatsEntry;
 import org.openkilda.model.Flow;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.server42.messaging.FlowDirection;
 import org.openkilda.wfm.topology.flowmonitoring.mapper.FlowMapper;
+import org.openkilda.wfm.topology.flowmonitoring.model.FlowLatencyRequest;
+import org.openkilda.wfm.topology.flowmonitoring.model.FlowPathLatency;
 import org.openkilda.wfm.topology.flowmonitoring.model.FlowState;
+import org.openkilda.wfm.topology.flowmonitoring.model.Link;
 
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Keeps flow paths and latencies and initiates flow latency SLA checks.
+ * <p/>
+ * Flows are spread over check slots by the hash of the flow id, each call of {@link #processFlowLatencyCheck()}
+ * checks the flows of the next slot. So with the slot count equal to the number of ticks per check interval, each
+ * flow is checked once per interval and the checks are evenly spread over the interval. Additionally, a flow is
+ * checked immediately when new RTT stats move its latency over or under one of SLA thresholds.
+ * <p/>
+ * Latency calculation requests of flow paths which share the same links are sent as one request.
+ */
 @Slf4j
 public class FlowCacheService {
 
@@ -40,18 +60,32 @@ public class FlowCacheService {
     private FlowCacheBoltCarrier carrier;
 
     private Map<String, FlowState> flowStates;
+    private final List<Set<String>> checkSlots;
+    private int currentCheckSlot;
 
     public FlowCacheService(PersistenceManager persistenceManager, Clock clock,
                             long flowRttStatsExpirationTime, FlowCacheBoltCarrier carrier) {
+        this(persistenceManager, clock, flowRttStatsExpirationTime, 1, carrier);
+    }
+
+    public FlowCacheService(PersistenceManager persistenceManager, Clock clock, long flowRttStatsExpirationTime,
+                            int checkSlotCount, FlowCacheBoltCarrier carrier) {
         this.clock = clock;
         this.flowRttStatsExpirationTime = flowRttStatsExpirationTime;
         this.carrier = carrier;
 
         FlowRepository flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
 
-        flowStates = flowRepository.findAll().stream()
+        flowStates = flowRepository.findAllDetached().stream()
                 .filter(flow -> !flow.isOneSwitchFlow())
                 .collect(Collectors.toMap(Flow::getFlowId, FlowMapper.INSTANCE::toFlowState));
+
+        int slotCount = Math.max(checkSlotCount, 1);
+        checkSlots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            checkSlots.add(new HashSet<>());
+        }
+        flowStates.keySet().forEach(flowId -> getCheckSlot(flowId).add(flowId));
     }
 
     /**
@@ -63,11 +97,25 @@ public class FlowCacheService {
             log.warn("Skipping flow RTT stats for an unknown flow '{}'.", flowRttStatsData.getFlowId());
             return;
         }
-        if (FORWARD.name().equals(flowRttStatsData.getDirection())) {
-            flowState.setForwardPathLatency(FlowMapper.INSTANCE.toFlowPathLatency(flowRttStatsData));
-        } else {
-            flowState.setReversePathLatency(FlowMapper.INSTANCE.toFlowPathLatency(flowRttStatsData));
+        FlowDirection direction = FORWARD.name().equals(flowRttStatsData.getDirection()) ? FORWARD : REVERSE;
+        updateLatency(flowRttStatsData.getFlowId(), flowState, direction,
+                FlowMapper.INSTANCE.toFlowPathLatency(flowRttStatsData));
+    }
+
+    /**
+     * Update flow RTT latency with the average of the aggregated flow RTT stats.
+     */
+    public void processFlowRttStatsData(FlowRttStatsEntry flowRttStatsEntry) {
+        FlowState flowState = flowStates.get(flowRttStatsEntry.getFlowId());
+        if (flowState == null) {
+            log.warn("Skipping flow RTT stats for an unknown flow '{}'.", flowRttStatsEntry.getFlowId());
+            return;
         }
+        // server42-stats reports directions in lower case
+        FlowDirection direction = FORWARD.name().equalsIgnoreCase(flowRttStatsEntry.getDirection())
+                ? FORWARD : REVERSE;
+        updateLatency(flowRttStatsEntry.getFlowId(), flowState, direction,
+                FlowMapper.INSTANCE.toFlowPathLatency(flowRttStatsEntry));
     }
 
     /**
@@ -77,35 +125,80 @@ public class FlowCacheService {
         if (info.getFlowPath().getForwardPath() == null
                 || info.getFlowPath().getForwardPath().isEmpty()) {
             flowStates.remove(info.getFlowId());
+            getCheckSlot(info.getFlowId()).remove(info.getFlowId());
         } else {
             flowStates.put(info.getFlowId(), FlowMapper.INSTANCE.toFlowState(info));
+            getCheckSlot(info.getFlowId()).add(info.getFlowId());
         }
     }
 
     /**
-     * Start latency check for all flows.
+     * Start latency check for flows of the next check slot.
      */
     public void processFlowLatencyCheck() {
-        flowStates.forEach(this::checkFlowLatency);
+        Map<List<Link>, List<FlowLatencyRequest>> calculateRequests = new LinkedHashMap<>();
+        for (String flowId : checkSlots.get(currentCheckSlot)) {
+            checkFlowLatency(flowId, flowStates.get(flowId), calculateRequests);
+        }
+        currentCheckSlot = (currentCheckSlot + 1) % checkSlots.size();
+
+        calculateRequests.forEach(carrier::emitCalculateFlowLatencyRequest);
     }
 
-    private void checkFlowLatency(String flowId, FlowState flowState) {
-        long currentTimeMillis = clock.millis();
-        if (currentTimeMillis > flowState.getForwardPathLatency().getTimestamp() + flowRttStatsExpirationTime) {
-            carrier.emitCalculateFlowLatencyRequest(flowId, FlowDirection.FORWARD,
-                    flowState.getForwardPath(), flowState.getMaxLatency(), flowState.getMaxLatencyTier2());
+    private void checkFlowLatency(String flowId, FlowState flowState,
+                                  Map<List<Link>, List<FlowLatencyRequest>> calculateRequests) {
+        checkFlowLatency(flowId, FORWARD, flowState.getForwardPath(), flowState.getForwardPathLatency(),
+                flowState, calculateRequests);
+        checkFlowLatency(flowId, REVERSE, flowState.getReversePath(), flowState.getReversePathLatency(),
+                flowState, calculateRequests);
+    }
+
+    private void checkFlowLatency(String flowId, FlowDirection direction, List<Link> path, FlowPathLatency latency,
+                                  FlowState flowState, Map<List<Link>, List<FlowLatencyRequest>> calculateRequests) {
+        if (clock.millis() > latency.getTimestamp() + flowRttStatsExpirationTime) {
+            calculateRequests.computeIfAbsent(path, ignore -> new ArrayList<>())
+                    .add(new FlowLatencyRequest(flowId, direction,
+                            flowState.getMaxLatency(), flowState.getMaxLatencyTier2()));
         } else {
-            carrier.emitCheckFlowLatencyRequest(flowId, FlowDirection.FORWARD,
-                    flowState.getForwardPathLatency().getLatency(),
+            carrier.emitCheckFlowLatencyRequest(flowId, direction, latency.getLatency(),
                     flowState.getMaxLatency(), flowState.getMaxLatencyTier2());
         }
-        if (currentTimeMillis > flowState.getReversePathLatency().getTimestamp() + flowRttStatsExpirationTime) {
-            carrier.emitCalculateFlowLatencyRequest(flowId, FlowDirection.REVERSE,
-                    flowState.getReversePath(), flowState.getMaxLatency(), flowState.getMaxLatencyTier2());
+    }
+
+    private void updateLatency(String flowId, FlowState flowState, FlowDirection direction,
+                               FlowPathLatency latency) {
+        FlowPathLatency previous;
+        if (direction == FORWARD) {
+            previous = flowState.getForwardPathLatency();
+            flowState.setForwardPathLatency(latency);
         } else {
-            carrier.emitCheckFlowLatencyRequest(flowId, FlowDirection.REVERSE,
-                    flowState.getReversePathLatency().getLatency(),
+            previous = flowState.getReversePathLatency();
+            flowState.setReversePathLatency(latency);
+        }
+
+        if (getSlaLevel(previous.getLatency(), flowState) != getSlaLevel(latency.getLatency(), flowState)) {
+            carrier.emitCheckFlowLatencyRequest(flowId, direction, latency.getLatency(),
                     flowState.getMaxLatency(), flowState.getMaxLatencyTier2());
         }
     }
+
+    /**
+     * Returns the number of SLA thresholds exceeded by the latency.
+     */
+    private static int getSlaLevel(long latency, FlowState flowState) {
+        int level = 0;
+        if (flowState.getMaxLatency() != null && flowState.getMaxLatency() > 0
+                && latency > flowState.getMaxLatency()) {
+            level++;
+        }
+        if (flowState.getMaxLatencyTier2() != null && flowState.getMaxLatencyTier2() > 0
+                && latency > flowState.getMaxLatencyTier2()) {
+            level++;
+        }
+        return level;
+    }
+
+    private Set<String> getCheckSlot(String flowId) {
+        return checkSlots.get(Math.floorMod(flowId.hashCode(), checkSlots.size()));
+    }
 }
@@ -15,6 +15,15 @@
 
 package org.openkilda.wfm.topology.flowmonitoring.service;
 
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -36,18 +45,24 @@ import org.openkilda.persistence.inmemory.InMemoryGraphBasedTest;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.server42.messaging.FlowDirection;
 import org.openkilda.wfm.share.utils.TimestampHelper;
+import org.openkilda.wfm.topology.flowmonitoring.model.FlowLatencyRequest;
 import org.openkilda.wfm.topology.flowmonitoring.model.Link;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import java.time.Clock;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -97,11 +112,13 @@ public class FlowCacheServiceTest extends InMemoryGraphBasedTest {
         service.processFlowLatencyCheck();
 
         List<Link> expectedForwardPath = getLinks(SRC_SWITCH, ISL_SRC_PORT, DST_SWITCH, ISL_DST_PORT);
-        verify(carrier).emitCalculateFlowLatencyRequest(flow.getFlowId(), FlowDirection.FORWARD, expectedForwardPath,
-                flow.getMaxLatency(), flow.getMaxLatencyTier2());
+        verify(carrier).emitCalculateFlowLatencyRequest(expectedForwardPath, Collections.singletonList(
+                new FlowLatencyRequest(flow.getFlowId(), FlowDirection.FORWARD, flow.getMaxLatency(),
+                        flow.getMaxLatencyTier2())));
         List<Link> expectedReversePath = reverse(expectedForwardPath);
-        verify(carrier).emitCalculateFlowLatencyRequest(flow.getFlowId(), FlowDirection.REVERSE, expectedReversePath,
-                flow.getMaxLatency(), flow.getMaxLatencyTier2());
+        verify(carrier).emitCalculateFlowLatencyRequest(expectedReversePath, Collections.singletonList(
+                new FlowLatencyRequest(flow.getFlowId(), FlowDirection.REVERSE, flow.getMaxLatency(),
+                        flow.getMaxLatencyTier2())));
 
         verifyNoMoreInteractions(carrier);
     }
@@ -138,11 +155,11 @@ public class FlowCacheServiceTest extends InMemoryGraphBasedTest {
         service.processFlowLatencyCheck();
 
         List<Link> expectedForwardPath = getLinks(SRC_SWITCH, ISL_SRC_PORT_2, DST_SWITCH, ISL_DST_PORT_2);
-        verify(carrier).emitCalculateFlowLatencyRequest(flow.getFlowId(), FlowDirection.FORWARD, expectedForwardPath,
-                maxLatency, maxLatencyTier2);
+        verify(carrier).emitCalculateFlowLatencyRequest(expectedForwardPath, Collections.singletonList(
+                new FlowLatencyRequest(flow.getFlowId(), FlowDirection.FORWARD, maxLatency, maxLatencyTier2)));
         List<Link> expectedReversePath = reverse(expectedForwardPath);
-        verify(carrier).emitCalculateFlowLatencyRequest(flow.getFlowId(), FlowDirection.REVERSE, expectedReversePath,
-                maxLatency, maxLatencyTier2);
+        verify(carrier).emitCalculateFlowLatencyRequest(expectedReversePath, Collections.singletonList(
+                new FlowLatencyRequest(flow.getFlowId(), FlowDirection.REVERSE, maxLatency, maxLatencyTier2)));
 
         verifyNoMoreInteractions(carrier);
     }
@@ -165,14 +182,107 @@ public class FlowCacheServiceTest extends InMemoryGraphBasedTest {
         service.processFlowLatencyCheck();
 
         List<Link> expectedForwardPath = getLinks(SRC_SWITCH, ISL_SRC_PORT, DST_SWITCH, ISL_DST_PORT);
-        verify(carrier).emitCheckFlowLatencyRequest(flow.getFlowId(), FlowDirection.FORWARD,
+        // the new latency exceeds both SLA tiers, so the first check is sent right on the stats update
+        verify(carrier, times(2)).emitCheckFlowLatencyRequest(flow.getFlowId(), FlowDirection.FORWARD,
                 TimestampHelper.noviflowTimestamp(t1) - TimestampHelper.noviflowTimestamp(t0),
                 flow.getMaxLatency(), flow.getMaxLatencyTier2());
         List<Link> expectedReversePath = reverse(expectedForwardPath);
-        verify(carrier).emitCalculateFlowLatencyRequest(flow.getFlowId(), FlowDirection.REVERSE, expectedReversePath,
+        verify(carrier).emitCalculateFlowLatencyRequest(expectedReversePath, Collections.singletonList(
+                new FlowLatencyRequest(flow.getFlowId(), FlowDirection.REVERSE, flow.getMaxLatency(),
+                        flow.getMaxLatencyTier2())));
+
+        verifyNoMoreInteractions(carrier);
+    }
+
+    @Test
+    public void shouldSpreadFlowChecksOverCheckSlots() {
+        when(clock.millis()).thenReturn(1000L);
+        int slotCount = 4;
+        List<String> flowIds = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            flowIds.add(createFlow().getFlowId());
+        }
+        service = new FlowCacheService(persistenceManager, clock, FLOW_RTT_STATS_EXPIRATION_TIME, slotCount, carrier);
+
+        Map<String, Integer> checkedTicks = new HashMap<>();
+        for (int tick = 0; tick < slotCount * 2; tick++) {
+            service.processFlowLatencyCheck();
+
+            ArgumentCaptor<List<FlowLatencyRequest>> captor = ArgumentCaptor.forClass(List.class);
+            verify(carrier, atLeast(0)).emitCalculateFlowLatencyRequest(anyList(), captor.capture());
+            Map<String, Integer> checks = new HashMap<>();
+            captor.getAllValues().forEach(requests -> requests.forEach(
+                    request -> checks.merge(request.getFlowId(), 1, Integer::sum)));
+            clearInvocations(carrier);
+
+            // the tick checks the flows of its slot only, each one in both directions
+            int slot = tick % slotCount;
+            Map<String, Integer> expectedChecks = flowIds.stream()
+                    .filter(flowId -> Math.floorMod(flowId.hashCode(), slotCount) == slot)
+                    .collect(Collectors.toMap(flowId -> flowId, flowId -> 2));
+            assertEquals("tick " + tick, expectedChecks, checks);
+            checks.keySet().forEach(flowId -> checkedTicks.merge(flowId, 1, Integer::sum));
+        }
+
+        // each flow is checked in one tick of each slot round
+        for (String flowId : flowIds) {
+            assertEquals(flowId, Integer.valueOf(2), checkedTicks.get(flowId));
+        }
+    }
+
+    @Test
+    public void shouldBatchCalculateRequestsForSamePath() {
+        when(clock.millis()).thenReturn(1000L);
+        final Flow first = createFlow();
+        final Flow second = createFlow();
+        service = new FlowCacheService(persistenceManager, clock, FLOW_RTT_STATS_EXPIRATION_TIME, carrier);
+
+        service.processFlowLatencyCheck();
+
+        List<Link> expectedForwardPath = getLinks(SRC_SWITCH, ISL_SRC_PORT, DST_SWITCH, ISL_DST_PORT);
+        ArgumentCaptor<List<FlowLatencyRequest>> captor = ArgumentCaptor.forClass(List.class);
+        verify(carrier).emitCalculateFlowLatencyRequest(eq(expectedForwardPath), captor.capture());
+        verify(carrier).emitCalculateFlowLatencyRequest(eq(reverse(expectedForwardPath)), anyList());
+        verifyNoMoreInteractions(carrier);
+
+        assertEquals(new HashSet<>(Arrays.asList(first.getFlowId(), second.getFlowId())), captor.getValue().stream()
+                .map(FlowLatencyRequest::getFlowId)
+                .collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void shouldCheckFlowImmediatelyOnlyWhenSlaLevelChanges() {
+        Flow flow = createFlow();
+        service = new FlowCacheService(persistenceManager, clock, FLOW_RTT_STATS_EXPIRATION_TIME, carrier);
+
+        // below max latency, nothing changed
+        service.processFlowRttStatsData(buildRttStats(flow.getFlowId(), 100));
+        verify(carrier, never()).emitCheckFlowLatencyRequest(any(), any(), anyLong(), any(), any());
+
+        // above max latency, but below tier 2
+        service.processFlowRttStatsData(buildRttStats(flow.getFlowId(), 600));
+        verify(carrier).emitCheckFlowLatencyRequest(flow.getFlowId(), FlowDirection.FORWARD, 600,
                 flow.getMaxLatency(), flow.getMaxLatencyTier2());
 
+        // still between tiers
+        service.processFlowRttStatsData(buildRttStats(flow.getFlowId(), 650));
         verifyNoMoreInteractions(carrier);
+
+        // back to normal
+        service.processFlowRttStatsData(buildRttStats(flow.getFlowId(), 200));
+        verify(carrier).emitCheckFlowLatencyRequest(flow.getFlowId(), FlowDirection.FORWARD, 200,
+                flow.getMaxLatency(), flow.getMaxLatencyTier2());
+        verifyNoMoreInteractions(carrier);
+    }
+
+    private FlowRttStatsData buildRttStats(String flowId, long latency) {
+        long t0 = 10L << 32;
+        return FlowRttStatsData.builder()
+                .flowId(flowId)
+                .direction(FlowDirection.FORWARD.name())
+                .t0(t0)
+                .t1(t0 + latency)
+                .build();
     }
 
     private void createIsl(Switch srcSwitch, int srcPort, Switch dstSwitch, int dstPort) {
@@ -22,4 +22,14 @@ import lombok.Data;
 @Builder
 public class FlowFilter {
     FlowStatus flowStatus;
+
+    /**
+     * Continuation token of a paginated dump, only flows with greater flow id are returned.
+     */
+    String afterFlowId;
+
+    /**
+     * Maximum number of flows to return, flows are ordered by flow id if the limit is set.
+     */
+    Integer limit;
 }
@@ -0,0 +1,116 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.finder.CompactPathFinder;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.finder.PathFinder;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.CompactNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.FindPathResult;
+import org.openkilda.pce.model.PathWeight;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares path searches over {@link AvailableNetwork} by {@link DijkstraPathFinder} and over its
+ * {@link CompactNetwork} representation by {@link CompactPathFinder} on generated topologies. Both finders return the
+ * same paths. The compact finder builds the compact network on each call, {@link #buildCompactNetwork()} shows the
+ * share of the build.
+ * <p/>
+ * Allocation rates are reported by the gc profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompactNetworkBenchmark {
+    // the endpoints of the largest ring of rings are about 70 hops apart
+    private static final int ALLOWED_DEPTH = 100;
+    private static final int PATHS_COUNT = 10;
+    private static final WeightFunction WEIGHT_FUNCTION = edge -> new PathWeight(edge.getCost());
+
+    @Param({"FAT_TREE", "RING_OF_RINGS", "REGIONAL_MESH"})
+    private TopologyType topologyType;
+
+    @Param({"100", "1000", "5000"})
+    private int switchCount;
+
+    private AvailableNetwork network;
+    private SwitchId startSwitchId;
+    private SwitchId endSwitchId;
+
+    private final PathFinder pathFinder = new DijkstraPathFinder(ALLOWED_DEPTH);
+    private final PathFinder compactPathFinder = new CompactPathFinder(ALLOWED_DEPTH);
+
+    /**
+     * Generates the topology.
+     */
+    @Setup
+    public void setUp() {
+        Topology topology = topologyType.generate(switchCount, new Random(switchCount));
+        network = topology.toAvailableNetwork();
+        startSwitchId = topology.getSrcSwitchId();
+        endSwitchId = topology.getDestSwitchId();
+    }
+
+    @Benchmark
+    public FindPathResult findPathInAvailableNetwork() throws UnroutableFlowException {
+        return pathFinder.findPathInNetwork(network, startSwitchId, endSwitchId, WEIGHT_FUNCTION);
+    }
+
+    @Benchmark
+    public FindPathResult findPathInCompactNetwork() throws UnroutableFlowException {
+        return compactPathFinder.findPathInNetwork(network, startSwitchId, endSwitchId, WEIGHT_FUNCTION);
+    }
+
+    @Benchmark
+    public List<List<Edge>> findNPathsInAvailableNetwork() throws UnroutableFlowException {
+        return pathFinder.findNPathsBetweenSwitches(network, startSwitchId, endSwitchId, PATHS_COUNT,
+                WEIGHT_FUNCTION);
+    }
+
+    @Benchmark
+    public List<List<Edge>> findNPathsInCompactNetwork() throws UnroutableFlowException {
+        return compactPathFinder.findNPathsBetweenSwitches(network, startSwitchId, endSwitchId, PATHS_COUNT,
+                WEIGHT_FUNCTION);
+    }
+
+    @Benchmark
+    public CompactNetwork buildCompactNetwork() {
+        return CompactNetwork.from(network);
+    }
+}
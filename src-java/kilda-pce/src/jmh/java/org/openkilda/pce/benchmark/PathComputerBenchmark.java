@@ -0,0 +1,157 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.PathComputationStrategy;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.GetPathsResult;
+import org.openkilda.pce.Path;
+import org.openkilda.pce.PathComputer;
+import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.exception.RecoverableException;
+import org.openkilda.pce.exception.UnroutableFlowException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PathComputer} on generated topologies: the network build, the weight reduction and the path search
+ * as they are done for a flow request, without the database access.
+ * <p/>
+ * The path computer is configured from system properties, so other settings can be measured by passing them to the
+ * forked JVM, e.g. {@code -Dpce.path.finder=dijkstra}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PathComputerBenchmark {
+    private static final String DIVERSE_GROUP_ID = "diverse";
+    private static final String PROTECTED_GROUP_ID = "protected";
+    private static final int PATHS_COUNT = 10;
+    // Diversity raises the weight of used ISLs above any max latency, so diverse MAX_LATENCY paths need a back up.
+    private static final PathComputationStrategy BACK_UP_STRATEGY = PathComputationStrategy.COST;
+
+    @Param({"FAT_TREE", "RING_OF_RINGS", "REGIONAL_MESH"})
+    private TopologyType topologyType;
+
+    @Param({"100", "1000", "5000"})
+    private int switchCount;
+
+    @Param({"COST", "LATENCY", "MAX_LATENCY", "COST_AND_AVAILABLE_BANDWIDTH"})
+    private PathComputationStrategy strategy;
+
+    private TopologyNetworkFactory networkFactory;
+    private PathComputer pathComputer;
+    private Topology topology;
+    private Flow flow;
+    private Flow diverseFlow;
+    private Flow protectedFlow;
+    private long maxLatency;
+    private long maxLatencyTier2;
+
+    /**
+     * Generates the topology and registers the path of the flow as the path of the diversity group.
+     * <p/>
+     * The max latency of flows is relative to the lowest latency path: the search for a path closest to the max
+     * latency explores (almost) all paths below it, so it doesn't finish on dense topologies if the max latency is
+     * far above the lowest one.
+     */
+    @Setup
+    public void setUp() throws RecoverableException, UnroutableFlowException {
+        PathComputerConfig config = new PropertiesBasedConfigurationProvider(System.getProperties())
+                .getConfiguration(PathComputerConfig.class);
+        topology = topologyType.generate(switchCount, new Random(switchCount));
+        networkFactory = new TopologyNetworkFactory(config, topology);
+        pathComputer = new PathComputerFactory(config, networkFactory).getPathComputer();
+
+        long lowestLatency = pathComputer.getPath(createFlow("latency-flow", null, PathComputationStrategy.LATENCY))
+                .getForward().getLatency();
+        maxLatency = lowestLatency * 3 / 2;
+        maxLatencyTier2 = lowestLatency * 2;
+
+        flow = createFlow("flow", null, strategy);
+        diverseFlow = createFlow("diverse-flow", DIVERSE_GROUP_ID, strategy);
+        protectedFlow = createFlow("protected-flow", PROTECTED_GROUP_ID, strategy);
+
+        GetPathsResult paths = pathComputer.getPath(flow);
+        networkFactory.setGroupPaths(DIVERSE_GROUP_ID, paths.getForward(), paths.getReverse());
+    }
+
+    @Benchmark
+    public GetPathsResult singlePath() throws RecoverableException, UnroutableFlowException {
+        return pathComputer.getPath(flow);
+    }
+
+    @Benchmark
+    public GetPathsResult diversePath() throws RecoverableException, UnroutableFlowException {
+        return pathComputer.getPath(diverseFlow, BACK_UP_STRATEGY);
+    }
+
+    /**
+     * The primary path and then the protected one, which is diverse with the primary.
+     */
+    @Benchmark
+    public GetPathsResult protectedPath() throws RecoverableException, UnroutableFlowException {
+        GetPathsResult primary = pathComputer.getPath(flow);
+        networkFactory.setGroupPaths(PROTECTED_GROUP_ID, primary.getForward(), primary.getReverse());
+        return pathComputer.getPath(protectedFlow, BACK_UP_STRATEGY);
+    }
+
+    @Benchmark
+    public List<Path> multiplePaths() throws RecoverableException, UnroutableFlowException {
+        return pathComputer.getNPaths(topology.getSrcSwitchId(), topology.getDestSwitchId(), PATHS_COUNT,
+                FlowEncapsulationType.TRANSIT_VLAN, strategy, maxLatency, maxLatencyTier2);
+    }
+
+    private Flow createFlow(String flowId, String groupId, PathComputationStrategy pathComputationStrategy) {
+        return Flow.builder()
+                .flowId(flowId)
+                .srcSwitch(createSwitch(topology.getSrcSwitchId()))
+                .destSwitch(createSwitch(topology.getDestSwitchId()))
+                .groupId(groupId)
+                .bandwidth(1000)
+                .encapsulationType(FlowEncapsulationType.TRANSIT_VLAN)
+                .pathComputationStrategy(pathComputationStrategy)
+                .maxLatency(maxLatency)
+                .maxLatencyTier2(maxLatencyTier2)
+                .build();
+    }
+
+    private Switch createSwitch(SwitchId switchId) {
+        return Switch.builder().switchId(switchId).pop(topology.getPop(switchId)).build();
+    }
+}
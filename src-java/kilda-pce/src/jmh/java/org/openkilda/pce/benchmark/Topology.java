@@ -0,0 +1,130 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A synthetic network: switches (optionally grouped into PoPs) connected by bidirectional links, and a pair of
+ * switches far from each other to compute paths between.
+ */
+public final class Topology {
+    private static final long LINK_BANDWIDTH = 10_000_000;
+
+    private final List<SwitchId> switchIds = new ArrayList<>();
+    private final List<String> pops = new ArrayList<>();
+    private final List<Link> links = new ArrayList<>();
+    private int[] nextPorts = new int[16];
+    private int srcSwitch;
+    private int destSwitch;
+
+    /**
+     * Adds a switch and returns its index.
+     */
+    int addSwitch(String pop) {
+        int index = switchIds.size();
+        switchIds.add(new SwitchId(index + 1));
+        pops.add(pop);
+        if (index == nextPorts.length) {
+            nextPorts = Arrays.copyOf(nextPorts, index * 2);
+        }
+        nextPorts[index] = 1;
+        return index;
+    }
+
+    void addLink(int first, int second, int cost, long latency) {
+        links.add(new Link(first, nextPorts[first]++, second, nextPorts[second]++, cost, latency));
+    }
+
+    void setEndpoints(int srcSwitch, int destSwitch) {
+        this.srcSwitch = srcSwitch;
+        this.destSwitch = destSwitch;
+    }
+
+    public int getSwitchCount() {
+        return switchIds.size();
+    }
+
+    public int getLinkCount() {
+        return links.size();
+    }
+
+    public SwitchId getSrcSwitchId() {
+        return switchIds.get(srcSwitch);
+    }
+
+    public SwitchId getDestSwitchId() {
+        return switchIds.get(destSwitch);
+    }
+
+    /**
+     * Gets the PoP of the switch, or null if the switch doesn't belong to any.
+     */
+    public String getPop(SwitchId switchId) {
+        return pops.get((int) switchId.toLong() - 1);
+    }
+
+    /**
+     * Builds a new {@link AvailableNetwork}, each link is represented by an edge in both directions.
+     */
+    public AvailableNetwork toAvailableNetwork() {
+        AvailableNetwork network = new AvailableNetwork();
+        for (int i = 0; i < switchIds.size(); i++) {
+            network.getOrAddNode(switchIds.get(i), pops.get(i));
+        }
+        for (Link link : links) {
+            network.addEdge(createEdge(network, link.first, link.firstPort, link.second, link.secondPort, link));
+            network.addEdge(createEdge(network, link.second, link.secondPort, link.first, link.firstPort, link));
+        }
+        return network;
+    }
+
+    private Edge createEdge(AvailableNetwork network, int src, int srcPort, int dst, int dstPort, Link link) {
+        return Edge.builder()
+                .srcSwitch(network.getSwitch(switchIds.get(src)))
+                .srcPort(srcPort)
+                .destSwitch(network.getSwitch(switchIds.get(dst)))
+                .destPort(dstPort)
+                .cost(link.cost)
+                .latency(link.latency)
+                .availableBandwidth(LINK_BANDWIDTH)
+                .build();
+    }
+
+    private static final class Link {
+        final int first;
+        final int firstPort;
+        final int second;
+        final int secondPort;
+        final int cost;
+        final long latency;
+
+        Link(int first, int firstPort, int second, int secondPort, int cost, long latency) {
+            this.first = first;
+            this.firstPort = firstPort;
+            this.second = second;
+            this.secondPort = secondPort;
+            this.cost = cost;
+            this.latency = latency;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.model.Flow;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.Switch;
+import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.Path;
+import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link AvailableNetworkFactory} which builds the network from a generated {@link Topology} instead of reading it
+ * from the database. Paths of diversity groups are registered explicitly.
+ */
+public class TopologyNetworkFactory extends AvailableNetworkFactory {
+    private static final RepositoryFactory NO_REPOSITORIES = (RepositoryFactory) Proxy.newProxyInstance(
+            RepositoryFactory.class.getClassLoader(), new Class<?>[] {RepositoryFactory.class},
+            (proxy, method, args) -> null);
+
+    private final Topology topology;
+    private final Map<String, List<List<PathSegment>>> groupPaths = new HashMap<>();
+
+    public TopologyNetworkFactory(PathComputerConfig config, Topology topology) {
+        super(config, NO_REPOSITORIES, null);
+        this.topology = topology;
+    }
+
+    @Override
+    public AvailableNetwork getAvailableNetwork(Flow flow, Collection<PathId> reusePathsResources) {
+        AvailableNetwork network = topology.toAvailableNetwork();
+        if (flow.getGroupId() != null) {
+            for (List<PathSegment> segments : groupPaths.getOrDefault(flow.getGroupId(), Collections.emptyList())) {
+                network.processDiversitySegments(segments, flow);
+                network.processDiversitySegmentsWithPop(segments);
+            }
+        }
+        return network;
+    }
+
+    /**
+     * Replaces paths of the diversity group with the passed ones.
+     */
+    public void setGroupPaths(String groupId, Path... paths) {
+        List<List<PathSegment>> result = new ArrayList<>();
+        for (Path path : paths) {
+            result.add(toPathSegments(path));
+        }
+        groupPaths.put(groupId, result);
+    }
+
+    private List<PathSegment> toPathSegments(Path path) {
+        PathId pathId = new PathId(path.getSrcSwitchId() + "_" + path.getDestSwitchId());
+        List<PathSegment> result = new ArrayList<>();
+        for (Path.Segment segment : path.getSegments()) {
+            result.add(PathSegment.builder()
+                    .pathId(pathId)
+                    .srcSwitch(Switch.builder().switchId(segment.getSrcSwitchId())
+                            .pop(topology.getPop(segment.getSrcSwitchId())).build())
+                    .srcPort(segment.getSrcPort())
+                    .destSwitch(Switch.builder().switchId(segment.getDestSwitchId())
+                            .pop(topology.getPop(segment.getDestSwitchId())).build())
+                    .destPort(segment.getDestPort())
+                    .seqId(result.size())
+                    .build());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,174 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import java.util.Random;
+
+/**
+ * Generators of synthetic topologies. The generated topology has approximately the requested number of switches.
+ * Latencies are in nanoseconds.
+ */
+public enum TopologyType {
+    /**
+     * K-ary fat-tree: k pods of k/2 edge and k/2 aggregation switches, (k/2)^2 core switches. Each edge switch is
+     * connected to all aggregation switches of its pod, each aggregation switch to k/2 core switches. Paths are
+     * computed between edge switches of the first and the last pods.
+     */
+    FAT_TREE {
+        @Override
+        public Topology generate(int switchCount, Random random) {
+            int k = 2;
+            while (5 * k * k / 4 < switchCount) {
+                k += 2;
+            }
+            int half = k / 2;
+
+            Topology topology = new Topology();
+            int[] cores = new int[half * half];
+            for (int i = 0; i < cores.length; i++) {
+                cores[i] = topology.addSwitch(null);
+            }
+            int firstEdge = -1;
+            int lastEdge = -1;
+            for (int pod = 0; pod < k; pod++) {
+                String pop = "pod-" + pod;
+                int[] aggregations = new int[half];
+                for (int i = 0; i < half; i++) {
+                    aggregations[i] = topology.addSwitch(pop);
+                    for (int j = 0; j < half; j++) {
+                        topology.addLink(aggregations[i], cores[i * half + j], randomCost(random, 10),
+                                randomLatency(random, 10_000));
+                    }
+                }
+                for (int i = 0; i < half; i++) {
+                    int edge = topology.addSwitch(pop);
+                    for (int aggregation : aggregations) {
+                        topology.addLink(edge, aggregation, randomCost(random, 10), randomLatency(random, 10_000));
+                    }
+                    if (firstEdge < 0) {
+                        firstEdge = edge;
+                    }
+                    lastEdge = edge;
+                }
+            }
+            topology.setEndpoints(firstEdge, lastEdge);
+            return topology;
+        }
+    },
+
+    /**
+     * Access rings attached to a backbone: each ring of about sqrt(switchCount) switches is dual homed, its first and
+     * middle switches are connected to the same switches of the next ring. Paths are computed between the rings
+     * which are the farthest from each other.
+     */
+    RING_OF_RINGS {
+        @Override
+        public Topology generate(int switchCount, Random random) {
+            int ringSize = Math.max(3, (int) Math.ceil(Math.sqrt(switchCount)));
+            int ringCount = Math.max(2, (switchCount + ringSize - 1) / ringSize);
+
+            Topology topology = new Topology();
+            int[][] rings = new int[ringCount][ringSize];
+            for (int ring = 0; ring < ringCount; ring++) {
+                String pop = "ring-" + ring;
+                for (int i = 0; i < ringSize; i++) {
+                    rings[ring][i] = topology.addSwitch(pop);
+                }
+                for (int i = 0; i < ringSize; i++) {
+                    topology.addLink(rings[ring][i], rings[ring][(i + 1) % ringSize], randomCost(random, 10),
+                            randomLatency(random, 100_000));
+                }
+            }
+            for (int ring = 0; ring < ringCount; ring++) {
+                int next = (ring + 1) % ringCount;
+                topology.addLink(rings[ring][0], rings[next][0], randomCost(random, 50),
+                        randomLatency(random, 1_000_000));
+                topology.addLink(rings[ring][ringSize / 2], rings[next][ringSize / 2], randomCost(random, 50),
+                        randomLatency(random, 1_000_000));
+            }
+            topology.setEndpoints(rings[0][ringSize / 4], rings[ringCount / 2][ringSize / 4]);
+            return topology;
+        }
+    },
+
+    /**
+     * Regions (PoPs) of 50 switches, each is a ring with random chords. Neighbour regions are connected by two
+     * long-haul links, and each region has one more long-haul link to a random region. Paths are computed between
+     * the regions which are the farthest from each other.
+     */
+    REGIONAL_MESH {
+        @Override
+        public Topology generate(int switchCount, Random random) {
+            int regionSize = Math.min(50, switchCount);
+            int regionCount = Math.max(1, (switchCount + regionSize - 1) / regionSize);
+
+            Topology topology = new Topology();
+            int[][] regions = new int[regionCount][regionSize];
+            for (int region = 0; region < regionCount; region++) {
+                String pop = "region-" + region;
+                for (int i = 0; i < regionSize; i++) {
+                    regions[region][i] = topology.addSwitch(pop);
+                }
+                for (int i = 0; i < regionSize; i++) {
+                    topology.addLink(regions[region][i], regions[region][(i + 1) % regionSize],
+                            randomCost(random, 10), randomLatency(random, 1_000_000));
+                }
+                for (int i = 0; i < regionSize; i++) {
+                    int first = random.nextInt(regionSize);
+                    int second = random.nextInt(regionSize);
+                    if (first != second) {
+                        topology.addLink(regions[region][first], regions[region][second], randomCost(random, 10),
+                                randomLatency(random, 1_000_000));
+                    }
+                }
+            }
+            if (regionCount > 1) {
+                for (int region = 0; region < regionCount; region++) {
+                    int next = (region + 1) % regionCount;
+                    for (int i = 0; i < 2; i++) {
+                        topology.addLink(regions[region][random.nextInt(regionSize)],
+                                regions[next][random.nextInt(regionSize)], randomCost(random, 100),
+                                randomLatency(random, 20_000_000));
+                    }
+                    int other = random.nextInt(regionCount);
+                    if (other != region) {
+                        topology.addLink(regions[region][random.nextInt(regionSize)],
+                                regions[other][random.nextInt(regionSize)], randomCost(random, 100),
+                                randomLatency(random, 20_000_000));
+                    }
+                }
+            }
+            topology.setEndpoints(regions[0][0], regions[regionCount / 2][regionSize / 2]);
+            return topology;
+        }
+    };
+
+    /**
+     * Generates the topology.
+     *
+     * @param switchCount the approximate number of switches.
+     * @param random the source of random costs, latencies and links.
+     */
+    public abstract Topology generate(int switchCount, Random random);
+
+    private static int randomCost(Random random, int base) {
+        return base + random.nextInt(base);
+    }
+
+    private static long randomLatency(Random random, long base) {
+        return base + (long) (random.nextDouble() * base);
+    }
+}
@@ -16,22 +16,32 @@
 package org.openkilda.pce;
 
 import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.IslEndpoint;
 import org.openkilda.model.PathId;
+import org.openkilda.model.SwitchId;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.impl.AvailableNetwork;
 import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.NetworkSnapshot;
 import org.openkilda.pce.model.Node;
 import org.openkilda.persistence.exceptions.PersistenceException;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 import org.openkilda.persistence.repositories.IslRepository.IslImmutableView;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -42,11 +52,32 @@ public class AvailableNetworkFactory {
     private PathComputerConfig config;
     private IslRepository islRepository;
     private FlowPathRepository flowPathRepository;
+    private NetworkSnapshotCache networkSnapshotCache;
 
+    /**
+     * Constructs the factory. ISLs are read from the in-memory network snapshot if its TTL is configured,
+     * otherwise from the database.
+     */
     public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory) {
+        this(config, repositoryFactory, createNetworkSnapshotCache(config, repositoryFactory));
+    }
+
+    /**
+     * Constructs the factory which reads ISLs from the in-memory network snapshot instead of the database.
+     * Passing null for {@code networkSnapshotCache} makes the factory read ISLs from the database.
+     */
+    public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory,
+                                   NetworkSnapshotCache networkSnapshotCache) {
         this.config = config;
         this.islRepository = repositoryFactory.createIslRepository();
         this.flowPathRepository = repositoryFactory.createFlowPathRepository();
+        this.networkSnapshotCache = networkSnapshotCache;
+    }
+
+    private static NetworkSnapshotCache createNetworkSnapshotCache(PathComputerConfig config,
+                                                                   RepositoryFactory repositoryFactory) {
+        int ttlSeconds = config.getNetworkSnapshotTtlSeconds();
+        return ttlSeconds > 0 ? new NetworkSnapshotCache(repositoryFactory, Duration.ofSeconds(ttlSeconds)) : null;
     }
 
     /**
@@ -61,26 +92,109 @@ public class AvailableNetworkFactory {
         BuildStrategy buildStrategy = BuildStrategy.from(config.getNetworkStrategy());
         AvailableNetwork network = new AvailableNetwork();
         try {
-            // Reads all active links from the database and creates representation of the network.
-            getAvailableIsls(buildStrategy, flow)
+            NetworkSnapshot snapshot = networkSnapshotCache != null ? networkSnapshotCache.getSnapshot() : null;
+
+            // Reads all active links from the database (or the snapshot) and creates representation of the network.
+            getAvailableIsls(buildStrategy, flow, snapshot)
                     .forEach(link -> addIslAsEdge(link, network));
 
             if (!reusePathsResources.isEmpty() && !flow.isIgnoreBandwidth()) {
-                reusePathsResources.stream()
-                        .filter(pathId -> flowPathRepository.findById(pathId)
-                                .map(path -> !path.isIgnoreBandwidth())
-                                .orElse(false))
-                        .forEach(pathId -> {
-                            // ISLs occupied by the flow (take the bandwidth already occupied by the flow into account).
-                            islRepository.findActiveByPathAndBandwidthAndEncapsulationType(
-                                    pathId, flow.getBandwidth(), flow.getEncapsulationType())
-                                    .forEach(link -> addIslAsEdge(link, network));
-                        });
+                reusePathsResources.forEach(pathId -> {
+                    Optional<FlowPath> reusedPath = flowPathRepository.findById(pathId)
+                            .filter(path -> !path.isIgnoreBandwidth());
+                    if (!reusedPath.isPresent()) {
+                        return;
+                    }
+                    // ISLs occupied by the flow (take the bandwidth already occupied by the flow into account).
+                    if (snapshot != null) {
+                        snapshot.findActiveIslsBySegments(reusedPath.get().getSegments(), flow.getBandwidth(),
+                                flow.getEncapsulationType())
+                                .forEach(link -> addIslAsEdge(link, network));
+                    } else {
+                        islRepository.findActiveByPathAndBandwidthAndEncapsulationType(
+                                pathId, flow.getBandwidth(), flow.getEncapsulationType())
+                                .forEach(link -> addIslAsEdge(link, network));
+                    }
+                });
             }
         } catch (PersistenceException e) {
             throw new RecoverableException("An error from the database", e);
         }
 
+        processDiversityGroup(flow, reusePathsResources, network);
+        return network;
+    }
+
+    /**
+     * Gets a {@link AvailableNetwork} built from the preloaded ISLs.
+     *
+     * @param flow               the flow, for which {@link AvailableNetwork} is constructing.
+     * @param activeIsls         active ISLs which support the flow encapsulation type.
+     * @param reusableBandwidth  the bandwidth per ISL allocated by the flow itself, it can be reused by the flow.
+     * @param allocatedBandwidth the bandwidth per ISL allocated since {@code activeIsls} were read.
+     * @return {@link AvailableNetwork} instance.
+     */
+    public AvailableNetwork getAvailableNetwork(Flow flow, Collection<IslImmutableView> activeIsls,
+                                                Map<IslEndpoints, Long> reusableBandwidth,
+                                                Map<IslEndpoints, Long> allocatedBandwidth)
+            throws RecoverableException {
+        BuildStrategy buildStrategy = BuildStrategy.from(config.getNetworkStrategy());
+
+        Map<IslEndpoints, Long> availableBandwidth = new HashMap<>();
+        for (IslImmutableView isl : activeIsls) {
+            IslEndpoints endpoints = toIslEndpoints(isl);
+            availableBandwidth.put(endpoints,
+                    isl.getAvailableBandwidth() - allocatedBandwidth.getOrDefault(endpoints, 0L));
+        }
+
+        AvailableNetwork network = new AvailableNetwork();
+        for (IslImmutableView isl : activeIsls) {
+            IslEndpoints endpoints = toIslEndpoints(isl);
+            if (!flow.isIgnoreBandwidth()) {
+                if (!hasEnoughBandwidth(endpoints, flow, availableBandwidth, reusableBandwidth)) {
+                    continue;
+                }
+                if (buildStrategy == BuildStrategy.SYMMETRIC_COST && !hasEnoughBandwidth(reverse(endpoints), flow,
+                        availableBandwidth, reusableBandwidth)) {
+                    continue;
+                }
+            }
+            addIslAsEdge(isl, availableBandwidth.get(endpoints), network);
+        }
+
+        try {
+            processDiversityGroup(flow, flow.getPathIds(), network);
+        } catch (PersistenceException e) {
+            throw new RecoverableException("An error from the database", e);
+        }
+        return network;
+    }
+
+    /**
+     * Gets active ISLs which support the encapsulation type regardless of their available bandwidth. The result
+     * is supposed to be passed to {@link #getAvailableNetwork(Flow, Collection, Map, Map)} for each flow of a batch,
+     * so the network is read once per batch.
+     *
+     * @param encapsulationType required encapsulation support.
+     * @return active ISLs.
+     */
+    public Collection<IslImmutableView> getActiveIsls(FlowEncapsulationType encapsulationType)
+            throws RecoverableException {
+        try {
+            Collection<IslImmutableView> isls;
+            if (networkSnapshotCache != null) {
+                isls = networkSnapshotCache.getSnapshot().findActiveIsls(0, encapsulationType, true);
+            } else {
+                isls = islRepository.findActiveByEncapsulationType(encapsulationType);
+            }
+            validateIslsCost(isls);
+            return isls;
+        } catch (PersistenceException e) {
+            throw new RecoverableException("An error from the database", e);
+        }
+    }
+
+    private void processDiversityGroup(Flow flow, Collection<PathId> reusePathsResources, AvailableNetwork network) {
         if (flow.getGroupId() != null) {
             log.info("Filling AvailableNetwork diverse weighs for group with id {}", flow.getGroupId());
 
@@ -98,11 +212,43 @@ public class AvailableNetworkFactory {
                                 network.processDiversitySegmentsWithPop(flowPath.getSegments());
                             }));
         }
+    }
 
-        return network;
+    /**
+     * Updates available bandwidth of the ISL in the network snapshot, if the factory uses one.
+     */
+    public void updateIslAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                            long availableBandwidth) {
+        if (networkSnapshotCache != null) {
+            networkSnapshotCache.updateIslAvailableBandwidth(srcSwitchId, srcPort, dstSwitchId, dstPort,
+                    availableBandwidth);
+        }
+    }
+
+    /**
+     * Removes failed ISLs from the network snapshot, if the factory uses one and the snapshot was loaded before
+     * the failure.
+     */
+    public void removeIslsAt(Collection<IslEndpoint> endpoints, long eventTime) {
+        if (networkSnapshotCache != null) {
+            networkSnapshotCache.removeIslsAt(endpoints, eventTime);
+        }
+    }
+
+    /**
+     * Forces reload of the network snapshot, if the factory uses one and the snapshot was loaded before the event.
+     */
+    public void invalidateNetworkSnapshot(long eventTime) {
+        if (networkSnapshotCache != null) {
+            networkSnapshotCache.invalidateIfOlderThan(eventTime);
+        }
     }
 
-    private Collection<IslImmutableView> getAvailableIsls(BuildStrategy buildStrategy, Flow flow) {
+    private Collection<IslImmutableView> getAvailableIsls(BuildStrategy buildStrategy, Flow flow,
+                                                          NetworkSnapshot snapshot) {
+        if (snapshot != null) {
+            return getSnapshotIsls(buildStrategy, flow, snapshot);
+        }
         if (buildStrategy == BuildStrategy.COST) {
             Collection<IslImmutableView> isls;
             if (flow.isIgnoreBandwidth()) {
@@ -128,6 +274,21 @@ public class AvailableNetworkFactory {
         }
     }
 
+    private Collection<IslImmutableView> getSnapshotIsls(BuildStrategy buildStrategy, Flow flow,
+                                                         NetworkSnapshot snapshot) {
+        Collection<IslImmutableView> isls;
+        if (buildStrategy == BuildStrategy.COST || flow.isIgnoreBandwidth()) {
+            isls = snapshot.findActiveIsls(flow.getBandwidth(), flow.getEncapsulationType(),
+                    flow.isIgnoreBandwidth());
+        } else if (buildStrategy == BuildStrategy.SYMMETRIC_COST) {
+            isls = snapshot.findSymmetricActiveIsls(flow.getBandwidth(), flow.getEncapsulationType());
+        } else {
+            throw new UnsupportedOperationException(String.format("Unsupported buildStrategy type %s", buildStrategy));
+        }
+        validateIslsCost(isls);
+        return isls;
+    }
+
     private void validateIslsCost(Collection<IslImmutableView> isls) {
         List<String> messages = new ArrayList<>();
 
@@ -143,7 +304,29 @@ public class AvailableNetworkFactory {
         }
     }
 
+    private static boolean hasEnoughBandwidth(IslEndpoints endpoints, Flow flow,
+                                              Map<IslEndpoints, Long> availableBandwidth,
+                                              Map<IslEndpoints, Long> reusableBandwidth) {
+        Long available = availableBandwidth.get(endpoints);
+        return available != null
+                && available + reusableBandwidth.getOrDefault(endpoints, 0L) >= flow.getBandwidth();
+    }
+
+    private static IslEndpoints toIslEndpoints(IslImmutableView isl) {
+        return new IslEndpoints(isl.getSrcSwitchId().toString(), isl.getSrcPort(),
+                isl.getDestSwitchId().toString(), isl.getDestPort());
+    }
+
+    private static IslEndpoints reverse(IslEndpoints endpoints) {
+        return new IslEndpoints(endpoints.getDestSwitch(), endpoints.getDestPort(),
+                endpoints.getSrcSwitch(), endpoints.getSrcPort());
+    }
+
     private void addIslAsEdge(IslImmutableView isl, AvailableNetwork network) {
+        addIslAsEdge(isl, isl.getAvailableBandwidth(), network);
+    }
+
+    private void addIslAsEdge(IslImmutableView isl, long availableBandwidth, AvailableNetwork network) {
         Node srcSwitch = network.getOrAddNode(isl.getSrcSwitchId(), isl.getSrcPop());
         Node dstSwitch = network.getOrAddNode(isl.getDestSwitchId(), isl.getDestPop());
 
@@ -156,7 +339,7 @@ public class AvailableNetworkFactory {
                 .latency(isl.getLatency())
                 .underMaintenance(isl.isUnderMaintenance())
                 .unstable(isl.isUnstable())
-                .availableBandwidth(isl.getAvailableBandwidth())
+                .availableBandwidth(availableBandwidth)
                 .build();
         network.addEdge(edge);
     }
@@ -0,0 +1,140 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.IslEndpoint;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.pce.model.NetworkSnapshot;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps a {@link NetworkSnapshot} in memory, so path computations don't have to read the whole network from
+ * the database.
+ * <p/>
+ * The snapshot is reloaded once it becomes older than the configured TTL. In between, it's kept up to date by
+ * the changes reported by the owner: ISL available bandwidth updated by resource allocation and deallocation,
+ * failed ISLs and network events which require a reload.
+ */
+@Slf4j
+public class NetworkSnapshotCache {
+    private final IslRepository islRepository;
+    private final SwitchRepository switchRepository;
+    private final SwitchPropertiesRepository switchPropertiesRepository;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private NetworkSnapshot snapshot;
+    private boolean stale;
+
+    public NetworkSnapshotCache(RepositoryFactory repositoryFactory, Duration ttl) {
+        this(repositoryFactory, ttl, Clock.systemUTC());
+    }
+
+    NetworkSnapshotCache(RepositoryFactory repositoryFactory, Duration ttl, Clock clock) {
+        this.islRepository = repositoryFactory.createIslRepository();
+        this.switchRepository = repositoryFactory.createSwitchRepository();
+        this.switchPropertiesRepository = repositoryFactory.createSwitchPropertiesRepository();
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the current snapshot, (re)loads it from the database if it is missing or expired.
+     */
+    public synchronized NetworkSnapshot getSnapshot() {
+        long now = clock.millis();
+        if (snapshot == null || stale || now - snapshot.getCreatedAt() >= ttl.toMillis()) {
+            snapshot = load(snapshot == null ? 1 : snapshot.getVersion() + 1, now);
+            stale = false;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Updates available bandwidth of the ISL in the current snapshot.
+     */
+    public synchronized void updateIslAvailableBandwidth(SwitchId srcSwitchId, int srcPort,
+                                                         SwitchId dstSwitchId, int dstPort, long availableBandwidth) {
+        if (snapshot != null) {
+            snapshot.updateAvailableBandwidth(srcSwitchId, srcPort, dstSwitchId, dstPort, availableBandwidth);
+        }
+    }
+
+    /**
+     * Removes ISLs terminated on the endpoints from the current snapshot, unless the snapshot was loaded after
+     * the event.
+     *
+     * @param endpoints the endpoints of failed ISLs.
+     * @param eventTime the time (in millis) the failure was detected at.
+     */
+    public synchronized void removeIslsAt(Collection<IslEndpoint> endpoints, long eventTime) {
+        if (snapshot != null && snapshot.getCreatedAt() <= eventTime) {
+            NetworkSnapshot updated = snapshot.withoutIslsAt(endpoints);
+            if (updated != snapshot) {
+                log.debug("Removed ISLs terminated on {} from the network snapshot", endpoints);
+            }
+            snapshot = updated;
+        }
+    }
+
+    /**
+     * Marks the current snapshot as stale if it was loaded before the event, so the next request reloads it.
+     *
+     * @param eventTime the time (in millis) the network change was detected at.
+     */
+    public synchronized void invalidateIfOlderThan(long eventTime) {
+        if (snapshot != null && snapshot.getCreatedAt() <= eventTime) {
+            log.debug("Network snapshot {} is invalidated", snapshot);
+            stale = true;
+        }
+    }
+
+    private NetworkSnapshot load(long version, long now) {
+        Map<SwitchId, Set<FlowEncapsulationType>> switchEncapsulationTypes = new HashMap<>();
+        for (Switch sw : switchRepository.findActive()) {
+            switchEncapsulationTypes.put(sw.getSwitchId(), Collections.emptySet());
+        }
+        for (SwitchProperties properties : switchPropertiesRepository.findAll()) {
+            if (switchEncapsulationTypes.containsKey(properties.getSwitchId())
+                    && properties.getSupportedTransitEncapsulation() != null) {
+                switchEncapsulationTypes.put(properties.getSwitchId(),
+                        new HashSet<>(properties.getSupportedTransitEncapsulation()));
+            }
+        }
+
+        NetworkSnapshot loaded = NetworkSnapshot.create(version, now, islRepository.findAllActive(),
+                switchEncapsulationTypes);
+        log.debug("Network snapshot {} is loaded with {} ISLs", loaded, loaded.getIslCount());
+        return loaded;
+    }
+}
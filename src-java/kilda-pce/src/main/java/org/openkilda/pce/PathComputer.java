@@ -56,6 +56,21 @@ public interface PathComputer {
                            PathComputationStrategy... backUpStrategies)
             throws UnroutableFlowException, RecoverableException;
 
+    /**
+     * Gets paths for a batch of flows over a single network read. Flows are processed in the order of their priority
+     * (see {@link #getPaths(List, Collection, PathComputationStrategy...)} implementation), the bandwidth of each
+     * found path is deducted from the network before the next flow is processed, so the found paths don't
+     * overprovision ISLs together.
+     *
+     * @param flows the flows to find paths for.
+     * @param reusePathsResources    allow already allocated path resources (bandwidth)
+     *                               be reused in new path computation, each flow reuses its own paths only.
+     * @return results per flow in the order the flows were processed.
+     */
+    List<FlowPathsResult> getPaths(List<Flow> flows, Collection<PathId> reusePathsResources,
+                                   PathComputationStrategy... backUpStrategies)
+            throws RecoverableException;
+
     /**
      * Gets N best paths.
      *
@@ -70,4 +85,12 @@ public interface PathComputer {
                          FlowEncapsulationType flowEncapsulationType, PathComputationStrategy pathComputationStrategy,
                          Long maxLatency, Long maxLatencyTier2)
             throws RecoverableException, UnroutableFlowException;
+
+    /**
+     * Reports the updated available bandwidth of the ISL, so an implementation which keeps the network in memory
+     * can follow resource allocations. Does nothing by default.
+     */
+    default void updateIslAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                             long availableBandwidth) {
+    }
 }
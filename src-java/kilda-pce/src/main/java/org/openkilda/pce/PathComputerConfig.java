@@ -48,6 +48,34 @@ public interface PathComputerConfig extends Serializable {
     @Default("COST")
     String getNetworkStrategy();
 
+    @Key("path.finder")
+    @Default("BEST_WEIGHT_AND_SHORTEST")
+    String getPathFinder();
+
+    /**
+     * Whether spur paths are searched in the common fork-join pool of the JVM when N best paths are requested.
+     * Otherwise the search is done in the calling thread.
+     */
+    @Key("k.shortest.paths.parallel")
+    @Default("false")
+    boolean isKShortestPathsParallel();
+
+    /**
+     * How long the in-memory network snapshot used for path computation is valid. Zero disables the snapshot, so
+     * the network is read from the database on each computation.
+     */
+    @Key("network.snapshot.ttl.seconds")
+    @Default("0")
+    int getNetworkSnapshotTtlSeconds();
+
+    /**
+     * The priority of flows without one in batch path computation. It should match the default flow priority of the
+     * reroute topology.
+     */
+    @Key("flow.default.priority")
+    @Default("1000")
+    int getDefaultFlowPriority();
+
     @Key("isl.cost.when.unstable")
     @Default("10000")
     int getUnstableCostRaise();
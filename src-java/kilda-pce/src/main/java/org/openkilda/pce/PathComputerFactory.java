@@ -16,8 +16,13 @@
 package org.openkilda.pce;
 
 import org.openkilda.pce.finder.BestWeightAndShortestPathFinder;
+import org.openkilda.pce.finder.CompactPathFinder;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.finder.PathFinder;
 import org.openkilda.pce.impl.InMemoryPathComputer;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * A factory for {@link PathComputer} instances. It provides a specific {@link PathComputer} depending on configuration
  * ({@link PathComputerConfig}).
@@ -38,8 +43,52 @@ public class PathComputerFactory {
      * @return {@link PathComputer} instance
      */
     public PathComputer getPathComputer() {
-        return new InMemoryPathComputer(availableNetworkFactory,
-                new BestWeightAndShortestPathFinder(config.getMaxAllowedDepth()),
-                config);
+        return new InMemoryPathComputer(availableNetworkFactory, getPathFinder(), config);
+    }
+
+    private PathFinder getPathFinder() {
+        PathFinderType pathFinderType = PathFinderType.from(config.getPathFinder());
+        switch (pathFinderType) {
+            case BEST_WEIGHT_AND_SHORTEST:
+                return new BestWeightAndShortestPathFinder(config.getMaxAllowedDepth(), getForkJoinPool());
+            case DIJKSTRA:
+                return new DijkstraPathFinder(config.getMaxAllowedDepth(), getForkJoinPool());
+            case COMPACT:
+                return new CompactPathFinder(config.getMaxAllowedDepth(), getForkJoinPool());
+            default:
+                throw new UnsupportedOperationException(String.format("Unsupported path finder %s", pathFinderType));
+        }
+    }
+
+    /**
+     * Spur path searches share the common pool, so the factory doesn't own threads that would outlive the bolt.
+     */
+    private ForkJoinPool getForkJoinPool() {
+        return config.isKShortestPathsParallel() ? ForkJoinPool.commonPool() : null;
+    }
+
+    public enum PathFinderType {
+        /**
+         * Breadth first search with the best weight tracking.
+         */
+        BEST_WEIGHT_AND_SHORTEST,
+
+        /**
+         * Hop-limited Dijkstra over a binary heap.
+         */
+        DIJKSTRA,
+
+        /**
+         * Hop-limited Dijkstra over a compact (CSR) copy of the network.
+         */
+        COMPACT;
+
+        private static PathFinderType from(String pathFinder) {
+            try {
+                return valueOf(pathFinder.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("Path finder %s is not supported", pathFinder));
+            }
+        }
     }
 }
@@ -36,19 +36,23 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * This algorithm is optimized for finding a bidirectional path between the start and end nodes. It uses elements of
@@ -67,7 +71,8 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class BestWeightAndShortestPathFinder implements PathFinder {
-    private final int allowedDepth;
+    protected final int allowedDepth;
+    private final ForkJoinPool forkJoinPool;
 
     /**
      * Constructs the finder with the specified limit on path depth.
@@ -75,7 +80,19 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
      * @param allowedDepth the allowed depth for a potential path.
      */
     public BestWeightAndShortestPathFinder(int allowedDepth) {
+        this(allowedDepth, null);
+    }
+
+    /**
+     * Constructs the finder with the specified limit on path depth and the pool for parallel spur path searches of
+     * Yen's algorithm.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     * @param forkJoinPool the pool to search spur paths in, or null to search them in the calling thread.
+     */
+    public BestWeightAndShortestPathFinder(int allowedDepth, ForkJoinPool forkJoinPool) {
         this.allowedDepth = allowedDepth;
+        this.forkJoinPool = forkJoinPool;
     }
 
     @Override
@@ -85,7 +102,8 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
             throws UnroutableFlowException {
         Node start = network.getSwitch(startSwitchId);
         Node end = network.getSwitch(endSwitchId);
-        return findPath(network, startSwitchId, endSwitchId, () -> findOneDirectionPath(start, end, weightFunction));
+        return findPath(network, startSwitchId, endSwitchId,
+                () -> findOneDirectionPath(start, end, weightFunction, EdgeMask.NONE));
     }
 
     @Override
@@ -96,7 +114,7 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
         Node start = network.getSwitch(startSwitchId);
         Node end = network.getSwitch(endSwitchId);
         return findPath(network, startSwitchId, endSwitchId,
-                () -> findOneDirectionPath(start, end, weightFunction, maxWeight, backUpMaxWeight));
+                () -> findOneDirectionPath(start, end, weightFunction, maxWeight, backUpMaxWeight, EdgeMask.NONE));
     }
 
     private FindPathResult findPath(AvailableNetwork network, SwitchId startSwitchId,
@@ -133,7 +151,7 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
             WeightFunction weightFunction) throws UnroutableFlowException {
         Node end = network.getSwitch(endSwitchId);
         return findNPathsBetweenSwitches(network, startSwitchId, endSwitchId, count, weightFunction,
-                (Node start) -> findOneDirectionPath(start, end, weightFunction));
+                (start, mask) -> findOneDirectionPath(start, end, weightFunction, mask));
     }
 
     @Override
@@ -142,17 +160,20 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
             WeightFunction weightFunction, long maxWeight, long backUpMaxWeight) throws UnroutableFlowException {
         Node end = network.getSwitch(endSwitchId);
         return findNPathsBetweenSwitches(network, startSwitchId, endSwitchId, count, weightFunction,
-                (Node start) -> findOneDirectionPath(start, end, weightFunction, maxWeight, backUpMaxWeight));
+                (start, mask) -> findOneDirectionPath(start, end, weightFunction, maxWeight, backUpMaxWeight, mask));
     }
 
     /**
      * Find N (or less) best paths. To find N paths Yen's algorithm is used.
+     * <p/>
+     * The network is not modified: edges and nodes removed for a spur path search are masked out by {@link EdgeMask},
+     * so spur paths of the same iteration are independent and can be searched in parallel.
      *
      * @return an list of N (or less) best paths.
      */
     private List<List<Edge>> findNPathsBetweenSwitches(
             AvailableNetwork network, SwitchId startSwitchId, SwitchId endSwitchId, int count,
-            WeightFunction weightFunction, Function<Node, FindOneDirectionPathResult> getPath)
+            WeightFunction weightFunction, BiFunction<Node, EdgeMask, FindOneDirectionPathResult> getPath)
             throws UnroutableFlowException {
 
         Node start = network.getSwitch(startSwitchId);
@@ -164,92 +185,94 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
 
         // Determine the shortest path from the start to the end.
         List<List<Edge>> bestPaths = new ArrayList<>();
-        List<Edge> firstPath = getPath.apply(start).getFoundPath();
+        List<Edge> firstPath = getPath.apply(start, EdgeMask.NONE).getFoundPath();
         if (firstPath.isEmpty()) {
             return new ArrayList<>();
         }
-        bestPaths.add(getPath.apply(start).getFoundPath());
+        bestPaths.add(firstPath);
 
-        // Initialize the set to store the potential kth shortest path.
-        // Use LinkedHashSet to have deterministic results.
-        Set<List<Edge>> potentialKthShortestPaths = new LinkedHashSet<>();
+        // Initialize the heap to store the potential kth shortest path.
+        // The order of discovery resolves ties to have deterministic results.
+        PriorityQueue<PotentialPath> potentialKthShortestPaths = new PriorityQueue<>();
+        Set<List<Edge>> knownPaths = new HashSet<>(bestPaths);
+        long sequence = 0;
 
         for (int k = 1; k < count; k++) {
             List<Edge> bestPath = bestPaths.get(k - 1);
-            for (int i = 0; i < bestPath.size(); i++) {
-                // Spur node is retrieved from the previous k-shortest path.
-                Node spurNode = bestPath.get(i).getSrcSwitch();
-                // The sequence of edges from the start to the spur node (without spur node).
-                List<Edge> rootPath = new ArrayList<>(bestPath.subList(0, i));
-
-                Set<Edge> removedEdges = new HashSet<>();
-                // Remove the links that are part of the previous shortest paths which share the same root path.
-                for (List<Edge> path : bestPaths) {
-                    if (path.size() > i && rootPath.equals(path.subList(0, i))
-                            && spurNode.equals(path.get(i).getSrcSwitch())) {
-                        removedEdges.add(path.get(i));
-                        removeEdge(path.get(i));
-                    }
-                }
-
-                for (Edge edge : rootPath) {
-                    edge.getSrcSwitch().remove();
-                }
-
-                // Calculate the spur path from the spur node to the end.
-                List<Edge> pathFromSpurNode = getPath.apply(spurNode).getFoundPath();
-                if (!pathFromSpurNode.isEmpty()) {
-                    List<Edge> totalPath = new ArrayList<>(rootPath);
-                    // Entire path is made up of the root path and spur path.
-                    totalPath.addAll(pathFromSpurNode);
-                    // Add the potential k-shortest path to the heap.
-                    potentialKthShortestPaths.add(totalPath);
-                }
-
-                // Add back the edges and nodes that were removed from the graph.
-                for (Edge edge : removedEdges) {
-                    restoreEdge(edge);
-                }
-                for (Edge edge : rootPath) {
-                    edge.getSrcSwitch().restore();
+            for (List<Edge> totalPath : findSpurPaths(bestPath, bestPaths, getPath)) {
+                // Add the potential k-shortest path to the heap.
+                if (knownPaths.add(totalPath)) {
+                    potentialKthShortestPaths.add(new PotentialPath(totalPath, getMinAvailableBandwidth(totalPath),
+                            getTotalWeight(totalPath, weightFunction), sequence++));
                 }
             }
 
-            if (potentialKthShortestPaths.isEmpty()) {
+            // The path with the best available bandwidth and the lowest weight becomes the k-shortest path.
+            PotentialPath newBestPath = potentialKthShortestPaths.poll();
+            if (newBestPath == null) {
                 break;
             }
-
-            // Add the lowest weight path becomes the k-shortest path.
-            List<Edge> newBestPath =
-                    getBestPotentialKthShortestPath(potentialKthShortestPaths, bestPaths, weightFunction);
-            bestPaths.add(newBestPath);
+            bestPaths.add(newBestPath.getPath());
         }
 
         return bestPaths;
     }
 
-    private List<Edge> getBestPotentialKthShortestPath(Set<List<Edge>> potentialKthShortestPaths,
-                                                       List<List<Edge>> bestPaths,
-                                                       WeightFunction weightFunction) {
-        List<Edge> bestKthShortestPath = new ArrayList<>();
-
-        long bestAvailableBandwidth = Long.MIN_VALUE;
-        long bestWeight = Long.MAX_VALUE;
-
-        for (List<Edge> path : potentialKthShortestPaths) {
-            long currentAvailableBandwidth = getMinAvailableBandwidth(path);
-            long currentWeight = getTotalWeight(path, weightFunction);
-            if (!bestPaths.contains(path) && (currentAvailableBandwidth > bestAvailableBandwidth
-                    || (currentAvailableBandwidth == bestAvailableBandwidth && currentWeight < bestWeight))) {
-                bestAvailableBandwidth = currentAvailableBandwidth;
-                bestWeight = currentWeight;
-                bestKthShortestPath = path;
+    /**
+     * Finds spur paths for each node of the previous k-shortest path (except the end one).
+     *
+     * @return the found paths (root path + spur path) ordered by the spur node position.
+     */
+    private List<List<Edge>> findSpurPaths(List<Edge> previousPath, List<List<Edge>> bestPaths,
+                                           BiFunction<Node, EdgeMask, FindOneDirectionPathResult> getPath) {
+        Supplier<List<List<Edge>>> search = () -> {
+            IntStream spurNodeIndexes = IntStream.range(0, previousPath.size());
+            if (forkJoinPool != null) {
+                spurNodeIndexes = spurNodeIndexes.parallel();
             }
+            return spurNodeIndexes
+                    .mapToObj(i -> findSpurPath(i, previousPath, bestPaths, getPath))
+                    .filter(path -> !path.isEmpty())
+                    .collect(Collectors.toList());
+        };
+
+        if (forkJoinPool != null) {
+            return forkJoinPool.submit(search::get).join();
         }
+        return search.get();
+    }
 
-        potentialKthShortestPaths.remove(bestKthShortestPath);
-
-        return bestKthShortestPath;
+    private List<Edge> findSpurPath(int spurNodeIndex, List<Edge> previousPath, List<List<Edge>> bestPaths,
+                                    BiFunction<Node, EdgeMask, FindOneDirectionPathResult> getPath) {
+        // Spur node is retrieved from the previous k-shortest path.
+        Node spurNode = previousPath.get(spurNodeIndex).getSrcSwitch();
+        // The sequence of edges from the start to the spur node (without spur node).
+        List<Edge> rootPath = previousPath.subList(0, spurNodeIndex);
+
+        // Mask the links that are part of the previous shortest paths which share the same root path.
+        Set<Edge> maskedEdges = new HashSet<>();
+        for (List<Edge> path : bestPaths) {
+            if (path.size() > spurNodeIndex && rootPath.equals(path.subList(0, spurNodeIndex))
+                    && spurNode.equals(path.get(spurNodeIndex).getSrcSwitch())) {
+                maskedEdges.add(path.get(spurNodeIndex));
+                maskedEdges.add(path.get(spurNodeIndex).swap());
+            }
+        }
+        // Mask the nodes of the root path.
+        Set<Node> maskedNodes = rootPath.stream()
+                .map(Edge::getSrcSwitch)
+                .collect(toSet());
+
+        // Calculate the spur path from the spur node to the end.
+        List<Edge> pathFromSpurNode =
+                getPath.apply(spurNode, new EdgeMask(maskedEdges, maskedNodes)).getFoundPath();
+        if (pathFromSpurNode.isEmpty()) {
+            return pathFromSpurNode;
+        }
+        // Entire path is made up of the root path and spur path.
+        List<Edge> totalPath = new ArrayList<>(rootPath);
+        totalPath.addAll(pathFromSpurNode);
+        return totalPath;
     }
 
     private long getMinAvailableBandwidth(List<Edge> path) {
@@ -263,38 +286,21 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
         return path.stream().map(weightFunction).mapToLong(PathWeight::toLong).sum();
     }
 
-    private void removeEdge(Edge edge) {
-        edge.getSrcSwitch().getOutgoingLinks().remove(edge);
-        edge.getDestSwitch().getIncomingLinks().remove(edge);
-
-        Edge reverseEdge = edge.swap();
-        reverseEdge.getSrcSwitch().getOutgoingLinks().remove(reverseEdge);
-        reverseEdge.getDestSwitch().getIncomingLinks().remove(reverseEdge);
-    }
-
-    private void restoreEdge(Edge edge) {
-        edge.getSrcSwitch().getOutgoingLinks().add(edge);
-        edge.getDestSwitch().getIncomingLinks().add(edge);
-
-        Edge reverseEdge = edge.swap();
-        reverseEdge.getSrcSwitch().getOutgoingLinks().add(reverseEdge);
-        reverseEdge.getDestSwitch().getIncomingLinks().add(reverseEdge);
-    }
-
-    private FindOneDirectionPathResult findOneDirectionPath(Node start, Node end, WeightFunction weightFunction) {
+    private FindOneDirectionPathResult findOneDirectionPath(Node start, Node end, WeightFunction weightFunction,
+                                                            EdgeMask mask) {
         return FindOneDirectionPathResult.builder()
-                .foundPath(getPath(start, end, weightFunction))
+                .foundPath(getPath(start, end, weightFunction, mask))
                 .backUpPathComputationWayUsed(false)
                 .build();
     }
 
     private FindOneDirectionPathResult findOneDirectionPath(Node start, Node end, WeightFunction weightFunction,
-                                                            long maxWeight, long backUpMaxWeight) {
-        List<Edge> foundPath = getPath(start, end, weightFunction, maxWeight);
+                                                            long maxWeight, long backUpMaxWeight, EdgeMask mask) {
+        List<Edge> foundPath = getPath(start, end, weightFunction, maxWeight, mask);
         boolean backUpPathComputationWayUsed = false;
 
         if (foundPath.isEmpty()) {
-            foundPath = getPath(start, end, weightFunction, backUpMaxWeight);
+            foundPath = getPath(start, end, weightFunction, backUpMaxWeight, mask);
             backUpPathComputationWayUsed = true;
         }
 
@@ -310,7 +316,7 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
      *
      * @return A pair of ordered lists that represents the path from start to end, or an empty list
      */
-    private List<Edge> getPath(Node start, Node end, WeightFunction weightFunction) {
+    protected List<Edge> getPath(Node start, Node end, WeightFunction weightFunction, EdgeMask mask) {
         PathWeight bestWeight = new PathWeight(Long.MAX_VALUE);
         SearchNode bestPath = null;
 
@@ -353,7 +359,7 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
 
             // At this stage .. haven't found END, haven't gone too deep, and we are not over weight.
             // So, add the outbound isls.
-            current.dstSw.getOutgoingLinks().stream()
+            mask.getOutgoingLinks(current.dstSw).stream()
                     .sorted(Comparator.comparing(edge -> edge.getDestSwitch().getSwitchId()))
                     .forEach(edge -> toVisit.add(current.addNode(edge)));
         }
@@ -361,10 +367,17 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
         return (bestPath != null) ? bestPath.parentPath : new LinkedList<>();
     }
 
-    private List<Edge> getPath(Node start, Node end, WeightFunction weightFunction, long maxWeight) {
-        SearchNode desiredPath = getDesiredPath(start, end, weightFunction, maxWeight);
+    /**
+     * Finds a path whose weight is less than maxWeight and as close to maxWeight as possible. Both forward and reverse
+     * directions are evaluated, the heavier one is taken into account.
+     *
+     * @return An ordered list that represents the path from start to end, or an empty list
+     */
+    protected List<Edge> getPath(Node start, Node end, WeightFunction weightFunction, long maxWeight,
+                                 EdgeMask mask) {
+        SearchNode desiredPath = getDesiredPath(start, end, weightFunction, maxWeight, mask);
         List<Edge> foundPath = (desiredPath != null) ? desiredPath.getParentPath() : new LinkedList<>();
-        SearchNode desiredReversePath = getDesiredPath(end, start, weightFunction, maxWeight);
+        SearchNode desiredReversePath = getDesiredPath(end, start, weightFunction, maxWeight, mask);
 
         if (desiredReversePath != null
                 && (desiredPath == null || desiredReversePath.parentWeight.compareTo(desiredPath.parentWeight) > 0)) {
@@ -379,7 +392,8 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
      *
      * @return A desired path from start to end as SearchNode representation, or null
      */
-    private SearchNode getDesiredPath(Node start, Node end, WeightFunction weightFunction, long maxWeight) {
+    private SearchNode getDesiredPath(Node start, Node end, WeightFunction weightFunction, long maxWeight,
+                                      EdgeMask mask) {
         long desiredWeight = Long.MAX_VALUE;
         SearchNode desiredPath = null;
 
@@ -429,7 +443,7 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
 
             // At this stage .. haven't found END, haven't gone too deep, and we are not over weight.
             // So, add the outbound isls.
-            current.dstSw.getOutgoingLinks().stream()
+            mask.getOutgoingLinks(current.dstSw).stream()
                     .sorted(Comparator.comparing(edge -> edge.getDestSwitch().getSwitchId()))
                     .forEach(edge -> toVisit.add(current.addNode(edge)));
         }
@@ -450,7 +464,7 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
      * @param forwardPath The path to use as a starting point. It can be in reverse order (we'll reverse it)
      * @return An ordered list that represents the path from start to end.
      */
-    private List<Edge> getReversePath(Node src, Node dst, List<Edge> forwardPath) {
+    protected List<Edge> getReversePath(Node src, Node dst, List<Edge> forwardPath) {
         // First, see if the first and last nodes match our start and end, or whether the list
         // needs to be reversed
 
@@ -549,4 +563,59 @@ public class BestWeightAndShortestPathFinder implements PathFinder {
             return parentPath.stream().anyMatch(s -> s.getSrcSwitch().getSwitchId().equals(switchId));
         }
     }
+
+    /**
+     * Excludes edges (in both directions) and outgoing links of nodes from a path search without modifying
+     * the network.
+     */
+    protected static final class EdgeMask {
+        static final EdgeMask NONE = new EdgeMask(Collections.emptySet(), Collections.emptySet());
+
+        private final Set<Edge> maskedEdges;
+        private final Set<Node> maskedNodes;
+
+        EdgeMask(Set<Edge> maskedEdges, Set<Node> maskedNodes) {
+            this.maskedEdges = maskedEdges;
+            this.maskedNodes = maskedNodes;
+        }
+
+        /**
+         * Gets outgoing links of the node which are not masked.
+         */
+        protected Collection<Edge> getOutgoingLinks(Node node) {
+            if (maskedNodes.contains(node)) {
+                return Collections.emptySet();
+            }
+            if (maskedEdges.isEmpty()) {
+                return node.getOutgoingLinks();
+            }
+            return node.getOutgoingLinks().stream()
+                    .filter(edge -> !maskedEdges.contains(edge))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * A potential kth shortest path. The path with the best available bandwidth goes first, then the lightest one,
+     * then the first found.
+     */
+    @Value
+    private static class PotentialPath implements Comparable<PotentialPath> {
+        List<Edge> path;
+        long minAvailableBandwidth;
+        long totalWeight;
+        long sequence;
+
+        @Override
+        public int compareTo(PotentialPath other) {
+            int result = Long.compare(other.minAvailableBandwidth, minAvailableBandwidth);
+            if (result == 0) {
+                result = Long.compare(totalWeight, other.totalWeight);
+            }
+            if (result == 0) {
+                result = Long.compare(sequence, other.sequence);
+            }
+            return result;
+        }
+    }
 }
@@ -0,0 +1,792 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.pce.finder;
+
+import static java.lang.String.format;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.CompactNetwork;
+import org.openkilda.pce.impl.CompactNetwork.EdgeWeights;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.FindPathResult;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.WeightFunction;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Path finder over {@link CompactNetwork}.
+ * <p/>
+ * Each call builds the compact representation of the passed network and evaluates the weight function once per edge,
+ * then the search runs over int indexes and primitive arrays only. The results are the same as of
+ * {@link DijkstraPathFinder}:
+ * <ul>
+ * <li>a hop-limited Dijkstra ordered by the full {@link org.openkilda.pce.model.PathWeight}, with negative weight
+ * params treated as zeros and ties broken by switch ids along the route;</li>
+ * <li>the breadth first search for a path closest to maxWeight with the back up max weight fallback;</li>
+ * <li>Yen's algorithm for N paths, edges and nodes removed for a spur path search are masked out by bit sets.</li>
+ * </ul>
+ * <p/>
+ * A path is an array of edge indexes. Reverse paths are made of swapped copies of the forward edges, as the other
+ * finders do, a swapped edge is encoded as the bitwise complement of the forward edge index. Edges are equal by their
+ * endpoints, so paths are compared and masked by {@link Search#toCanonical(int)} indexes.
+ */
+@Slf4j
+public class CompactPathFinder implements PathFinder {
+    private static final int[] NO_PATH = new int[0];
+
+    private final int allowedDepth;
+    private final ForkJoinPool forkJoinPool;
+
+    /**
+     * Constructs the finder with the specified limit on path depth.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     */
+    public CompactPathFinder(int allowedDepth) {
+        this(allowedDepth, null);
+    }
+
+    /**
+     * Constructs the finder with the specified limit on path depth and the pool for parallel spur path searches of
+     * Yen's algorithm.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     * @param forkJoinPool the pool to search spur paths in, or null to search them in the calling thread.
+     */
+    public CompactPathFinder(int allowedDepth, ForkJoinPool forkJoinPool) {
+        this.allowedDepth = allowedDepth;
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    @Override
+    public FindPathResult findPathInNetwork(AvailableNetwork network,
+                                            SwitchId startSwitchId, SwitchId endSwitchId,
+                                            WeightFunction weightFunction)
+            throws UnroutableFlowException {
+        Search search = new Search(CompactNetwork.from(network), weightFunction);
+        return search.findPath(network, startSwitchId, endSwitchId,
+                (start, end) -> new OneDirectionPath(search.getPath(start, end, EdgeMask.NONE), false));
+    }
+
+    @Override
+    public FindPathResult findPathInNetwork(AvailableNetwork network,
+                                            SwitchId startSwitchId, SwitchId endSwitchId,
+                                            WeightFunction weightFunction, long maxWeight, long backUpMaxWeight)
+            throws UnroutableFlowException {
+        Search search = new Search(CompactNetwork.from(network), weightFunction);
+        return search.findPath(network, startSwitchId, endSwitchId,
+                (start, end) -> search.findOneDirectionPath(start, end, maxWeight, backUpMaxWeight, EdgeMask.NONE));
+    }
+
+    @Override
+    public List<List<Edge>> findNPathsBetweenSwitches(
+            AvailableNetwork network, SwitchId startSwitchId, SwitchId endSwitchId, int count,
+            WeightFunction weightFunction) throws UnroutableFlowException {
+        Search search = new Search(CompactNetwork.from(network), weightFunction);
+        int end = search.network.getNodeIndex(endSwitchId);
+        return search.findNPaths(network, startSwitchId, endSwitchId, count,
+                (start, mask) -> search.getPath(start, end, mask));
+    }
+
+    @Override
+    public List<List<Edge>> findNPathsBetweenSwitches(
+            AvailableNetwork network, SwitchId startSwitchId, SwitchId endSwitchId, int count,
+            WeightFunction weightFunction, long maxWeight, long backUpMaxWeight) throws UnroutableFlowException {
+        Search search = new Search(CompactNetwork.from(network), weightFunction);
+        int end = search.network.getNodeIndex(endSwitchId);
+        return search.findNPaths(network, startSwitchId, endSwitchId, count,
+                (start, mask) -> search.findOneDirectionPath(start, end, maxWeight, backUpMaxWeight, mask).path);
+    }
+
+    /**
+     * Searches over one compact network with the edge weights of one weight function.
+     */
+    private final class Search {
+        final CompactNetwork network;
+        final WeightFunction weightFunction;
+        final EdgeWeights weights;
+
+        Search(CompactNetwork network, WeightFunction weightFunction) {
+            this.network = network;
+            this.weightFunction = weightFunction;
+            this.weights = network.computeWeights(weightFunction);
+        }
+
+        FindPathResult findPath(AvailableNetwork availableNetwork, SwitchId startSwitchId, SwitchId endSwitchId,
+                                BiFunction<Integer, Integer, OneDirectionPath> getPath)
+                throws UnroutableFlowException {
+            int start = network.getNodeIndex(startSwitchId);
+            int end = network.getNodeIndex(endSwitchId);
+            if (start < 0 || end < 0) {
+                throw new UnroutableFlowException(format("Switch %s doesn't have links with enough bandwidth",
+                        start < 0 ? startSwitchId : endSwitchId));
+            }
+
+            OneDirectionPath pathFindResult = getPath.apply(start, end);
+            int[] forwardPath = pathFindResult.path;
+            if (forwardPath.length == 0) {
+                throw new UnroutableFlowException(format("Can't find a path from %s to %s",
+                        availableNetwork.getSwitch(startSwitchId), availableNetwork.getSwitch(endSwitchId)));
+            }
+
+            int[] reversePath = getReversePath(forwardPath);
+            if (!isPathValid(reversePath)) {
+                log.warn(format("Failed to find symmetric reverse path from %s to %s. Forward path: %s",
+                        endSwitchId, startSwitchId, StringUtils.join(toEdges(forwardPath), ", ")));
+            }
+
+            return FindPathResult.builder()
+                    .foundPath(Pair.of(toEdges(forwardPath), toEdges(reversePath)))
+                    .backUpPathComputationWayUsed(pathFindResult.backUpUsed)
+                    .build();
+        }
+
+        /**
+         * Find N (or less) best paths with Yen's algorithm, see
+         * {@link BestWeightAndShortestPathFinder#findNPathsBetweenSwitches(AvailableNetwork, SwitchId, SwitchId, int,
+         * WeightFunction)}.
+         */
+        List<List<Edge>> findNPaths(AvailableNetwork availableNetwork, SwitchId startSwitchId, SwitchId endSwitchId,
+                                    int count, BiFunction<Integer, EdgeMask, int[]> getPath)
+                throws UnroutableFlowException {
+            int start = network.getNodeIndex(startSwitchId);
+            int end = network.getNodeIndex(endSwitchId);
+            if (start < 0 || end < 0) {
+                throw new UnroutableFlowException(format("Switch %s doesn't have links with enough bandwidth",
+                        start < 0 ? startSwitchId : endSwitchId));
+            }
+
+            // Determine the shortest path from the start to the end.
+            List<int[]> bestPaths = new ArrayList<>();
+            int[] firstPath = getPath.apply(start, EdgeMask.NONE);
+            if (firstPath.length == 0) {
+                return new ArrayList<>();
+            }
+            bestPaths.add(firstPath);
+
+            // Initialize the heap to store the potential kth shortest path.
+            // The order of discovery resolves ties to have deterministic results.
+            PriorityQueue<PotentialPath> potentialKthShortestPaths = new PriorityQueue<>();
+            Set<PathKey> knownPaths = new HashSet<>();
+            knownPaths.add(toPathKey(firstPath));
+            long sequence = 0;
+
+            for (int k = 1; k < count; k++) {
+                int[] bestPath = bestPaths.get(k - 1);
+                for (int[] totalPath : findSpurPaths(bestPath, bestPaths, getPath)) {
+                    // Add the potential k-shortest path to the heap.
+                    if (knownPaths.add(toPathKey(totalPath))) {
+                        potentialKthShortestPaths.add(new PotentialPath(totalPath,
+                                getMinAvailableBandwidth(totalPath), getTotalWeight(totalPath), sequence++));
+                    }
+                }
+
+                // The path with the best available bandwidth and the lowest weight becomes the k-shortest path.
+                PotentialPath newBestPath = potentialKthShortestPaths.poll();
+                if (newBestPath == null) {
+                    break;
+                }
+                bestPaths.add(newBestPath.getPath());
+            }
+
+            return bestPaths.stream()
+                    .map(this::toEdges)
+                    .collect(Collectors.toList());
+        }
+
+        private List<int[]> findSpurPaths(int[] previousPath, List<int[]> bestPaths,
+                                          BiFunction<Integer, EdgeMask, int[]> getPath) {
+            Supplier<List<int[]>> search = () -> {
+                IntStream spurNodeIndexes = IntStream.range(0, previousPath.length);
+                if (forkJoinPool != null) {
+                    spurNodeIndexes = spurNodeIndexes.parallel();
+                }
+                return spurNodeIndexes
+                        .mapToObj(i -> findSpurPath(i, previousPath, bestPaths, getPath))
+                        .filter(path -> path.length > 0)
+                        .collect(Collectors.toList());
+            };
+
+            if (forkJoinPool != null) {
+                return forkJoinPool.submit(search::get).join();
+            }
+            return search.get();
+        }
+
+        private int[] findSpurPath(int spurNodeIndex, int[] previousPath, List<int[]> bestPaths,
+                                   BiFunction<Integer, EdgeMask, int[]> getPath) {
+            // Spur node is retrieved from the previous k-shortest path.
+            int spurNode = getSrcNode(previousPath[spurNodeIndex]);
+
+            // Mask the links that are part of the previous shortest paths which share the same root path.
+            BitSet maskedEdges = new BitSet(network.getEdgeCount());
+            for (int[] path : bestPaths) {
+                if (path.length > spurNodeIndex && isSameRoot(previousPath, path, spurNodeIndex)
+                        && spurNode == getSrcNode(path[spurNodeIndex])) {
+                    int edge = toCanonical(path[spurNodeIndex]);
+                    if (edge >= 0) {
+                        maskedEdges.set(edge);
+                        if (network.getReverseEdge(edge) >= 0) {
+                            maskedEdges.set(network.getReverseEdge(edge));
+                        }
+                    } else {
+                        // the link is absent in the network, only its opposite direction can be masked
+                        maskedEdges.set(~edge);
+                    }
+                }
+            }
+            // Mask the nodes of the root path.
+            BitSet maskedNodes = new BitSet(network.getNodeCount());
+            for (int i = 0; i < spurNodeIndex; i++) {
+                maskedNodes.set(getSrcNode(previousPath[i]));
+            }
+
+            // Calculate the spur path from the spur node to the end.
+            int[] pathFromSpurNode = getPath.apply(spurNode, new EdgeMask(maskedEdges, maskedNodes));
+            if (pathFromSpurNode.length == 0) {
+                return pathFromSpurNode;
+            }
+            // Entire path is made up of the root path and spur path.
+            int[] totalPath = Arrays.copyOf(previousPath, spurNodeIndex + pathFromSpurNode.length);
+            System.arraycopy(pathFromSpurNode, 0, totalPath, spurNodeIndex, pathFromSpurNode.length);
+            return totalPath;
+        }
+
+        private PathKey toPathKey(int[] path) {
+            return new PathKey(Arrays.stream(path).map(this::toCanonical).toArray());
+        }
+
+        private boolean isSameRoot(int[] first, int[] second, int length) {
+            for (int i = 0; i < length; i++) {
+                if (toCanonical(first[i]) != toCanonical(second[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private long getMinAvailableBandwidth(int[] path) {
+            long result = Long.MAX_VALUE;
+            for (int edge : path) {
+                result = Math.min(result, network.getAvailableBandwidth(toNetworkEdge(edge)));
+            }
+            return result;
+        }
+
+        private long getTotalWeight(int[] path) {
+            long result = 0;
+            for (int edge : path) {
+                if (edge >= 0) {
+                    result += weights.toLong(edge);
+                } else {
+                    // the weight of a swapped edge may depend on its new destination
+                    result += weightFunction.apply(toEdge(edge)).toLong();
+                }
+            }
+            return result;
+        }
+
+        OneDirectionPath findOneDirectionPath(int start, int end, long maxWeight, long backUpMaxWeight,
+                                              EdgeMask mask) {
+            int[] foundPath = getPath(start, end, maxWeight, mask);
+            boolean backUpPathComputationWayUsed = false;
+
+            if (foundPath.length == 0) {
+                foundPath = getPath(start, end, backUpMaxWeight, mask);
+                backUpPathComputationWayUsed = true;
+            }
+            return new OneDirectionPath(foundPath, backUpPathComputationWayUsed);
+        }
+
+        /**
+         * Hop-limited Dijkstra, see {@link DijkstraPathFinder}.
+         */
+        int[] getPath(int start, int end, EdgeMask mask) {
+            int dimension = weights.getDimension();
+            // The smallest depth of already expanded labels per node.
+            int[] expandedDepth = new int[network.getNodeCount()];
+            Arrays.fill(expandedDepth, Integer.MAX_VALUE);
+            HeapLabels labels = new HeapLabels(dimension, Math.max(16, network.getNodeCount()));
+
+            labels.push(start, -1, -1);
+            while (!labels.isEmpty()) {
+                int current = labels.poll();
+                int node = labels.nodes[current];
+                int depth = labels.depths[current];
+
+                if (node == end) {
+                    // Labels are polled in the weight order, so the first one reached the end is the best.
+                    return labels.toPath(current);
+                }
+                if (expandedDepth[node] <= depth) {
+                    // A lighter (or equal) path with the same or smaller depth has been expanded already.
+                    continue;
+                }
+                expandedDepth[node] = depth;
+                if (depth >= allowedDepth || mask.isNodeMasked(node)) {
+                    continue;
+                }
+
+                int nextDepth = depth + 1;
+                for (int edge = network.getFirstOutgoingEdge(node); edge < network.getLastOutgoingEdge(node);
+                        edge++) {
+                    if (!mask.isEdgeMasked(edge) && expandedDepth[network.getDestNode(edge)] > nextDepth) {
+                        labels.push(network.getDestNode(edge), edge, current);
+                    }
+                }
+            }
+            return NO_PATH;
+        }
+
+        /**
+         * Finds a path whose weight is less than maxWeight and as close to maxWeight as possible. Both forward and
+         * reverse directions are evaluated, the heavier one is taken into account.
+         */
+        int[] getPath(int start, int end, long maxWeight, EdgeMask mask) {
+            int[] desiredPath = getDesiredPath(start, end, maxWeight, mask);
+            int[] desiredReversePath = getDesiredPath(end, start, maxWeight, mask);
+
+            if (desiredReversePath != null
+                    && (desiredPath == null || compareWeights(desiredReversePath, desiredPath) > 0)) {
+                return getReversePath(desiredReversePath);
+            }
+            return desiredPath != null ? desiredPath : NO_PATH;
+        }
+
+        /**
+         * Breadth first search for a path whose weight is less than maxWeight and as close to maxWeight as possible,
+         * see {@link BestWeightAndShortestPathFinder}. The search queue is the labels in the order they are created.
+         *
+         * @return the path, or null if there's no path.
+         */
+        private int[] getDesiredPath(int start, int end, long maxWeight, EdgeMask mask) {
+            long desiredWeight = Long.MAX_VALUE;
+            int desiredPath = -1;
+            int[] visited = new int[network.getNodeCount()];
+            Arrays.fill(visited, -1);
+            QueueLabels labels = new QueueLabels(Math.max(16, network.getNodeCount()));
+
+            labels.add(start, -1, -1, 0);
+            for (int current = 0; current < labels.size; current++) {
+                int node = labels.nodes[current];
+                long weight = labels.weights[current];
+
+                // Leave if the path contains this node
+                if (labels.containsNode(labels.parents[current], node)) {
+                    continue;
+                }
+
+                // Shift the current weight relative to maxWeight
+                long shiftedCurrentWeight = Math.abs(maxWeight - weight);
+
+                // Determine if this node is the destination node.
+                if (node == end) {
+                    if (shiftedCurrentWeight < desiredWeight && weight < maxWeight) {
+                        desiredWeight = shiftedCurrentWeight;
+                        desiredPath = current;
+                    }
+                    continue;
+                }
+
+                // Stop processing entirely if we've gone too far, or over maxWeight
+                if (labels.depths[current] >= allowedDepth || weight >= maxWeight) {
+                    continue;
+                }
+
+                // Otherwise, if we've been here before, see if this path is better
+                int prior = visited[node];
+                if (prior >= 0 && shiftedCurrentWeight >= Math.abs(maxWeight - labels.weights[prior])) {
+                    continue;
+                }
+                visited[node] = current;
+
+                if (mask.isNodeMasked(node)) {
+                    continue;
+                }
+                for (int edge = network.getFirstOutgoingEdge(node); edge < network.getLastOutgoingEdge(node);
+                        edge++) {
+                    if (!mask.isEdgeMasked(edge)) {
+                        labels.add(network.getDestNode(edge), edge, current, weight + weights.toLong(edge));
+                    }
+                }
+            }
+            return desiredPath >= 0 ? labels.toPath(desiredPath) : null;
+        }
+
+        /**
+         * Compares the full weights of two paths found by {@link #getDesiredPath(int, int, long, EdgeMask)}, i.e.
+         * going over network edges only.
+         */
+        private int compareWeights(int[] first, int[] second) {
+            for (int i = 0; i < weights.getDimension(); i++) {
+                int result = Long.compare(getPathWeightParam(first, i), getPathWeightParam(second, i));
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+
+        private long getPathWeightParam(int[] path, int param) {
+            long result = 0;
+            for (int edge : path) {
+                result += weights.getParam(edge, param);
+            }
+            return result;
+        }
+
+        /**
+         * The path back over the same links, see {@link BestWeightAndShortestPathFinder#getReversePath(Node, Node,
+         * List)}.
+         */
+        private int[] getReversePath(int[] path) {
+            int[] result = new int[path.length];
+            for (int i = 0; i < path.length; i++) {
+                // swapping a swapped edge gives a copy of the forward edge
+                result[i] = ~path[path.length - i - 1];
+            }
+            return result;
+        }
+
+        private boolean isPathValid(int[] path) {
+            for (int edge : path) {
+                if (toCanonical(edge) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Gets the index of the network edge with the same endpoints, or the encoded swapped edge if the network
+         * doesn't have such an edge.
+         */
+        private int toCanonical(int edge) {
+            if (edge >= 0) {
+                return edge;
+            }
+            int reverseEdge = network.getReverseEdge(~edge);
+            return reverseEdge >= 0 ? reverseEdge : edge;
+        }
+
+        private int getSrcNode(int edge) {
+            return edge >= 0 ? network.getSrcNode(edge) : network.getDestNode(~edge);
+        }
+
+        private int toNetworkEdge(int edge) {
+            return edge >= 0 ? edge : ~edge;
+        }
+
+        private Edge toEdge(int edge) {
+            if (edge >= 0) {
+                return network.getEdge(edge);
+            }
+            return network.getEdge(~edge).swap();
+        }
+
+        private List<Edge> toEdges(int[] path) {
+            List<Edge> result = new ArrayList<>(path.length);
+            for (int edge : path) {
+                result.add(toEdge(edge));
+            }
+            return result;
+        }
+
+        /**
+         * Dijkstra search labels stored column-wise and a binary heap of label indexes. The index of a label is the
+         * order it is created in.
+         */
+        private final class HeapLabels {
+            final int dimension;
+            int[] nodes;
+            int[] edges;
+            int[] parents;
+            int[] depths;
+            long[] weights;
+            int size;
+
+            int[] heap;
+            int heapSize;
+
+            HeapLabels(int dimension, int capacity) {
+                this.dimension = dimension;
+                nodes = new int[capacity];
+                edges = new int[capacity];
+                parents = new int[capacity];
+                depths = new int[capacity];
+                weights = new long[capacity * dimension];
+                heap = new int[capacity];
+            }
+
+            boolean isEmpty() {
+                return heapSize == 0;
+            }
+
+            void push(int node, int edge, int parent) {
+                if (size == nodes.length) {
+                    int capacity = size * 2;
+                    nodes = Arrays.copyOf(nodes, capacity);
+                    edges = Arrays.copyOf(edges, capacity);
+                    parents = Arrays.copyOf(parents, capacity);
+                    depths = Arrays.copyOf(depths, capacity);
+                    weights = Arrays.copyOf(weights, capacity * dimension);
+                    heap = Arrays.copyOf(heap, capacity);
+                }
+                int label = size++;
+                nodes[label] = node;
+                edges[label] = edge;
+                parents[label] = parent;
+                if (parent >= 0) {
+                    depths[label] = depths[parent] + 1;
+                    for (int i = 0; i < dimension; i++) {
+                        // negative weight params are treated as zeros, see DijkstraPathFinder
+                        weights[label * dimension + i] = weights[parent * dimension + i]
+                                + Math.max(Search.this.weights.getParam(edge, i), 0L);
+                    }
+                }
+
+                int position = heapSize++;
+                while (position > 0) {
+                    int parentPosition = (position - 1) >>> 1;
+                    if (compare(label, heap[parentPosition]) >= 0) {
+                        break;
+                    }
+                    heap[position] = heap[parentPosition];
+                    position = parentPosition;
+                }
+                heap[position] = label;
+            }
+
+            int poll() {
+                int result = heap[0];
+                int last = heap[--heapSize];
+                int position = 0;
+                while (true) {
+                    int child = 2 * position + 1;
+                    if (child >= heapSize) {
+                        break;
+                    }
+                    if (child + 1 < heapSize && compare(heap[child + 1], heap[child]) < 0) {
+                        child++;
+                    }
+                    if (compare(heap[child], last) >= 0) {
+                        break;
+                    }
+                    heap[position] = heap[child];
+                    position = child;
+                }
+                heap[position] = last;
+                return result;
+            }
+
+            /**
+             * Orders labels by weight, then by depth, then by switch ids along the route, then by creation order.
+             */
+            int compare(int first, int second) {
+                for (int i = 0; i < dimension; i++) {
+                    int result = Long.compare(weights[first * dimension + i], weights[second * dimension + i]);
+                    if (result != 0) {
+                        return result;
+                    }
+                }
+                int result = Integer.compare(depths[first], depths[second]);
+                if (result != 0) {
+                    return result;
+                }
+                result = compareRoutes(first, second);
+                if (result != 0) {
+                    return result;
+                }
+                return Integer.compare(first, second);
+            }
+
+            /**
+             * Compares routes of the same depth node by node from the start. Node indexes follow the order of switch
+             * ids, so it is the same as comparing switch ids.
+             */
+            private int compareRoutes(int first, int second) {
+                int result = 0;
+                for (int x = first, y = second; x != y && parents[x] >= 0 && parents[y] >= 0;
+                        x = parents[x], y = parents[y]) {
+                    if (nodes[x] != nodes[y]) {
+                        result = Integer.compare(nodes[x], nodes[y]);
+                    }
+                }
+                return result;
+            }
+
+            int[] toPath(int label) {
+                int[] path = new int[depths[label]];
+                for (int current = label; edges[current] >= 0; current = parents[current]) {
+                    path[depths[current] - 1] = edges[current];
+                }
+                return path;
+            }
+        }
+    }
+
+    /**
+     * Breadth first search labels stored column-wise, weights are scalar.
+     */
+    private static final class QueueLabels {
+        int[] nodes;
+        int[] edges;
+        int[] parents;
+        int[] depths;
+        long[] weights;
+        int size;
+
+        QueueLabels(int capacity) {
+            nodes = new int[capacity];
+            edges = new int[capacity];
+            parents = new int[capacity];
+            depths = new int[capacity];
+            weights = new long[capacity];
+        }
+
+        void add(int node, int edge, int parent, long weight) {
+            if (size == nodes.length) {
+                int capacity = size * 2;
+                nodes = Arrays.copyOf(nodes, capacity);
+                edges = Arrays.copyOf(edges, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                depths = Arrays.copyOf(depths, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            nodes[size] = node;
+            edges[size] = edge;
+            parents[size] = parent;
+            depths[size] = parent >= 0 ? depths[parent] + 1 : 0;
+            weights[size] = weight;
+            size++;
+        }
+
+        boolean containsNode(int label, int node) {
+            for (int current = label; current >= 0; current = parents[current]) {
+                if (nodes[current] == node) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int[] toPath(int label) {
+            int[] path = new int[depths[label]];
+            for (int current = label; edges[current] >= 0; current = parents[current]) {
+                path[depths[current] - 1] = edges[current];
+            }
+            return path;
+        }
+    }
+
+    /**
+     * Excludes edges and outgoing links of nodes from a path search.
+     */
+    private static final class EdgeMask {
+        static final EdgeMask NONE = new EdgeMask(new BitSet(), new BitSet());
+
+        private final BitSet maskedEdges;
+        private final BitSet maskedNodes;
+
+        EdgeMask(BitSet maskedEdges, BitSet maskedNodes) {
+            this.maskedEdges = maskedEdges;
+            this.maskedNodes = maskedNodes;
+        }
+
+        boolean isEdgeMasked(int edge) {
+            return maskedEdges.get(edge);
+        }
+
+        boolean isNodeMasked(int node) {
+            return maskedNodes.get(node);
+        }
+    }
+
+    private static final class OneDirectionPath {
+        final int[] path;
+        final boolean backUpUsed;
+
+        OneDirectionPath(int[] path, boolean backUpUsed) {
+            this.path = path;
+            this.backUpUsed = backUpUsed;
+        }
+    }
+
+    /**
+     * A path as a hash key.
+     */
+    private static final class PathKey {
+        private final int[] path;
+
+        PathKey(int[] path) {
+            this.path = path;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof PathKey && Arrays.equals(path, ((PathKey) other).path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(path);
+        }
+    }
+
+    /**
+     * A potential kth shortest path. The path with the best available bandwidth goes first, then the lightest one,
+     * then the first found.
+     */
+    @Value
+    private static class PotentialPath implements Comparable<PotentialPath> {
+        int[] path;
+        long minAvailableBandwidth;
+        long totalWeight;
+        long sequence;
+
+        @Override
+        public int compareTo(PotentialPath other) {
+            int result = Long.compare(other.minAvailableBandwidth, minAvailableBandwidth);
+            if (result == 0) {
+                result = Long.compare(totalWeight, other.totalWeight);
+            }
+            if (result == 0) {
+                result = Long.compare(sequence, other.sequence);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.PathWeight;
+import org.openkilda.pce.model.WeightFunction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Hop-limited Dijkstra over {@link org.openkilda.pce.impl.AvailableNetwork}.
+ * <p/>
+ * Search labels are kept in a binary heap ordered by {@link PathWeight} and link to their predecessor instead of
+ * carrying a copy of the whole path. A label is expanded only if no lighter label with the same or smaller depth has
+ * been expanded for the node before, so every node is expanded at most {@code allowedDepth} times and the first label
+ * taken from the heap for the end node is the best path within {@code allowedDepth} hops.
+ * <p/>
+ * The search for a path closest to maxWeight, the reverse path, N paths (Yen's algorithm) and back up max weight
+ * handling are inherited from {@link BestWeightAndShortestPathFinder} as is, so both finders return the same paths
+ * for MAX_LATENCY.
+ * <p/>
+ * NB: Dijkstra expects non-negative weights, while the network factory only logs ISLs with negative cost. Negative
+ * weight params are treated as zeros by the search, so such ISLs are free to use but can't make a path lighter.
+ */
+public class DijkstraPathFinder extends BestWeightAndShortestPathFinder {
+    private static final Comparator<SearchLabel> LABEL_ORDER = Comparator
+            .comparing((SearchLabel label) -> label.weight)
+            .thenComparingInt(label -> label.depth)
+            .thenComparing(SearchLabel::compareRoutes)
+            .thenComparingLong(label -> label.sequence);
+
+    /**
+     * Constructs the finder with the specified limit on path depth.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     */
+    public DijkstraPathFinder(int allowedDepth) {
+        super(allowedDepth);
+    }
+
+    /**
+     * Constructs the finder with the specified limit on path depth and the pool for parallel spur path searches of
+     * Yen's algorithm.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     * @param forkJoinPool the pool to search spur paths in, or null to search them in the calling thread.
+     */
+    public DijkstraPathFinder(int allowedDepth, ForkJoinPool forkJoinPool) {
+        super(allowedDepth, forkJoinPool);
+    }
+
+    @Override
+    protected List<Edge> getPath(Node start, Node end, WeightFunction weightFunction, EdgeMask mask) {
+        PriorityQueue<SearchLabel> toVisit = new PriorityQueue<>(LABEL_ORDER);
+        // The smallest depth of already expanded labels per node.
+        Map<Node, Integer> expandedDepth = new HashMap<>();
+        long sequence = 0;
+        WeightFunction nonNegativeWeightFunction = edge -> weightFunction.apply(edge).toNonNegative();
+
+        toVisit.add(new SearchLabel(start, null, null, new PathWeight(), 0, sequence++));
+
+        while (!toVisit.isEmpty()) {
+            SearchLabel current = toVisit.poll();
+
+            if (current.node.equals(end)) {
+                // Labels are polled in the weight order, so the first one reached the end is the best.
+                return current.toPath();
+            }
+
+            Integer priorDepth = expandedDepth.get(current.node);
+            if (priorDepth != null && priorDepth <= current.depth) {
+                // A lighter (or equal) path with the same or smaller depth has been expanded already.
+                continue;
+            }
+            expandedDepth.put(current.node, current.depth);
+
+            if (current.depth >= allowedDepth) {
+                continue;
+            }
+
+            int nextDepth = current.depth + 1;
+            for (Edge edge : mask.getOutgoingLinks(current.node)) {
+                Integer nextPriorDepth = expandedDepth.get(edge.getDestSwitch());
+                if (nextPriorDepth != null && nextPriorDepth <= nextDepth) {
+                    continue;
+                }
+                toVisit.add(current.addEdge(edge, nonNegativeWeightFunction, sequence++));
+            }
+        }
+
+        return new ArrayList<>();
+    }
+
+    /**
+     * A search state: the node reached, the accumulated weight and depth, and the link to the predecessor label.
+     */
+    private static final class SearchLabel {
+        final Node node;
+        final Edge edge;
+        final SearchLabel parent;
+        final PathWeight weight;
+        final int depth;
+        final long sequence;
+
+        SearchLabel(Node node, Edge edge, SearchLabel parent, PathWeight weight, int depth, long sequence) {
+            this.node = node;
+            this.edge = edge;
+            this.parent = parent;
+            this.weight = weight;
+            this.depth = depth;
+            this.sequence = sequence;
+        }
+
+        SearchLabel addEdge(Edge nextEdge, WeightFunction weightFunction, long sequence) {
+            return new SearchLabel(nextEdge.getDestSwitch(), nextEdge, this,
+                    weight.add(weightFunction.apply(nextEdge)), depth + 1, sequence);
+        }
+
+        /**
+         * Breaks ties between equal weight labels of the same depth the same way as the breadth first search of the
+         * parent finder does, i.e. by switch ids along the route.
+         */
+        static int compareRoutes(SearchLabel first, SearchLabel second) {
+            if (first == second || first.parent == null || second.parent == null) {
+                return 0;
+            }
+            int result = compareRoutes(first.parent, second.parent);
+            if (result != 0) {
+                return result;
+            }
+            return first.node.getSwitchId().compareTo(second.node.getSwitchId());
+        }
+
+        List<Edge> toPath() {
+            List<Edge> path = new ArrayList<>(depth);
+            for (SearchLabel label = this; label.edge != null; label = label.parent) {
+                path.add(label.edge);
+            }
+            Collections.reverse(path);
+            return path;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.PathWeight;
+import org.openkilda.pce.model.WeightFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only compressed sparse row (CSR) representation of {@link AvailableNetwork}.
+ * <p/>
+ * Nodes are addressed by int indexes assigned in the order of switch ids, outgoing edges of node {@code i} occupy
+ * the range [{@link #getFirstOutgoingEdge(int)}, {@link #getLastOutgoingEdge(int)}) of the edge arrays and are
+ * ordered by the destination switch id. Edge attributes are kept in parallel primitive arrays, so a search over the
+ * network doesn't do hashing or dereference {@link Node} and {@link Edge} objects. The original edges are kept only
+ * to evaluate weight functions and to convert a found path back.
+ */
+public final class CompactNetwork {
+    private final SwitchId[] switchIds;
+    private final Node[] nodes;
+    private final Map<SwitchId, Integer> nodeIndexes;
+    private final int[] nodeDiversityGroupUseCounters;
+
+    private final int[] outgoingOffsets;
+    private final int[] srcNodes;
+    private final int[] destNodes;
+    private final int[] reverseEdges;
+    private final int[] costs;
+    private final long[] latencies;
+    private final long[] availableBandwidths;
+    private final boolean[] underMaintenance;
+    private final boolean[] unstable;
+    private final int[] diversityGroupUseCounters;
+    private final int[] diversityGroupPerPopUseCounters;
+    private final Edge[] edges;
+
+    private CompactNetwork(SwitchId[] switchIds, Map<SwitchId, Integer> nodeIndexes, int edgeCount) {
+        this.switchIds = switchIds;
+        this.nodes = new Node[switchIds.length];
+        this.nodeIndexes = nodeIndexes;
+        this.nodeDiversityGroupUseCounters = new int[switchIds.length];
+        this.outgoingOffsets = new int[switchIds.length + 1];
+        this.srcNodes = new int[edgeCount];
+        this.destNodes = new int[edgeCount];
+        this.reverseEdges = new int[edgeCount];
+        this.costs = new int[edgeCount];
+        this.latencies = new long[edgeCount];
+        this.availableBandwidths = new long[edgeCount];
+        this.underMaintenance = new boolean[edgeCount];
+        this.unstable = new boolean[edgeCount];
+        this.diversityGroupUseCounters = new int[edgeCount];
+        this.diversityGroupPerPopUseCounters = new int[edgeCount];
+        this.edges = new Edge[edgeCount];
+    }
+
+    /**
+     * Builds the compact representation of the current state of the network, i.e. after diversity processing and
+     * {@link AvailableNetwork#reduceByWeight(WeightFunction)}. Later changes of the network are not reflected.
+     */
+    public static CompactNetwork from(AvailableNetwork network) {
+        SwitchId[] switchIds = network.switches.keySet().toArray(new SwitchId[0]);
+        Arrays.sort(switchIds);
+        Map<SwitchId, Integer> nodeIndexes = new HashMap<>(switchIds.length * 2);
+        int edgeCount = 0;
+        for (int i = 0; i < switchIds.length; i++) {
+            nodeIndexes.put(switchIds[i], i);
+            edgeCount += network.switches.get(switchIds[i]).getOutgoingLinks().size();
+        }
+
+        CompactNetwork result = new CompactNetwork(switchIds, nodeIndexes, edgeCount);
+        Comparator<Edge> edgeOrder = Comparator.comparing((Edge edge) -> edge.getDestSwitch().getSwitchId())
+                .thenComparingInt(Edge::getSrcPort)
+                .thenComparingInt(Edge::getDestPort);
+        int edgeIndex = 0;
+        for (int i = 0; i < switchIds.length; i++) {
+            Node node = network.switches.get(switchIds[i]);
+            result.nodes[i] = node;
+            result.nodeDiversityGroupUseCounters[i] = node.getDiversityGroupUseCounter();
+            result.outgoingOffsets[i] = edgeIndex;
+
+            Edge[] outgoingLinks = node.getOutgoingLinks().toArray(new Edge[0]);
+            Arrays.sort(outgoingLinks, edgeOrder);
+            for (Edge edge : outgoingLinks) {
+                result.srcNodes[edgeIndex] = i;
+                result.destNodes[edgeIndex] = nodeIndexes.get(edge.getDestSwitch().getSwitchId());
+                result.costs[edgeIndex] = edge.getCost();
+                result.latencies[edgeIndex] = edge.getLatency();
+                result.availableBandwidths[edgeIndex] = edge.getAvailableBandwidth();
+                result.underMaintenance[edgeIndex] = edge.isUnderMaintenance();
+                result.unstable[edgeIndex] = edge.isUnstable();
+                result.diversityGroupUseCounters[edgeIndex] = edge.getDiversityGroupUseCounter();
+                result.diversityGroupPerPopUseCounters[edgeIndex] = edge.getDiversityGroupPerPopUseCounter();
+                result.edges[edgeIndex] = edge;
+                edgeIndex++;
+            }
+        }
+        result.outgoingOffsets[switchIds.length] = edgeIndex;
+
+        for (int i = 0; i < edgeCount; i++) {
+            result.reverseEdges[i] = result.findReverseEdge(i);
+        }
+        return result;
+    }
+
+    /**
+     * Finds the link in the opposite direction among the outgoing edges of the destination node, they are sorted by
+     * the destination, so the links back to the source are found by a binary search.
+     */
+    private int findReverseEdge(int edge) {
+        int src = srcNodes[edge];
+        int dest = destNodes[edge];
+        int from = outgoingOffsets[dest];
+        int to = outgoingOffsets[dest + 1];
+        int position = Arrays.binarySearch(destNodes, from, to, src);
+        if (position < 0) {
+            return -1;
+        }
+        while (position > from && destNodes[position - 1] == src) {
+            position--;
+        }
+        for (; position < to && destNodes[position] == src; position++) {
+            if (edges[position].getSrcPort() == edges[edge].getDestPort()
+                    && edges[position].getDestPort() == edges[edge].getSrcPort()) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Evaluates the weight function for each edge. All weights are padded with zeros to the same number of params,
+     * which doesn't change their {@link PathWeight} order.
+     */
+    public EdgeWeights computeWeights(WeightFunction weightFunction) {
+        PathWeight[] pathWeights = new PathWeight[edges.length];
+        int dimension = 1;
+        for (int i = 0; i < edges.length; i++) {
+            pathWeights[i] = weightFunction.apply(edges[i]);
+            dimension = Math.max(dimension, pathWeights[i].getParamCount());
+        }
+
+        long[] params = new long[edges.length * dimension];
+        for (int i = 0; i < edges.length; i++) {
+            for (int j = 0; j < pathWeights[i].getParamCount(); j++) {
+                params[i * dimension + j] = pathWeights[i].getParam(j);
+            }
+        }
+        return new EdgeWeights(dimension, params);
+    }
+
+    public int getNodeCount() {
+        return switchIds.length;
+    }
+
+    public int getEdgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * Gets the index of the node, or -1 if the switch is not in the network.
+     */
+    public int getNodeIndex(SwitchId switchId) {
+        Integer index = nodeIndexes.get(switchId);
+        return index != null ? index : -1;
+    }
+
+    public SwitchId getSwitchId(int node) {
+        return switchIds[node];
+    }
+
+    public Node getNode(int node) {
+        return nodes[node];
+    }
+
+    public int getNodeDiversityGroupUseCounter(int node) {
+        return nodeDiversityGroupUseCounters[node];
+    }
+
+    /**
+     * Gets the index of the first outgoing edge of the node.
+     */
+    public int getFirstOutgoingEdge(int node) {
+        return outgoingOffsets[node];
+    }
+
+    /**
+     * Gets the index following the last outgoing edge of the node.
+     */
+    public int getLastOutgoingEdge(int node) {
+        return outgoingOffsets[node + 1];
+    }
+
+    public int getSrcNode(int edge) {
+        return srcNodes[edge];
+    }
+
+    public int getDestNode(int edge) {
+        return destNodes[edge];
+    }
+
+    /**
+     * Gets the index of the edge with swapped endpoints, or -1 if the network doesn't have it.
+     */
+    public int getReverseEdge(int edge) {
+        return reverseEdges[edge];
+    }
+
+    public int getCost(int edge) {
+        return costs[edge];
+    }
+
+    public long getLatency(int edge) {
+        return latencies[edge];
+    }
+
+    public long getAvailableBandwidth(int edge) {
+        return availableBandwidths[edge];
+    }
+
+    public boolean isUnderMaintenance(int edge) {
+        return underMaintenance[edge];
+    }
+
+    public boolean isUnstable(int edge) {
+        return unstable[edge];
+    }
+
+    public int getDiversityGroupUseCounter(int edge) {
+        return diversityGroupUseCounters[edge];
+    }
+
+    public int getDiversityGroupPerPopUseCounter(int edge) {
+        return diversityGroupPerPopUseCounters[edge];
+    }
+
+    public Edge getEdge(int edge) {
+        return edges[edge];
+    }
+
+    /**
+     * Converts edge indexes into the edges of the original network.
+     */
+    public List<Edge> toEdges(int[] path) {
+        List<Edge> result = new ArrayList<>(path.length);
+        for (int edge : path) {
+            result.add(edges[edge]);
+        }
+        return result;
+    }
+
+    /**
+     * Edge weights stored row-wise: params of edge {@code i} occupy [{@code i * dimension}, {@code (i + 1) *
+     * dimension}) of the array.
+     */
+    public static final class EdgeWeights {
+        private final int dimension;
+        private final long[] params;
+
+        private EdgeWeights(int dimension, long[] params) {
+            this.dimension = dimension;
+            this.params = params;
+        }
+
+        public int getDimension() {
+            return dimension;
+        }
+
+        public long getParam(int edge, int param) {
+            return params[edge * dimension + param];
+        }
+
+        /**
+         * Scalar representation of the edge weight, see {@link PathWeight#toLong()}.
+         */
+        public long toLong(int edge) {
+            return params[edge * dimension];
+        }
+    }
+}
@@ -17,16 +17,20 @@ package org.openkilda.pce.impl;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static org.openkilda.model.PathComputationStrategy.COST_AND_AVAILABLE_BANDWIDTH;
 import static org.openkilda.model.PathComputationStrategy.LATENCY;
 import static org.openkilda.model.PathComputationStrategy.MAX_LATENCY;
 
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.FlowPath;
 import org.openkilda.model.PathComputationStrategy;
 import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.FlowPathsResult;
 import org.openkilda.pce.GetPathsResult;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.PathComputer;
@@ -38,6 +42,8 @@ import org.openkilda.pce.model.Edge;
 import org.openkilda.pce.model.FindPathResult;
 import org.openkilda.pce.model.PathWeight;
 import org.openkilda.pce.model.WeightFunction;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
+import org.openkilda.persistence.repositories.IslRepository.IslImmutableView;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -46,8 +52,10 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -62,24 +70,37 @@ public class InMemoryPathComputer implements PathComputer {
     private final AvailableNetworkFactory availableNetworkFactory;
     private final PathFinder pathFinder;
     private final PathComputerConfig config;
+    private final Comparator<Flow> batchOrder;
 
     public InMemoryPathComputer(AvailableNetworkFactory availableNetworkFactory, PathFinder pathFinder,
                                 PathComputerConfig config) {
         this.availableNetworkFactory = availableNetworkFactory;
         this.pathFinder = pathFinder;
         this.config = config;
+
+        batchOrder = ((Comparator<Flow>) this::comparePriority)
+                .thenComparing(InMemoryPathComputer::compareAvailableBandwidth)
+                .thenComparing(Flow::getTimeCreate, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(Flow::getFlowId);
+    }
+
+    @Override
+    public void updateIslAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                            long availableBandwidth) {
+        availableNetworkFactory.updateIslAvailableBandwidth(srcSwitchId, srcPort, dstSwitchId, dstPort,
+                availableBandwidth);
     }
 
     @Override
     public GetPathsResult getPath(
             Flow flow, Collection<PathId> reusePathsResources, PathComputationStrategy... backUpStrategies)
             throws UnroutableFlowException, RecoverableException {
-        List<PathComputationStrategy> strategies = new ArrayList<>();
-        strategies.add(flow.getPathComputationStrategy());
-        strategies.addAll(Arrays.asList(backUpStrategies));
-
         AvailableNetwork network = availableNetworkFactory.getAvailableNetwork(flow, reusePathsResources);
+        return getPath(network, flow, getStrategies(flow, backUpStrategies));
+    }
 
+    private GetPathsResult getPath(AvailableNetwork network, Flow flow, List<PathComputationStrategy> strategies)
+            throws UnroutableFlowException {
         for (int i = 0; i < strategies.size() - 1; i++) {
             try {
                 return getPath(network, flow, strategies.get(i));
@@ -120,6 +141,103 @@ public class InMemoryPathComputer implements PathComputer {
                 strategy, flow.getPathComputationStrategy());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p/>
+     * Flows are ordered the same way the reroute queue does: by priority (flows without priority get the default
+     * one), then flows which don't balance by available bandwidth go before the ones which do, the latter by
+     * bandwidth descending, so big flows are placed while the network is less loaded, then by creation time.
+     * <p/>
+     * Diversity groups are taken into account according to the persisted paths, the paths found for other flows of
+     * the same batch are not considered.
+     */
+    @Override
+    public List<FlowPathsResult> getPaths(List<Flow> flows, Collection<PathId> reusePathsResources,
+                                          PathComputationStrategy... backUpStrategies) throws RecoverableException {
+        List<Flow> orderedFlows = new ArrayList<>(flows);
+        orderedFlows.sort(batchOrder);
+
+        Map<FlowEncapsulationType, Collection<IslImmutableView>> activeIsls = new HashMap<>();
+        Map<IslEndpoints, Long> allocatedBandwidth = new HashMap<>();
+        List<FlowPathsResult> results = new ArrayList<>(orderedFlows.size());
+        for (Flow flow : orderedFlows) {
+            Collection<IslImmutableView> isls = activeIsls.get(flow.getEncapsulationType());
+            if (isls == null) {
+                isls = availableNetworkFactory.getActiveIsls(flow.getEncapsulationType());
+                activeIsls.put(flow.getEncapsulationType(), isls);
+            }
+
+            Map<IslEndpoints, Long> reusableBandwidth = getReusableBandwidth(flow, reusePathsResources);
+            AvailableNetwork network = availableNetworkFactory.getAvailableNetwork(flow, isls, reusableBandwidth,
+                    allocatedBandwidth);
+            try {
+                GetPathsResult paths = getPath(network, flow, getStrategies(flow, backUpStrategies));
+                if (!flow.isIgnoreBandwidth()) {
+                    allocateBandwidth(paths.getForward(), flow.getBandwidth(), reusableBandwidth, allocatedBandwidth);
+                    allocateBandwidth(paths.getReverse(), flow.getBandwidth(), reusableBandwidth, allocatedBandwidth);
+                }
+                results.add(FlowPathsResult.builder().flowId(flow.getFlowId()).paths(paths).build());
+            } catch (UnroutableFlowException e) {
+                log.warn("No path found for flow '{}' in the batch: {}", flow.getFlowId(), e.getMessage());
+                results.add(FlowPathsResult.builder().flowId(flow.getFlowId()).error(e).build());
+            }
+        }
+        return results;
+    }
+
+    private int comparePriority(Flow flowA, Flow flowB) {
+        int priorityA = Optional.ofNullable(flowA.getPriority()).orElse(config.getDefaultFlowPriority());
+        int priorityB = Optional.ofNullable(flowB.getPriority()).orElse(config.getDefaultFlowPriority());
+        return Integer.compare(priorityA, priorityB);
+    }
+
+    private static int compareAvailableBandwidth(Flow flowA, Flow flowB) {
+        boolean balancedA = flowA.getPathComputationStrategy() == COST_AND_AVAILABLE_BANDWIDTH;
+        boolean balancedB = flowB.getPathComputationStrategy() == COST_AND_AVAILABLE_BANDWIDTH;
+        if (balancedA && balancedB) {
+            return Long.compare(flowB.getBandwidth(), flowA.getBandwidth());
+        }
+        return Boolean.compare(balancedA, balancedB);
+    }
+
+    private List<PathComputationStrategy> getStrategies(Flow flow, PathComputationStrategy... backUpStrategies) {
+        List<PathComputationStrategy> strategies = new ArrayList<>();
+        strategies.add(flow.getPathComputationStrategy());
+        strategies.addAll(Arrays.asList(backUpStrategies));
+        return strategies;
+    }
+
+    private Map<IslEndpoints, Long> getReusableBandwidth(Flow flow, Collection<PathId> reusePathsResources) {
+        Map<IslEndpoints, Long> result = new HashMap<>();
+        if (flow.isIgnoreBandwidth()) {
+            return result;
+        }
+        for (FlowPath path : flow.getPaths()) {
+            if (path.isIgnoreBandwidth() || !reusePathsResources.contains(path.getPathId())) {
+                continue;
+            }
+            for (PathSegment segment : path.getSegments()) {
+                IslEndpoints endpoints = new IslEndpoints(segment.getSrcSwitchId().toString(), segment.getSrcPort(),
+                        segment.getDestSwitchId().toString(), segment.getDestPort());
+                result.merge(endpoints, segment.getBandwidth(), Long::sum);
+            }
+        }
+        return result;
+    }
+
+    private void allocateBandwidth(Path path, long bandwidth, Map<IslEndpoints, Long> reusableBandwidth,
+                                   Map<IslEndpoints, Long> allocatedBandwidth) {
+        for (Path.Segment segment : path.getSegments()) {
+            IslEndpoints endpoints = new IslEndpoints(segment.getSrcSwitchId().toString(), segment.getSrcPort(),
+                    segment.getDestSwitchId().toString(), segment.getDestPort());
+            // The bandwidth reused by the flow is already deducted from the ISL.
+            long required = Math.max(0, bandwidth - reusableBandwidth.getOrDefault(endpoints, 0L));
+            if (required > 0) {
+                allocatedBandwidth.merge(endpoints, required, Long::sum);
+            }
+        }
+    }
+
     private FindPathResult findPathInNetwork(Flow flow, AvailableNetwork network,
                                              WeightFunction weightFunction,
                                              PathComputationStrategy strategy)
@@ -0,0 +1,251 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.model;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.IslEndpoint;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.repositories.IslRepository.IslImmutableView;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Versioned state of the network used for path computation: active ISLs between active switches and transit
+ * encapsulation types supported by these switches.
+ * <p/>
+ * The set of ISLs is immutable, removal of ISLs produces a new snapshot with the next version. Available bandwidth
+ * is updated in place: the affected ISL is copied with the new value and replaces the old copy, so a reader always
+ * sees consistent data of each ISL without the whole snapshot being copied on every resource allocation.
+ */
+@ToString(of = {"version", "createdAt"})
+public final class NetworkSnapshot {
+    @Getter
+    private final long version;
+    @Getter
+    private final long createdAt;
+
+    private final Map<LinkKey, AtomicReference<Link>> links;
+    private final Map<SwitchId, Set<FlowEncapsulationType>> switchEncapsulationTypes;
+
+    private NetworkSnapshot(long version, long createdAt, Map<LinkKey, AtomicReference<Link>> links,
+                            Map<SwitchId, Set<FlowEncapsulationType>> switchEncapsulationTypes) {
+        this.version = version;
+        this.createdAt = createdAt;
+        this.links = Collections.unmodifiableMap(links);
+        this.switchEncapsulationTypes = switchEncapsulationTypes;
+    }
+
+    /**
+     * Creates a snapshot from the passed active ISLs and active switches. ISLs data is copied, so the snapshot
+     * doesn't refer to the persistence layer.
+     *
+     * @param version the version of the snapshot.
+     * @param createdAt the time (in millis) the data was loaded at.
+     * @param activeIsls active ISLs.
+     * @param switchEncapsulationTypes active switches with supported transit encapsulation types.
+     */
+    public static NetworkSnapshot create(long version, long createdAt, Collection<IslImmutableView> activeIsls,
+                                         Map<SwitchId, Set<FlowEncapsulationType>> switchEncapsulationTypes) {
+        Map<LinkKey, AtomicReference<Link>> links = new HashMap<>();
+        for (IslImmutableView isl : activeIsls) {
+            if (switchEncapsulationTypes.containsKey(isl.getSrcSwitchId())
+                    && switchEncapsulationTypes.containsKey(isl.getDestSwitchId())) {
+                Link link = Link.of(isl);
+                links.put(link.getKey(), new AtomicReference<>(link));
+            }
+        }
+        return new NetworkSnapshot(version, createdAt, links,
+                Collections.unmodifiableMap(new HashMap<>(switchEncapsulationTypes)));
+    }
+
+    /**
+     * Finds active ISLs which support the encapsulation type and have enough available bandwidth.
+     *
+     * @param requiredBandwidth required bandwidth amount that should be available on ISLs.
+     * @param flowEncapsulationType required encapsulation support.
+     * @param ignoreBandwidth whether the available bandwidth should not be checked.
+     */
+    public List<IslImmutableView> findActiveIsls(long requiredBandwidth, FlowEncapsulationType flowEncapsulationType,
+                                                 boolean ignoreBandwidth) {
+        List<IslImmutableView> result = new ArrayList<>();
+        for (AtomicReference<Link> slot : links.values()) {
+            Link link = slot.get();
+            if (isAvailable(link, requiredBandwidth, flowEncapsulationType, ignoreBandwidth)) {
+                result.add(link);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds active ISLs which support the encapsulation type and have enough available bandwidth in both directions.
+     *
+     * @param requiredBandwidth required bandwidth amount that should be available on ISLs.
+     * @param flowEncapsulationType required encapsulation support.
+     */
+    public List<IslImmutableView> findSymmetricActiveIsls(long requiredBandwidth,
+                                                          FlowEncapsulationType flowEncapsulationType) {
+        List<IslImmutableView> result = new ArrayList<>();
+        for (AtomicReference<Link> slot : links.values()) {
+            Link link = slot.get();
+            Link reverse = getLink(link.getKey().reverse());
+            if (reverse != null
+                    && isAvailable(link, requiredBandwidth, flowEncapsulationType, false)
+                    && isAvailable(reverse, requiredBandwidth, flowEncapsulationType, false)) {
+                result.add(link);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds active ISLs occupied by the path segments, taking the bandwidth already occupied by the segments into
+     * account.
+     *
+     * @param segments the path segments.
+     * @param requiredBandwidth required bandwidth amount that should be available on ISLs.
+     * @param flowEncapsulationType required encapsulation support.
+     */
+    public List<IslImmutableView> findActiveIslsBySegments(Collection<PathSegment> segments, long requiredBandwidth,
+                                                           FlowEncapsulationType flowEncapsulationType) {
+        List<IslImmutableView> result = new ArrayList<>();
+        for (PathSegment segment : segments) {
+            Link link = getLink(new LinkKey(segment.getSrcSwitchId(), segment.getSrcPort(),
+                    segment.getDestSwitchId(), segment.getDestPort()));
+            if (link != null && isAvailable(link, requiredBandwidth - segment.getBandwidth(),
+                    flowEncapsulationType, false)) {
+                result.add(link);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Updates available bandwidth of the ISL. Only the affected ISL is copied, unknown ISLs are ignored.
+     *
+     * @return true if the ISL is known and its available bandwidth has been changed.
+     */
+    public boolean updateAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                            long availableBandwidth) {
+        AtomicReference<Link> slot = links.get(new LinkKey(srcSwitchId, srcPort, dstSwitchId, dstPort));
+        if (slot == null) {
+            return false;
+        }
+        Link current = slot.get();
+        if (current.getAvailableBandwidth() == availableBandwidth) {
+            return false;
+        }
+        slot.set(current.toBuilder().availableBandwidth(availableBandwidth).build());
+        return true;
+    }
+
+    /**
+     * Produces a snapshot without ISLs (in both directions) terminated on the passed endpoints. The produced
+     * snapshot shares the remaining ISLs with this one.
+     */
+    public NetworkSnapshot withoutIslsAt(Collection<IslEndpoint> endpoints) {
+        Map<LinkKey, AtomicReference<Link>> updated = new HashMap<>(links);
+        boolean removed = updated.keySet().removeIf(key -> endpoints.stream().anyMatch(key::isTerminatedAt));
+        if (!removed) {
+            return this;
+        }
+        return new NetworkSnapshot(version + 1, createdAt, updated, switchEncapsulationTypes);
+    }
+
+    public int getIslCount() {
+        return links.size();
+    }
+
+    private Link getLink(LinkKey key) {
+        AtomicReference<Link> slot = links.get(key);
+        return slot != null ? slot.get() : null;
+    }
+
+    private boolean isAvailable(Link link, long requiredBandwidth, FlowEncapsulationType flowEncapsulationType,
+                                boolean ignoreBandwidth) {
+        return (ignoreBandwidth || link.getAvailableBandwidth() >= requiredBandwidth)
+                && supportsEncapsulation(link.getSrcSwitchId(), flowEncapsulationType)
+                && supportsEncapsulation(link.getDestSwitchId(), flowEncapsulationType);
+    }
+
+    private boolean supportsEncapsulation(SwitchId switchId, FlowEncapsulationType flowEncapsulationType) {
+        Set<FlowEncapsulationType> supported = switchEncapsulationTypes.get(switchId);
+        return supported != null && supported.contains(flowEncapsulationType);
+    }
+
+    @Value
+    private static class LinkKey {
+        @NonNull SwitchId srcSwitchId;
+        int srcPort;
+        @NonNull SwitchId destSwitchId;
+        int destPort;
+
+        LinkKey reverse() {
+            return new LinkKey(destSwitchId, destPort, srcSwitchId, srcPort);
+        }
+
+        boolean isTerminatedAt(IslEndpoint endpoint) {
+            return (srcSwitchId.equals(endpoint.getSwitchId()) && srcPort == endpoint.getPortNumber())
+                    || (destSwitchId.equals(endpoint.getSwitchId()) && destPort == endpoint.getPortNumber());
+        }
+    }
+
+    /**
+     * A detached copy of ISL data, it doesn't refer to the persistence layer.
+     */
+    @Value
+    @Builder(toBuilder = true)
+    @EqualsAndHashCode(of = {"srcSwitchId", "srcPort", "destSwitchId", "destPort"})
+    private static class Link implements IslImmutableView {
+        SwitchId srcSwitchId;
+        int srcPort;
+        String srcPop;
+        SwitchId destSwitchId;
+        int destPort;
+        String destPop;
+        long latency;
+        int cost;
+        long availableBandwidth;
+        boolean underMaintenance;
+        boolean unstable;
+
+        static Link of(IslImmutableView isl) {
+            return new Link(isl.getSrcSwitchId(), isl.getSrcPort(), isl.getSrcPop(),
+                    isl.getDestSwitchId(), isl.getDestPort(), isl.getDestPop(),
+                    isl.getLatency(), isl.getCost(), isl.getAvailableBandwidth(),
+                    isl.isUnderMaintenance(), isl.isUnstable());
+        }
+
+        LinkKey getKey() {
+            return new LinkKey(srcSwitchId, srcPort, destSwitchId, destPort);
+        }
+    }
+}
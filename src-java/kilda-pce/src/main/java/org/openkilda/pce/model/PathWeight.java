@@ -54,6 +54,18 @@ public class PathWeight implements Comparable<PathWeight> {
         return new PathWeight(result);
     }
 
+    /**
+     * Replace negative params with zeros.
+     * @return new path weight with no negative params.
+     */
+    public PathWeight toNonNegative() {
+        List<Long> result = new ArrayList<>(params.size());
+        for (Long param : params) {
+            result.add(Math.max(param, 0L));
+        }
+        return new PathWeight(result);
+    }
+
     /**
      * Simple scalar representation of weight.
      * @return scalar weight representation.
@@ -62,6 +74,23 @@ public class PathWeight implements Comparable<PathWeight> {
         return params.size() > 0 ? params.get(0) : 0;
     }
 
+    /**
+     * Number of params in the weight vector.
+     * @return params count.
+     */
+    public int getParamCount() {
+        return params.size();
+    }
+
+    /**
+     * Param of the weight vector.
+     * @param index the param index.
+     * @return the param value.
+     */
+    public long getParam(int index) {
+        return params.get(index);
+    }
+
     @Override
     public int compareTo(PathWeight o) {
         int firstSize = params.size();
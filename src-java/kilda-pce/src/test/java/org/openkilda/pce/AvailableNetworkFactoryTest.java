@@ -18,6 +18,7 @@ package org.openkilda.pce;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import org.openkilda.model.Flow;
@@ -31,6 +32,7 @@ import org.openkilda.pce.AvailableNetworkFactory.BuildStrategy;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.impl.AvailableNetwork;
 import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.NetworkSnapshot;
 import org.openkilda.pce.model.Node;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
@@ -45,8 +47,11 @@ import org.mockito.MockitoAnnotations;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public class AvailableNetworkFactoryTest {
 
@@ -228,6 +233,27 @@ public class AvailableNetworkFactoryTest {
         assertAvailableNetworkIsCorrect(isl, availableNetwork);
     }
 
+    @Test
+    public void shouldBuildAvailableNetworkFromNetworkSnapshot() throws RecoverableException {
+        Flow flow = getFlow(false);
+        IslImmutableView isl = getIslView(flow);
+        Set<FlowEncapsulationType> encapsulationTypes = Collections.singleton(FlowEncapsulationType.TRANSIT_VLAN);
+        Map<SwitchId, Set<FlowEncapsulationType>> switches = new HashMap<>();
+        switches.put(flow.getSrcSwitchId(), encapsulationTypes);
+        switches.put(flow.getDestSwitchId(), encapsulationTypes);
+
+        NetworkSnapshot snapshot = NetworkSnapshot.create(1, 0, Collections.singletonList(isl), switches);
+        NetworkSnapshotCache networkSnapshotCache = mock(NetworkSnapshotCache.class);
+        when(networkSnapshotCache.getSnapshot()).thenReturn(snapshot);
+        when(config.getNetworkStrategy()).thenReturn("COST");
+
+        AvailableNetwork availableNetwork = new AvailableNetworkFactory(config, repositoryFactory, networkSnapshotCache)
+                .getAvailableNetwork(flow, Collections.emptyList());
+
+        assertAvailableNetworkIsCorrect(isl, availableNetwork);
+        verifyZeroInteractions(islRepository);
+    }
+
     private static Flow getFlow(boolean ignoreBandwidth) {
         return Flow.builder()
                 .flowId("test-id")
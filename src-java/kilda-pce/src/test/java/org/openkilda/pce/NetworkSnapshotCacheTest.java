@@ -0,0 +1,226 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.IslEndpoint;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.pce.model.NetworkSnapshot;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslImmutableView;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class NetworkSnapshotCacheTest {
+    private static final SwitchId SWITCH_ID_1 = new SwitchId(1);
+    private static final SwitchId SWITCH_ID_2 = new SwitchId(2);
+    private static final SwitchId SWITCH_ID_3 = new SwitchId(3);
+    private static final Switch SWITCH_1 = Switch.builder().switchId(SWITCH_ID_1).build();
+    private static final Switch SWITCH_2 = Switch.builder().switchId(SWITCH_ID_2).build();
+    private static final Switch SWITCH_3 = Switch.builder().switchId(SWITCH_ID_3).build();
+    private static final Duration TTL = Duration.ofSeconds(10);
+
+    @Mock
+    private RepositoryFactory repositoryFactory;
+    @Mock
+    private IslRepository islRepository;
+    @Mock
+    private SwitchRepository switchRepository;
+    @Mock
+    private SwitchPropertiesRepository switchPropertiesRepository;
+    @Mock
+    private Clock clock;
+
+    private NetworkSnapshotCache cache;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+
+        when(repositoryFactory.createIslRepository()).thenReturn(islRepository);
+        when(repositoryFactory.createSwitchRepository()).thenReturn(switchRepository);
+        when(repositoryFactory.createSwitchPropertiesRepository()).thenReturn(switchPropertiesRepository);
+
+        // Topology: SW1 (transit vlan and vxlan) === SW2 (transit vlan) === SW3 (transit vlan)
+        when(switchRepository.findActive()).thenReturn(Lists.newArrayList(SWITCH_1, SWITCH_2, SWITCH_3));
+        when(switchPropertiesRepository.findAll()).thenReturn(Lists.newArrayList(
+                getSwitchProperties(SWITCH_1, FlowEncapsulationType.TRANSIT_VLAN, FlowEncapsulationType.VXLAN),
+                getSwitchProperties(SWITCH_2, FlowEncapsulationType.TRANSIT_VLAN),
+                getSwitchProperties(SWITCH_3, FlowEncapsulationType.TRANSIT_VLAN)));
+        List<IslImmutableView> isls = Lists.newArrayList(
+                getIslView(SWITCH_ID_1, 1, SWITCH_ID_2, 1, 1000),
+                getIslView(SWITCH_ID_2, 1, SWITCH_ID_1, 1, 1000),
+                getIslView(SWITCH_ID_2, 2, SWITCH_ID_3, 1, 1000),
+                getIslView(SWITCH_ID_3, 1, SWITCH_ID_2, 2, 100));
+        when(islRepository.findAllActive()).thenReturn(isls);
+
+        when(clock.millis()).thenReturn(1000L);
+        cache = new NetworkSnapshotCache(repositoryFactory, TTL, clock);
+    }
+
+    @Test
+    public void shouldFilterIslsByBandwidthAndEncapsulation() {
+        NetworkSnapshot snapshot = cache.getSnapshot();
+
+        assertEquals(4, snapshot.getIslCount());
+        assertEquals(4, snapshot.findActiveIsls(100, FlowEncapsulationType.TRANSIT_VLAN, false).size());
+        assertEquals(3, snapshot.findActiveIsls(500, FlowEncapsulationType.TRANSIT_VLAN, false).size());
+        assertEquals(4, snapshot.findActiveIsls(500, FlowEncapsulationType.TRANSIT_VLAN, true).size());
+        assertEquals(0, snapshot.findActiveIsls(100, FlowEncapsulationType.VXLAN, false).size());
+        assertEquals(2, snapshot.findSymmetricActiveIsls(500, FlowEncapsulationType.TRANSIT_VLAN).size());
+    }
+
+    @Test
+    public void shouldTakeReusedBandwidthIntoAccount() {
+        PathSegment segment = PathSegment.builder()
+                .pathId(new PathId("path_1"))
+                .srcSwitch(SWITCH_3).srcPort(1)
+                .destSwitch(SWITCH_2).destPort(2)
+                .bandwidth(400)
+                .build();
+
+        Collection<IslImmutableView> isls = cache.getSnapshot().findActiveIslsBySegments(
+                Collections.singletonList(segment), 500, FlowEncapsulationType.TRANSIT_VLAN);
+
+        assertEquals(1, isls.size());
+        assertEquals(SWITCH_ID_3, isls.iterator().next().getSrcSwitchId());
+    }
+
+    @Test
+    public void shouldReuseSnapshotUntilTtlExpires() {
+        NetworkSnapshot snapshot = cache.getSnapshot();
+        when(clock.millis()).thenReturn(1000L + TTL.toMillis() - 1);
+        assertSame(snapshot, cache.getSnapshot());
+        verify(islRepository, times(1)).findAllActive();
+
+        when(clock.millis()).thenReturn(1000L + TTL.toMillis());
+        NetworkSnapshot reloaded = cache.getSnapshot();
+        verify(islRepository, times(2)).findAllActive();
+        assertEquals(snapshot.getVersion() + 1, reloaded.getVersion());
+    }
+
+    @Test
+    public void shouldUpdateIslAvailableBandwidth() {
+        NetworkSnapshot snapshot = cache.getSnapshot();
+
+        cache.updateIslAvailableBandwidth(SWITCH_ID_1, 1, SWITCH_ID_2, 1, 10);
+
+        // the ISL is updated in place, the snapshot is not copied
+        assertSame(snapshot, cache.getSnapshot());
+        assertEquals(2, snapshot.findActiveIsls(500, FlowEncapsulationType.TRANSIT_VLAN, false).size());
+        verify(islRepository, times(1)).findAllActive();
+    }
+
+    @Test
+    public void shouldUpdateIslAvailableBandwidthReleasedByDeallocation() {
+        NetworkSnapshot snapshot = cache.getSnapshot();
+
+        cache.updateIslAvailableBandwidth(SWITCH_ID_3, 1, SWITCH_ID_2, 2, 1000);
+
+        assertEquals(4, snapshot.findActiveIsls(500, FlowEncapsulationType.TRANSIT_VLAN, false).size());
+        verify(islRepository, times(1)).findAllActive();
+    }
+
+    @Test
+    public void shouldShareIslsWithSnapshotProducedByRemoval() {
+        NetworkSnapshot snapshot = cache.getSnapshot();
+        cache.removeIslsAt(Collections.singleton(new IslEndpoint(SWITCH_ID_2, 2)), 1000L);
+        NetworkSnapshot updated = cache.getSnapshot();
+
+        cache.updateIslAvailableBandwidth(SWITCH_ID_1, 1, SWITCH_ID_2, 1, 10);
+
+        assertEquals(snapshot.getVersion() + 1, updated.getVersion());
+        assertEquals(1, updated.findActiveIsls(500, FlowEncapsulationType.TRANSIT_VLAN, false).size());
+        assertEquals(2, snapshot.findActiveIsls(500, FlowEncapsulationType.TRANSIT_VLAN, false).size());
+    }
+
+    @Test
+    public void shouldRemoveIslsTerminatedOnFailedEndpoint() {
+        cache.getSnapshot();
+
+        cache.removeIslsAt(Collections.singleton(new IslEndpoint(SWITCH_ID_2, 2)), 1000L);
+
+        NetworkSnapshot updated = cache.getSnapshot();
+        assertEquals(2, updated.getIslCount());
+        verify(islRepository, times(1)).findAllActive();
+    }
+
+    @Test
+    public void shouldIgnoreEventsOlderThanSnapshot() {
+        NetworkSnapshot snapshot = cache.getSnapshot();
+
+        cache.removeIslsAt(Collections.singleton(new IslEndpoint(SWITCH_ID_2, 2)), 999L);
+        cache.invalidateIfOlderThan(999L);
+
+        assertSame(snapshot, cache.getSnapshot());
+        verify(islRepository, times(1)).findAllActive();
+    }
+
+    @Test
+    public void shouldReloadInvalidatedSnapshot() {
+        NetworkSnapshot snapshot = cache.getSnapshot();
+
+        cache.invalidateIfOlderThan(1000L);
+
+        NetworkSnapshot reloaded = cache.getSnapshot();
+        assertEquals(snapshot.getVersion() + 1, reloaded.getVersion());
+        verify(islRepository, times(2)).findAllActive();
+    }
+
+    private static SwitchProperties getSwitchProperties(Switch sw, FlowEncapsulationType... encapsulationTypes) {
+        return SwitchProperties.builder()
+                .switchObj(sw)
+                .supportedTransitEncapsulation(Sets.newHashSet(encapsulationTypes))
+                .build();
+    }
+
+    private static IslImmutableView getIslView(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                               long availableBandwidth) {
+        IslImmutableView isl = mock(IslImmutableView.class);
+        when(isl.getSrcSwitchId()).thenReturn(srcSwitchId);
+        when(isl.getSrcPort()).thenReturn(srcPort);
+        when(isl.getDestSwitchId()).thenReturn(dstSwitchId);
+        when(isl.getDestPort()).thenReturn(dstPort);
+        when(isl.getCost()).thenReturn(10);
+        when(isl.getAvailableBandwidth()).thenReturn(availableBandwidth);
+        return isl;
+    }
+}
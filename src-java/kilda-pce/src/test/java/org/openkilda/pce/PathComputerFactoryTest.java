@@ -17,7 +17,9 @@ package org.openkilda.pce;
 
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import org.openkilda.pce.PathComputerFactory.PathFinderType;
 import org.openkilda.pce.impl.InMemoryPathComputer;
 
 import org.junit.Test;
@@ -25,9 +27,35 @@ import org.junit.Test;
 public class PathComputerFactoryTest {
     @Test
     public void shouldCreateAnInstance() {
-        PathComputerFactory factory = new PathComputerFactory(
-                mock(PathComputerConfig.class), mock(AvailableNetworkFactory.class));
+        PathComputerConfig config = mock(PathComputerConfig.class);
+        when(config.getPathFinder()).thenReturn(PathFinderType.BEST_WEIGHT_AND_SHORTEST.name());
+        PathComputerFactory factory = new PathComputerFactory(config, mock(AvailableNetworkFactory.class));
         PathComputer pathComputer = factory.getPathComputer();
         assertTrue(pathComputer instanceof InMemoryPathComputer);
     }
+
+    @Test
+    public void shouldCreateAnInstanceWithDijkstraPathFinder() {
+        PathComputerConfig config = mock(PathComputerConfig.class);
+        when(config.getPathFinder()).thenReturn("dijkstra");
+        PathComputerFactory factory = new PathComputerFactory(config, mock(AvailableNetworkFactory.class));
+        PathComputer pathComputer = factory.getPathComputer();
+        assertTrue(pathComputer instanceof InMemoryPathComputer);
+    }
+
+    @Test
+    public void shouldCreateAnInstanceWithCompactPathFinder() {
+        PathComputerConfig config = mock(PathComputerConfig.class);
+        when(config.getPathFinder()).thenReturn(PathFinderType.COMPACT.name());
+        PathComputerFactory factory = new PathComputerFactory(config, mock(AvailableNetworkFactory.class));
+        PathComputer pathComputer = factory.getPathComputer();
+        assertTrue(pathComputer instanceof InMemoryPathComputer);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailOnUnknownPathFinder() {
+        PathComputerConfig config = mock(PathComputerConfig.class);
+        when(config.getPathFinder()).thenReturn("unknown");
+        new PathComputerFactory(config, mock(AvailableNetworkFactory.class)).getPathComputer();
+    }
 }
@@ -36,8 +36,11 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -69,11 +72,19 @@ public class BestWeightAndShortestPathFinderTest {
     private static final SwitchId SWITCH_ID_4 = new SwitchId("00:00:00:00:00:00:00:04");
     private static final SwitchId SWITCH_ID_5 = new SwitchId("00:00:00:00:00:00:00:05");
 
+    protected PathFinder createPathFinder(int allowedDepth) {
+        return createPathFinder(allowedDepth, null);
+    }
+
+    protected PathFinder createPathFinder(int allowedDepth, ForkJoinPool forkJoinPool) {
+        return new BestWeightAndShortestPathFinder(allowedDepth, forkJoinPool);
+    }
+
     @Test
     public void shouldChooseExpensiveOverTooDeep() throws UnroutableFlowException {
         AvailableNetwork network = buildLongAndExpensivePathsNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(2);
+        PathFinder pathFinder = createPathFinder(2);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION).getFoundPath();
         List<Edge> fpath = pairPath.getLeft();
@@ -90,7 +101,7 @@ public class BestWeightAndShortestPathFinderTest {
             throws UnroutableFlowException {
         AvailableNetwork network = buildLongAndExpensivePathsNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(2);
+        PathFinder pathFinder = createPathFinder(2);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_4, SWITCH_ID_1, WEIGHT_FUNCTION).getFoundPath();
         List<Edge> fpath = pairPath.getLeft();
@@ -106,7 +117,7 @@ public class BestWeightAndShortestPathFinderTest {
     public void shouldChooseDeeperOverExpensive() throws UnroutableFlowException {
         AvailableNetwork network = buildLongAndExpensivePathsNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(4);
+        PathFinder pathFinder = createPathFinder(4);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION).getFoundPath();
         List<Edge> fpath = pairPath.getLeft();
@@ -122,7 +133,7 @@ public class BestWeightAndShortestPathFinderTest {
     public void shouldChooseCheaperWithSameDepth() throws UnroutableFlowException {
         AvailableNetwork network = buildLongAndExpensivePathsNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(3);
+        PathFinder pathFinder = createPathFinder(3);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION).getFoundPath();
         List<Edge> fpath = pairPath.getLeft();
@@ -138,7 +149,7 @@ public class BestWeightAndShortestPathFinderTest {
     public void shouldChooseCheaperOverTooDeepMaxWeightStrategy() throws UnroutableFlowException {
         AvailableNetwork network = buildLongAndExpensivePathsNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(2);
+        PathFinder pathFinder = createPathFinder(2);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_3, WEIGHT_FUNCTION,
                         Long.MAX_VALUE, Long.MAX_VALUE).getFoundPath();
@@ -156,7 +167,7 @@ public class BestWeightAndShortestPathFinderTest {
             throws UnroutableFlowException {
         AvailableNetwork network = buildLongAndExpensivePathsNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(2);
+        PathFinder pathFinder = createPathFinder(2);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_3, SWITCH_ID_1, WEIGHT_FUNCTION,
                         Long.MAX_VALUE, Long.MAX_VALUE).getFoundPath();
@@ -173,7 +184,7 @@ public class BestWeightAndShortestPathFinderTest {
     public void shouldChooseDeeperOverCheaperMaxWeightStrategy() throws UnroutableFlowException {
         AvailableNetwork network = buildLongAndExpensivePathsNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(4);
+        PathFinder pathFinder = createPathFinder(4);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_3, WEIGHT_FUNCTION,
                         Long.MAX_VALUE, Long.MAX_VALUE).getFoundPath();
@@ -190,7 +201,7 @@ public class BestWeightAndShortestPathFinderTest {
     public void shouldChooseExpensiveWithSameDepthMaxWeightStrategy() throws UnroutableFlowException {
         AvailableNetwork network = buildLongAndExpensivePathsNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(3);
+        PathFinder pathFinder = createPathFinder(3);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION,
                         Long.MAX_VALUE, Long.MAX_VALUE).getFoundPath();
@@ -228,7 +239,7 @@ public class BestWeightAndShortestPathFinderTest {
     public void shouldFailWhenPathIsLongerThenAllowedDepth() throws UnroutableFlowException {
         AvailableNetwork network = buildTestNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(1);
+        PathFinder pathFinder = createPathFinder(1);
         pathFinder.findPathInNetwork(network, SWITCH_ID_D, SWITCH_ID_F, WEIGHT_FUNCTION);
     }
 
@@ -236,7 +247,7 @@ public class BestWeightAndShortestPathFinderTest {
     public void shouldFailWhenPathIsLongerThenAllowedDepthMaxWeightStrategy() throws UnroutableFlowException {
         AvailableNetwork network = buildTestNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(1);
+        PathFinder pathFinder = createPathFinder(1);
         pathFinder.findPathInNetwork(network, SWITCH_ID_D, SWITCH_ID_F, WEIGHT_FUNCTION,
                 Long.MAX_VALUE, Long.MAX_VALUE);
     }
@@ -245,7 +256,7 @@ public class BestWeightAndShortestPathFinderTest {
     public void shouldReturnTheShortestPath() throws UnroutableFlowException {
         AvailableNetwork network = buildTestNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_E, SWITCH_ID_F, WEIGHT_FUNCTION).getFoundPath();
         List<Edge> fpath = pairPath.getLeft();
@@ -284,7 +295,7 @@ public class BestWeightAndShortestPathFinderTest {
             throws UnroutableFlowException {
         //given 3 paths that cost: 198, 200, 201
         AvailableNetwork network = buildThreePathsNetwork();
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         //when: request a path with maxWeight 201
         FindPathResult pathResult = pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION,
                 maxWeight, backUpMaxWeight);
@@ -324,7 +335,7 @@ public class BestWeightAndShortestPathFinderTest {
             throws UnroutableFlowException {
         //given 3 paths that cost: 198, 200, 201
         AvailableNetwork network = buildThreePathsNetwork();
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         //when: request a path with maxWeight 200
         FindPathResult pathResult = pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION,
                 maxWeight, backUpMaxWeight);
@@ -368,7 +379,7 @@ public class BestWeightAndShortestPathFinderTest {
         addLink(network, SWITCH_ID_2, SWITCH_ID_1, 1, 1, 102, 0, false, false);
         addLink(network, SWITCH_ID_1, SWITCH_ID_2, 2, 2, 101, 0, false, false);
         addLink(network, SWITCH_ID_2, SWITCH_ID_1, 2, 2, 100, 0, false, false);
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         //when: request a path with maxWeight 103
         FindPathResult pathResult = pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_2, WEIGHT_FUNCTION,
                 maxWeight, backUpMaxWeight);
@@ -392,7 +403,7 @@ public class BestWeightAndShortestPathFinderTest {
         addLink(network, SWITCH_ID_2, SWITCH_ID_1, 1, 1, 99, 0, false, false);
         addLink(network, SWITCH_ID_1, SWITCH_ID_2, 2, 2, 100, 0, false, false);
         addLink(network, SWITCH_ID_2, SWITCH_ID_1, 2, 2, 102, 0, false, false);
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         //when: request a best-latency path
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_2, WEIGHT_FUNCTION).getFoundPath();
@@ -409,7 +420,7 @@ public class BestWeightAndShortestPathFinderTest {
     public void shouldFailIfNoPathLessThanMaxWeightOrBackUpMaxWeight() throws UnroutableFlowException {
         //given 3 paths that cost: 198, 200, 201
         AvailableNetwork network = buildThreePathsNetwork();
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         //when: request a path with maxWeight 198
         pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION, 198L, 198L);
         //then: no path found
@@ -421,7 +432,7 @@ public class BestWeightAndShortestPathFinderTest {
 
         SwitchId srcDpid = new SwitchId("00:00:00:00:00:00:00:ff");
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         pathFinder.findPathInNetwork(network, srcDpid, SWITCH_ID_F, WEIGHT_FUNCTION);
     }
 
@@ -431,7 +442,7 @@ public class BestWeightAndShortestPathFinderTest {
 
         SwitchId srcDpid = new SwitchId("00:00:00:00:00:00:00:ff");
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         pathFinder.findPathInNetwork(network, srcDpid, SWITCH_ID_F, WEIGHT_FUNCTION,
                 Long.MAX_VALUE, Long.MAX_VALUE);
     }
@@ -439,7 +450,7 @@ public class BestWeightAndShortestPathFinderTest {
     @Test
     public void testForwardAndBackwardPathsEquality() throws UnroutableFlowException {
         AvailableNetwork network = buildEqualCostsNetwork();
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         Pair<List<Edge>, List<Edge>> paths =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION).getFoundPath();
 
@@ -454,7 +465,7 @@ public class BestWeightAndShortestPathFinderTest {
         // shouldn't affect path if added once
         network.getSwitch(SWITCH_ID_A).increaseDiversityGroupUseCounter();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         Pair<List<Edge>, List<Edge>> paths =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_D, SWITCH_ID_F, WEIGHT_FUNCTION).getFoundPath();
 
@@ -482,7 +493,7 @@ public class BestWeightAndShortestPathFinderTest {
         //switch on '200' path has a diversity weight increase
         network.getSwitch(SWITCH_ID_3).increaseDiversityGroupUseCounter();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         //when: request a path with maxWeight 201
         FindPathResult pathResult = pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION,
                 maxWeight, backUpMaxWeight);
@@ -499,7 +510,7 @@ public class BestWeightAndShortestPathFinderTest {
     @Test
     public void shouldFindSymmetricPath() throws UnroutableFlowException {
         AvailableNetwork network = buildLinearNetworkWithPairLinks();
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(2);
+        PathFinder pathFinder = createPathFinder(2);
 
         Pair<List<Edge>, List<Edge>> pathPair =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_3, WEIGHT_FUNCTION).getFoundPath();
@@ -556,7 +567,7 @@ public class BestWeightAndShortestPathFinderTest {
         // taken into account during searching of reverse path.
         AvailableNetwork network = buildNetworkWithCostInReversePathBiggerThanForward();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         Pair<List<Edge>, List<Edge>> paths =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION).getFoundPath();
 
@@ -583,7 +594,7 @@ public class BestWeightAndShortestPathFinderTest {
         // and the sequence of switches must match the forward path.
         AvailableNetwork network = buildNetworkWithCostInReversePathBiggerThanForward();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         FindPathResult pathResult = pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION,
                 maxWeight, backUpMaxWeight);
         Pair<List<Edge>, List<Edge>> paths = pathResult.getFoundPath();
@@ -629,7 +640,7 @@ public class BestWeightAndShortestPathFinderTest {
     public void shouldHandleVeryExpensiveLinks() throws UnroutableFlowException {
         AvailableNetwork network = buildExpensiveNetwork();
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         Pair<List<Edge>, List<Edge>> paths =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_3, WEIGHT_FUNCTION).getFoundPath();
 
@@ -755,7 +766,7 @@ public class BestWeightAndShortestPathFinderTest {
         // Network without unstable and under maintenance links.
         AvailableNetwork network = buildTestNetworkForVerifyIslConfig(false, false);
 
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         Pair<List<Edge>, List<Edge>> pairPath =
                 pathFinder.findPathInNetwork(network, SWITCH_ID_A, SWITCH_ID_B, WEIGHT_FUNCTION).getFoundPath();
         List<Edge> forwardPath = pairPath.getLeft();
@@ -842,7 +853,7 @@ public class BestWeightAndShortestPathFinderTest {
     @Test
     public void shouldFindNPath() throws UnroutableFlowException {
         AvailableNetwork network = buildTestNetworkForTestYensAlgorithm();
-        BestWeightAndShortestPathFinder pathFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder pathFinder = createPathFinder(ALLOWED_DEPTH);
         List<List<SwitchId>> expectedPaths = new ArrayList<>();
 
         // Cost is 5
@@ -920,6 +931,40 @@ public class BestWeightAndShortestPathFinderTest {
         assertEquals(expectedPaths, convertPaths(paths));
     }
 
+    @Test
+    public void shouldFindSameNPathsInParallel() throws UnroutableFlowException {
+        AvailableNetwork network = buildTestNetworkForTestYensAlgorithm();
+        List<List<Edge>> expectedPaths = createPathFinder(ALLOWED_DEPTH)
+                .findNPathsBetweenSwitches(network, SWITCH_ID_A, SWITCH_ID_F, 500, WEIGHT_FUNCTION);
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            List<List<Edge>> paths = createPathFinder(ALLOWED_DEPTH, forkJoinPool)
+                    .findNPathsBetweenSwitches(network, SWITCH_ID_A, SWITCH_ID_F, 500, WEIGHT_FUNCTION);
+            assertEquals(expectedPaths, paths);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldNotModifyNetworkWhenFindNPaths() throws UnroutableFlowException {
+        AvailableNetwork network = buildTestNetworkForTestYensAlgorithm();
+        List<SwitchId> switchIds = Lists.newArrayList(
+                SWITCH_ID_A, SWITCH_ID_B, SWITCH_ID_C, SWITCH_ID_D, SWITCH_ID_E, SWITCH_ID_F);
+        List<Set<Edge>> expectedLinks = switchIds.stream()
+                .map(switchId -> new HashSet<>(network.getSwitch(switchId).getOutgoingLinks()))
+                .collect(Collectors.toList());
+
+        createPathFinder(ALLOWED_DEPTH)
+                .findNPathsBetweenSwitches(network, SWITCH_ID_A, SWITCH_ID_F, 500, WEIGHT_FUNCTION);
+
+        List<Set<Edge>> links = switchIds.stream()
+                .map(switchId -> new HashSet<>(network.getSwitch(switchId).getOutgoingLinks()))
+                .collect(Collectors.toList());
+        assertEquals(expectedLinks, links);
+    }
+
     private AvailableNetwork buildTestNetworkForTestYensAlgorithm() {
         /*
          *   Topology:
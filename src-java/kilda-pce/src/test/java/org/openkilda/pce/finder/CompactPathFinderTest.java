@@ -0,0 +1,267 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.pce.finder;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.CompactNetwork;
+import org.openkilda.pce.impl.CompactNetwork.EdgeWeights;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.FindPathResult;
+import org.openkilda.pce.model.PathWeight;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the {@link BestWeightAndShortestPathFinderTest} scenarios against {@link CompactPathFinder} and checks that it
+ * finds the same paths as {@link DijkstraPathFinder}.
+ */
+public class CompactPathFinderTest extends BestWeightAndShortestPathFinderTest {
+    private static final WeightFunction COST_WEIGHT_FUNCTION = edge -> new PathWeight(edge.getCost());
+    private static final WeightFunction COST_AND_BANDWIDTH_WEIGHT_FUNCTION =
+            edge -> new PathWeight(edge.getCost(), edge.getAvailableBandwidth());
+    private static final WeightFunction DESTINATION_AWARE_WEIGHT_FUNCTION =
+            edge -> new PathWeight(edge.getCost() + edge.getDestSwitch().getDiversityGroupUseCounter() * 100);
+
+    private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_ID_2 = new SwitchId("00:00:00:00:00:00:00:02");
+    private static final SwitchId SWITCH_ID_3 = new SwitchId("00:00:00:00:00:00:00:03");
+
+    private static final int SWITCH_COUNT = 12;
+    private static final int ALLOWED_DEPTH = 6;
+
+    @Override
+    protected PathFinder createPathFinder(int allowedDepth, ForkJoinPool forkJoinPool) {
+        return new CompactPathFinder(allowedDepth, forkJoinPool);
+    }
+
+    @Test
+    public void shouldBuildCompactNetwork() {
+        AvailableNetwork network = new AvailableNetwork();
+        addLink(network, SWITCH_ID_2, SWITCH_ID_3, 2, 1, 20, 2000);
+        addLink(network, SWITCH_ID_2, SWITCH_ID_1, 1, 1, 10, 1000);
+        addLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 1, 10, 1000);
+
+        CompactNetwork compactNetwork = CompactNetwork.from(network);
+
+        assertEquals(3, compactNetwork.getNodeCount());
+        assertEquals(3, compactNetwork.getEdgeCount());
+        assertEquals(-1, compactNetwork.getNodeIndex(new SwitchId("00:00:00:00:00:00:00:04")));
+
+        int node = compactNetwork.getNodeIndex(SWITCH_ID_2);
+        assertEquals(SWITCH_ID_2, compactNetwork.getSwitchId(node));
+        assertEquals(2, compactNetwork.getLastOutgoingEdge(node) - compactNetwork.getFirstOutgoingEdge(node));
+
+        // outgoing edges are ordered by the destination switch id
+        int edge = compactNetwork.getFirstOutgoingEdge(node);
+        assertEquals(node, compactNetwork.getSrcNode(edge));
+        assertEquals(SWITCH_ID_1, compactNetwork.getSwitchId(compactNetwork.getDestNode(edge)));
+        assertEquals(10, compactNetwork.getCost(edge));
+        assertEquals(1000, compactNetwork.getAvailableBandwidth(edge));
+        int reverseEdge = compactNetwork.getReverseEdge(edge);
+        assertEquals(compactNetwork.getSwitchId(compactNetwork.getSrcNode(reverseEdge)), SWITCH_ID_1);
+        assertEquals(edge, compactNetwork.getReverseEdge(reverseEdge));
+
+        int oneWayEdge = edge + 1;
+        assertEquals(SWITCH_ID_3, compactNetwork.getSwitchId(compactNetwork.getDestNode(oneWayEdge)));
+        assertEquals(-1, compactNetwork.getReverseEdge(oneWayEdge));
+
+        EdgeWeights weights = compactNetwork.computeWeights(COST_AND_BANDWIDTH_WEIGHT_FUNCTION);
+        assertEquals(2, weights.getDimension());
+        assertEquals(20, weights.toLong(oneWayEdge));
+        assertEquals(2000, weights.getParam(oneWayEdge, 1));
+    }
+
+    @Test
+    public void shouldFindSamePathsAsDijkstraPathFinder() throws UnroutableFlowException {
+        Random random = new Random(42);
+        for (int i = 0; i < 50; i++) {
+            AvailableNetwork network = buildRandomNetwork(random);
+            SwitchId start = getSwitchId(random.nextInt(SWITCH_COUNT));
+            SwitchId end = getSwitchId(random.nextInt(SWITCH_COUNT));
+            if (start.equals(end)) {
+                continue;
+            }
+
+            for (WeightFunction weightFunction : new WeightFunction[] {
+                    COST_WEIGHT_FUNCTION, COST_AND_BANDWIDTH_WEIGHT_FUNCTION, DESTINATION_AWARE_WEIGHT_FUNCTION}) {
+                assertSamePath(network, start, end, weightFunction);
+                assertSamePaths(network, start, end, weightFunction);
+            }
+            assertSameMaxWeightPath(network, start, end, 150, 250);
+            assertSameMaxWeightPaths(network, start, end, 150, 250);
+        }
+    }
+
+    @Test
+    public void shouldFindSamePathsAsDijkstraPathFinderInParallel() throws UnroutableFlowException {
+        Random random = new Random(7);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            for (int i = 0; i < 20; i++) {
+                AvailableNetwork network = buildRandomNetwork(random);
+                List<List<Edge>> expected = new DijkstraPathFinder(ALLOWED_DEPTH).findNPathsBetweenSwitches(
+                        network, getSwitchId(0), getSwitchId(SWITCH_COUNT - 1), 5, COST_WEIGHT_FUNCTION);
+                List<List<Edge>> actual = new CompactPathFinder(ALLOWED_DEPTH, forkJoinPool)
+                        .findNPathsBetweenSwitches(network, getSwitchId(0), getSwitchId(SWITCH_COUNT - 1), 5,
+                                COST_WEIGHT_FUNCTION);
+                assertEquals(describePaths(expected), describePaths(actual));
+            }
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    private void assertSamePath(AvailableNetwork network, SwitchId start, SwitchId end,
+                                WeightFunction weightFunction) {
+        String expected;
+        try {
+            expected = describe(new DijkstraPathFinder(ALLOWED_DEPTH)
+                    .findPathInNetwork(network, start, end, weightFunction));
+        } catch (UnroutableFlowException e) {
+            expected = e.getMessage();
+        }
+        String actual;
+        try {
+            actual = describe(new CompactPathFinder(ALLOWED_DEPTH)
+                    .findPathInNetwork(network, start, end, weightFunction));
+        } catch (UnroutableFlowException e) {
+            actual = e.getMessage();
+        }
+        assertEquals(expected, actual);
+    }
+
+    private void assertSameMaxWeightPath(AvailableNetwork network, SwitchId start, SwitchId end,
+                                         long maxWeight, long backUpMaxWeight) {
+        String expected;
+        try {
+            expected = describe(new DijkstraPathFinder(ALLOWED_DEPTH)
+                    .findPathInNetwork(network, start, end, COST_WEIGHT_FUNCTION, maxWeight, backUpMaxWeight));
+        } catch (UnroutableFlowException e) {
+            expected = e.getMessage();
+        }
+        String actual;
+        try {
+            actual = describe(new CompactPathFinder(ALLOWED_DEPTH)
+                    .findPathInNetwork(network, start, end, COST_WEIGHT_FUNCTION, maxWeight, backUpMaxWeight));
+        } catch (UnroutableFlowException e) {
+            actual = e.getMessage();
+        }
+        assertEquals(expected, actual);
+    }
+
+    private void assertSamePaths(AvailableNetwork network, SwitchId start, SwitchId end,
+                                 WeightFunction weightFunction) throws UnroutableFlowException {
+        List<List<Edge>> expected = new DijkstraPathFinder(ALLOWED_DEPTH)
+                .findNPathsBetweenSwitches(network, start, end, 5, weightFunction);
+        List<List<Edge>> actual = new CompactPathFinder(ALLOWED_DEPTH)
+                .findNPathsBetweenSwitches(network, start, end, 5, weightFunction);
+        assertEquals(describePaths(expected), describePaths(actual));
+    }
+
+    private void assertSameMaxWeightPaths(AvailableNetwork network, SwitchId start, SwitchId end,
+                                          long maxWeight, long backUpMaxWeight) throws UnroutableFlowException {
+        List<List<Edge>> expected = new DijkstraPathFinder(ALLOWED_DEPTH).findNPathsBetweenSwitches(
+                network, start, end, 5, COST_WEIGHT_FUNCTION, maxWeight, backUpMaxWeight);
+        List<List<Edge>> actual = new CompactPathFinder(ALLOWED_DEPTH).findNPathsBetweenSwitches(
+                network, start, end, 5, COST_WEIGHT_FUNCTION, maxWeight, backUpMaxWeight);
+        assertEquals(describePaths(expected), describePaths(actual));
+    }
+
+    /**
+     * A network with asymmetric costs and one way links, some switches are used by a diversity group. There are no
+     * parallel links as the network is reduced by weight before a path search, so the order of exploring them is not
+     * defined.
+     */
+    private AvailableNetwork buildRandomNetwork(Random random) {
+        AvailableNetwork network = new AvailableNetwork();
+        for (int i = 0; i < SWITCH_COUNT; i++) {
+            network.getOrAddNode(getSwitchId(i), null);
+            if (random.nextInt(4) == 0) {
+                network.getSwitch(getSwitchId(i)).increaseDiversityGroupUseCounter();
+            }
+        }
+        for (int i = 0; i < SWITCH_COUNT * 2; i++) {
+            int first = random.nextInt(SWITCH_COUNT);
+            int second = random.nextInt(SWITCH_COUNT);
+            if (first == second || isLinked(network, getSwitchId(first), getSwitchId(second))) {
+                continue;
+            }
+            int port = i + 1;
+            long bandwidth = 1000 * (1 + random.nextInt(3));
+            addLink(network, getSwitchId(first), getSwitchId(second), port, port, 1 + random.nextInt(50), bandwidth);
+            if (random.nextInt(5) != 0) {
+                addLink(network, getSwitchId(second), getSwitchId(first), port, port, 1 + random.nextInt(50),
+                        bandwidth);
+            }
+        }
+        return network;
+    }
+
+    private boolean isLinked(AvailableNetwork network, SwitchId first, SwitchId second) {
+        return network.getSwitch(first).getOutgoingLinks().stream()
+                .anyMatch(edge -> edge.getDestSwitch().getSwitchId().equals(second))
+                || network.getSwitch(second).getOutgoingLinks().stream()
+                .anyMatch(edge -> edge.getDestSwitch().getSwitchId().equals(first));
+    }
+
+    private void addLink(AvailableNetwork network, SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort,
+                         int cost, long availableBandwidth) {
+        network.addEdge(Edge.builder()
+                .srcSwitch(network.getOrAddNode(srcDpid, null))
+                .srcPort(srcPort)
+                .destSwitch(network.getOrAddNode(dstDpid, null))
+                .destPort(dstPort)
+                .cost(cost)
+                .availableBandwidth(availableBandwidth)
+                .build());
+    }
+
+    private SwitchId getSwitchId(int index) {
+        return new SwitchId(index + 1);
+    }
+
+    private String describe(FindPathResult result) {
+        return describe(result.getFoundPath().getLeft()) + " / " + describe(result.getFoundPath().getRight())
+                + " / " + result.isBackUpPathComputationWayUsed();
+    }
+
+    /**
+     * Edges are equal by endpoints, the cost shows whether the edge is a network one or a swapped copy.
+     */
+    private String describe(List<Edge> path) {
+        return path.stream()
+                .map(edge -> String.format("%s:%d-%s:%d(%d)", edge.getSrcSwitch().getSwitchId(), edge.getSrcPort(),
+                        edge.getDestSwitch().getSwitchId(), edge.getDestPort(), edge.getCost()))
+                .collect(Collectors.joining(", "));
+    }
+
+    private List<String> describePaths(List<List<Edge>> paths) {
+        return paths.stream()
+                .map(this::describe)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,130 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.PathWeight;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs the {@link BestWeightAndShortestPathFinderTest} scenarios against {@link DijkstraPathFinder}.
+ */
+public class DijkstraPathFinderTest extends BestWeightAndShortestPathFinderTest {
+    private static final WeightFunction COST_WEIGHT_FUNCTION = edge -> new PathWeight(edge.getCost());
+
+    private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_ID_2 = new SwitchId("00:00:00:00:00:00:00:02");
+    private static final SwitchId SWITCH_ID_3 = new SwitchId("00:00:00:00:00:00:00:03");
+    private static final SwitchId SWITCH_ID_4 = new SwitchId("00:00:00:00:00:00:00:04");
+    private static final SwitchId SWITCH_ID_5 = new SwitchId("00:00:00:00:00:00:00:05");
+
+    @Override
+    protected PathFinder createPathFinder(int allowedDepth, ForkJoinPool forkJoinPool) {
+        return new DijkstraPathFinder(allowedDepth, forkJoinPool);
+    }
+
+    @Test
+    public void shouldUseHeavierPathToIntermediateSwitchWhenLighterOneIsTooDeep() throws UnroutableFlowException {
+        AvailableNetwork network = buildCheapDetourNetwork();
+
+        List<Edge> path = new DijkstraPathFinder(2)
+                .findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, COST_WEIGHT_FUNCTION).getFoundPath().getLeft();
+
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_5), getSwitchIds(path));
+    }
+
+    @Test
+    public void shouldUseLighterPathToIntermediateSwitchWhenDepthAllows() throws UnroutableFlowException {
+        AvailableNetwork network = buildCheapDetourNetwork();
+
+        List<Edge> path = new DijkstraPathFinder(4)
+                .findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, COST_WEIGHT_FUNCTION).getFoundPath().getLeft();
+
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_3, SWITCH_ID_4, SWITCH_ID_2, SWITCH_ID_5),
+                getSwitchIds(path));
+    }
+
+    @Test
+    public void shouldTreatNegativeCostAsZero() throws UnroutableFlowException {
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 1, -10);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_3, 2, 1, 1);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_3, 2, 2, 0);
+
+        List<Edge> path = new DijkstraPathFinder(4)
+                .findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_3, COST_WEIGHT_FUNCTION).getFoundPath().getLeft();
+
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_3), getSwitchIds(path));
+    }
+
+    private AvailableNetwork buildCheapDetourNetwork() {
+        /*
+         *   Topology:
+         *
+         *   SW1~~~SW2---SW5
+         *    |     |
+         *   SW3---SW4
+         *
+         *   SW1 - SW2 is expensive by cost.
+         */
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_3, 2, 1, 1);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_4, 2, 1, 1);
+        addBidirectionalLink(network, SWITCH_ID_4, SWITCH_ID_2, 2, 2, 1);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_5, 3, 1, 1);
+        return network;
+    }
+
+    private void addBidirectionalLink(AvailableNetwork network, SwitchId firstSwitch, SwitchId secondSwitch,
+                                      int firstPort, int secondPort, int cost) {
+        addLink(network, firstSwitch, secondSwitch, firstPort, secondPort, cost);
+        addLink(network, secondSwitch, firstSwitch, secondPort, firstPort, cost);
+    }
+
+    private void addLink(AvailableNetwork network, SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort,
+                         int cost) {
+        network.addEdge(Edge.builder()
+                .srcSwitch(network.getOrAddNode(srcDpid, null))
+                .srcPort(srcPort)
+                .destSwitch(network.getOrAddNode(dstDpid, null))
+                .destPort(dstPort)
+                .cost(cost)
+                .availableBandwidth(500000)
+                .build());
+    }
+
+    private List<SwitchId> getSwitchIds(List<Edge> path) {
+        List<SwitchId> switchIds = new ArrayList<>();
+        for (Edge edge : path) {
+            switchIds.add(edge.getSrcSwitch().getSwitchId());
+        }
+        switchIds.add(path.get(path.size() - 1).getDestSwitch().getSwitchId());
+        return switchIds;
+    }
+}
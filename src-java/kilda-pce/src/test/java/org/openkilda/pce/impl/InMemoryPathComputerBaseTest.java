@@ -47,6 +47,7 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchProperties;
 import org.openkilda.model.SwitchStatus;
 import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.FlowPathsResult;
 import org.openkilda.pce.GetPathsResult;
 import org.openkilda.pce.Path;
 import org.openkilda.pce.PathComputer;
@@ -75,6 +76,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 
@@ -265,6 +267,167 @@ public class InMemoryPathComputerBaseTest extends InMemoryGraphBasedTest {
         pathComputer.getPath(flow, flow.getPathIds());
     }
 
+    /**
+     * Checks that paths found for a batch of flows don't overprovision ISLs together.
+     */
+    @Test
+    public void shouldTakeBandwidthOfPreviousFlowsIntoAccountInBatch() throws RecoverableException {
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20, "0B:", 1);
+
+        Switch srcSwitch = getSwitchById("0B:01");
+        Switch destSwitch = getSwitchById("0B:04");
+
+        List<Flow> flows = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            flows.add(new TestFlowBuilder("flow-" + i)
+                    .srcSwitch(srcSwitch)
+                    .destSwitch(destSwitch)
+                    .bandwidth(600)
+                    .ignoreBandwidth(false)
+                    .build());
+        }
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        List<FlowPathsResult> results = pathComputer.getPaths(flows, Collections.emptyList());
+
+        assertEquals(3, results.size());
+        assertEquals("flow-1", results.get(0).getFlowId());
+        assertEquals(new SwitchId("0B:02"),
+                results.get(0).getPaths().getForward().getSegments().get(0).getDestSwitchId());
+        assertEquals("flow-2", results.get(1).getFlowId());
+        assertEquals(new SwitchId("0B:03"),
+                results.get(1).getPaths().getForward().getSegments().get(0).getDestSwitchId());
+        assertEquals("flow-3", results.get(2).getFlowId());
+        assertFalse(results.get(2).isSuccessful());
+        assertNotNull(results.get(2).getError());
+    }
+
+    /**
+     * Checks that flows of a batch are processed in the order of their priority.
+     */
+    @Test
+    public void shouldPlaceFlowsWithHigherPriorityFirstInBatch() throws RecoverableException {
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20, "0C:", 1);
+
+        Switch srcSwitch = getSwitchById("0C:01");
+        Switch destSwitch = getSwitchById("0C:04");
+
+        Flow lowPriorityFlow = new TestFlowBuilder("low-priority-flow")
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .bandwidth(600)
+                .ignoreBandwidth(false)
+                .build();
+        lowPriorityFlow.setPriority(200);
+        Flow highPriorityFlow = new TestFlowBuilder("high-priority-flow")
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .bandwidth(600)
+                .ignoreBandwidth(false)
+                .build();
+        highPriorityFlow.setPriority(100);
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        List<FlowPathsResult> results = pathComputer.getPaths(Lists.newArrayList(lowPriorityFlow, highPriorityFlow),
+                Collections.emptyList());
+
+        assertEquals("high-priority-flow", results.get(0).getFlowId());
+        assertEquals(new SwitchId("0C:02"),
+                results.get(0).getPaths().getForward().getSegments().get(0).getDestSwitchId());
+        assertEquals("low-priority-flow", results.get(1).getFlowId());
+        assertEquals(new SwitchId("0C:03"),
+                results.get(1).getPaths().getForward().getSegments().get(0).getDestSwitchId());
+    }
+
+    /**
+     * Checks that flows of a batch are ordered like in the reroute queue: flows without priority get the default one,
+     * bandwidth matters for flows balanced by available bandwidth only.
+     */
+    @Test
+    public void shouldOrderFlowsInBatchLikeRerouteQueue() throws RecoverableException {
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20, "0D:", 1);
+
+        Switch srcSwitch = getSwitchById("0D:01");
+        Switch destSwitch = getSwitchById("0D:04");
+
+        List<Flow> flows = Lists.newArrayList(
+                buildBatchFlow("f-low-priority", srcSwitch, destSwitch, 2000, COST, 10),
+                buildBatchFlow("e-default-priority", srcSwitch, destSwitch, null, COST, 10),
+                buildBatchFlow("d-balanced-big", srcSwitch, destSwitch, 100, COST_AND_AVAILABLE_BANDWIDTH, 20),
+                buildBatchFlow("c-balanced-small", srcSwitch, destSwitch, 100, COST_AND_AVAILABLE_BANDWIDTH, 10),
+                buildBatchFlow("b-cost-big", srcSwitch, destSwitch, 100, COST, 20),
+                buildBatchFlow("a-cost-small", srcSwitch, destSwitch, 100, COST, 10));
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        List<FlowPathsResult> results = pathComputer.getPaths(flows, Collections.emptyList());
+
+        List<String> processedFlowIds = new ArrayList<>();
+        results.forEach(result -> processedFlowIds.add(result.getFlowId()));
+        assertEquals(Lists.newArrayList("a-cost-small", "b-cost-big", "d-balanced-big", "c-balanced-small",
+                "e-default-priority", "f-low-priority"), processedFlowIds);
+    }
+
+    private Flow buildBatchFlow(String flowId, Switch srcSwitch, Switch destSwitch, Integer priority,
+                                PathComputationStrategy strategy, long bandwidth) {
+        Flow flow = new TestFlowBuilder(flowId)
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .bandwidth(bandwidth)
+                .ignoreBandwidth(false)
+                .pathComputationStrategy(strategy)
+                .build();
+        flow.setPriority(priority);
+        return flow;
+    }
+
+    /**
+     * Checks that a flow of a batch can reuse the bandwidth allocated by its current paths.
+     */
+    @Test
+    public void shouldAlwaysFindPathForExistedFlowInBatch() throws RecoverableException {
+        String flowId = "flow-A1:01-A1:03";
+        long bandwidth = 1000;
+
+        createLinearTopoWithFlowSegments(10, "A1:", 1, 0L,
+                flowId, bandwidth);
+
+        Flow flow = flowRepository.findById(flowId).orElseThrow(() -> new AssertionError("Flow not found"));
+        flow.setBandwidth(bandwidth);
+        flow.setEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN);
+        flow.setPathComputationStrategy(COST);
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        List<FlowPathsResult> results = pathComputer.getPaths(Lists.newArrayList(flow), flow.getPathIds());
+
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).isSuccessful());
+        assertThat(results.get(0).getPaths().getForward().getSegments(), Matchers.hasSize(2));
+        assertThat(results.get(0).getPaths().getReverse().getSegments(), Matchers.hasSize(2));
+    }
+
+    /**
+     * Checks that a flow of a batch doesn't reuse the bandwidth of its paths which are not requested for reuse.
+     */
+    @Test
+    public void shouldNotReuseBandwidthOfNotRequestedPathsInBatch() throws RecoverableException {
+        String flowId = "flow-A2:01-A2:03";
+        long bandwidth = 1000;
+
+        createLinearTopoWithFlowSegments(10, "A2:", 1, 0L,
+                flowId, bandwidth);
+
+        Flow flow = flowRepository.findById(flowId).orElseThrow(() -> new AssertionError("Flow not found"));
+        flow.setBandwidth(bandwidth);
+        flow.setEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN);
+        flow.setPathComputationStrategy(COST);
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        List<FlowPathsResult> results = pathComputer.getPaths(Lists.newArrayList(flow), Collections.emptyList());
+
+        assertEquals(1, results.size());
+        assertFalse(results.get(0).isSuccessful());
+    }
+
     /**
      * Special case: flow with MAX_LATENCY strategy and 'max-latency' set to 0 should pick path with least latency.
      */
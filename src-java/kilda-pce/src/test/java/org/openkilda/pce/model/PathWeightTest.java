@@ -32,6 +32,13 @@ public class PathWeightTest {
         assertEquals(0, actual.compareTo(new PathWeight(3, 9)));
     }
 
+    @Test
+    public void toNonNegative() {
+        PathWeight actual = new PathWeight(-2, 7, -1).toNonNegative();
+
+        assertEquals(0, actual.compareTo(new PathWeight(0, 7, 0)));
+    }
+
     @Test
     public void compareTo() {
         final PathWeight first = new PathWeight(2, 7);
@@ -23,6 +23,13 @@ import java.util.Optional;
 public interface FlowCookieRepository extends Repository<FlowCookie> {
     Collection<FlowCookie> findAll();
 
+    /**
+     * Find the unmasked values of all assigned cookies.
+     *
+     * @return a collection of unmasked cookie values
+     */
+    Collection<Long> findAllUnmaskedCookies();
+
     boolean exists(long unmaskedCookie);
 
     Optional<FlowCookie> findByCookie(long unmaskedCookie);
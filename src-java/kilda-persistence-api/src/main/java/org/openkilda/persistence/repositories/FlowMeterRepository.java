@@ -36,6 +36,14 @@ public interface FlowMeterRepository extends Repository<FlowMeter> {
 
     boolean exists(SwitchId switchId, MeterId meterId);
 
+    /**
+     * Find IDs of the meters which are assigned on the switch.
+     *
+     * @param switchId the switch defines where the meters are applied on.
+     * @return a collection of meter IDs
+     */
+    Collection<MeterId> findMeterIdsBySwitch(SwitchId switchId);
+
     /**
      * Find the first (lowest by value) meter ID which is not assigned to any flow.
      *
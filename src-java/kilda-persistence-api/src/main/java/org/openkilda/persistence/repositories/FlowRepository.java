@@ -32,6 +32,15 @@ public interface FlowRepository extends Repository<Flow> {
      */
     Collection<Flow> findAll();
 
+    /**
+     * Fetches all flows together with their paths, path segments and endpoint switches.
+     * <p/>
+     * Unlike {@link #findAll()}, the related entities are fetched with a few bulk queries instead of a lazy traversal
+     * per entity, so the method is intended for loading the whole set of flows into caches. The returned flows are
+     * detached, changes made to them are not persisted. Switch entities are shared between the returned flows.
+     */
+    Collection<Flow> findAllDetached();
+
     boolean exists(String flowId);
 
     Optional<Flow> findById(String flowId);
@@ -42,6 +51,11 @@ public interface FlowRepository extends Repository<Flow> {
 
     Collection<Flow> findWithPeriodicPingsEnabled();
 
+    /**
+     * Fetches flows with periodic pings enabled in the same way as {@link #findAllDetached()}.
+     */
+    Collection<Flow> findWithPeriodicPingsEnabledDetached();
+
     Collection<Flow> findByEndpoint(SwitchId switchId, int port);
 
     /**
@@ -71,7 +85,7 @@ public interface FlowRepository extends Repository<Flow> {
     Collection<Flow> findInactiveFlows();
 
     /**
-     * Find flows by flow status.
+     * Find flows by flow status. If the filter has a limit, flows are returned page by page ordered by flow id.
      * <p/>
      * IMPORTANT: the method completes the flow entity only with Switch objects (Flow paths will be null)
      */
@@ -108,6 +108,14 @@ public interface IslRepository extends Repository<Isl> {
      */
     long updateAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort);
 
+    /**
+     * Update available bandwidth of the ISLs according to the actual used bandwidth. The used bandwidth is
+     * calculated for all passed ISLs at once.
+     *
+     * @return the endpoints of updated ISLs with the result available bandwidth.
+     */
+    Map<IslEndpoints, Long> updateAvailableBandwidth(Collection<IslEndpoints> islEndpoints);
+
     /**
      * Update ISL available bandwidth according to the actual used bandwidth.
      *
@@ -24,6 +24,13 @@ import java.util.Optional;
 public interface TransitVlanRepository extends Repository<TransitVlan> {
     Collection<TransitVlan> findAll();
 
+    /**
+     * Find the values of all assigned transit vlans.
+     *
+     * @return a collection of vlan values
+     */
+    Collection<Integer> findAllVlans();
+
     Collection<TransitVlan> findByPathId(PathId pathId, PathId oppositePathId);
 
     Optional<TransitVlan> findByPathId(PathId pathId);
@@ -24,6 +24,13 @@ import java.util.Optional;
 public interface VxlanRepository extends Repository<Vxlan> {
     Collection<Vxlan> findAll();
 
+    /**
+     * Find the values of all assigned vxlans.
+     *
+     * @return a collection of VNI values
+     */
+    Collection<Integer> findAllVnis();
+
     Collection<Vxlan> findByPathId(PathId pathId, PathId oppositePathId);
 
     boolean exists(int vxlan);
@@ -25,6 +25,7 @@ import org.openkilda.persistence.ferma.frames.converters.PathIdConverter;
 import org.openkilda.persistence.ferma.repositories.FermaFlowPathRepository;
 import org.openkilda.persistence.orientdb.OrientDbGraphFactory;
 import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 import org.openkilda.persistence.tx.TransactionManager;
 
 import com.syncleus.ferma.FramedGraph;
@@ -32,7 +33,10 @@ import org.apache.tinkerpop.gremlin.orientdb.executor.OGremlinResult;
 import org.apache.tinkerpop.gremlin.orientdb.executor.OGremlinResultSet;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -79,4 +83,43 @@ public class OrientDbFlowPathRepository extends FermaFlowPathRepository {
             return 0;
         }
     }
+
+    @Override
+    protected Map<IslEndpoints, Long> getUsedBandwidthBetweenEndpoints(FramedGraph framedGraph,
+                                                                     Collection<IslEndpoints> islEndpoints) {
+        Map<IslEndpoints, Long> result = new HashMap<>();
+        islEndpoints.forEach(endpoints -> result.put(endpoints, 0L));
+        if (result.isEmpty()) {
+            return result;
+        }
+        Set<String> srcSwitchIds = result.keySet().stream()
+                .map(IslEndpoints::getSrcSwitch)
+                .collect(Collectors.toSet());
+        Set<String> dstSwitchIds = result.keySet().stream()
+                .map(IslEndpoints::getDestSwitch)
+                .collect(Collectors.toSet());
+
+        try (OGremlinResultSet results = orientDbGraphFactory.getOrientGraph().querySql(
+                format("SELECT %s, %s, %s, %s, sum(%s) as bandwidth FROM %s WHERE %s IN ? AND %s IN ? AND %s = ? "
+                                + "GROUP BY %s, %s, %s, %s",
+                        PathSegmentFrame.SRC_SWITCH_ID_PROPERTY, PathSegmentFrame.SRC_PORT_PROPERTY,
+                        PathSegmentFrame.DST_SWITCH_ID_PROPERTY, PathSegmentFrame.DST_PORT_PROPERTY,
+                        PathSegmentFrame.BANDWIDTH_PROPERTY, PathSegmentFrame.FRAME_LABEL,
+                        PathSegmentFrame.SRC_SWITCH_ID_PROPERTY, PathSegmentFrame.DST_SWITCH_ID_PROPERTY,
+                        PathSegmentFrame.IGNORE_BANDWIDTH_PROPERTY,
+                        PathSegmentFrame.SRC_SWITCH_ID_PROPERTY, PathSegmentFrame.SRC_PORT_PROPERTY,
+                        PathSegmentFrame.DST_SWITCH_ID_PROPERTY, PathSegmentFrame.DST_PORT_PROPERTY),
+                srcSwitchIds, dstSwitchIds, false)) {
+            results.stream().forEach(r -> {
+                IslEndpoints endpoints = new IslEndpoints(r.getProperty(PathSegmentFrame.SRC_SWITCH_ID_PROPERTY),
+                        ((Number) r.getProperty(PathSegmentFrame.SRC_PORT_PROPERTY)).intValue(),
+                        r.getProperty(PathSegmentFrame.DST_SWITCH_ID_PROPERTY),
+                        ((Number) r.getProperty(PathSegmentFrame.DST_PORT_PROPERTY)).intValue());
+                Number bandwidth = r.getProperty("bandwidth");
+                // The switch filter may select segments of other ISLs between the same switches.
+                result.computeIfPresent(endpoints, (k, v) -> bandwidth != null ? bandwidth.longValue() : 0L);
+            });
+            return result;
+        }
+    }
 }
@@ -17,7 +17,10 @@ package org.openkilda.persistence.orientdb.repositories;
 
 import static java.lang.String.format;
 
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowFilter;
 import org.openkilda.persistence.ferma.frames.FlowFrame;
+import org.openkilda.persistence.ferma.frames.converters.FlowStatusConverter;
 import org.openkilda.persistence.ferma.repositories.FermaFlowRepository;
 import org.openkilda.persistence.orientdb.OrientDbGraphFactory;
 import org.openkilda.persistence.repositories.FlowPathRepository;
@@ -26,6 +29,14 @@ import org.openkilda.persistence.tx.TransactionManager;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.tinkerpop.gremlin.orientdb.executor.OGremlinResultSet;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * OrientDB implementation of {@link FlowRepository}.
@@ -48,4 +59,46 @@ public class OrientDbFlowRepository extends FermaFlowRepository {
             return results.iterator().hasNext();
         }
     }
+
+    /**
+     * Gets a page of flows by a range scan over the ordered index on flow id (flow_id_ordered), so a page doesn't
+     * sort all flows. Flows are loaded by the ids of the page.
+     */
+    @Override
+    public Collection<Flow> findByFlowFilter(FlowFilter flowFilter) {
+        if (flowFilter.getLimit() == null) {
+            return super.findByFlowFilter(flowFilter);
+        }
+
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        if (flowFilter.getAfterFlowId() != null) {
+            conditions.add(format("%s > ?", FlowFrame.FLOW_ID_PROPERTY));
+            params.add(flowFilter.getAfterFlowId());
+        }
+        if (flowFilter.getFlowStatus() != null) {
+            conditions.add(format("%s = ?", FlowFrame.STATUS_PROPERTY));
+            params.add(FlowStatusConverter.INSTANCE.toGraphProperty(flowFilter.getFlowStatus()));
+        }
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+
+        List<String> flowIds = new ArrayList<>(flowFilter.getLimit());
+        try (OGremlinResultSet results = orientDbGraphFactory.getOrientGraph().querySql(
+                format("SELECT %s FROM %s%s ORDER BY %s LIMIT %d", FlowFrame.FLOW_ID_PROPERTY,
+                        FlowFrame.FRAME_LABEL, where, FlowFrame.FLOW_ID_PROPERTY, flowFilter.getLimit()),
+                params.toArray())) {
+            results.forEach(gs -> flowIds.add(gs.getProperty(FlowFrame.FLOW_ID_PROPERTY)));
+        }
+        if (flowIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return framedGraph().traverse(g -> g.V()
+                .hasLabel(FlowFrame.FRAME_LABEL)
+                .has(FlowFrame.FLOW_ID_PROPERTY, P.within(flowIds)))
+                .toListExplicit(FlowFrame.class).stream()
+                .map(Flow::new)
+                .sorted(Comparator.comparing(Flow::getFlowId))
+                .collect(Collectors.toList());
+    }
 }
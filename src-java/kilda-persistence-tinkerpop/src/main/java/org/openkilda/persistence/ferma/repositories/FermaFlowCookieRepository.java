@@ -51,6 +51,16 @@ public class FermaFlowCookieRepository extends FermaGenericRepository<FlowCookie
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Collection<Long> findAllUnmaskedCookies() {
+        return framedGraph().traverse(g -> g.V()
+                .hasLabel(FlowCookieFrame.FRAME_LABEL)
+                .values(FlowCookieFrame.UNMASKED_COOKIE_PROPERTY))
+                .getRawTraversal().toStream()
+                .map(cookie -> ((Number) cookie).longValue())
+                .collect(Collectors.toList());
+    }
+
     @Override
     public boolean exists(long unmaskedCookie) {
         try (GraphTraversal<?, ?> traversal = framedGraph().traverse(g -> g.V()
@@ -83,6 +83,16 @@ public class FermaFlowMeterRepository extends FermaGenericRepository<FlowMeter,
         }
     }
 
+    @Override
+    public Collection<MeterId> findMeterIdsBySwitch(SwitchId switchId) {
+        return framedGraph().traverse(g -> g.V()
+                .hasLabel(FlowMeterFrame.FRAME_LABEL)
+                .has(FlowMeterFrame.SWITCH_PROPERTY, SwitchIdConverter.INSTANCE.toGraphProperty(switchId))
+                .values(FlowMeterFrame.METER_ID_PROPERTY))
+                .getRawTraversal().toStream()
+                .map(meterId -> MeterIdConverter.INSTANCE.toEntityAttribute(((Number) meterId).longValue()))
+                .collect(Collectors.toList());
+    }
 
     @Override
     public Optional<MeterId> findFirstUnassignedMeter(SwitchId switchId, MeterId lowestMeterId,
@@ -35,11 +35,13 @@ import org.openkilda.persistence.ferma.frames.converters.FlowStatusConverter;
 import org.openkilda.persistence.ferma.frames.converters.PathIdConverter;
 import org.openkilda.persistence.ferma.frames.converters.SwitchIdConverter;
 import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 import org.openkilda.persistence.tx.TransactionManager;
 
 import com.syncleus.ferma.FramedGraph;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -337,6 +339,56 @@ public class FermaFlowPathRepository extends FermaGenericRepository<FlowPath, Fl
         }
     }
 
+    /**
+     * Calculates the used bandwidth for each of the passed endpoints in a single traversal: segments are selected by
+     * the switches of the endpoints and grouped by the ports.
+     *
+     * @return the used bandwidth per endpoints, 0 for the endpoints without segments.
+     */
+    protected Map<IslEndpoints, Long> getUsedBandwidthBetweenEndpoints(FramedGraph framedGraph,
+                                                                     Collection<IslEndpoints> islEndpoints) {
+        Map<IslEndpoints, Long> result = new HashMap<>();
+        islEndpoints.forEach(endpoints -> result.put(endpoints, 0L));
+        if (result.isEmpty()) {
+            return result;
+        }
+        Set<String> srcSwitchIds = result.keySet().stream()
+                .map(IslEndpoints::getSrcSwitch)
+                .collect(Collectors.toSet());
+        Set<String> dstSwitchIds = result.keySet().stream()
+                .map(IslEndpoints::getDestSwitch)
+                .collect(Collectors.toSet());
+
+        try (GraphTraversal<?, ?> traversal = framedGraph.traverse(g -> g.V()
+                .hasLabel(PathSegmentFrame.FRAME_LABEL)
+                .has(PathSegmentFrame.SRC_SWITCH_ID_PROPERTY, P.within(srcSwitchIds))
+                .has(PathSegmentFrame.DST_SWITCH_ID_PROPERTY, P.within(dstSwitchIds))
+                .has(PathSegmentFrame.IGNORE_BANDWIDTH_PROPERTY, false)
+                .group()
+                .by(__.project(PathSegmentFrame.SRC_SWITCH_ID_PROPERTY, PathSegmentFrame.SRC_PORT_PROPERTY,
+                        PathSegmentFrame.DST_SWITCH_ID_PROPERTY, PathSegmentFrame.DST_PORT_PROPERTY)
+                        .by(PathSegmentFrame.SRC_SWITCH_ID_PROPERTY)
+                        .by(PathSegmentFrame.SRC_PORT_PROPERTY)
+                        .by(PathSegmentFrame.DST_SWITCH_ID_PROPERTY)
+                        .by(PathSegmentFrame.DST_PORT_PROPERTY))
+                .by(__.values(PathSegmentFrame.BANDWIDTH_PROPERTY).sum()))
+                .getRawTraversal()) {
+            traversal.tryNext().ifPresent(groups -> ((Map<?, ?>) groups).forEach((key, usedBandwidth) -> {
+                Map<?, ?> endpoints = (Map<?, ?>) key;
+                IslEndpoints islEndpoint = new IslEndpoints(
+                        (String) endpoints.get(PathSegmentFrame.SRC_SWITCH_ID_PROPERTY),
+                        ((Number) endpoints.get(PathSegmentFrame.SRC_PORT_PROPERTY)).intValue(),
+                        (String) endpoints.get(PathSegmentFrame.DST_SWITCH_ID_PROPERTY),
+                        ((Number) endpoints.get(PathSegmentFrame.DST_PORT_PROPERTY)).intValue());
+                // The switch filter may select segments of other ISLs between the same switches.
+                result.computeIfPresent(islEndpoint, (k, v) -> ((Number) usedBandwidth).longValue());
+            }));
+            return result;
+        } catch (Exception e) {
+            throw new PersistenceException("Failed to traverse", e);
+        }
+    }
+
     @Override
     public Optional<FlowPath> remove(PathId pathId) {
         if (transactionManager.isTxOpen()) {
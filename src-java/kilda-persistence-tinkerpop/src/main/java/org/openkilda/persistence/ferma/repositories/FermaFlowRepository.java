@@ -16,16 +16,24 @@
 package org.openkilda.persistence.ferma.repositories;
 
 import org.openkilda.model.Flow;
+import org.openkilda.model.Flow.FlowCloner;
 import org.openkilda.model.Flow.FlowData;
 import org.openkilda.model.FlowFilter;
 import org.openkilda.model.FlowPath;
+import org.openkilda.model.FlowPath.FlowPathCloner;
 import org.openkilda.model.FlowStatus;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.PathSegment.PathSegmentCloner;
+import org.openkilda.model.Switch;
+import org.openkilda.model.Switch.SwitchCloner;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.exceptions.PersistenceException;
 import org.openkilda.persistence.ferma.FramedGraphFactory;
 import org.openkilda.persistence.ferma.frames.FlowFrame;
 import org.openkilda.persistence.ferma.frames.FlowPathFrame;
 import org.openkilda.persistence.ferma.frames.KildaBaseVertexFrame;
+import org.openkilda.persistence.ferma.frames.PathSegmentFrame;
+import org.openkilda.persistence.ferma.frames.SwitchFrame;
 import org.openkilda.persistence.ferma.frames.converters.FlowStatusConverter;
 import org.openkilda.persistence.ferma.frames.converters.SwitchIdConverter;
 import org.openkilda.persistence.repositories.FlowPathRepository;
@@ -33,13 +41,18 @@ import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.tx.TransactionManager;
 import org.openkilda.persistence.tx.TransactionRequired;
 
+import com.google.common.collect.Lists;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -54,6 +67,8 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 public class FermaFlowRepository extends FermaGenericRepository<Flow, FlowData, FlowFrame> implements FlowRepository {
+    private static final int BULK_QUERY_CHUNK_SIZE = 1000;
+
     protected final FlowPathRepository flowPathRepository;
 
     public FermaFlowRepository(FramedGraphFactory<?> graphFactory, FlowPathRepository flowPathRepository,
@@ -82,6 +97,13 @@ public class FermaFlowRepository extends FermaGenericRepository<Flow, FlowData,
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Collection<Flow> findAllDetached() {
+        return loadDetached(framedGraph().traverse(g -> g.V()
+                .hasLabel(FlowFrame.FRAME_LABEL))
+                .toListExplicit(FlowFrame.class), true);
+    }
+
     @Override
     public boolean exists(String flowId) {
         try (GraphTraversal<?, ?> traversal = framedGraph().traverse(g -> g.V()
@@ -135,6 +157,14 @@ public class FermaFlowRepository extends FermaGenericRepository<Flow, FlowData,
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Collection<Flow> findWithPeriodicPingsEnabledDetached() {
+        return loadDetached(framedGraph().traverse(g -> g.V()
+                .hasLabel(FlowFrame.FRAME_LABEL)
+                .has(FlowFrame.PERIODIC_PINGS_PROPERTY, true))
+                .toListExplicit(FlowFrame.class), false);
+    }
+
     @Override
     public Collection<Flow> findByEndpoint(SwitchId switchId, int port) {
         Map<String, Flow> result = new HashMap<>();
@@ -363,6 +393,14 @@ public class FermaFlowRepository extends FermaGenericRepository<Flow, FlowData,
                 traversal = traversal.has(FlowFrame.STATUS_PROPERTY,
                         FlowStatusConverter.INSTANCE.toGraphProperty(flowFilter.getFlowStatus()));
             }
+            if (flowFilter.getAfterFlowId() != null) {
+                traversal = traversal.has(FlowFrame.FLOW_ID_PROPERTY, P.gt(flowFilter.getAfterFlowId()));
+            }
+            if (flowFilter.getLimit() != null) {
+                // the order by flow id makes the dump resumable from the last returned flow
+                traversal = traversal.order().by(FlowFrame.FLOW_ID_PROPERTY, Order.incr)
+                        .limit(flowFilter.getLimit());
+            }
             return traversal;
         }).toListExplicit(FlowFrame.class).stream()
                 .map(Flow::new)
@@ -503,6 +541,97 @@ public class FermaFlowRepository extends FermaGenericRepository<Flow, FlowData,
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Build detached flows from the flow frames. Switches, paths and path segments are fetched by a query per entity
+     * type (per chunk of ids if only a part of flows is loaded) and linked by the reference properties, so the lazy
+     * traversals of the frames are not involved.
+     */
+    private Collection<Flow> loadDetached(List<? extends FlowFrame> flowFrames, boolean allFlows) {
+        Map<String, Switch> switches = framedGraph().traverse(g -> g.V()
+                .hasLabel(SwitchFrame.FRAME_LABEL))
+                .toListExplicit(SwitchFrame.class).stream()
+                .collect(Collectors.toMap(frame -> (String) frame.getProperty(SwitchFrame.SWITCH_ID_PROPERTY),
+                        frame -> new Switch(SwitchCloner.INSTANCE.deepCopy(frame))));
+
+        List<String> flowIds = flowFrames.stream()
+                .map(frame -> (String) frame.getProperty(FlowFrame.FLOW_ID_PROPERTY))
+                .collect(Collectors.toList());
+        List<FlowPathFrame> pathFrames = findByReference(FlowPathFrame.FRAME_LABEL,
+                FlowPathFrame.FLOW_ID_PROPERTY, flowIds, allFlows, FlowPathFrame.class);
+
+        List<String> pathIds = pathFrames.stream()
+                .map(frame -> (String) frame.getProperty(FlowPathFrame.PATH_ID_PROPERTY))
+                .collect(Collectors.toList());
+        Map<String, List<PathSegment>> segmentsByPath = findByReference(PathSegmentFrame.FRAME_LABEL,
+                PathSegmentFrame.PATH_ID_PROPERTY, pathIds, allFlows, PathSegmentFrame.class).stream()
+                .sorted(Comparator.comparingInt(PathSegmentFrame::getSeqId))
+                .collect(Collectors.groupingBy(frame -> (String) frame.getProperty(PathSegmentFrame.PATH_ID_PROPERTY),
+                        Collectors.mapping(frame -> {
+                            PathSegment segment = PathSegment.builder()
+                                    .pathId(frame.getPathId())
+                                    .srcSwitch(getSwitch(switches, frame, PathSegmentFrame.SRC_SWITCH_ID_PROPERTY))
+                                    .destSwitch(getSwitch(switches, frame, PathSegmentFrame.DST_SWITCH_ID_PROPERTY))
+                                    .build();
+                            PathSegmentCloner.INSTANCE.copyWithoutSwitches(frame, segment.getData());
+                            return segment;
+                        }, Collectors.toList())));
+
+        Map<String, List<FlowPath>> pathsByFlow = pathFrames.stream()
+                .collect(Collectors.groupingBy(frame -> (String) frame.getProperty(FlowPathFrame.FLOW_ID_PROPERTY),
+                        Collectors.mapping(frame -> {
+                            FlowPath path = FlowPath.builder()
+                                    .pathId(frame.getPathId())
+                                    .srcSwitch(getSwitch(switches, frame, FlowPathFrame.SRC_SWITCH_ID_PROPERTY))
+                                    .destSwitch(getSwitch(switches, frame, FlowPathFrame.DST_SWITCH_ID_PROPERTY))
+                                    .build();
+                            FlowPathCloner.INSTANCE.copyWithoutSwitchesAndSegments(frame, path.getData());
+                            path.setSegments(segmentsByPath.getOrDefault(
+                                    frame.getProperty(FlowPathFrame.PATH_ID_PROPERTY), Collections.emptyList()));
+                            return path;
+                        }, Collectors.toList())));
+
+        List<Flow> result = new ArrayList<>(flowFrames.size());
+        for (FlowFrame frame : flowFrames) {
+            Flow flow = Flow.builder()
+                    .flowId(frame.getFlowId())
+                    .srcSwitch(getSwitch(switches, frame, FlowFrame.SRC_SWITCH_ID_PROPERTY))
+                    .destSwitch(getSwitch(switches, frame, FlowFrame.DST_SWITCH_ID_PROPERTY))
+                    .build();
+            FlowCloner.INSTANCE.copyWithoutSwitchesAndPaths(frame, flow.getData());
+            flow.addPaths(pathsByFlow.getOrDefault(frame.getFlowId(), Collections.emptyList())
+                    .toArray(new FlowPath[0]));
+            result.add(flow);
+        }
+        return result;
+    }
+
+    private <T extends KildaBaseVertexFrame> List<T> findByReference(
+            String label, String referenceProperty, List<String> references, boolean all, Class<T> frameClass) {
+        if (all) {
+            return new ArrayList<>(framedGraph().traverse(g -> g.V()
+                    .hasLabel(label))
+                    .toListExplicit(frameClass));
+        }
+        List<T> result = new ArrayList<>();
+        for (List<String> chunk : Lists.partition(references, BULK_QUERY_CHUNK_SIZE)) {
+            result.addAll(framedGraph().traverse(g -> g.V()
+                    .hasLabel(label)
+                    .has(referenceProperty, P.within(chunk)))
+                    .toListExplicit(frameClass));
+        }
+        return result;
+    }
+
+    private static Switch getSwitch(Map<String, Switch> switches, KildaBaseVertexFrame frame, String property) {
+        String switchId = frame.getProperty(property);
+        Switch result = switches.get(switchId);
+        if (result == null) {
+            throw new PersistenceException(String.format("The %s %s refers to non-existent switch %s",
+                    frame.getElement().label(), frame.getId(), switchId));
+        }
+        return result;
+    }
+
     @Override
     protected FlowFrame doAdd(FlowData data) {
         FlowFrame frame = KildaBaseVertexFrame.addNewFramedVertex(framedGraph(), FlowFrame.FRAME_LABEL,
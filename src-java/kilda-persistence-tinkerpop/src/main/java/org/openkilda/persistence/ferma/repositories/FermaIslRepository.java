@@ -422,6 +422,35 @@ public class FermaIslRepository extends FermaGenericRepository<Isl, IslData, Isl
         return updatedAvailableBandwidth;
     }
 
+    @Override
+    public Map<IslEndpoints, Long> updateAvailableBandwidth(Collection<IslEndpoints> islEndpoints) {
+        FramedGraph framedGraph = framedGraph();
+
+        Map<IslEndpoints, Long> usedBandwidths =
+                flowPathRepository.getUsedBandwidthBetweenEndpoints(framedGraph, islEndpoints);
+        if (usedBandwidths.isEmpty()) {
+            return usedBandwidths;
+        }
+        Map<IslEndpoints, IslFrame> isls = findIsls(framedGraph, usedBandwidths.keySet());
+
+        Map<IslEndpoints, Long> updatedEndpoints = new HashMap<>();
+        usedBandwidths.forEach((endpoint, usedBandwidth) -> {
+            log.debug("Updating ISL {}_{} - {}_{} with used bandwidth {}", endpoint.getSrcSwitch(),
+                    endpoint.getSrcPort(), endpoint.getDestSwitch(), endpoint.getDestPort(), usedBandwidth);
+
+            IslFrame isl = isls.get(endpoint);
+            if (isl == null) {
+                throw new PersistenceException(format("ISL %s_%d - %s_%d not found to be updated",
+                        endpoint.getSrcSwitch(), endpoint.getSrcPort(), endpoint.getDestSwitch(),
+                        endpoint.getDestPort()));
+            }
+            long updatedAvailableBandwidth = isl.getMaxBandwidth() - usedBandwidth;
+            isl.setAvailableBandwidth(updatedAvailableBandwidth);
+            updatedEndpoints.put(endpoint, updatedAvailableBandwidth);
+        });
+        return updatedEndpoints;
+    }
+
     @Override
     public Map<IslEndpoints, Long> updateAvailableBandwidthOnIslsOccupiedByPath(PathId pathId) {
         FramedGraph framedGraph = framedGraph();
@@ -438,16 +467,32 @@ public class FermaIslRepository extends FermaGenericRepository<Isl, IslData, Isl
                             dstSwitch, frame.getDestPort()));
                 });
 
-        Map<IslEndpoints, Long> updatedEndpoints = new HashMap<>();
-        segmentEndpoints.forEach(endpoint -> {
-            long usedBandwidth = flowPathRepository.getUsedBandwidthBetweenEndpoints(framedGraph,
-                    endpoint.getSrcSwitch(), endpoint.getSrcPort(), endpoint.getDestSwitch(), endpoint.getDestPort());
-            long updatedAvailableBandwidth = updateAvailableBandwidth(framedGraph,
-                    endpoint.getSrcSwitch(), endpoint.getSrcPort(), endpoint.getDestSwitch(), endpoint.getDestPort(),
-                    usedBandwidth);
-            updatedEndpoints.put(endpoint, updatedAvailableBandwidth);
-        });
-        return updatedEndpoints;
+        return updateAvailableBandwidth(segmentEndpoints);
+    }
+
+    private Map<IslEndpoints, IslFrame> findIsls(FramedGraph framedGraph, Set<IslEndpoints> islEndpoints) {
+        Set<String> srcSwitchIds = islEndpoints.stream()
+                .map(IslEndpoints::getSrcSwitch)
+                .collect(Collectors.toSet());
+        Set<String> dstSwitchIds = islEndpoints.stream()
+                .map(IslEndpoints::getDestSwitch)
+                .collect(Collectors.toSet());
+
+        Map<IslEndpoints, IslFrame> result = new HashMap<>();
+        framedGraph.traverse(g -> g.E()
+                .hasLabel(IslFrame.FRAME_LABEL)
+                .has(IslFrame.SRC_SWITCH_ID_PROPERTY, P.within(srcSwitchIds))
+                .has(IslFrame.DST_SWITCH_ID_PROPERTY, P.within(dstSwitchIds)))
+                .frameExplicit(IslFrame.class)
+                .forEachRemaining(frame -> {
+                    IslEndpoints endpoint = new IslEndpoints(frame.getProperty(IslFrame.SRC_SWITCH_ID_PROPERTY),
+                            frame.getSrcPort(), frame.getProperty(IslFrame.DST_SWITCH_ID_PROPERTY),
+                            frame.getDestPort());
+                    if (islEndpoints.contains(endpoint)) {
+                        result.putIfAbsent(endpoint, frame);
+                    }
+                });
+        return result;
     }
 
     /**
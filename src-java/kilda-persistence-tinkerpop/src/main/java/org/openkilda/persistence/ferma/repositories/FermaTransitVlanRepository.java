@@ -54,6 +54,16 @@ public class FermaTransitVlanRepository extends FermaGenericRepository<TransitVl
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Collection<Integer> findAllVlans() {
+        return framedGraph().traverse(g -> g.V()
+                .hasLabel(TransitVlanFrame.FRAME_LABEL)
+                .values(TransitVlanFrame.VLAN_PROPERTY))
+                .getRawTraversal().toStream()
+                .map(vlan -> ((Number) vlan).intValue())
+                .collect(Collectors.toList());
+    }
+
     /**
      * Lookup for {@link FlowPath} object by pathId (or opposite pathId) value.
      *
@@ -53,6 +53,16 @@ public class FermaVxlanRepository extends FermaGenericRepository<Vxlan, VxlanDat
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Collection<Integer> findAllVnis() {
+        return framedGraph().traverse(g -> g.V()
+                .hasLabel(VxlanFrame.FRAME_LABEL)
+                .values(VxlanFrame.VNI_PROPERTY))
+                .getRawTraversal().toStream()
+                .map(vni -> ((Number) vni).intValue())
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Collection<Vxlan> findByPathId(PathId pathId, PathId oppositePathId) {
         List<? extends VxlanFrame> frames = framedGraph().traverse(g -> g.V()
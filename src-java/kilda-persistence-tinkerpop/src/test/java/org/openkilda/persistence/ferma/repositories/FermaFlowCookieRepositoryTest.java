@@ -15,6 +15,8 @@
 
 package org.openkilda.persistence.ferma.repositories;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
 
 import org.openkilda.model.FlowCookie;
@@ -74,6 +76,19 @@ public class FermaFlowCookieRepositoryTest extends InMemoryGraphBasedTest {
         assertEquals(0, flowCookieRepository.findAll().size());
     }
 
+    @Test
+    public void shouldFindAllUnmaskedCookies() {
+        createFlowCookie();
+        flowCookieRepository.add(FlowCookie.builder()
+                .unmaskedCookie(TEST_COOKIE + 1)
+                .flowId(TEST_FLOW_ID)
+                .build());
+
+        Collection<Long> cookies = flowCookieRepository.findAllUnmaskedCookies();
+
+        assertThat(cookies, containsInAnyOrder(TEST_COOKIE, TEST_COOKIE + 1));
+    }
+
     private FlowCookie createFlowCookie() {
         FlowCookie cookie = FlowCookie.builder()
                 .unmaskedCookie(TEST_COOKIE)
@@ -15,6 +15,8 @@
 
 package org.openkilda.persistence.ferma.repositories;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 
@@ -98,6 +100,22 @@ public class FermaFlowMeterRepositoryTest extends InMemoryGraphBasedTest {
         assertEquals(0, flowMeterRepository.findAll().size());
     }
 
+    @Test
+    public void shouldFindMeterIdsBySwitch() {
+        createFlowMeter(1, new PathId(TEST_PATH_ID + "_1"));
+        createFlowMeter(2, new PathId(TEST_PATH_ID + "_2"));
+        flowMeterRepository.add(FlowMeter.builder()
+                .switchId(createTestSwitch(2).getSwitchId())
+                .meterId(new MeterId(3))
+                .pathId(new PathId(TEST_PATH_ID + "_3"))
+                .flowId(TEST_FLOW_ID)
+                .build());
+
+        Collection<MeterId> meterIds = flowMeterRepository.findMeterIdsBySwitch(theSwitch.getSwitchId());
+
+        assertThat(meterIds, containsInAnyOrder(new MeterId(1), new MeterId(2)));
+    }
+
     @Test
     public void shouldSelectNextInOrderResourceWhenFindUnassignedMeter() {
         long first = findUnassignedMeterAndCreate("flow_1");
@@ -46,6 +46,7 @@ import org.hamcrest.Matchers;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -577,6 +578,60 @@ public class FermaFlowRepositoryTest extends InMemoryGraphBasedTest {
         assertEquals(3, foundFlows.size());
     }
 
+    @Test
+    public void shouldGetFlowsPageByPage() {
+        createTestFlow(TEST_FLOW_ID_3, switchA, switchB);
+        createTestFlow(TEST_FLOW_ID, switchA, switchB);
+        createTestFlow(TEST_FLOW_ID_2, switchA, switchB);
+
+        List<String> firstPage = flowRepository.findByFlowFilter(FlowFilter.builder().limit(2).build()).stream()
+                .map(Flow::getFlowId)
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList(TEST_FLOW_ID, TEST_FLOW_ID_2), firstPage);
+
+        List<String> secondPage = flowRepository.findByFlowFilter(FlowFilter.builder()
+                .afterFlowId(firstPage.get(1))
+                .limit(2)
+                .build()).stream()
+                .map(Flow::getFlowId)
+                .collect(Collectors.toList());
+        assertEquals(Collections.singletonList(TEST_FLOW_ID_3), secondPage);
+    }
+
+    @Test
+    public void shouldFindAllDetachedFlowsWithPathsAndSegments() {
+        Switch switchC = createTestSwitch(TEST_SWITCH_C_ID.getId());
+        createTestFlow(TEST_FLOW_ID, switchA, switchB);
+        createTestFlowWithIntermediate(TEST_FLOW_ID_2, switchA, switchC, PORT_3, switchB);
+
+        Collection<Flow> foundFlows = flowRepository.findAllDetached();
+        assertEquals(2, foundFlows.size());
+        for (Flow found : foundFlows) {
+            Flow expected = new Flow(flowRepository.findById(found.getFlowId()).get());
+            assertEquals(expected, found);
+            assertEquals(expected.getSrcSwitch(), found.getSrcSwitch());
+            assertEquals(found.getFlowId(), found.getForwardPath().getFlow().getFlowId());
+        }
+
+        Flow flowWithIntermediate = foundFlows.stream()
+                .filter(flow -> TEST_FLOW_ID_2.equals(flow.getFlowId()))
+                .findAny().get();
+        assertEquals(TEST_SWITCH_C_ID, flowWithIntermediate.getForwardPath().getSegments().get(0).getDestSwitchId());
+    }
+
+    @Test
+    public void shouldFindWithPeriodicPingsEnabledDetached() {
+        Flow flowWithPings = createTestFlow(TEST_FLOW_ID, switchA, switchB);
+        flowWithPings.setPeriodicPings(true);
+        createTestFlow(TEST_FLOW_ID_2, switchA, switchB);
+
+        Collection<Flow> foundFlows = flowRepository.findWithPeriodicPingsEnabledDetached();
+        assertEquals(1, foundFlows.size());
+        Flow found = foundFlows.iterator().next();
+        assertEquals(new Flow(flowRepository.findById(TEST_FLOW_ID).get()), found);
+        assertEquals(2, found.getPaths().size());
+    }
+
     private Flow createTestFlow(String flowId, Switch srcSwitch, Switch destSwitch) {
         return createTestFlow(flowId, srcSwitch, PORT_1, VLAN_1, destSwitch, PORT_2, VLAN_2);
     }
@@ -40,6 +40,7 @@ import org.openkilda.persistence.inmemory.InMemoryGraphBasedTest;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.IslRepository.IslEndpoints;
 import org.openkilda.persistence.repositories.IslRepository.IslImmutableView;
 import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
@@ -51,9 +52,11 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class FermaIslRepositoryTest extends InMemoryGraphBasedTest {
     static final SwitchId TEST_SWITCH_A_ID = new SwitchId(1);
@@ -535,6 +538,43 @@ public class FermaIslRepositoryTest extends InMemoryGraphBasedTest {
         assertEquals(100, islAfter.getAvailableBandwidth());
     }
 
+    @Test
+    public void shouldUpdateAvailableBandwidthOfMultipleIsls() {
+        createIsl(switchA, 1, switchB, 2, IslStatus.ACTIVE, 100L).setMaxBandwidth(100L);
+        createIsl(switchA, 3, switchB, 4, IslStatus.ACTIVE, 100L).setMaxBandwidth(100L);
+        createIsl(switchB, 1, switchC, 2, IslStatus.ACTIVE, 100L).setMaxBandwidth(100L);
+
+        createPathWithSegment(TEST_FLOW_ID + "_1", switchA, 1, switchB, 2, 33L);
+        createPathWithSegment(TEST_FLOW_ID + "_2", switchA, 1, switchB, 2, 20L);
+        createPathWithSegment(TEST_FLOW_ID + "_3", switchA, 3, switchB, 4, 10L);
+
+        IslEndpoints firstIsl = new IslEndpoints(TEST_SWITCH_A_ID.toString(), 1, TEST_SWITCH_B_ID.toString(), 2);
+        IslEndpoints secondIsl = new IslEndpoints(TEST_SWITCH_A_ID.toString(), 3, TEST_SWITCH_B_ID.toString(), 4);
+        IslEndpoints thirdIsl = new IslEndpoints(TEST_SWITCH_B_ID.toString(), 1, TEST_SWITCH_C_ID.toString(), 2);
+        Map<IslEndpoints, Long> updatedIsls =
+                islRepository.updateAvailableBandwidth(Arrays.asList(firstIsl, secondIsl, thirdIsl));
+
+        assertEquals(3, updatedIsls.size());
+        assertEquals(47, updatedIsls.get(firstIsl).longValue());
+        assertEquals(90, updatedIsls.get(secondIsl).longValue());
+        assertEquals(100, updatedIsls.get(thirdIsl).longValue());
+        assertEquals(47, islRepository.findByEndpoints(TEST_SWITCH_A_ID, 1, TEST_SWITCH_B_ID, 2).get()
+                .getAvailableBandwidth());
+        assertEquals(90, islRepository.findByEndpoints(TEST_SWITCH_A_ID, 3, TEST_SWITCH_B_ID, 4).get()
+                .getAvailableBandwidth());
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void shouldNotUpdateAvailableBandwidthOfMultipleIslsIfEndpointDoesntMatch() {
+        createIsl(switchA, 1, switchB, 2, IslStatus.ACTIVE, 100L).setMaxBandwidth(100L);
+
+        createPathWithSegment(TEST_FLOW_ID + "_1", switchA, 1, switchB, 3, 33L);
+
+        islRepository.updateAvailableBandwidth(Arrays.asList(
+                new IslEndpoints(TEST_SWITCH_A_ID.toString(), 1, TEST_SWITCH_B_ID.toString(), 2),
+                new IslEndpoints(TEST_SWITCH_A_ID.toString(), 1, TEST_SWITCH_B_ID.toString(), 3)));
+    }
+
     private Isl createIsl(Switch srcSwitch, Switch destSwitch) {
         return createIsl(srcSwitch, null, destSwitch, null, null, null);
     }
@@ -15,6 +15,8 @@
 
 package org.openkilda.persistence.ferma.repositories;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -88,6 +90,17 @@ public class FermaTransitVlanRepositoryTest extends InMemoryGraphBasedTest {
         assertEquals(0, transitVlanRepository.findAll().size());
     }
 
+    @Test
+    public void shouldFindAllVlans() {
+        createTransitVlan();
+        transitVlanRepository.add(TransitVlan.builder()
+                .vlan(2).pathId(new PathId(TEST_FLOW_ID + "_opposite_path")).flowId(TEST_FLOW_ID).build());
+
+        Collection<Integer> vlans = transitVlanRepository.findAllVlans();
+
+        assertThat(vlans, containsInAnyOrder(1, 2));
+    }
+
     private TransitVlan createTransitVlan() {
         TransitVlan transitVlan = TransitVlan.builder()
                 .vlan(1).pathId(new PathId(TEST_FLOW_ID + "_path")).flowId(TEST_FLOW_ID).build();
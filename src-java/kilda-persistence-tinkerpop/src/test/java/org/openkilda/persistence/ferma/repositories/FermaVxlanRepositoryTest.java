@@ -15,6 +15,8 @@
 
 package org.openkilda.persistence.ferma.repositories;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
 
 import org.openkilda.model.PathId;
@@ -73,6 +75,17 @@ public class FermaVxlanRepositoryTest extends InMemoryGraphBasedTest {
         assertEquals(0, vxlanRepository.findAll().size());
     }
 
+    @Test
+    public void shouldFindAllVnis() {
+        createVxlan();
+        vxlanRepository.add(Vxlan.builder()
+                .vni(2).pathId(new PathId(TEST_FLOW_ID + "_opposite_path")).flowId(TEST_FLOW_ID).build());
+
+        Collection<Integer> vnis = vxlanRepository.findAllVnis();
+
+        assertThat(vnis, containsInAnyOrder(1, 2));
+    }
+
     private Vxlan createVxlan() {
         Vxlan vxlan = Vxlan.builder()
                 .vni(1).pathId(new PathId(TEST_FLOW_ID + "_path")).flowId(TEST_FLOW_ID).build();
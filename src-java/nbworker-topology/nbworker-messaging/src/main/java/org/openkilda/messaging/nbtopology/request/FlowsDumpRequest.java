@@ -30,7 +30,23 @@ import lombok.NoArgsConstructor;
 public class FlowsDumpRequest extends FlowsBaseRequest {
     private FlowStatus status;
 
+    /**
+     * Flow id of the last flow of the previous page, the dump starts from the beginning if not set.
+     */
+    private String afterFlowId;
+
+    /**
+     * Maximum number of flows in the response, all flows are dumped if not set.
+     */
+    private Integer limit;
+
     public FlowsDumpRequest(String status) {
+        this(status, null, null);
+    }
+
+    public FlowsDumpRequest(String status, String afterFlowId, Integer limit) {
         this.status = status == null ? null : FlowStatus.valueOf(status.toUpperCase());
+        this.afterFlowId = afterFlowId;
+        this.limit = limit;
     }
 }
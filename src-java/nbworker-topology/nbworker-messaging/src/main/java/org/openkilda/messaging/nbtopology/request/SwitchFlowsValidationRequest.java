@@ -0,0 +1,41 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.messaging.nbtopology.request;
+
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Validates all flows going through the given switches. Each switch involved in the validation is dumped once,
+ * however many of the flows it serves.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class SwitchFlowsValidationRequest extends BaseRequest {
+
+    @JsonProperty("switch_ids")
+    private Set<SwitchId> switchIds;
+
+    public SwitchFlowsValidationRequest(@JsonProperty("switch_ids") Set<SwitchId> switchIds) {
+        this.switchIds = switchIds;
+    }
+}
@@ -151,7 +151,8 @@ public class NbWorkerTopology extends AbstractTopology<NbWorkerTopologyConfig> {
         declareBolt(tb,
                 new FlowValidationHubBolt(validationHubConfig, persistenceManager, flowResourcesConfig,
                         topologyConfig.getFlowMeterMinBurstSizeInKbits(),
-                        topologyConfig.getFlowMeterBurstCoefficient()), FlowValidationHubBolt.ID)
+                        topologyConfig.getFlowMeterBurstCoefficient(),
+                        topologyConfig.getFlowValidationSwitchDumpCacheTtlMillis()), FlowValidationHubBolt.ID)
                 .allGrouping(ZooKeeperSpout.SPOUT_ID)
                 .fieldsGrouping(ROUTER_BOLT_NAME, FlowValidationHubBolt.INCOME_STREAM, FIELDS_KEY)
                 .directGrouping(VALIDATION_WORKER_BOLT, FlowValidationHubBolt.INCOME_STREAM)
@@ -72,6 +72,12 @@ public interface NbWorkerTopologyConfig extends AbstractTopologyConfig {
     @Description("The timeout for performing H&S operations")
     int getProcessTimeout();
 
+    @Key("nbworker.flow.validation.switch.dump.cache.ttl.millis")
+    @Default("2000")
+    @Min(0)
+    @Description("How long rule and meter dumps of a switch are reused by the following flow validations")
+    long getFlowValidationSwitchDumpCacheTtlMillis();
+
     @Key("burst.coefficient")
     @Default("1.05")
     double getFlowMeterBurstCoefficient();
@@ -21,6 +21,7 @@ import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.error.ErrorData;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.nbtopology.request.FlowValidationRequest;
+import org.openkilda.messaging.nbtopology.request.SwitchFlowsValidationRequest;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
@@ -39,6 +40,7 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -51,17 +53,20 @@ public class FlowValidationHubBolt extends HubBolt {
     private transient FlowValidationHubService service;
     private long flowMeterMinBurstSizeInKbits;
     private double flowMeterBurstCoefficient;
+    private final long switchDumpCacheTtlMillis;
     private LifecycleEvent deferredShutdownEvent;
 
 
     public FlowValidationHubBolt(Config config, PersistenceManager persistenceManager,
                                  FlowResourcesConfig flowResourcesConfig,
-                                 long flowMeterMinBurstSizeInKbits, double flowMeterBurstCoefficient) {
+                                 long flowMeterMinBurstSizeInKbits, double flowMeterBurstCoefficient,
+                                 long switchDumpCacheTtlMillis) {
         super(config);
         this.persistenceManager = persistenceManager;
         this.flowResourcesConfig = flowResourcesConfig;
         this.flowMeterMinBurstSizeInKbits = flowMeterMinBurstSizeInKbits;
         this.flowMeterBurstCoefficient = flowMeterBurstCoefficient;
+        this.switchDumpCacheTtlMillis = switchDumpCacheTtlMillis;
 
         enableMeterRegistry("kilda.flow_validation", StreamType.TO_METRICS_BOLT.name());
     }
@@ -70,7 +75,7 @@ public class FlowValidationHubBolt extends HubBolt {
     public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
         super.prepare(stormConf, context, collector);
         service = new FlowValidationHubService(persistenceManager, flowResourcesConfig,
-                new FlowValidationHubCarrierImpl(null));
+                new FlowValidationHubCarrierImpl(null), Duration.ofMillis(switchDumpCacheTtlMillis));
     }
 
     @Override
@@ -95,6 +100,9 @@ public class FlowValidationHubBolt extends HubBolt {
         if (data instanceof FlowValidationRequest) {
             service.handleFlowValidationRequest(key, (FlowValidationRequest) data,
                     new FlowValidationHubCarrierImpl(input));
+        } else if (data instanceof SwitchFlowsValidationRequest) {
+            service.handleSwitchFlowsValidationRequest(key, (SwitchFlowsValidationRequest) data,
+                    new FlowValidationHubCarrierImpl(input));
         } else {
             unhandledInput(input);
         }
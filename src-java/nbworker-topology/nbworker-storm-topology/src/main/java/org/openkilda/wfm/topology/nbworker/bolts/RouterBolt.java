@@ -32,6 +32,7 @@ import org.openkilda.messaging.nbtopology.request.HistoryRequest;
 import org.openkilda.messaging.nbtopology.request.KildaConfigurationBaseRequest;
 import org.openkilda.messaging.nbtopology.request.LinksBaseRequest;
 import org.openkilda.messaging.nbtopology.request.MeterModifyRequest;
+import org.openkilda.messaging.nbtopology.request.SwitchFlowsValidationRequest;
 import org.openkilda.messaging.nbtopology.request.SwitchesBaseRequest;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
@@ -93,7 +94,7 @@ public class RouterBolt extends AbstractBolt {
             emitWithContext(StreamType.PATHS.toString(), input, new Values(request));
         } else if (request instanceof HistoryRequest) {
             emitWithContext(StreamType.HISTORY.toString(), input, new Values(request));
-        } else if (request instanceof FlowValidationRequest) {
+        } else if (request instanceof FlowValidationRequest || request instanceof SwitchFlowsValidationRequest) {
             emitWithContext(FlowValidationHubBolt.INCOME_STREAM, input, new Values(key, request));
         } else if (request instanceof MeterModifyRequest) {
             emitWithContext(FlowMeterModifyHubBolt.INCOME_STREAM, input, new Values(key, request));
@@ -33,7 +33,9 @@ import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.info.meter.SwitchMeterEntries;
 import org.openkilda.messaging.info.rule.SwitchFlowEntries;
+import org.openkilda.messaging.nbtopology.request.BaseRequest;
 import org.openkilda.messaging.nbtopology.request.FlowValidationRequest;
+import org.openkilda.messaging.nbtopology.request.SwitchFlowsValidationRequest;
 import org.openkilda.messaging.nbtopology.response.FlowValidationResponse;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
@@ -45,6 +47,7 @@ import org.openkilda.wfm.topology.nbworker.bolts.FlowValidationHubCarrier;
 import org.openkilda.wfm.topology.nbworker.fsm.FlowValidationFsm.FlowValidationEvent;
 import org.openkilda.wfm.topology.nbworker.fsm.FlowValidationFsm.FlowValidationState;
 import org.openkilda.wfm.topology.nbworker.services.FlowValidationService;
+import org.openkilda.wfm.topology.nbworker.services.SwitchDumpCache;
 
 import lombok.extern.slf4j.Slf4j;
 import org.squirrelframework.foundation.fsm.StateMachineBuilder;
@@ -52,7 +55,12 @@ import org.squirrelframework.foundation.fsm.StateMachineBuilderFactory;
 import org.squirrelframework.foundation.fsm.impl.AbstractStateMachine;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 public class FlowValidationFsm
@@ -61,11 +69,14 @@ public class FlowValidationFsm
     private static final String FINISHED_METHOD_NAME = "finished";
 
     private final String key;
-    private final FlowValidationRequest request;
+    private final BaseRequest request;
     private final FlowValidationHubCarrier carrier;
     private final PersistenceManager persistenceManager;
     private final FlowResourcesConfig flowResourcesConfig;
-    private String flowId;
+    private final SwitchDumpCache<SwitchFlowEntries> rulesCache;
+    private final SwitchDumpCache<SwitchMeterEntries> metersCache;
+    private Collection<String> flowIds;
+    private boolean batch;
     private FlowValidationService service;
     private int awaitingRules;
     private int awaitingMeters;
@@ -73,13 +84,17 @@ public class FlowValidationFsm
     private List<SwitchMeterEntries> receivedMeters = new ArrayList<>();
     private List<FlowValidationResponse> response;
 
-    public FlowValidationFsm(FlowValidationHubCarrier carrier, String key, FlowValidationRequest request,
-                             PersistenceManager persistenceManager, FlowResourcesConfig flowResourcesConfig) {
+    public FlowValidationFsm(FlowValidationHubCarrier carrier, String key, BaseRequest request,
+                             PersistenceManager persistenceManager, FlowResourcesConfig flowResourcesConfig,
+                             SwitchDumpCache<SwitchFlowEntries> rulesCache,
+                             SwitchDumpCache<SwitchMeterEntries> metersCache) {
         this.carrier = carrier;
         this.key = key;
         this.request = request;
         this.persistenceManager = persistenceManager;
         this.flowResourcesConfig = flowResourcesConfig;
+        this.rulesCache = rulesCache;
+        this.metersCache = metersCache;
     }
 
     /**
@@ -94,9 +109,11 @@ public class FlowValidationFsm
                         Object.class,
                         FlowValidationHubCarrier.class,
                         String.class,
-                        FlowValidationRequest.class,
+                        BaseRequest.class,
                         PersistenceManager.class,
-                        FlowResourcesConfig.class);
+                        FlowResourcesConfig.class,
+                        SwitchDumpCache.class,
+                        SwitchDumpCache.class);
 
         builder.onEntry(INITIALIZED).callMethod("initialized");
         builder.externalTransition().from(INITIALIZED).to(RECEIVE_DATA).on(NEXT)
@@ -122,41 +139,88 @@ public class FlowValidationFsm
 
     protected void initialized(FlowValidationState from, FlowValidationState to,
                                FlowValidationEvent event, Object context) {
-        flowId = request.getFlowId();
-        log.info("Key: {}, flow: {}; FSM initialized", key, flowId);
-
         service = new FlowValidationService(persistenceManager, flowResourcesConfig,
                 carrier.getFlowMeterMinBurstSizeInKbits(), carrier.getFlowMeterBurstCoefficient());
+
+        if (request instanceof SwitchFlowsValidationRequest) {
+            Set<SwitchId> switchIds = ((SwitchFlowsValidationRequest) request).getSwitchIds();
+            flowIds = service.getFlowIdsBySwitchIds(switchIds);
+            batch = true;
+            log.info("Key: {}, switches: {}; FSM initialized for {} flows", key, switchIds, flowIds.size());
+        } else {
+            String flowId = ((FlowValidationRequest) request).getFlowId();
+            flowIds = Collections.singletonList(flowId);
+            log.info("Key: {}, flow: {}; FSM initialized", key, flowId);
+        }
     }
 
     protected void receiveData(FlowValidationState from, FlowValidationState to,
                                FlowValidationEvent event, Object context) {
-        try {
-            service.checkFlowStatus(flowId);
-        } catch (FlowNotFoundException e) {
-            log.error("Key: {}; Flow {} not found when sending commands to SpeakerWorkerBolt", key, flowId, e);
-            sendException(e.getMessage(), "Receiving rules operation in FlowValidationFsm", ErrorType.NOT_FOUND);
-            return;
-        } catch (IllegalFlowStateException e) {
-            log.error("Key: {}; Could not validate flow: Flow {} is in DOWN state", key, flowId, e);
-            sendException("Could not validate flow",
-                    format("Could not validate flow: Flow %s is in DOWN state", flowId),
-                    ErrorType.UNPROCESSABLE_REQUEST);
-            return;
+        if (batch) {
+            flowIds = filterValidatableFlows(flowIds);
+        } else {
+            String flowId = flowIds.iterator().next();
+            try {
+                service.checkFlowStatus(flowId);
+            } catch (FlowNotFoundException e) {
+                log.error("Key: {}; Flow {} not found when sending commands to SpeakerWorkerBolt", key, flowId, e);
+                sendException(e.getMessage(), "Receiving rules operation in FlowValidationFsm", ErrorType.NOT_FOUND);
+                return;
+            } catch (IllegalFlowStateException e) {
+                log.error("Key: {}; Could not validate flow: Flow {} is in DOWN state", key, flowId, e);
+                sendException("Could not validate flow",
+                        format("Could not validate flow: Flow %s is in DOWN state", flowId),
+                        ErrorType.UNPROCESSABLE_REQUEST);
+                return;
+            }
+        }
+
+        // a switch shared by several flows of a batch is dumped once
+        Set<SwitchId> switchIds = new LinkedHashSet<>();
+        for (String flowId : flowIds) {
+            switchIds.addAll(service.getSwitchIdListByFlowId(flowId));
         }
 
-        List<SwitchId> switchIds = service.getSwitchIdListByFlowId(flowId);
+        log.debug("Key: {}; Send commands to get rules and meters on the switches", key);
+        for (SwitchId switchId : switchIds) {
+            Optional<SwitchFlowEntries> rules = rulesCache.get(switchId);
+            if (rules.isPresent()) {
+                receivedRules.add(rules.get());
+            } else {
+                awaitingRules++;
+                if (rulesCache.subscribe(switchId, key)) {
+                    carrier.sendCommandToSpeakerWorker(key, new DumpRulesForNbworkerRequest(switchId));
+                }
+            }
+
+            // FIXME(surabujin): - should we request meters only for termination switches?..
+            Optional<SwitchMeterEntries> meters = metersCache.get(switchId);
+            if (meters.isPresent()) {
+                receivedMeters.add(meters.get());
+            } else {
+                awaitingMeters++;
+                if (metersCache.subscribe(switchId, key)) {
+                    carrier.sendCommandToSpeakerWorker(key, new DumpMetersForNbworkerRequest(switchId));
+                }
+            }
+        }
+        log.debug("Key: {}; Awaiting {} rule dumps and {} meter dumps of {} switches, the rest is taken from the cache",
+                key, awaitingRules, awaitingMeters, switchIds.size());
 
-        awaitingRules = switchIds.size();
-        log.debug("Key: {}; Send commands to get rules on the switches", key);
-        switchIds.forEach(switchId ->
-                carrier.sendCommandToSpeakerWorker(key, new DumpRulesForNbworkerRequest(switchId)));
+        checkOfCompleteDataCollection();
+    }
 
-        log.debug("Key: {}; Send commands to get meters on the switches", key);
-        awaitingMeters = switchIds.size();
-        // FIXME(surabujin): - should we request meters only for termination switches?..
-        switchIds.forEach(switchId ->
-                carrier.sendCommandToSpeakerWorker(key, new DumpMetersForNbworkerRequest(switchId)));
+    private List<String> filterValidatableFlows(Collection<String> candidates) {
+        List<String> result = new ArrayList<>(candidates.size());
+        for (String flowId : candidates) {
+            try {
+                service.checkFlowStatus(flowId);
+                result.add(flowId);
+            } catch (FlowNotFoundException | IllegalFlowStateException e) {
+                log.warn("Key: {}; Flow {} is skipped from the batch validation: {}", key, flowId, e.getMessage());
+            }
+        }
+        return result;
     }
 
     protected void receivedRules(FlowValidationState from, FlowValidationState to,
@@ -186,9 +250,14 @@ public class FlowValidationFsm
     protected void validateFlow(FlowValidationState from, FlowValidationState to,
                                 FlowValidationEvent event, Object context) {
         try {
-            response = service.validateFlow(flowId, receivedRules, receivedMeters);
+            if (batch) {
+                response = new ArrayList<>();
+                service.validateFlows(flowIds, receivedRules, receivedMeters).values().forEach(response::addAll);
+            } else {
+                response = service.validateFlow(flowIds.iterator().next(), receivedRules, receivedMeters);
+            }
         } catch (FlowNotFoundException e) {
-            log.error("Key: {}; Flow {} not found during flow validation", key, flowId, e);
+            log.error("Key: {}; Flow {} not found during flow validation", key, flowIds, e);
             sendException(e.getMessage(), "Flow validation operation in FlowValidationFsm", ErrorType.NOT_FOUND);
         } catch (SwitchNotFoundException e) {
             log.error("Key: {}; {}", key, e.getMessage(), e);
@@ -132,12 +132,14 @@ public class FlowOperationsService {
     }
 
     /**
-     * Get flows.
+     * Get flows, or a page of flows ordered by flow id if the request has a limit.
      */
     public Collection<Flow> getAllFlows(FlowsDumpRequest request) {
         return transactionManager.doInTransaction(getReadOperationRetryPolicy(),
                 () -> flowRepository.findByFlowFilter(FlowFilter.builder()
                         .flowStatus(request.getStatus())
+                        .afterFlowId(request.getAfterFlowId())
+                        .limit(request.getLimit())
                         .build()));
     }
 
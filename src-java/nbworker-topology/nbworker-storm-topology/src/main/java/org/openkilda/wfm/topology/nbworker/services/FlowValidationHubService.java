@@ -24,7 +24,9 @@ import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.meter.SwitchMeterEntries;
 import org.openkilda.messaging.info.meter.SwitchMeterUnsupported;
 import org.openkilda.messaging.info.rule.SwitchFlowEntries;
+import org.openkilda.messaging.nbtopology.request.BaseRequest;
 import org.openkilda.messaging.nbtopology.request.FlowValidationRequest;
+import org.openkilda.messaging.nbtopology.request.SwitchFlowsValidationRequest;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.metrics.MeterRegistryHolder;
@@ -38,11 +40,15 @@ import io.micrometer.core.instrument.LongTaskTimer.Sample;
 import lombok.extern.slf4j.Slf4j;
 import org.squirrelframework.foundation.fsm.StateMachineBuilder;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
@@ -53,13 +59,27 @@ public class FlowValidationHubService {
     private PersistenceManager persistenceManager;
     private FlowResourcesConfig flowResourcesConfig;
     private StateMachineBuilder<FlowValidationFsm, FlowValidationState, FlowValidationEvent, Object> builder;
+    private final SwitchDumpCache<SwitchFlowEntries> rulesCache;
+    private final SwitchDumpCache<SwitchMeterEntries> metersCache;
 
     public FlowValidationHubService(PersistenceManager persistenceManager, FlowResourcesConfig flowResourcesConfig,
                                     FlowValidationHubCarrier defaultCarrier) {
+        this(persistenceManager, flowResourcesConfig, defaultCarrier, Duration.ZERO);
+    }
+
+    public FlowValidationHubService(PersistenceManager persistenceManager, FlowResourcesConfig flowResourcesConfig,
+                                    FlowValidationHubCarrier defaultCarrier, Duration switchDumpCacheTtl) {
+        this(persistenceManager, flowResourcesConfig, defaultCarrier, switchDumpCacheTtl, Clock.systemUTC());
+    }
+
+    FlowValidationHubService(PersistenceManager persistenceManager, FlowResourcesConfig flowResourcesConfig,
+                             FlowValidationHubCarrier defaultCarrier, Duration switchDumpCacheTtl, Clock clock) {
         this.persistenceManager = persistenceManager;
         this.flowResourcesConfig = flowResourcesConfig;
         this.builder = FlowValidationFsm.builder();
         this.defaultCarrier = defaultCarrier;
+        this.rulesCache = new SwitchDumpCache<>(switchDumpCacheTtl, clock);
+        this.metersCache = new SwitchDumpCache<>(switchDumpCacheTtl, clock);
     }
 
     /**
@@ -67,9 +87,21 @@ public class FlowValidationHubService {
      */
     public void handleFlowValidationRequest(String key, FlowValidationRequest request,
                                             FlowValidationHubCarrier carrier) {
+        startValidation(key, request, carrier);
+    }
+
+    /**
+     * Handle validation request of all flows going through the switches.
+     */
+    public void handleSwitchFlowsValidationRequest(String key, SwitchFlowsValidationRequest request,
+                                                   FlowValidationHubCarrier carrier) {
+        startValidation(key, request, carrier);
+    }
+
+    private void startValidation(String key, BaseRequest request, FlowValidationHubCarrier carrier) {
         FlowValidationFsm fsm =
                 builder.newStateMachine(FlowValidationState.INITIALIZED, carrier, key, request,
-                        persistenceManager, flowResourcesConfig);
+                        persistenceManager, flowResourcesConfig, rulesCache, metersCache);
 
         MeterRegistryHolder.getRegistry().ifPresent(registry -> {
             Sample sample = LongTaskTimer.builder("fsm.active_execution")
@@ -91,55 +123,82 @@ public class FlowValidationHubService {
     }
 
     /**
-     * Handle response from speaker worker.
+     * Handle response from speaker worker. Switch dumps are delivered to all FSMs waiting for them.
      */
     public void handleAsyncResponse(String key, Message message) {
-        FlowValidationFsm fsm = fsms.get(key);
-        if (fsm == null) {
-            logFsmNotFound(key);
-            return;
-        }
-
         if (message instanceof InfoMessage) {
             InfoData data = ((InfoMessage) message).getData();
             if (data instanceof SwitchFlowEntries) {
-                fsm.fire(FlowValidationEvent.RULES_RECEIVED, data);
+                SwitchFlowEntries rules = (SwitchFlowEntries) data;
+                fireAll(rulesCache.complete(key, rules.getSwitchId(), rules),
+                        FlowValidationEvent.RULES_RECEIVED, rules);
             } else if (data instanceof SwitchMeterEntries) {
-                fsm.fire(FlowValidationEvent.METERS_RECEIVED, data);
+                SwitchMeterEntries meters = (SwitchMeterEntries) data;
+                fireAll(metersCache.complete(key, meters.getSwitchId(), meters),
+                        FlowValidationEvent.METERS_RECEIVED, meters);
             } else if (data instanceof SwitchMeterUnsupported) {
                 SwitchMeterUnsupported meterUnsupported = (SwitchMeterUnsupported) data;
                 log.info("Key: {}; Meters unsupported for switch '{};", key, meterUnsupported.getSwitchId());
-                fsm.fire(FlowValidationEvent.METERS_RECEIVED, SwitchMeterEntries.builder()
+                SwitchMeterEntries meters = SwitchMeterEntries.builder()
                         .switchId(meterUnsupported.getSwitchId())
                         .meterEntries(Collections.emptyList())
-                        .build());
+                        .build();
+                fireAll(metersCache.complete(key, meters.getSwitchId(), meters),
+                        FlowValidationEvent.METERS_RECEIVED, meters);
             } else {
                 log.warn("Key: {}; Unhandled message {}", key, message);
             }
         } else if (message instanceof ErrorMessage) {
-            fsm.fire(FlowValidationEvent.ERROR, message);
+            failDependents(key, (ErrorMessage) message);
+            fireAll(Collections.singleton(key), FlowValidationEvent.ERROR, message);
         }
-
-        process(fsm);
     }
 
     /**
      * Handle timeout event.
      */
     public void handleTaskTimeout(String key) {
+        ErrorData errorData = new ErrorData(ErrorType.OPERATION_TIMED_OUT, "Flow validation failed by timeout",
+                "Error in FlowValidationHubService");
+        ErrorMessage errorMessage = new ErrorMessage(errorData, System.currentTimeMillis(), key);
+        failDependents(key, errorMessage);
+
         FlowValidationFsm fsm = fsms.get(key);
         if (fsm == null) {
             return;
         }
-
-        ErrorData errorData = new ErrorData(ErrorType.OPERATION_TIMED_OUT, "Flow validation failed by timeout",
-                "Error in FlowValidationHubService");
-        ErrorMessage errorMessage = new ErrorMessage(errorData, System.currentTimeMillis(), key);
         fsm.fire(FlowValidationEvent.ERROR, errorMessage);
 
         process(fsm);
     }
 
+    /**
+     * Fails FSMs waiting for switch dumps requested by the failed one, as these dumps will never be received.
+     */
+    private void failDependents(String key, ErrorMessage error) {
+        Set<String> dependents = new LinkedHashSet<>(rulesCache.fail(key));
+        dependents.addAll(metersCache.fail(key));
+        if (!dependents.isEmpty()) {
+            log.warn("Key: {}; Switch dumps shared with {} are failed", key, dependents);
+        }
+        for (String dependent : dependents) {
+            ErrorMessage dependentError = new ErrorMessage(error.getData(), error.getTimestamp(), dependent);
+            fireAll(Collections.singleton(dependent), FlowValidationEvent.ERROR, dependentError);
+        }
+    }
+
+    private void fireAll(Set<String> keys, FlowValidationEvent event, Object context) {
+        for (String each : keys) {
+            FlowValidationFsm fsm = fsms.get(each);
+            if (fsm == null) {
+                logFsmNotFound(each);
+                continue;
+            }
+            fsm.fire(event, context);
+            process(fsm);
+        }
+    }
+
     private void logFsmNotFound(String key) {
         log.warn("Flow validate FSM with key {} not found", key);
     }
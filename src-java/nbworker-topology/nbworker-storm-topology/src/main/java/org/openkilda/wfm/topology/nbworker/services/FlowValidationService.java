@@ -27,6 +27,7 @@ import org.openkilda.model.Meter;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.wfm.error.FlowNotFoundException;
@@ -38,22 +39,28 @@ import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
 import org.openkilda.wfm.share.utils.rule.validation.SimpleSwitchRule;
 import org.openkilda.wfm.share.utils.rule.validation.SimpleSwitchRuleConverter;
 
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import java.nio.file.InvalidPathException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class FlowValidationService {
     private SwitchRepository switchRepository;
     private FlowRepository flowRepository;
+    private FlowPathRepository flowPathRepository;
     private FlowResourcesManager flowResourcesManager;
 
     private SimpleSwitchRuleConverter simpleSwitchRuleConverter = new SimpleSwitchRuleConverter();
@@ -65,6 +72,7 @@ public class FlowValidationService {
                                  long flowMeterMinBurstSizeInKbits, double flowMeterBurstCoefficient) {
         this.switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         this.flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
+        this.flowPathRepository = persistenceManager.getRepositoryFactory().createFlowPathRepository();
         this.flowResourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
         this.flowMeterMinBurstSizeInKbits = flowMeterMinBurstSizeInKbits;
         this.flowMeterBurstCoefficient = flowMeterBurstCoefficient;
@@ -89,35 +97,47 @@ public class FlowValidationService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get ids of flows terminating on or going through the switches.
+     */
+    public Set<String> getFlowIdsBySwitchIds(Collection<SwitchId> switchIds) {
+        Set<String> flowIds = new TreeSet<>();
+        for (SwitchId switchId : switchIds) {
+            flowRepository.findByEndpointSwitch(switchId).forEach(flow -> flowIds.add(flow.getFlowId()));
+            flowPathRepository.findBySegmentSwitch(switchId).stream()
+                    .map(FlowPath::getFlowId)
+                    .filter(Objects::nonNull)
+                    .forEach(flowIds::add);
+        }
+        return flowIds;
+    }
+
+    /**
+     * Validate a batch of flows against the same switch dumps, the dumps are converted and indexed once per batch.
+     */
+    public Map<String, List<FlowValidationResponse>> validateFlows(Collection<String> flowIds,
+                                                                   List<SwitchFlowEntries> switchFlowEntries,
+                                                                   List<SwitchMeterEntries> switchMeterEntries)
+            throws FlowNotFoundException, SwitchNotFoundException {
+        SwitchEntriesIndex index = new SwitchEntriesIndex(switchFlowEntries, switchMeterEntries);
+        Map<String, List<FlowValidationResponse>> result = new LinkedHashMap<>();
+        for (String flowId : flowIds) {
+            result.put(flowId, validateFlow(flowId, index));
+        }
+        return result;
+    }
+
     /**
      * Validate flow.
      */
     public List<FlowValidationResponse> validateFlow(String flowId, List<SwitchFlowEntries> switchFlowEntries,
                                                      List<SwitchMeterEntries> switchMeterEntries)
             throws FlowNotFoundException, SwitchNotFoundException {
+        return validateFlow(flowId, new SwitchEntriesIndex(switchFlowEntries, switchMeterEntries));
+    }
 
-        Map<SwitchId, List<SimpleSwitchRule>> switchRules = new HashMap<>();
-        int rulesCount = 0;
-        int metersCount = 0;
-        for (SwitchFlowEntries switchRulesEntries : switchFlowEntries) {
-            SwitchMeterEntries switchMeters = switchMeterEntries.stream()
-                    .filter(meterEntries -> switchRulesEntries.getSwitchId().equals(meterEntries.getSwitchId()))
-                    .findFirst()
-                    .orElse(null);
-
-            List<SimpleSwitchRule> simpleSwitchRules = simpleSwitchRuleConverter
-                    .convertSwitchFlowEntriesToSimpleSwitchRules(switchRulesEntries, switchMeters);
-            switchRules.put(switchRulesEntries.getSwitchId(), simpleSwitchRules);
-
-            rulesCount += Optional.ofNullable(switchRulesEntries.getFlowEntries())
-                    .map(List::size)
-                    .orElse(0);
-            metersCount += Optional.ofNullable(switchMeters)
-                    .map(SwitchMeterEntries::getMeterEntries)
-                    .map(List::size)
-                    .orElse(0);
-        }
-
+    private List<FlowValidationResponse> validateFlow(String flowId, SwitchEntriesIndex index)
+            throws FlowNotFoundException, SwitchNotFoundException {
         Optional<Flow> foundFlow = flowRepository.findById(flowId);
         if (!foundFlow.isPresent()) {
             throw new FlowNotFoundException(flowId);
@@ -134,36 +154,35 @@ public class FlowValidationService {
         List<FlowValidationResponse> flowValidationResponse = new ArrayList<>();
 
         List<SimpleSwitchRule> forwardRules = getSimpleSwitchRules(flow, flow.getForwardPath(), flow.getReversePath());
-        flowValidationResponse.add(compare(switchRules, forwardRules, flowId, rulesCount, metersCount));
+        flowValidationResponse.add(compare(index, forwardRules, flowId));
 
         List<SimpleSwitchRule> reverseRules = getSimpleSwitchRules(flow, flow.getReversePath(), flow.getForwardPath());
-        flowValidationResponse.add(compare(switchRules, reverseRules, flowId, rulesCount, metersCount));
+        flowValidationResponse.add(compare(index, reverseRules, flowId));
 
         if (flow.getProtectedForwardPath() != null) {
             List<SimpleSwitchRule> forwardProtectedRules = getSimpleSwitchRules(flow, flow.getProtectedForwardPath(),
                     flow.getProtectedReversePath());
-            flowValidationResponse.add(compare(switchRules, forwardProtectedRules, flowId, rulesCount, metersCount));
+            flowValidationResponse.add(compare(index, forwardProtectedRules, flowId));
         }
 
         if (flow.getProtectedReversePath() != null) {
             List<SimpleSwitchRule> reverseProtectedRules = getSimpleSwitchRules(flow, flow.getProtectedReversePath(),
                     flow.getProtectedForwardPath());
-            flowValidationResponse.add(compare(switchRules, reverseProtectedRules, flowId, rulesCount, metersCount));
+            flowValidationResponse.add(compare(index, reverseProtectedRules, flowId));
         }
 
         return flowValidationResponse;
     }
 
-    private FlowValidationResponse compare(Map<SwitchId, List<SimpleSwitchRule>> rulesPerSwitch,
-                                           List<SimpleSwitchRule> rulesFromDb, String flowId,
-                                           int totalSwitchRules, int metersCount) throws SwitchNotFoundException {
+    private FlowValidationResponse compare(SwitchEntriesIndex index, List<SimpleSwitchRule> rulesFromDb, String flowId)
+            throws SwitchNotFoundException {
 
         List<PathDiscrepancyEntity> discrepancies = new ArrayList<>();
         List<Long> pktCounts = new ArrayList<>();
         List<Long> byteCounts = new ArrayList<>();
         for (SimpleSwitchRule simpleRule : rulesFromDb) {
             discrepancies.addAll(
-                    findDiscrepancy(simpleRule, rulesPerSwitch.get(simpleRule.getSwitchId()), pktCounts, byteCounts));
+                    findDiscrepancy(simpleRule, index.findMatched(simpleRule), pktCounts, byteCounts));
         }
         int flowMetersCount = (int) rulesFromDb.stream().filter(rule -> rule.getMeterId() != null).count();
 
@@ -174,9 +193,9 @@ public class FlowValidationService {
                 .pktCounts(pktCounts)
                 .byteCounts(byteCounts)
                 .flowRulesTotal(rulesFromDb.size())
-                .switchRulesTotal(totalSwitchRules)
+                .switchRulesTotal(index.rulesCount)
                 .flowMetersTotal(flowMetersCount)
-                .switchMetersTotal(metersCount)
+                .switchMetersTotal(index.metersCount)
                 .build();
     }
 
@@ -200,11 +219,10 @@ public class FlowValidationService {
                 flowMeterMinBurstSizeInKbits, flowMeterBurstCoefficient);
     }
 
-    private List<PathDiscrepancyEntity> findDiscrepancy(SimpleSwitchRule expected, List<SimpleSwitchRule> actual,
+    private List<PathDiscrepancyEntity> findDiscrepancy(SimpleSwitchRule expected, SimpleSwitchRule matched,
                                                         List<Long> pktCounts, List<Long> byteCounts)
             throws SwitchNotFoundException {
         List<PathDiscrepancyEntity> discrepancies = new ArrayList<>();
-        SimpleSwitchRule matched = findMatched(expected, actual);
 
         if (matched == null) {
             discrepancies.add(new PathDiscrepancyEntity(String.valueOf(expected), "all", String.valueOf(expected), ""));
@@ -219,34 +237,6 @@ public class FlowValidationService {
         return discrepancies;
     }
 
-    private SimpleSwitchRule findMatched(SimpleSwitchRule expected, List<SimpleSwitchRule> actual) {
-
-        //try to match on the cookie
-        SimpleSwitchRule matched = actual.stream()
-                .filter(rule -> rule.getCookie() != 0 && rule.getCookie() == expected.getCookie())
-                .findFirst()
-                .orElse(null);
-
-        //if no cookie match, then try to match on in_port and in_vlan
-        if (matched == null) {
-            matched = actual.stream()
-                    .filter(rule -> rule.getInPort() == expected.getInPort()
-                            && rule.getInVlan() == expected.getInVlan())
-                    .findFirst()
-                    .orElse(null);
-        }
-
-        //if cookie or in_port and in_vlan doesn't match, try to match on out_port and out_vlan
-        if (matched == null) {
-            matched = actual.stream()
-                    .filter(rule -> rule.getOutPort() == expected.getOutPort()
-                            && Objects.equals(rule.getOutVlan(), expected.getOutVlan()))
-                    .findFirst()
-                    .orElse(null);
-        }
-        return matched;
-    }
-
     private List<PathDiscrepancyEntity> getRuleDiscrepancies(SimpleSwitchRule expected, SimpleSwitchRule matched)
             throws SwitchNotFoundException {
         List<PathDiscrepancyEntity> discrepancies = new ArrayList<>();
@@ -320,4 +310,86 @@ public class FlowValidationService {
 
         return Meter.equalsBurstSize(actual, expected, isESwitch);
     }
+
+    /**
+     * Actual switch rules indexed by the match criteria, to avoid scans over all rules of the switch per each expected
+     * rule. The first rule wins on equal keys, the same as the ordered scan would return.
+     */
+    private class SwitchEntriesIndex {
+        private final Map<SwitchId, SwitchRulesIndex> switches = new HashMap<>();
+        private int rulesCount;
+        private int metersCount;
+
+        SwitchEntriesIndex(List<SwitchFlowEntries> switchFlowEntries, List<SwitchMeterEntries> switchMeterEntries) {
+            Map<SwitchId, SwitchMeterEntries> metersPerSwitch = new HashMap<>();
+            for (SwitchMeterEntries meterEntries : switchMeterEntries) {
+                metersPerSwitch.putIfAbsent(meterEntries.getSwitchId(), meterEntries);
+            }
+
+            for (SwitchFlowEntries switchRulesEntries : switchFlowEntries) {
+                SwitchMeterEntries switchMeters = metersPerSwitch.get(switchRulesEntries.getSwitchId());
+
+                List<SimpleSwitchRule> simpleSwitchRules = simpleSwitchRuleConverter
+                        .convertSwitchFlowEntriesToSimpleSwitchRules(switchRulesEntries, switchMeters);
+                switches.put(switchRulesEntries.getSwitchId(), new SwitchRulesIndex(simpleSwitchRules));
+
+                rulesCount += Optional.ofNullable(switchRulesEntries.getFlowEntries())
+                        .map(List::size)
+                        .orElse(0);
+                metersCount += Optional.ofNullable(switchMeters)
+                        .map(SwitchMeterEntries::getMeterEntries)
+                        .map(List::size)
+                        .orElse(0);
+            }
+        }
+
+        SimpleSwitchRule findMatched(SimpleSwitchRule expected) {
+            SwitchRulesIndex index = switches.get(expected.getSwitchId());
+            return index == null ? null : index.findMatched(expected);
+        }
+    }
+
+    private static class SwitchRulesIndex {
+        private final Map<Long, SimpleSwitchRule> byCookie = new HashMap<>();
+        private final Map<InMatch, SimpleSwitchRule> byInPortAndVlan = new HashMap<>();
+        private final Map<OutMatch, SimpleSwitchRule> byOutPortAndVlan = new HashMap<>();
+
+        SwitchRulesIndex(List<SimpleSwitchRule> rules) {
+            for (SimpleSwitchRule rule : rules) {
+                if (rule.getCookie() != 0) {
+                    byCookie.putIfAbsent(rule.getCookie(), rule);
+                }
+                byInPortAndVlan.putIfAbsent(new InMatch(rule.getInPort(), rule.getInVlan()), rule);
+                byOutPortAndVlan.putIfAbsent(new OutMatch(rule.getOutPort(), rule.getOutVlan()), rule);
+            }
+        }
+
+        SimpleSwitchRule findMatched(SimpleSwitchRule expected) {
+            //try to match on the cookie
+            SimpleSwitchRule matched = byCookie.get(expected.getCookie());
+
+            //if no cookie match, then try to match on in_port and in_vlan
+            if (matched == null) {
+                matched = byInPortAndVlan.get(new InMatch(expected.getInPort(), expected.getInVlan()));
+            }
+
+            //if cookie or in_port and in_vlan doesn't match, try to match on out_port and out_vlan
+            if (matched == null) {
+                matched = byOutPortAndVlan.get(new OutMatch(expected.getOutPort(), expected.getOutVlan()));
+            }
+            return matched;
+        }
+    }
+
+    @Value
+    private static class InMatch {
+        int port;
+        int vlan;
+    }
+
+    @Value
+    private static class OutMatch {
+        int port;
+        List<Integer> vlan;
+    }
 }
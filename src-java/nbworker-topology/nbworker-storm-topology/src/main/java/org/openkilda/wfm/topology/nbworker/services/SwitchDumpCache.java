@@ -0,0 +1,135 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.nbworker.services;
+
+import org.openkilda.model.SwitchId;
+
+import lombok.AllArgsConstructor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Shares switch dumps (rules or meters) between flow validations. A dump requested by one validation is delivered to
+ * all validations which need the same switch while the request is in flight, and is reused by the following
+ * validations during the TTL. Zero TTL disables reuse of received dumps, but in-flight requests are still shared.
+ * <p/>
+ * The implementation is not thread-safe.
+ */
+public class SwitchDumpCache<T> {
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final Map<SwitchId, CachedDump<T>> dumps = new HashMap<>();
+    private final Map<SwitchId, PendingDump> pending = new HashMap<>();
+
+    public SwitchDumpCache(Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the dump of the switch if it was received not earlier than TTL ago.
+     */
+    public Optional<T> get(SwitchId switchId) {
+        CachedDump<T> dump = dumps.get(switchId);
+        if (dump == null) {
+            return Optional.empty();
+        }
+        if (clock.instant().isAfter(dump.receivedAt.plus(ttl))) {
+            dumps.remove(switchId);
+            return Optional.empty();
+        }
+        return Optional.of(dump.value);
+    }
+
+    /**
+     * Subscribes the requester to the dump of the switch.
+     *
+     * @return true if there is no in-flight request of the dump, so the requester must send it
+     */
+    public boolean subscribe(SwitchId switchId, String key) {
+        PendingDump dump = pending.get(switchId);
+        if (dump == null) {
+            pending.put(switchId, new PendingDump(key));
+            return true;
+        }
+        dump.waiters.add(key);
+        return false;
+    }
+
+    /**
+     * Stores the received dump of the switch and completes its in-flight request.
+     *
+     * @param key key of the request the dump is received for
+     * @return keys of all requesters subscribed to the dump
+     */
+    public Set<String> complete(String key, SwitchId switchId, T value) {
+        if (!ttl.isZero()) {
+            dumps.put(switchId, new CachedDump<>(value, clock.instant()));
+        }
+
+        PendingDump dump = pending.remove(switchId);
+        if (dump == null) {
+            return Collections.singleton(key);
+        }
+        dump.waiters.add(key);
+        return dump.waiters;
+    }
+
+    /**
+     * Drops in-flight requests sent by the failed requester.
+     *
+     * @return keys of other requesters subscribed to the dropped requests
+     */
+    public Set<String> fail(String key) {
+        Set<String> affected = new LinkedHashSet<>();
+        for (Iterator<PendingDump> it = pending.values().iterator(); it.hasNext(); ) {
+            PendingDump dump = it.next();
+            if (dump.owner.equals(key)) {
+                affected.addAll(dump.waiters);
+                it.remove();
+            }
+        }
+        affected.remove(key);
+        return affected;
+    }
+
+    @AllArgsConstructor
+    private static class CachedDump<T> {
+        private final T value;
+        private final Instant receivedAt;
+    }
+
+    private static class PendingDump {
+        private final String owner;
+        private final Set<String> waiters = new LinkedHashSet<>();
+
+        PendingDump(String owner) {
+            this.owner = owner;
+            waiters.add(owner);
+        }
+    }
+}
@@ -18,28 +18,47 @@ package org.openkilda.wfm.topology.nbworker.services;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.switches.DumpMetersForNbworkerRequest;
 import org.openkilda.messaging.command.switches.DumpRulesForNbworkerRequest;
 import org.openkilda.messaging.error.ErrorData;
+import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.meter.SwitchMeterEntries;
+import org.openkilda.messaging.info.meter.SwitchMeterUnsupported;
 import org.openkilda.messaging.nbtopology.request.FlowValidationRequest;
+import org.openkilda.messaging.nbtopology.request.SwitchFlowsValidationRequest;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.error.FlowNotFoundException;
 import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.topology.nbworker.bolts.FlowValidationHubCarrier;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class FlowValidationHubServiceTest extends FlowValidationTestBase {
     private static final String TEST_KEY = "test_key";
+    private static final Instant START = Instant.parse("2021-01-01T00:00:00Z");
 
     private static FlowValidationHubService flowValidationHubService;
     private static FlowValidationService flowValidationService;
@@ -245,4 +264,106 @@ public class FlowValidationHubServiceTest extends FlowValidationTestBase {
                         System.currentTimeMillis(), TEST_KEY)));
 
     }
+
+    @Test
+    public void shouldShareSwitchDumpsBetweenValidations() {
+        FlowValidationHubCarrier carrier = mockCarrier();
+        Clock clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(START);
+        FlowValidationHubService service = new FlowValidationHubService(persistenceManager, flowResourcesConfig,
+                carrier, Duration.ofSeconds(5), clock);
+
+        buildTransitVlanFlow("");
+        service.handleFlowValidationRequest("first", new FlowValidationRequest(TEST_FLOW_ID_A), carrier);
+        service.handleFlowValidationRequest("second", new FlowValidationRequest(TEST_FLOW_ID_A), carrier);
+        // dumps requested by the first validation are shared with the second one
+        verify(carrier, times(8)).sendCommandToSpeakerWorker(eq("first"), any(CommandData.class));
+        verify(carrier, never()).sendCommandToSpeakerWorker(eq("second"), any(CommandData.class));
+
+        sendSwitchDumps(service, "first");
+        verify(carrier).sendToResponseSplitterBolt(eq("first"), any());
+        verify(carrier).sendToResponseSplitterBolt(eq("second"), any());
+
+        // received dumps are reused during TTL
+        reset(carrier);
+        service.handleFlowValidationRequest("third", new FlowValidationRequest(TEST_FLOW_ID_A), carrier);
+        verify(carrier, never()).sendCommandToSpeakerWorker(any(), any(CommandData.class));
+        verify(carrier).sendToResponseSplitterBolt(eq("third"), any());
+
+        when(clock.instant()).thenReturn(START.plusSeconds(6));
+        service.handleFlowValidationRequest("fourth", new FlowValidationRequest(TEST_FLOW_ID_A), carrier);
+        verify(carrier, times(8)).sendCommandToSpeakerWorker(eq("fourth"), any(CommandData.class));
+    }
+
+    @Test
+    public void shouldFailValidationsWaitingForFailedSwitchDumps() {
+        FlowValidationHubCarrier carrier = mockCarrier();
+        FlowValidationHubService service = new FlowValidationHubService(persistenceManager, flowResourcesConfig,
+                carrier);
+
+        buildTransitVlanFlow("");
+        service.handleFlowValidationRequest("first", new FlowValidationRequest(TEST_FLOW_ID_A), carrier);
+        service.handleFlowValidationRequest("second", new FlowValidationRequest(TEST_FLOW_ID_A), carrier);
+        service.handleAsyncResponse("first", new ErrorMessage(
+                new ErrorData(ErrorType.OPERATION_TIMED_OUT, "timeout", ""), System.currentTimeMillis(), "first"));
+
+        verify(carrier).sendToMessageEncoder(eq("first"), any(ErrorData.class));
+        verify(carrier).sendToMessageEncoder(eq("second"), any(ErrorData.class));
+        verify(carrier, never()).sendToResponseSplitterBolt(any(), any());
+
+        // the failed dumps are requested again by the next validation
+        service.handleFlowValidationRequest("third", new FlowValidationRequest(TEST_FLOW_ID_A), carrier);
+        verify(carrier, times(8)).sendCommandToSpeakerWorker(eq("third"), any(CommandData.class));
+    }
+
+    @Test
+    public void shouldDumpEachSwitchOnceForSwitchFlowsValidation() throws Exception {
+        FlowValidationHubCarrier carrier = mockCarrier();
+        FlowValidationHubService service = new FlowValidationHubService(persistenceManager, flowResourcesConfig,
+                carrier);
+
+        buildTransitVlanFlow("");
+        // the flow terminates on the first switch and goes through the others
+        service.handleSwitchFlowsValidationRequest("batch", new SwitchFlowsValidationRequest(
+                Sets.newHashSet(TEST_SWITCH_ID_A, TEST_SWITCH_ID_B, TEST_SWITCH_ID_C)), carrier);
+        verify(carrier, times(8)).sendCommandToSpeakerWorker(eq("batch"), any(CommandData.class));
+
+        sendSwitchDumps(service, "batch");
+        List<SwitchMeterEntries> meters = new ArrayList<>(getSwitchMeterEntries());
+        meters.add(SwitchMeterEntries.builder()
+                .switchId(TEST_SWITCH_ID_E)
+                .meterEntries(Collections.emptyList())
+                .build());
+        verify(carrier).sendToResponseSplitterBolt(eq("batch"), eq(flowValidationService.validateFlow(
+                TEST_FLOW_ID_A, getSwitchFlowEntriesWithTransitVlan(), meters)));
+    }
+
+    @Test
+    public void shouldRespondWithEmptyListWhenNoFlowsGoThroughSwitches() {
+        FlowValidationHubCarrier carrier = mockCarrier();
+        FlowValidationHubService service = new FlowValidationHubService(persistenceManager, flowResourcesConfig,
+                carrier);
+
+        buildTransitVlanFlow("");
+        service.handleSwitchFlowsValidationRequest("batch",
+                new SwitchFlowsValidationRequest(Collections.singleton(TEST_SWITCH_ID_D)), carrier);
+        verify(carrier, never()).sendCommandToSpeakerWorker(any(), any(CommandData.class));
+        verify(carrier).sendToResponseSplitterBolt(eq("batch"), eq(Collections.emptyList()));
+    }
+
+    private FlowValidationHubCarrier mockCarrier() {
+        FlowValidationHubCarrier carrier = mock(FlowValidationHubCarrier.class);
+        when(carrier.getFlowMeterMinBurstSizeInKbits()).thenReturn(MIN_BURST_SIZE_IN_KBITS);
+        when(carrier.getFlowMeterBurstCoefficient()).thenReturn(BURST_COEFFICIENT);
+        return carrier;
+    }
+
+    private void sendSwitchDumps(FlowValidationHubService service, String key) {
+        getSwitchFlowEntriesWithTransitVlan().forEach(switchFlowEntries ->
+                service.handleAsyncResponse(key, new InfoMessage(switchFlowEntries, System.currentTimeMillis(), key)));
+        getSwitchMeterEntries().forEach(switchMeterEntries ->
+                service.handleAsyncResponse(key, new InfoMessage(switchMeterEntries, System.currentTimeMillis(), key)));
+        service.handleAsyncResponse(key, new InfoMessage(new SwitchMeterUnsupported(TEST_SWITCH_ID_E),
+                System.currentTimeMillis(), key));
+    }
 }
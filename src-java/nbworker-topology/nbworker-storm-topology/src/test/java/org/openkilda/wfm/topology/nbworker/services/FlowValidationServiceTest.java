@@ -30,7 +30,9 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class FlowValidationServiceTest extends FlowValidationTestBase {
@@ -66,6 +68,18 @@ public class FlowValidationServiceTest extends FlowValidationTestBase {
         validateFlow(false);
     }
 
+    @Test
+    public void shouldValidateFlowsInBatch() throws FlowNotFoundException, SwitchNotFoundException {
+        buildTransitVlanFlow("");
+        List<SwitchFlowEntries> flowEntries = getSwitchFlowEntriesWithTransitVlan();
+        List<SwitchMeterEntries> meterEntries = getSwitchMeterEntries();
+
+        Map<String, List<FlowValidationResponse>> result =
+                service.validateFlows(Collections.singletonList(TEST_FLOW_ID_A), flowEntries, meterEntries);
+        assertEquals(1, result.size());
+        assertEquals(service.validateFlow(TEST_FLOW_ID_A, flowEntries, meterEntries), result.get(TEST_FLOW_ID_A));
+    }
+
     private void validateFlow(boolean isTransitVlan) throws FlowNotFoundException, SwitchNotFoundException {
         List<SwitchFlowEntries> flowEntries =
                 isTransitVlan ? getSwitchFlowEntriesWithTransitVlan() : getSwitchFlowEntriesWithVxlan();
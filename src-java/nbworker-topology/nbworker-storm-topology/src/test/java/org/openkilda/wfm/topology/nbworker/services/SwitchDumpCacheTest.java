@@ -0,0 +1,83 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.nbworker.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+
+public class SwitchDumpCacheTest {
+    private static final Instant START = Instant.parse("2021-01-01T00:00:00Z");
+    private static final SwitchId SWITCH_A = new SwitchId(1);
+    private static final SwitchId SWITCH_B = new SwitchId(2);
+
+    private final Clock clock = mock(Clock.class);
+
+    @Test
+    public void shouldDeliverDumpToAllSubscribers() {
+        SwitchDumpCache<String> cache = new SwitchDumpCache<>(Duration.ZERO, clock);
+        when(clock.instant()).thenReturn(START);
+
+        assertTrue(cache.subscribe(SWITCH_A, "first"));
+        assertFalse(cache.subscribe(SWITCH_A, "second"));
+        assertEquals(new HashSet<>(Arrays.asList("first", "second")), cache.complete("first", SWITCH_A, "dump"));
+
+        // zero TTL doesn't keep received dumps
+        assertEquals(Optional.empty(), cache.get(SWITCH_A));
+        assertTrue(cache.subscribe(SWITCH_A, "third"));
+    }
+
+    @Test
+    public void shouldKeepDumpDuringTtl() {
+        SwitchDumpCache<String> cache = new SwitchDumpCache<>(Duration.ofSeconds(5), clock);
+        when(clock.instant()).thenReturn(START);
+
+        assertEquals(Collections.singleton("first"), cache.complete("first", SWITCH_A, "dump"));
+        when(clock.instant()).thenReturn(START.plusSeconds(5));
+        assertEquals(Optional.of("dump"), cache.get(SWITCH_A));
+        when(clock.instant()).thenReturn(START.plusSeconds(6));
+        assertEquals(Optional.empty(), cache.get(SWITCH_A));
+    }
+
+    @Test
+    public void shouldReturnSubscribersOfFailedRequests() {
+        SwitchDumpCache<String> cache = new SwitchDumpCache<>(Duration.ZERO, clock);
+
+        cache.subscribe(SWITCH_A, "first");
+        cache.subscribe(SWITCH_B, "second");
+        cache.subscribe(SWITCH_A, "third");
+        cache.subscribe(SWITCH_B, "third");
+
+        assertEquals(Collections.singleton("third"), cache.fail("first"));
+        assertTrue(cache.subscribe(SWITCH_A, "fourth"));
+        assertFalse(cache.subscribe(SWITCH_B, "fourth"));
+    }
+}
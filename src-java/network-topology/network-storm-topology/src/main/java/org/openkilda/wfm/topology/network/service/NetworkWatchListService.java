@@ -16,21 +16,22 @@
 package org.openkilda.wfm.topology.network.service;
 
 import org.openkilda.wfm.share.model.Endpoint;
+import org.openkilda.wfm.share.utils.HierarchicalTimingWheel;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 @Slf4j
 public class NetworkWatchListService {
@@ -40,14 +41,22 @@ public class NetworkWatchListService {
     private final long auxiliaryTickPeriod;
 
     private final Map<Endpoint, WatchListEntry> endpoints = new HashMap<>();
-    private final SortedMap<Long, Set<Endpoint>> timeouts = new TreeMap<>();
+    private final HierarchicalTimingWheel<Endpoint> timeouts;
+    private final List<Endpoint> expired = new ArrayList<>();
+
+    @VisibleForTesting
+    NetworkWatchListService(IWatchListCarrier carrier, long genericTickPeriod,
+                            long exhaustedTickPeriod, long auxiliaryTickPeriod) {
+        this(carrier, genericTickPeriod, exhaustedTickPeriod, auxiliaryTickPeriod, 1);
+    }
 
     public NetworkWatchListService(IWatchListCarrier carrier, long genericTickPeriod,
-                                   long exhaustedTickPeriod, long auxiliaryTickPeriod) {
+                                   long exhaustedTickPeriod, long auxiliaryTickPeriod, long timeoutsResolution) {
         this.carrier = carrier;
         this.genericTickPeriod = genericTickPeriod;
         this.exhaustedTickPeriod = exhaustedTickPeriod;
         this.auxiliaryTickPeriod = auxiliaryTickPeriod;
+        this.timeouts = new HierarchicalTimingWheel<>(timeoutsResolution);
     }
 
     @VisibleForTesting
@@ -56,15 +65,19 @@ public class NetworkWatchListService {
     }
 
     @VisibleForTesting
-    SortedMap<Long, Set<Endpoint>> getTimeouts() {
+    HierarchicalTimingWheel<Endpoint> getTimeouts() {
         return timeouts;
     }
 
     @VisibleForTesting
     void addWatch(Endpoint endpoint, long currentTime) {
-        if (endpoints.put(endpoint, new WatchListEntry()) == null) {
+        WatchListEntry watchListEntry = new WatchListEntry();
+        WatchListEntry replaced = endpoints.put(endpoint, watchListEntry);
+        if (replaced == null) {
             carrier.discoveryRequest(endpoint, currentTime);
-            addTimeout(endpoint, currentTime + genericTickPeriod);
+            addTimeout(endpoint, watchListEntry, currentTime, genericTickPeriod);
+        } else {
+            watchListEntry.setTimer(replaced.getTimer());
         }
     }
 
@@ -79,7 +92,10 @@ public class NetworkWatchListService {
     public void removeWatch(Endpoint endpoint) {
         log.debug("Watch-list service receive REMOVE-WATCH request for {}", endpoint);
         carrier.watchRemoved(endpoint);
-        endpoints.remove(endpoint);
+        WatchListEntry watchListEntry = endpoints.remove(endpoint);
+        if (watchListEntry != null) {
+            timeouts.cancel(watchListEntry.getTimer());
+        }
     }
 
     @VisibleForTesting
@@ -90,7 +106,7 @@ public class NetworkWatchListService {
                 (e, listEntry) -> listEntry.toBuilder().exhaustedPollEnabled(enable).build());
 
         if (watchListEntry != null && !enable) { // when ISL belonging to this endpoint was found
-            reloadEndpointTimeout(endpoint, currentTime);
+            reloadEndpointTimeout(endpoint, watchListEntry, currentTime);
         }
     }
 
@@ -106,7 +122,7 @@ public class NetworkWatchListService {
                 (e, listEntry) -> listEntry.toBuilder().auxiliaryPollEnabled(enable).build());
 
         if (watchListEntry != null && !enable) { // when another mechanism used to determine ISL status is disabled
-            reloadEndpointTimeout(endpoint, currentTime);
+            reloadEndpointTimeout(endpoint, watchListEntry, currentTime);
         }
     }
 
@@ -119,22 +135,15 @@ public class NetworkWatchListService {
      */
     @VisibleForTesting
     void tick(long tickTime) {
-        SortedMap<Long, Set<Endpoint>> range = timeouts.subMap(0L, tickTime + 1);
-        if (!range.isEmpty()) {
-            Map<Endpoint, WatchListEntry> renew = new HashMap<>();
-
-            for (Set<Endpoint> endpointSet : range.values()) {
-                for (Endpoint endpoint : endpointSet) {
-                    WatchListEntry watchListEntry = endpoints.get(endpoint);
-                    if (watchListEntry != null && renew.put(endpoint, watchListEntry) == null) {
-                        carrier.discoveryRequest(endpoint, tickTime);
-                    }
-                }
+        timeouts.advance(tickTime, expired::add);
+        for (Endpoint endpoint : expired) {
+            WatchListEntry watchListEntry = endpoints.get(endpoint);
+            if (watchListEntry != null) {
+                carrier.discoveryRequest(endpoint, tickTime);
+                addTimeout(endpoint, watchListEntry, tickTime, calculateTimeout(endpoint));
             }
-            range.clear();
-
-            renew.forEach((endpoint, watchListEntry) -> addTimeout(endpoint, tickTime + calculateTimeout(endpoint)));
         }
+        expired.clear();
     }
 
     /**
@@ -148,9 +157,9 @@ public class NetworkWatchListService {
         return System.nanoTime();
     }
 
-    private void addTimeout(Endpoint endpoint, long timeoutAt) {
-        timeouts.computeIfAbsent(timeoutAt, mappingFunction -> new HashSet<>())
-                .add(endpoint);
+    private void addTimeout(Endpoint endpoint, WatchListEntry watchListEntry, long currentTime, long timeout) {
+        timeouts.cancel(watchListEntry.getTimer());
+        watchListEntry.setTimer(timeouts.schedule(endpoint, currentTime, timeout));
     }
 
     @VisibleForTesting
@@ -166,13 +175,9 @@ public class NetworkWatchListService {
         }).orElse(genericTickPeriod);
     }
 
-    private void reloadEndpointTimeout(Endpoint endpoint, long currentTime) {
-        for (Set<Endpoint> e : timeouts.values()) {
-            e.remove(endpoint);
-        }
-
+    private void reloadEndpointTimeout(Endpoint endpoint, WatchListEntry watchListEntry, long currentTime) {
         carrier.discoveryRequest(endpoint, currentTime);
-        addTimeout(endpoint, currentTime + calculateTimeout(endpoint));
+        addTimeout(endpoint, watchListEntry, currentTime, calculateTimeout(endpoint));
     }
 
     /**
@@ -190,10 +195,10 @@ public class NetworkWatchListService {
      */
     public void activate() {
         long currentTime = now();
-        for (Endpoint entry : endpoints.keySet()) {
-            carrier.discoveryRequest(entry, currentTime);
-            addTimeout(entry, currentTime + genericTickPeriod);
-        }
+        endpoints.forEach((endpoint, watchListEntry) -> {
+            carrier.discoveryRequest(endpoint, currentTime);
+            addTimeout(endpoint, watchListEntry, currentTime, genericTickPeriod);
+        });
     }
 
     @Getter
@@ -203,5 +208,8 @@ public class NetworkWatchListService {
     private static class WatchListEntry {
         boolean exhaustedPollEnabled;
         boolean auxiliaryPollEnabled;
+
+        @Setter
+        long timer;  // zero value matches HierarchicalTimingWheel.NO_TIMER
     }
 }
@@ -40,6 +40,8 @@ import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.concurrent.TimeUnit;
+
 public class WatchListHandler extends AbstractBolt implements IWatchListCarrier {
     public static final String BOLT_ID = ComponentId.WATCH_LIST.toString();
 
@@ -103,7 +105,8 @@ public class WatchListHandler extends AbstractBolt implements IWatchListCarrier
     @Override
     protected void init() {
         service = new NetworkWatchListService(this, options.getDiscoveryGenericInterval(),
-                options.getDiscoveryExhaustedInterval(), options.getDiscoveryAuxiliaryInterval());
+                options.getDiscoveryExhaustedInterval(), options.getDiscoveryAuxiliaryInterval(),
+                TimeUnit.MILLISECONDS.toNanos(1));
     }
 
     @Override
@@ -26,6 +26,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ConcurrentTaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
 import org.springframework.web.servlet.config.annotation.DefaultServletHandlerConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
@@ -127,4 +128,19 @@ public class WebConfig extends WebMvcConfigurerAdapter {
     public TaskScheduler taskScheduler() {
         return new ConcurrentTaskScheduler();
     }
+
+    /**
+     * Writes flow dumps. Each dump occupies a thread until it's written, so the pool size bounds the number of
+     * concurrent dumps, a dump over the limit is rejected.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor flowsDumpExecutor(
+            @Value("${northbound.flows.dump.max.concurrent:4}") int maxConcurrentDumps) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("flows-dump-");
+        executor.setCorePoolSize(maxConcurrentDumps);
+        executor.setMaxPoolSize(maxConcurrentDumps);
+        executor.setQueueCapacity(0);
+        return executor;
+    }
 }
@@ -18,6 +18,8 @@ package org.openkilda.northbound.controller.v2;
 import static java.lang.String.format;
 
 import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.northbound.controller.BaseController;
 import org.openkilda.northbound.dto.v2.flows.FlowEndpointV2;
@@ -30,12 +32,22 @@ import org.openkilda.northbound.dto.v2.flows.FlowRerouteResponseV2;
 import org.openkilda.northbound.dto.v2.flows.FlowResponseV2;
 import org.openkilda.northbound.dto.v2.flows.SwapFlowEndpointPayload;
 import org.openkilda.northbound.service.FlowService;
+import org.openkilda.northbound.utils.RequestCorrelationId;
+import org.openkilda.northbound.utils.RequestCorrelationId.RequestCorrelationClosable;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -48,21 +60,44 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/v2/flows")
 public class FlowControllerV2 extends BaseController {
+    private static final Logger logger = LoggerFactory.getLogger(FlowControllerV2.class);
+
+    public static final String CONTINUATION_TOKEN_HEADER = "Continuation-Token";
+
     private static final int DEFAULT_MAX_HISTORY_RECORD_COUNT = 100;
 
     @Autowired
     private FlowService flowService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("flowsDumpExecutor")
+    private TaskExecutor flowsDumpExecutor;
+
+    @Value("${northbound.flows.dump.page.size:1000}")
+    private int flowsDumpPageSize;
+
+    @Value("${northbound.flows.dump.timeout:600000}")
+    private long flowsDumpTimeout;
+
     @ApiOperation(value = "Creates new flow", response = FlowResponseV2.class)
     @PostMapping
     @ResponseStatus(HttpStatus.OK)
@@ -115,15 +150,65 @@ public class FlowControllerV2 extends BaseController {
 
     /**
      * Dumps all flows. Dumps all flows with specific status if specified.
+     * <p/>
+     * Flows are requested from nbworker page by page and each page is written into the response as soon as it is
+     * received, so neither northbound nor nbworker keep all flows in memory.
+     * <p/>
+     * The first page is fetched before the response is committed, so an invalid request or a failure of the first
+     * page is reported with a regular error response. A failure of any later page can't change the already sent
+     * status, so the response is aborted with the JSON array left unterminated and the client gets a malformed body
+     * instead of a truncated list of flows.
+     * <p/>
+     * Pages are written by the flows dump executor, which bounds the number of concurrent dumps, under the dump's own
+     * timeout rather than the timeout of regular asynchronous requests.
      *
      * @return list of flow
      */
     @ApiOperation(value = "Dumps all flows", response = FlowResponseV2.class, responseContainer = "List")
-    @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    public CompletableFuture<List<FlowResponseV2>> getFlows(
+    @GetMapping(params = "!limit")
+    public CompletableFuture<ResponseEntity<ResponseBodyEmitter>> getFlows(
             @RequestParam(value = "status", required = false) String status) {
-        return flowService.getAllFlowsV2(status);
+        String correlationId = RequestCorrelationId.getId();
+        return flowService.getFlowsV2(status, null, flowsDumpPageSize)
+                .thenApply(firstPage -> {
+                    ResponseBodyEmitter emitter = new ResponseBodyEmitter(flowsDumpTimeout);
+                    try {
+                        flowsDumpExecutor.execute(() -> writeFlows(emitter, status, firstPage, correlationId));
+                    } catch (TaskRejectedException e) {
+                        throw new MessageException(ErrorType.UNPROCESSABLE_REQUEST, "Too many concurrent flow dumps",
+                                "Retry the request later");
+                    }
+                    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON_UTF8).body(emitter);
+                });
+    }
+
+    /**
+     * Gets a page of flows ordered by flow id. The response contains header 'Continuation-Token' if there are more
+     * flows, its value must be passed as `continuation_token` to get the next page.
+     *
+     * @return page of flows
+     */
+    @ApiOperation(value = "Gets a page of flows", response = FlowResponseV2.class, responseContainer = "List")
+    @GetMapping(params = "limit")
+    public CompletableFuture<ResponseEntity<List<FlowResponseV2>>> getFlowsPage(
+            @RequestParam(value = "status", required = false) String status,
+            @ApiParam(value = "Max number of flows in the page.")
+            @RequestParam(value = "limit") int limit,
+            @ApiParam(value = "Token from the 'Continuation-Token' header of the previous page.")
+            @RequestParam(value = "continuation_token", required = false) String continuationToken) {
+        if (limit <= 0) {
+            throw new MessageException(ErrorType.DATA_INVALID, "Invalid limit", "Limit must be positive");
+        }
+
+        return flowService.getFlowsV2(status, decodeContinuationToken(continuationToken), limit)
+                .thenApply(flows -> {
+                    HttpHeaders headers = new HttpHeaders();
+                    if (flows.size() == limit) {
+                        headers.add(CONTINUATION_TOKEN_HEADER,
+                                encodeContinuationToken(flows.get(flows.size() - 1).getFlowId()));
+                    }
+                    return new ResponseEntity<>(flows, headers, HttpStatus.OK);
+                });
     }
 
     /**
@@ -256,6 +341,82 @@ public class FlowControllerV2 extends BaseController {
                 });
     }
 
+    private void writeFlows(ResponseBodyEmitter emitter, String status, List<FlowResponseV2> firstPage,
+                            String correlationId) {
+        try {
+            emitter.send(new byte[] {'['}, MediaType.APPLICATION_JSON);
+
+            List<FlowResponseV2> page = firstPage;
+            int pageNumber = 1;
+            while (true) {
+                emitter.send(serializeFlows(page, pageNumber == 1), MediaType.APPLICATION_JSON);
+
+                if (page.size() < flowsDumpPageSize) {
+                    break;
+                }
+                String afterFlowId = page.get(page.size() - 1).getFlowId();
+                page = joinFlowsPage(fetchFlowsPage(status, afterFlowId, pageNumber++, correlationId));
+            }
+
+            emitter.send(new byte[] {']'}, MediaType.APPLICATION_JSON);
+            emitter.complete();
+        } catch (Exception e) {
+            // a failed dump must not look like a complete one, so the array is not closed on an error
+            logger.error(format("Failed to dump flows (correlationId: %s): %s", correlationId, e.getMessage()), e);
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Serializes the flows as a part of a JSON array, i.e. separated by commas and without brackets.
+     */
+    private byte[] serializeFlows(List<FlowResponseV2> flows, boolean first) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (FlowResponseV2 flow : flows) {
+            if (!first) {
+                buffer.write(',');
+            }
+            first = false;
+            objectMapper.writeValue(buffer, flow);
+        }
+        return buffer.toByteArray();
+    }
+
+    private CompletableFuture<List<FlowResponseV2>> fetchFlowsPage(
+            String status, String afterFlowId, int pageNumber, String correlationId) {
+        // each page is a separate request, so it must have its own correlation id
+        String pageCorrelationId = RequestCorrelationId.chain(correlationId, String.valueOf(pageNumber));
+        try (RequestCorrelationClosable ignored = RequestCorrelationId.create(pageCorrelationId)) {
+            return flowService.getFlowsV2(status, afterFlowId, flowsDumpPageSize);
+        }
+    }
+
+    private static List<FlowResponseV2> joinFlowsPage(CompletableFuture<List<FlowResponseV2>> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static String encodeContinuationToken(String flowId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(flowId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeContinuationToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new MessageException(ErrorType.DATA_INVALID, "Invalid continuation token", e.getMessage());
+        }
+    }
+
     private void verifyRequest(FlowRequestV2 request) {
         exposeBodyValidationResults(Stream.concat(
                 verifyFlowEndpoint(request.getSource(), "source"),
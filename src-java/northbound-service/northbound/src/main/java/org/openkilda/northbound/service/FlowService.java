@@ -142,6 +142,16 @@ public interface FlowService {
      */
     CompletableFuture<List<FlowResponseV2>> getAllFlowsV2(String status);
 
+    /**
+     * Gets a page of flows ordered by flow id.
+     *
+     * @param status the status of flows, all flows are returned if not set
+     * @param afterFlowId the id of the last flow of the previous page, the first page is returned if not set
+     * @param limit the max number of flows in the page
+     * @return the page of flows
+     */
+    CompletableFuture<List<FlowResponseV2>> getFlowsV2(String status, String afterFlowId, int limit);
+
     /**
      * Deletes all flows. Primarily this is a combination of getAllFlows and deleteFlow.
      * This should be called with care ..
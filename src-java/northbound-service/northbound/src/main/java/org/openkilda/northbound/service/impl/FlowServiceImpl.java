@@ -350,11 +350,23 @@ public class FlowServiceImpl implements FlowService {
      */
     @Override
     public CompletableFuture<List<FlowResponseV2>> getAllFlowsV2(String status) {
+        return dumpFlowsV2(status, null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<FlowResponseV2>> getFlowsV2(String status, String afterFlowId, int limit) {
+        return dumpFlowsV2(status, afterFlowId, limit);
+    }
+
+    private CompletableFuture<List<FlowResponseV2>> dumpFlowsV2(String status, String afterFlowId, Integer limit) {
         final String correlationId = RequestCorrelationId.getId();
         logger.debug("Get flows request processing");
         FlowsDumpRequest data;
         try {
-            data = new FlowsDumpRequest(status);
+            data = new FlowsDumpRequest(status, afterFlowId, limit);
         } catch (IllegalArgumentException e) {
             logger.error("Can not parse arguments: {}", e.getMessage(), e);
             throw new MessageException(correlationId, System.currentTimeMillis(), ErrorType.DATA_INVALID,
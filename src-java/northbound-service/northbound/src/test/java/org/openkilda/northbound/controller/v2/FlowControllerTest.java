@@ -22,8 +22,11 @@ import static org.openkilda.messaging.Utils.MAPPER;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import org.openkilda.northbound.controller.TestConfig;
@@ -87,6 +90,57 @@ public class FlowControllerTest {
         assertEquals(TestMessageMock.bulkFlow.getSecondFlow(), response.getSecondFlow());
     }
 
+    @Test
+    @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
+    public void getFlowsPage() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/v2/flows")
+                .header(CORRELATION_ID, testCorrelationId())
+                .param("limit", "1"))
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(FlowControllerV2.CONTINUATION_TOKEN_HEADER))
+                .andReturn();
+        assertEquals(1, MAPPER.readTree(result.getResponse().getContentAsString()).size());
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
+    public void getFlowsPageWithInvalidLimit() throws Exception {
+        mockMvc.perform(get("/v2/flows")
+                .header(CORRELATION_ID, testCorrelationId())
+                .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
+    public void getFlowsStreamed() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/v2/flows")
+                .header(CORRELATION_ID, testCorrelationId()))
+                .andReturn();
+
+        // the first page is fetched asynchronously, then the rest of the flows are streamed asynchronously too
+        MvcResult streamResult = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(streamResult))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(FlowControllerV2.CONTINUATION_TOKEN_HEADER))
+                .andReturn();
+        assertEquals(1, MAPPER.readTree(result.getResponse().getContentAsString()).size());
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
+    public void getFlowsStreamedWithInvalidStatus() throws Exception {
+        mockMvc.perform(get("/v2/flows")
+                .header(CORRELATION_ID, testCorrelationId())
+                .param("status", "invalid"))
+                .andExpect(status().isBadRequest());
+    }
+
     private static String testCorrelationId() {
         return UUID.randomUUID().toString();
     }
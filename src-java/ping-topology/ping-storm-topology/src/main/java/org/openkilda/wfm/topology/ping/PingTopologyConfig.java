@@ -90,8 +90,12 @@ public interface PingTopologyConfig extends AbstractTopologyConfig {
         @Default("1800")
         int getFailReset();
 
+        /**
+         * Interval of the periodic ping cache reconciliation with the DB. The cache is kept up to date by flowhs
+         * notifications, so the reconciliation only recovers from lost ones.
+         */
         @Key("cache.expiry.sec")
-        @Default("60")
+        @Default("600")
         long getPeriodicPingCacheExpirySec();
     }
 }
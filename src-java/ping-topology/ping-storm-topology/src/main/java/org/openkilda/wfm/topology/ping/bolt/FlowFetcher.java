@@ -31,20 +31,19 @@ import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
 import org.openkilda.wfm.topology.ping.model.PingContext;
 import org.openkilda.wfm.topology.ping.model.PingContext.Kinds;
 
-import lombok.AllArgsConstructor;
-import lombok.EqualsAndHashCode;
+import com.google.common.annotations.VisibleForTesting;
 import lombok.Value;
-import org.apache.storm.task.OutputCollector;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class FlowFetcher extends Abstract {
     public static final String BOLT_ID = ComponentId.FLOW_FETCHER.toString();
@@ -66,15 +65,23 @@ public class FlowFetcher extends Abstract {
     private final FlowResourcesConfig flowResourcesConfig;
     private transient FlowResourcesManager flowResourcesManager;
     private transient FlowRepository flowRepository;
-    private Set<FlowWithTransitEncapsulation> flowsSet;
+    private Map<String, FlowWithTransitEncapsulation> flowsCache = new HashMap<>();
     private long periodicPingCacheExpiryInterval;
     private long lastPeriodicPingCacheRefresh;
+    private final Clock clock;
 
     public FlowFetcher(PersistenceManager persistenceManager, FlowResourcesConfig flowResourcesConfig,
                        long periodicPingCacheExpiryInterval) {
+        this(persistenceManager, flowResourcesConfig, periodicPingCacheExpiryInterval, Clock.systemUTC());
+    }
+
+    @VisibleForTesting
+    FlowFetcher(PersistenceManager persistenceManager, FlowResourcesConfig flowResourcesConfig,
+                long periodicPingCacheExpiryInterval, Clock clock) {
         this.persistenceManager = persistenceManager;
         this.flowResourcesConfig = flowResourcesConfig;
         this.periodicPingCacheExpiryInterval = TimeUnit.SECONDS.toMillis(periodicPingCacheExpiryInterval);
+        this.clock = clock;
     }
 
     @Override
@@ -97,43 +104,72 @@ public class FlowFetcher extends Abstract {
 
     private void updatePeriodicPingHeap(Tuple input) throws PipelineException {
         PeriodicPingCommand periodicPingCommand = pullPeriodicPingRequest(input);
+        String flowId = periodicPingCommand.getFlowId();
+        FlowWithTransitEncapsulation expired;
         if (periodicPingCommand.isEnable()) {
-            flowRepository.findById(periodicPingCommand.getFlowId())
+            // flowhs sends the notification on each create/update/reroute/path swap, so the flow is reloaded to
+            // catch up its current paths
+            Optional<FlowWithTransitEncapsulation> actual = flowRepository.findById(flowId)
                     .flatMap(flow -> {
                         flowRepository.detach(flow);
                         return getFlowWithTransitEncapsulation(flow);
-                    })
-                    .ifPresent(flowsSet::add);
+                    });
+            if (actual.isPresent()) {
+                expired = flowsCache.put(flowId, actual.get());
+                if (expired != null && isSamePaths(expired.getFlow(), actual.get().getFlow())) {
+                    expired = null;
+                }
+            } else {
+                expired = flowsCache.remove(flowId);
+            }
         } else {
-            flowsSet.removeIf(flowWithTransitEncapsulation ->
-                    flowWithTransitEncapsulation.getFlow().getFlowId().equals(periodicPingCommand.getFlowId()));
+            expired = flowsCache.remove(flowId);
+        }
+
+        if (expired != null) {
+            emitCacheExpire(input, pullContext(input), expired);
         }
     }
 
+    /**
+     * Reconcile the cache with the DB to recover from lost flowhs notifications. Transit encapsulation is resolved
+     * only for flows with new or changed paths.
+     */
     private void refreshHeap(Tuple input, boolean emitCacheExpiry) throws PipelineException {
-        log.debug("Handle periodic ping request");
-        Set<FlowWithTransitEncapsulation> flowsWithTransitEncapsulation =
-                flowRepository.findWithPeriodicPingsEnabled().stream()
-                        .peek(flowRepository::detach)
-                        .map(this::getFlowWithTransitEncapsulation)
-                        .flatMap(o -> o.isPresent() ? Stream.of(o.get()) : Stream.empty())
-                        .collect(Collectors.toSet());
+        log.debug("Reconcile periodic ping cache");
+        Map<String, FlowWithTransitEncapsulation> actualFlows = new HashMap<>();
+        for (Flow flow : flowRepository.findWithPeriodicPingsEnabledDetached()) {
+            FlowWithTransitEncapsulation cached = flowsCache.get(flow.getFlowId());
+            if (cached != null && isSamePaths(cached.getFlow(), flow)) {
+                actualFlows.put(flow.getFlowId(),
+                        new FlowWithTransitEncapsulation(flow, cached.getTransitEncapsulation()));
+            } else {
+                getFlowWithTransitEncapsulation(flow)
+                        .ifPresent(entry -> actualFlows.put(flow.getFlowId(), entry));
+            }
+        }
+
         if (emitCacheExpiry) {
             final CommandContext commandContext = pullContext(input);
-            emitCacheExpire(input, commandContext, flowsWithTransitEncapsulation);
+            for (FlowWithTransitEncapsulation cached : flowsCache.values()) {
+                FlowWithTransitEncapsulation actual = actualFlows.get(cached.getFlow().getFlowId());
+                if (actual == null || !isSamePaths(cached.getFlow(), actual.getFlow())) {
+                    emitCacheExpire(input, commandContext, cached);
+                }
+            }
         }
-        flowsSet = flowsWithTransitEncapsulation;
-        lastPeriodicPingCacheRefresh = System.currentTimeMillis();
+        flowsCache = actualFlows;
+        lastPeriodicPingCacheRefresh = clock.millis();
     }
 
     private void handlePeriodicRequest(Tuple input) throws PipelineException {
         log.debug("Handle periodic ping request");
 
-        if (lastPeriodicPingCacheRefresh + periodicPingCacheExpiryInterval < System.currentTimeMillis()) {
+        if (lastPeriodicPingCacheRefresh + periodicPingCacheExpiryInterval < clock.millis()) {
             refreshHeap(input, true);
         }
         final CommandContext commandContext = pullContext(input);
-        for (FlowWithTransitEncapsulation flow : flowsSet) {
+        for (FlowWithTransitEncapsulation flow : flowsCache.values()) {
             PingContext pingContext = PingContext.builder()
                     .kind(Kinds.PERIODIC)
                     .flow(flow.getFlow())
@@ -206,13 +242,15 @@ public class FlowFetcher extends Abstract {
         getOutput().emit(STREAM_ON_DEMAND_RESPONSE_ID, input, output);
     }
 
-    private void emitCacheExpire(Tuple input, CommandContext commandContext, Set<FlowWithTransitEncapsulation> flows) {
-        OutputCollector collector = getOutput();
-        flowsSet.removeAll(flows);
-        for (FlowWithTransitEncapsulation flow : flowsSet) {
-            Values output = new Values(flow.getFlow(), commandContext);
-            collector.emit(STREAM_EXPIRE_CACHE_ID, input, output);
-        }
+    private void emitCacheExpire(Tuple input, CommandContext commandContext, FlowWithTransitEncapsulation flow) {
+        Values output = new Values(flow.getFlow(), commandContext);
+        getOutput().emit(STREAM_EXPIRE_CACHE_ID, input, output);
+    }
+
+    private static boolean isSamePaths(Flow cached, Flow actual) {
+        return Objects.equals(cached.getForwardPathId(), actual.getForwardPathId())
+                && Objects.equals(cached.getReversePathId(), actual.getReversePathId())
+                && cached.getEncapsulationType() == actual.getEncapsulationType();
     }
 
     private FlowPingRequest pullOnDemandRequest(Tuple input) throws PipelineException {
@@ -243,8 +281,6 @@ public class FlowFetcher extends Abstract {
     }
 
     @Value
-    @AllArgsConstructor
-    @EqualsAndHashCode(exclude = {"transitEncapsulation"})
     private static class FlowWithTransitEncapsulation {
         Flow flow;
         FlowTransitEncapsulation transitEncapsulation;
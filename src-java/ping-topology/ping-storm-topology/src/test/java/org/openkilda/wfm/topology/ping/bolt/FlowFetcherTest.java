@@ -0,0 +1,264 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.ping.bolt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.messaging.command.flow.PeriodicPingCommand;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Switch;
+import org.openkilda.model.TransitVlan;
+import org.openkilda.persistence.inmemory.InMemoryGraphBasedTest;
+import org.openkilda.persistence.repositories.FlowRepository;
+import org.openkilda.persistence.repositories.TransitVlanRepository;
+import org.openkilda.stubs.ManualClock;
+import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.share.flow.TestFlowBuilder;
+import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
+import org.openkilda.wfm.topology.ping.model.PingContext;
+
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.TupleImpl;
+import org.apache.storm.tuple.Values;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FlowFetcherTest extends InMemoryGraphBasedTest {
+    private static final String FLOW_ID = "test_flow";
+    private static final int VLAN = 101;
+    private static final int NEW_VLAN = 102;
+
+    private static final long PERIODIC_PING_CACHE_EXPIRY_INTERVAL = 60;
+
+    private static final int TICK_TASK_ID = 1;
+    private static final int ROUTER_TASK_ID = 2;
+
+    private final ManualClock clock = new ManualClock(Instant.EPOCH, ZoneOffset.UTC);
+
+    private FlowRepository flowRepository;
+    private TransitVlanRepository transitVlanRepository;
+    private Switch srcSwitch;
+    private Switch destSwitch;
+
+    @Mock
+    private OutputCollector output;
+
+    @Mock
+    private TopologyContext topologyContext;
+
+    @Before
+    public void setUp() {
+        flowRepository = repositoryFactory.createFlowRepository();
+        transitVlanRepository = repositoryFactory.createTransitVlanRepository();
+        srcSwitch = createTestSwitch(1);
+        destSwitch = createTestSwitch(2);
+    }
+
+    @Test
+    public void shouldPingCachedFlowOnTick() {
+        createFlow(VLAN);
+        FlowFetcher bolt = makeBolt();
+
+        Tuple tick = makeTickTuple();
+        bolt.execute(tick);
+
+        assertEquals(VLAN, capturePingedEncapsulationId(tick));
+    }
+
+    @Test
+    public void shouldNotExpireCacheWhenPathsAreNotChanged() {
+        createFlow(VLAN);
+        FlowFetcher bolt = makeBolt();
+
+        Tuple update = makeUpdateTuple(true);
+        bolt.execute(update);
+
+        verify(output, never()).emit(eq(FlowFetcher.STREAM_EXPIRE_CACHE_ID), any(Tuple.class), anyList());
+    }
+
+    @Test
+    public void shouldReplaceAndExpireCacheWhenPathsAreChanged() {
+        createFlow(VLAN);
+        FlowFetcher bolt = makeBolt();
+        removeFlow();
+        createFlow(NEW_VLAN);
+
+        Tuple update = makeUpdateTuple(true);
+        bolt.execute(update);
+
+        verify(output).emit(eq(FlowFetcher.STREAM_EXPIRE_CACHE_ID), eq(update), anyList());
+
+        Tuple tick = makeTickTuple();
+        bolt.execute(tick);
+
+        assertEquals(NEW_VLAN, capturePingedEncapsulationId(tick));
+    }
+
+    @Test
+    public void shouldRemoveAndExpireCacheWhenPeriodicPingsAreDisabled() {
+        createFlow(VLAN);
+        FlowFetcher bolt = makeBolt();
+
+        Tuple update = makeUpdateTuple(false);
+        bolt.execute(update);
+
+        verify(output).emit(eq(FlowFetcher.STREAM_EXPIRE_CACHE_ID), eq(update), anyList());
+
+        Tuple tick = makeTickTuple();
+        bolt.execute(tick);
+
+        verify(output, never()).emit(eq(tick), anyList());
+    }
+
+    @Test
+    public void shouldRemoveAndExpireCacheWhenFlowIsRemoved() {
+        createFlow(VLAN);
+        FlowFetcher bolt = makeBolt();
+        removeFlow();
+
+        Tuple update = makeUpdateTuple(true);
+        bolt.execute(update);
+
+        verify(output).emit(eq(FlowFetcher.STREAM_EXPIRE_CACHE_ID), eq(update), anyList());
+
+        Tuple tick = makeTickTuple();
+        bolt.execute(tick);
+
+        verify(output, never()).emit(eq(tick), anyList());
+    }
+
+    @Test
+    public void shouldReuseCachedEncapsulationOnReconciliation() {
+        Flow flow = createFlow(VLAN);
+        FlowFetcher bolt = makeBolt();
+        // the encapsulation is not looked up again for the flow with the same paths
+        transactionManager.doInTransaction(() ->
+                transitVlanRepository.findByPathId(flow.getForwardPathId(), flow.getReversePathId())
+                        .forEach(transitVlanRepository::remove));
+
+        clock.adjust(Duration.ofSeconds(PERIODIC_PING_CACHE_EXPIRY_INTERVAL + 1));
+        Tuple tick = makeTickTuple();
+        bolt.execute(tick);
+
+        verify(output, never()).emit(eq(FlowFetcher.STREAM_EXPIRE_CACHE_ID), any(Tuple.class), anyList());
+        assertEquals(VLAN, capturePingedEncapsulationId(tick));
+    }
+
+    @Test
+    public void shouldExpireCacheOnReconciliationWhenPathsAreChanged() {
+        createFlow(VLAN);
+        FlowFetcher bolt = makeBolt();
+        removeFlow();
+        createFlow(NEW_VLAN);
+
+        Tuple earlyTick = makeTickTuple();
+        bolt.execute(earlyTick);
+
+        verify(output, never()).emit(eq(FlowFetcher.STREAM_EXPIRE_CACHE_ID), any(Tuple.class), anyList());
+        assertEquals(VLAN, capturePingedEncapsulationId(earlyTick));
+
+        clock.adjust(Duration.ofSeconds(PERIODIC_PING_CACHE_EXPIRY_INTERVAL + 1));
+        Tuple tick = makeTickTuple();
+        bolt.execute(tick);
+
+        verify(output).emit(eq(FlowFetcher.STREAM_EXPIRE_CACHE_ID), eq(tick), anyList());
+        assertEquals(NEW_VLAN, capturePingedEncapsulationId(tick));
+    }
+
+    private FlowFetcher makeBolt() {
+        FlowResourcesConfig flowResourcesConfig = configurationProvider.getConfiguration(FlowResourcesConfig.class);
+        FlowFetcher bolt = new FlowFetcher(
+                persistenceManager, flowResourcesConfig, PERIODIC_PING_CACHE_EXPIRY_INTERVAL, clock);
+        bolt.prepare(Collections.emptyMap(), topologyContext, output);
+        return bolt;
+    }
+
+    private Flow createFlow(int vlan) {
+        Flow flow = new TestFlowBuilder(FLOW_ID)
+                .srcSwitch(srcSwitch)
+                .srcPort(1)
+                .destSwitch(destSwitch)
+                .destPort(2)
+                .encapsulationType(FlowEncapsulationType.TRANSIT_VLAN)
+                .build();
+        flow.setPeriodicPings(true);
+        flowRepository.add(flow);
+        transitVlanRepository.add(TransitVlan.builder()
+                .flowId(FLOW_ID)
+                .pathId(flow.getForwardPathId())
+                .vlan(vlan)
+                .build());
+        return flow;
+    }
+
+    private void removeFlow() {
+        transactionManager.doInTransaction(() -> {
+            Flow flow = flowRepository.findById(FLOW_ID).orElseThrow(IllegalStateException::new);
+            transitVlanRepository.findByPathId(flow.getForwardPathId(), flow.getReversePathId())
+                    .forEach(transitVlanRepository::remove);
+            flowRepository.remove(flow);
+        });
+    }
+
+    private int capturePingedEncapsulationId(Tuple tick) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object>> captor = ArgumentCaptor.forClass(List.class);
+        verify(output).emit(eq(tick), captor.capture());
+        Object payload = captor.getValue().get(1);
+        assertTrue(payload instanceof PingContext);
+        return ((PingContext) payload).getTransitEncapsulation().getId();
+    }
+
+    private Tuple makeTickTuple() {
+        when(topologyContext.getComponentId(TICK_TASK_ID)).thenReturn(TickDeduplicator.BOLT_ID);
+        when(topologyContext.getComponentOutputFields(TickDeduplicator.BOLT_ID, TickDeduplicator.STREAM_PING_ID))
+                .thenReturn(TickDeduplicator.STREAM_FIELDS);
+        return new TupleImpl(topologyContext,
+                new Values(clock.millis(), 0L, TickId.PERIODIC_PING, new CommandContext()),
+                TICK_TASK_ID, TickDeduplicator.STREAM_PING_ID);
+    }
+
+    private Tuple makeUpdateTuple(boolean enable) {
+        when(topologyContext.getComponentId(ROUTER_TASK_ID)).thenReturn(InputRouter.BOLT_ID);
+        when(topologyContext.getComponentOutputFields(
+                InputRouter.BOLT_ID, InputRouter.STREAM_PERIODIC_PING_UPDATE_REQUEST_ID))
+                .thenReturn(InputRouter.STREAM_PING_REQUEST_FIELDS);
+        return new TupleImpl(topologyContext,
+                new Values(new PeriodicPingCommand(FLOW_ID, enable), new CommandContext()),
+                ROUTER_TASK_ID, InputRouter.STREAM_PERIODIC_PING_UPDATE_REQUEST_ID);
+    }
+}
@@ -37,6 +37,7 @@ import org.openkilda.wfm.topology.reroute.bolts.FlowRerouteQueueBolt;
 import org.openkilda.wfm.topology.reroute.bolts.OperationQueueBolt;
 import org.openkilda.wfm.topology.reroute.bolts.RerouteBolt;
 import org.openkilda.wfm.topology.reroute.bolts.TimeWindowBolt;
+import org.openkilda.wfm.topology.reroute.model.RerouteAdmissionOptions;
 
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.bolt.KafkaBolt;
@@ -125,7 +126,7 @@ public class RerouteTopology extends AbstractTopology<RerouteTopologyConfig> {
         int rerouteTimeout = (int) TimeUnit.SECONDS.toMillis(topologyConfig.getRerouteTimeoutSeconds());
         FlowRerouteQueueBolt flowRerouteQueueBolt = new FlowRerouteQueueBolt(persistenceManager,
                 topologyConfig.getDefaultFlowPriority(),
-                topologyConfig.getMaxRetry(), rerouteTimeout);
+                topologyConfig.getMaxRetry(), rerouteTimeout, new RerouteAdmissionOptions(topologyConfig));
         declareBolt(topologyBuilder, flowRerouteQueueBolt, FlowRerouteQueueBolt.BOLT_ID)
                 .fieldsGrouping(RerouteBolt.BOLT_ID, STREAM_REROUTE_REQUEST_ID, new Fields(RerouteBolt.FLOW_ID_FIELD))
                 .fieldsGrouping(RerouteBolt.BOLT_ID, STREAM_MANUAL_REROUTE_REQUEST_ID,
@@ -175,7 +176,8 @@ public class RerouteTopology extends AbstractTopology<RerouteTopologyConfig> {
         String openTsdbTopic = topologyConfig.getKafkaTopics().getOtsdbTopic();
         KafkaBolt kafkaBolt = createKafkaBolt(openTsdbTopic);
         declareBolt(topologyBuilder, kafkaBolt, METRICS_BOLT_ID)
-                .shuffleGrouping(RerouteBolt.BOLT_ID, RerouteBolt.STREAM_TO_METRICS_BOLT);
+                .shuffleGrouping(RerouteBolt.BOLT_ID, RerouteBolt.STREAM_TO_METRICS_BOLT)
+                .shuffleGrouping(FlowRerouteQueueBolt.BOLT_ID, FlowRerouteQueueBolt.STREAM_TO_METRICS_BOLT);
     }
 
     /**
@@ -42,6 +42,30 @@ public interface RerouteTopologyConfig extends AbstractTopologyConfig {
     @Default("80")
     int getRerouteTimeoutSeconds();
 
+    @Key("reroute.admission.limit")
+    @Default("200")
+    int getRerouteAdmissionLimit();
+
+    @Key("reroute.admission.adaptive")
+    @Default("false")
+    boolean isRerouteAdmissionAdaptive();
+
+    @Key("reroute.admission.limit.min")
+    @Default("10")
+    int getRerouteAdmissionMinLimit();
+
+    @Key("reroute.admission.limit.max")
+    @Default("1000")
+    int getRerouteAdmissionMaxLimit();
+
+    @Key("reroute.admission.latency.threshold.seconds")
+    @Default("30")
+    int getRerouteAdmissionLatencyThresholdSeconds();
+
+    @Key("reroute.admission.backoff.ratio")
+    @Default("0.9")
+    double getRerouteAdmissionBackoffRatio();
+
     default String getKafkaTopoRerouteTopic() {
         return getKafkaTopics().getTopoRerouteTopic();
     }
@@ -28,9 +28,12 @@ import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.hubandspoke.CoordinatedBolt;
+import org.openkilda.wfm.share.metrics.MeterRegistryHolder;
 import org.openkilda.wfm.topology.reroute.RerouteTopology;
 import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData;
+import org.openkilda.wfm.topology.reroute.model.RerouteAdmissionOptions;
 import org.openkilda.wfm.topology.reroute.service.IRerouteQueueCarrier;
+import org.openkilda.wfm.topology.reroute.service.RerouteAdmissionController;
 import org.openkilda.wfm.topology.reroute.service.RerouteQueueService;
 
 import org.apache.storm.topology.OutputFieldsDeclarer;
@@ -47,21 +50,35 @@ public class FlowRerouteQueueBolt extends CoordinatedBolt implements IRerouteQue
     public static final String STREAM_OPERATION_QUEUE_ID = "operation-queue";
     public static final Fields FIELDS_OPERATION_QUEUE = new Fields(FLOW_ID_FIELD, FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT);
 
+    public static final String STREAM_TO_METRICS_BOLT = "to-metrics-bolt-stream";
+
     private final int defaultFlowPriority;
     private final int maxRetry;
+    private final RerouteAdmissionOptions admissionOptions;
     private PersistenceManager persistenceManager;
     private transient RerouteQueueService rerouteQueueService;
+    private transient boolean metricsRegistered;
 
-    public FlowRerouteQueueBolt(PersistenceManager persistenceManager,
-                                int defaultFlowPriority, int maxRetry, int rerouteTimeout) {
+    public FlowRerouteQueueBolt(PersistenceManager persistenceManager, int defaultFlowPriority, int maxRetry,
+                                int rerouteTimeout, RerouteAdmissionOptions admissionOptions) {
         super(true, rerouteTimeout, null);
         this.persistenceManager = persistenceManager;
         this.defaultFlowPriority = defaultFlowPriority;
         this.maxRetry = maxRetry;
+        this.admissionOptions = admissionOptions;
+
+        enableMeterRegistry("kilda.reroute", STREAM_TO_METRICS_BOLT);
     }
 
     @Override
     protected void handleInput(Tuple tuple) throws PipelineException {
+        if (!metricsRegistered) {
+            MeterRegistryHolder.getRegistry().ifPresent(registry -> {
+                rerouteQueueService.registerMetrics(registry);
+                metricsRegistered = true;
+            });
+        }
+
         String sourceComponent = tuple.getSourceComponent();
         if (sourceComponent.equals(TimeWindowBolt.BOLT_ID)) {
             rerouteQueueService.flushThrottling();
@@ -103,7 +120,8 @@ public class FlowRerouteQueueBolt extends CoordinatedBolt implements IRerouteQue
 
     @Override
     protected void init() {
-        rerouteQueueService = new RerouteQueueService(this, persistenceManager, defaultFlowPriority, maxRetry);
+        rerouteQueueService = new RerouteQueueService(this, persistenceManager, defaultFlowPriority, maxRetry,
+                new RerouteAdmissionController(admissionOptions));
     }
 
     @Override
@@ -0,0 +1,58 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.reroute.model;
+
+import org.openkilda.wfm.topology.reroute.RerouteTopologyConfig;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+@Value
+@Builder
+@AllArgsConstructor
+public class RerouteAdmissionOptions implements Serializable {
+    /**
+     * Fixed limit of in-flight reroutes or the initial one for the adaptive mode. Zero disables the limit.
+     */
+    private int limit;
+
+    private boolean adaptive;
+
+    private int minLimit;
+
+    private int maxLimit;
+
+    private Duration latencyThreshold;
+
+    private double backoffRatio;
+
+    public RerouteAdmissionOptions(RerouteTopologyConfig topologyConfig) {
+        limit = topologyConfig.getRerouteAdmissionLimit();
+        adaptive = topologyConfig.isRerouteAdmissionAdaptive();
+        minLimit = topologyConfig.getRerouteAdmissionMinLimit();
+        maxLimit = topologyConfig.getRerouteAdmissionMaxLimit();
+        latencyThreshold = Duration.ofSeconds(topologyConfig.getRerouteAdmissionLatencyThresholdSeconds());
+        backoffRatio = topologyConfig.getRerouteAdmissionBackoffRatio();
+    }
+
+    public static RerouteAdmissionOptions unlimited() {
+        return RerouteAdmissionOptions.builder().build();
+    }
+}
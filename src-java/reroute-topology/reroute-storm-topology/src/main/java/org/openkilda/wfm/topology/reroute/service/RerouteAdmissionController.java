@@ -0,0 +1,100 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.reroute.service;
+
+import org.openkilda.wfm.topology.reroute.model.RerouteAdmissionOptions;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limits the number of reroutes processed by flowhs at the same time.
+ * <p/>
+ * In the adaptive mode the limit follows AIMD: each reroute completed within the latency threshold while the limit is
+ * utilized by at least a half increases it by {@code 1 / limit} (i.e. by one per a completed "window" of reroutes),
+ * while a slow, timed out or concurrency-failed reroute multiplies it by the backoff ratio.
+ */
+@Slf4j
+public class RerouteAdmissionController {
+    private final RerouteAdmissionOptions options;
+    private final Clock clock;
+
+    private final Map<String, Instant> inFlight = new HashMap<>();
+    private double limit;
+
+    public RerouteAdmissionController(RerouteAdmissionOptions options) {
+        this(options, Clock.systemUTC());
+    }
+
+    RerouteAdmissionController(RerouteAdmissionOptions options, Clock clock) {
+        this.options = options;
+        this.clock = clock;
+        this.limit = options.getLimit();
+    }
+
+    /**
+     * Check whether one more reroute can be sent.
+     */
+    public boolean hasCapacity() {
+        return !isLimited() || inFlight.size() < (int) limit;
+    }
+
+    /**
+     * Register the reroute of the flow as in-flight.
+     */
+    public void admit(String flowId) {
+        inFlight.put(flowId, clock.instant());
+    }
+
+    /**
+     * Unregister the in-flight reroute of the flow and adjust the limit according to its outcome.
+     *
+     * @param flowId flow id
+     * @param congested true if the reroute was timed out or failed because of concurrent operations
+     */
+    public void release(String flowId, boolean congested) {
+        Instant admittedAt = inFlight.remove(flowId);
+        if (admittedAt == null || !isLimited() || !options.isAdaptive()) {
+            return;
+        }
+
+        Duration latency = Duration.between(admittedAt, clock.instant());
+        if (congested || latency.compareTo(options.getLatencyThreshold()) > 0) {
+            limit = Math.max(options.getMinLimit(), limit * options.getBackoffRatio());
+            log.info("Reroute of flow {} took {} (congested={}), decrease reroute limit to {}",
+                    flowId, latency, congested, (int) limit);
+        } else if ((inFlight.size() + 1) * 2 >= limit) {
+            limit = Math.min(options.getMaxLimit(), limit + 1 / limit);
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    private boolean isLimited() {
+        return options.getLimit() > 0;
+    }
+}
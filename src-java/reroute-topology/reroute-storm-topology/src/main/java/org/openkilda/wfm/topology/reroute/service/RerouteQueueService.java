@@ -32,12 +32,17 @@ import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData;
+import org.openkilda.wfm.topology.reroute.model.RerouteAdmissionOptions;
 import org.openkilda.wfm.topology.reroute.model.RerouteQueue;
 
 import com.google.common.annotations.VisibleForTesting;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -45,6 +50,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -57,12 +64,41 @@ public class RerouteQueueService {
     private Map<String, RerouteQueue> reroutes = new HashMap<>();
     private IRerouteQueueCarrier carrier;
 
+    private final RerouteAdmissionController admissionController;
+    private final Queue<AdmissionRequest> awaitingAdmission;
+    private long admissionSequence;
+
     public RerouteQueueService(IRerouteQueueCarrier carrier, PersistenceManager persistenceManager,
                                int defaultFlowPriority, int maxRetry) {
+        this(carrier, persistenceManager, defaultFlowPriority, maxRetry,
+                new RerouteAdmissionController(RerouteAdmissionOptions.unlimited()));
+    }
+
+    public RerouteQueueService(IRerouteQueueCarrier carrier, PersistenceManager persistenceManager,
+                               int defaultFlowPriority, int maxRetry,
+                               RerouteAdmissionController admissionController) {
         this.carrier = carrier;
         flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
         this.defaultFlowPriority = defaultFlowPriority;
         this.maxRetry = maxRetry;
+        this.admissionController = admissionController;
+
+        Comparator<FlowThrottlingData> comparator = ((Comparator<FlowThrottlingData>) this::comparePriority)
+                .thenComparing(this::compareAvailableBandwidth)
+                .thenComparing(this::compareTimeCreate);
+        awaitingAdmission = new PriorityQueue<>(Comparator.comparing(AdmissionRequest::getThrottlingData, comparator)
+                .thenComparingLong(AdmissionRequest::getSequence));
+    }
+
+    /**
+     * Register gauges of the admission queue size, the in-flight reroutes count and the current in-flight limit.
+     */
+    public void registerMetrics(MeterRegistry registry) {
+        Gauge.builder("admission.queue.size", awaitingAdmission, Collection::size).register(registry);
+        Gauge.builder("admission.inflight", admissionController, RerouteAdmissionController::getInFlight)
+                .register(registry);
+        Gauge.builder("admission.limit", admissionController, RerouteAdmissionController::getLimit)
+                .register(registry);
     }
 
     /**
@@ -104,13 +140,15 @@ public class RerouteQueueService {
                     description);
             carrier.emitFlowRerouteError(errorData);
         } else {
+            // manual reroutes are not throttled and must be answered in time, so they bypass the admission queue
             rerouteQueue.putToInProgress(throttlingData);
             sendRerouteRequest(flowId, throttlingData);
         }
     }
 
     /**
-     * Process reroute result. Check fail reason, decide if retry is needed and schedule it if yes.
+     * Process reroute result. Check fail reason, decide if retry is needed and schedule it if yes. Queued reroutes
+     * are sent in the freed admission slot.
      *
      * @param rerouteResultInfoData reroute result
      * @param correlationId correlation id
@@ -125,39 +163,34 @@ public class RerouteQueueService {
             return;
         }
         carrier.cancelTimeout(correlationId);
+        RerouteError rerouteError = rerouteResultInfoData.getRerouteError();
+        admissionController.release(flowId, rerouteError instanceof RerouteInProgressError);
 
         if (rerouteResultInfoData.isSuccess()) {
             FlowThrottlingData toSend = rerouteQueue.processPending();
-            sendRerouteRequest(flowId, toSend);
+            requestAdmission(flowId, toSend);
         } else {
-            RerouteError rerouteError = rerouteResultInfoData.getRerouteError();
             if (isRetryRequired(flowId, rerouteError)) {
                 injectRetry(flowId, rerouteQueue, rerouteError instanceof NoPathFoundError);
             } else {
                 FlowThrottlingData toSend = rerouteQueue.processPending();
-                sendRerouteRequest(flowId, toSend);
+                requestAdmission(flowId, toSend);
             }
         }
+        admitAwaiting();
     }
 
     /**
-     * Move reroute requests form throttling to pending/in-progress.
+     * Move reroute requests form throttling to pending/in-progress. In-progress requests are queued for admission and
+     * sent in the order of flow priority while the in-flight limit allows.
      */
     public void flushThrottling() {
         Map<String, FlowThrottlingData> requestsToSend = new HashMap<>();
         reroutes.forEach((flowId, rerouteQueue) -> rerouteQueue.flushThrottling()
                 .ifPresent(flowThrottlingData -> requestsToSend.put(flowId, flowThrottlingData)));
-        log.info("Send reroute requests for flows {}", requestsToSend.keySet());
-        Comparator<FlowThrottlingData> comparator = ((Comparator<FlowThrottlingData>) this::comparePriority)
-                .thenComparing(this::compareAvailableBandwidth)
-                .thenComparing(this::compareTimeCreate);
-        requestsToSend.entrySet().stream()
-                .sorted(Map.Entry.comparingByValue(comparator))
-                .forEach(es -> {
-                    String flowId = es.getKey();
-                    FlowThrottlingData flowThrottlingData = es.getValue();
-                    sendRerouteRequest(flowId, flowThrottlingData);
-                });
+        log.info("Queue reroute requests for flows {}", requestsToSend.keySet());
+        requestsToSend.forEach(this::requestAdmission);
+        admitAwaiting();
     }
 
     /**
@@ -176,7 +209,11 @@ public class RerouteQueueService {
         } else if (foundReroutes.size() > 1) {
             log.error("Found more than one reroute with correlationId {}. Timed out all of them.", correlationId);
         }
-        foundReroutes.forEach(entry -> injectRetry(entry.getKey(), entry.getValue(), false));
+        foundReroutes.forEach(entry -> {
+            admissionController.release(entry.getKey(), true);
+            injectRetry(entry.getKey(), entry.getValue(), false);
+        });
+        admitAwaiting();
     }
 
     private boolean isRetryRequired(String flowId, RerouteError rerouteError) {
@@ -215,19 +252,37 @@ public class RerouteQueueService {
                     .getCorrelationId();
             retryRequest.setCorrelationId(retryCorrelationId);
             FlowThrottlingData toSend = rerouteQueue.processRetryRequest(retryRequest, carrier);
-            sendRerouteRequest(flowId, toSend);
+            requestAdmission(flowId, toSend);
         } else {
             log.error("No more retries available for reroute request {}.", retryRequest);
             FlowThrottlingData toSend = rerouteQueue.processPending();
             if (toSend != null) {
                 toSend.setIgnoreBandwidth(toSend.isIgnoreBandwidth() || ignoreBandwidth);
             }
-            sendRerouteRequest(flowId, toSend);
+            requestAdmission(flowId, toSend);
+        }
+    }
+
+    private void requestAdmission(String flowId, FlowThrottlingData throttlingData) {
+        if (throttlingData != null) {
+            awaitingAdmission.add(new AdmissionRequest(flowId, throttlingData, admissionSequence++));
+        }
+    }
+
+    private void admitAwaiting() {
+        while (!awaitingAdmission.isEmpty() && admissionController.hasCapacity()) {
+            AdmissionRequest request = awaitingAdmission.poll();
+            sendRerouteRequest(request.getFlowId(), request.getThrottlingData());
+        }
+        if (!awaitingAdmission.isEmpty()) {
+            log.info("{} reroute requests are waiting for admission, {} reroutes are in progress",
+                    awaitingAdmission.size(), admissionController.getInFlight());
         }
     }
 
     private void sendRerouteRequest(String flowId, FlowThrottlingData throttlingData) {
         if (throttlingData != null) {
+            admissionController.admit(flowId);
             FlowRerouteRequest request = new FlowRerouteRequest(flowId, throttlingData.isForce(),
                     throttlingData.isEffectivelyDown(), throttlingData.isIgnoreBandwidth(),
                     throttlingData.getAffectedIsl(), throttlingData.getReason());
@@ -244,6 +299,11 @@ public class RerouteQueueService {
         return reroutes;
     }
 
+    @VisibleForTesting
+    Queue<AdmissionRequest> getAwaitingAdmission() {
+        return awaitingAdmission;
+    }
+
     private int comparePriority(FlowThrottlingData throttlingDataA, FlowThrottlingData throttlingDataB) {
         Integer priorityA = Optional.ofNullable(throttlingDataA.getPriority()).orElse(defaultFlowPriority);
         Integer priorityB = Optional.ofNullable(throttlingDataB.getPriority()).orElse(defaultFlowPriority);
@@ -287,4 +347,11 @@ public class RerouteQueueService {
         }
         return 0;
     }
+
+    @Value
+    static class AdmissionRequest {
+        String flowId;
+        FlowThrottlingData throttlingData;
+        long sequence;
+    }
 }
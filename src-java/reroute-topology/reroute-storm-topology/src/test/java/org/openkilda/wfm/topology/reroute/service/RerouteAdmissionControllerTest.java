@@ -0,0 +1,107 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.reroute.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.wfm.topology.reroute.model.RerouteAdmissionOptions;
+
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+public class RerouteAdmissionControllerTest {
+    private static final Instant START = Instant.parse("2021-01-01T00:00:00Z");
+
+    private final Clock clock = mock(Clock.class);
+
+    @Test
+    public void shouldLimitInFlightReroutes() {
+        RerouteAdmissionController controller = new RerouteAdmissionController(
+                RerouteAdmissionOptions.builder().limit(2).build(), clock);
+        when(clock.instant()).thenReturn(START);
+
+        controller.admit("flow1");
+        assertTrue(controller.hasCapacity());
+        controller.admit("flow2");
+        assertFalse(controller.hasCapacity());
+
+        controller.release("flow1", true);
+        assertTrue(controller.hasCapacity());
+        assertEquals(1, controller.getInFlight());
+        // fixed limit is not affected by congestion
+        assertEquals(2, controller.getLimit());
+    }
+
+    @Test
+    public void shouldNotLimitInFlightReroutesIfLimitIsNotSet() {
+        RerouteAdmissionController controller = new RerouteAdmissionController(
+                RerouteAdmissionOptions.unlimited(), clock);
+        when(clock.instant()).thenReturn(START);
+
+        for (int i = 0; i < 1000; i++) {
+            controller.admit("flow" + i);
+        }
+        assertTrue(controller.hasCapacity());
+    }
+
+    @Test
+    public void shouldIncreaseLimitOnFastReroutesAndDecreaseOnSlowOnes() {
+        RerouteAdmissionController controller = new RerouteAdmissionController(adaptiveOptions(), clock);
+        for (int i = 0; i < 50; i++) {
+            int admitted = controller.getLimit();
+            when(clock.instant()).thenReturn(START);
+            for (int j = 0; j < admitted; j++) {
+                controller.admit("flow" + j);
+            }
+            assertFalse(controller.hasCapacity());
+
+            when(clock.instant()).thenReturn(START.plusSeconds(1));
+            for (int j = 0; j < admitted; j++) {
+                controller.release("flow" + j, false);
+            }
+            assertEquals(0, controller.getInFlight());
+        }
+        assertEquals("limit must not go above the maximum", 20, controller.getLimit());
+
+        when(clock.instant()).thenReturn(START);
+        controller.admit("slow");
+        when(clock.instant()).thenReturn(START.plusSeconds(31));
+        controller.release("slow", false);
+        assertEquals(10, controller.getLimit());
+
+        controller.admit("congested");
+        controller.release("congested", true);
+        assertEquals("limit must not go below the minimum", 10, controller.getLimit());
+    }
+
+    private static RerouteAdmissionOptions adaptiveOptions() {
+        return RerouteAdmissionOptions.builder()
+                .limit(10)
+                .adaptive(true)
+                .minLimit(10)
+                .maxLimit(20)
+                .latencyThreshold(Duration.ofSeconds(30))
+                .backoffRatio(0.5)
+                .build();
+    }
+}
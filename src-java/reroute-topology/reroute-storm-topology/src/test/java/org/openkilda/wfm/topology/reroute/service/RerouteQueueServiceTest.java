@@ -24,6 +24,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -43,6 +44,7 @@ import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData;
 import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData.FlowThrottlingDataBuilder;
+import org.openkilda.wfm.topology.reroute.model.RerouteAdmissionOptions;
 import org.openkilda.wfm.topology.reroute.model.RerouteQueue;
 
 import com.google.common.collect.Sets;
@@ -76,6 +78,7 @@ public class RerouteQueueServiceTest {
     @Mock
     private FlowRepository flowRepository;
 
+    private PersistenceManager persistenceManager;
     private RerouteQueueService rerouteQueueService;
 
     @Before
@@ -88,7 +91,7 @@ public class RerouteQueueServiceTest {
         RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
         when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
 
-        PersistenceManager persistenceManager = mock(PersistenceManager.class);
+        persistenceManager = mock(PersistenceManager.class);
         when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
 
         rerouteQueueService = new RerouteQueueService(carrier, persistenceManager, 0, 3);
@@ -348,6 +351,39 @@ public class RerouteQueueServiceTest {
         verify(carrier).sendRerouteRequest(any(String.class), eq(getFlowRerouteRequest("third flow", third)));
     }
 
+    @Test
+    public void shouldSendQueuedRequestsByPriorityWhenInFlightLimitIsReached() {
+        RerouteAdmissionOptions options = RerouteAdmissionOptions.builder().limit(1).build();
+        rerouteQueueService = new RerouteQueueService(carrier, persistenceManager, 0, 3,
+                new RerouteAdmissionController(options));
+        FlowThrottlingData first = getFlowThrottlingData(flow, "first").priority(1).build();
+        FlowThrottlingData second = getFlowThrottlingData(flow, "second").priority(2).build();
+        FlowThrottlingData third = getFlowThrottlingData(flow, "third").priority(3).build();
+        rerouteQueueService.getReroutes().put("third flow", RerouteQueue.builder().throttling(third).build());
+        rerouteQueueService.getReroutes().put("first flow", RerouteQueue.builder().throttling(first).build());
+
+        rerouteQueueService.flushThrottling();
+
+        verify(carrier).sendRerouteRequest(eq("first"), eq(getFlowRerouteRequest("first flow", first)));
+        verify(carrier, never()).sendRerouteRequest(eq("third"), any(FlowRerouteRequest.class));
+        assertEquals(1, rerouteQueueService.getAwaitingAdmission().size());
+
+        // a higher priority request overtakes the queued one
+        rerouteQueueService.getReroutes().put("second flow", RerouteQueue.builder().throttling(second).build());
+        rerouteQueueService.flushThrottling();
+        assertEquals(2, rerouteQueueService.getAwaitingAdmission().size());
+
+        RerouteResultInfoData rerouteResultInfoData = RerouteResultInfoData.builder()
+                .flowId("first flow")
+                .success(true)
+                .build();
+        rerouteQueueService.processRerouteResult(rerouteResultInfoData, "first");
+
+        verify(carrier).sendRerouteRequest(eq("second"), eq(getFlowRerouteRequest("second flow", second)));
+        verify(carrier, never()).sendRerouteRequest(eq("third"), any(FlowRerouteRequest.class));
+        assertEquals(1, rerouteQueueService.getAwaitingAdmission().size());
+    }
+
     @Test
     public void shouldMergeThrottledAndPendingRequestOnFlushWindowEvent() {
         FlowThrottlingData inProgress = FlowThrottlingData.builder()
@@ -23,7 +23,6 @@ import org.openkilda.server42.control.messaging.flowrtt.Control;
 import org.openkilda.server42.control.messaging.flowrtt.Control.CommandPacket;
 import org.openkilda.server42.control.messaging.flowrtt.Control.CommandPacket.Builder;
 import org.openkilda.server42.control.messaging.flowrtt.Control.CommandPacket.Type;
-import org.openkilda.server42.control.messaging.flowrtt.Control.CommandPacketResponse;
 import org.openkilda.server42.control.messaging.flowrtt.Control.Flow;
 import org.openkilda.server42.control.messaging.flowrtt.Control.Flow.EncapsulationType;
 import org.openkilda.server42.control.messaging.flowrtt.ListFlowsOnSwitch;
@@ -50,7 +49,12 @@ import org.springframework.stereotype.Service;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
 
 /**
  * Main class for that server. It listen messages from storm by kafka filtered by KafkaRecordFilter than repack it
@@ -68,6 +72,10 @@ public class Gate {
 
     private final ZeroMqClient zeroMqClient;
 
+    // Responses are handled out of the ZeroMQ client thread, so a slow kafka send doesn't stall the socket.
+    private final ExecutorService callbackExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "server42-control-gate-callback"));
+
     @Value("${openkilda.server42.control.kafka.topic.to_storm}")
     private String toStorm;
 
@@ -88,6 +96,11 @@ public class Gate {
         ).collect(Collectors.toMap(SimpleEntry::getKey, SimpleEntry::getValue));
     }
 
+    @PreDestroy
+    void clear() {
+        callbackExecutor.shutdown();
+    }
+
     @KafkaHandler
     void listen(@Payload AddFlow data,
                         @Header(KafkaHeaders.RECEIVED_MESSAGE_KEY) String switchIdKey) {
@@ -110,12 +123,7 @@ public class Gate {
         Control.AddFlow addFlow = Control.AddFlow.newBuilder().setFlow(flow).build();
         builder.setType(Type.ADD_FLOW);
         builder.addCommand(Any.pack(addFlow));
-        CommandPacket packet = builder.build();
-        try {
-            zeroMqClient.send(packet);
-        } catch (InvalidProtocolBufferException e) {
-            log.error("Marshalling error on {}", data);
-        }
+        send(builder.build(), data);
     }
 
     @KafkaHandler
@@ -127,38 +135,33 @@ public class Gate {
         Control.ClearFlowsFilter clearFlowsFilter = Control.ClearFlowsFilter.newBuilder()
                 .setDstMac(switchId.toMacAddress()).build();
         builder.addCommand(Any.pack(clearFlowsFilter));
-        try {
-            zeroMqClient.send(builder.build());
-        } catch (InvalidProtocolBufferException e) {
-            log.error("Marshalling error on {}", data);
-        }
+        send(builder.build(), data);
     }
 
     @KafkaHandler
     void listen(ListFlowsRequest data,
                 @Header(KafkaHeaders.RECEIVED_MESSAGE_KEY) String switchIdKey) {
         CommandPacket commandPacket = getFlowListCommandPacket(switchIdKey);
-        try {
-            CommandPacketResponse serverResponse = zeroMqClient.send(commandPacket);
-
-            if (serverResponse == null) {
-                log.error("No response from server on {}", data.getHeaders().getCorrelationId());
+        whenComplete(zeroMqClient.send(commandPacket), data, (serverResponse, error) -> {
+            if (error != null) {
+                log.error("No response from server on {}: {}", data.getHeaders().getCorrelationId(), error.toString());
                 return;
             }
+            try {
+                HashSet<String> flowList = new HashSet<>();
+                for (Any any : serverResponse.getResponseList()) {
+                    flowList.add(any.unpack(Flow.class).getFlowId());
+                }
 
-            HashSet<String> flowList = new HashSet<>();
-            for (Any any : serverResponse.getResponseList()) {
-                flowList.add(any.unpack(Flow.class).getFlowId());
-            }
-
-            ListFlowsResponse response = ListFlowsResponse.builder()
-                    .headers(data.getHeaders())
-                    .flowIds(flowList).build();
+                ListFlowsResponse response = ListFlowsResponse.builder()
+                        .headers(data.getHeaders())
+                        .flowIds(flowList).build();
 
-            template.send(toStorm, response);
-        } catch (InvalidProtocolBufferException e) {
-            log.error("Marshalling error on {}", data);
-        }
+                template.send(toStorm, response);
+            } catch (InvalidProtocolBufferException e) {
+                log.error("Marshalling error on {}", data);
+            }
+        });
     }
 
     @KafkaHandler
@@ -166,25 +169,23 @@ public class Gate {
                 @Header(KafkaHeaders.RECEIVED_MESSAGE_KEY) String switchIdKey) {
 
         CommandPacket commandPacket = getFlowListCommandPacket(switchIdKey);
-
-        try {
-            CommandPacketResponse serverResponse = zeroMqClient.send(commandPacket);
-            if (serverResponse == null) {
-                log.error("No response from server on {}", data.getHeaders().getCorrelationId());
+        whenComplete(zeroMqClient.send(commandPacket), data, (serverResponse, error) -> {
+            if (error != null) {
+                log.error("No response from server on {}: {}", data.getHeaders().getCorrelationId(), error.toString());
                 return;
             }
-
-            for (Any any : serverResponse.getResponseList()) {
-                String flowId = any.unpack(Flow.class).getFlowId();
-                if (!data.getFlowIds().contains(flowId)) {
-                    removeFlow(flowId, FlowDirection.FORWARD);
-                    removeFlow(flowId, FlowDirection.REVERSE);
+            try {
+                for (Any any : serverResponse.getResponseList()) {
+                    String flowId = any.unpack(Flow.class).getFlowId();
+                    if (!data.getFlowIds().contains(flowId)) {
+                        removeFlow(flowId, FlowDirection.FORWARD, data);
+                        removeFlow(flowId, FlowDirection.REVERSE, data);
+                    }
                 }
+            } catch (InvalidProtocolBufferException e) {
+                log.error("Marshalling error on {}", data);
             }
-
-        } catch (InvalidProtocolBufferException e) {
-            log.error("Marshalling error on {}", data);
-        }
+        });
     }
 
     @KafkaHandler
@@ -194,24 +195,15 @@ public class Gate {
                 .setPacketGenerationIntervalInMs(data.getPacketGenerationIntervalInMs()).build();
         builder.setType(Type.PUSH_SETTINGS);
         builder.addCommand(Any.pack(pushSettings));
-        CommandPacket packet = builder.build();
-        try {
-            zeroMqClient.send(packet);
-        } catch (InvalidProtocolBufferException e) {
-            log.error("Marshalling error on {}", data);
-        }
+        send(builder.build(), data);
     }
 
     @KafkaHandler
     void listen(RemoveFlow data) {
-        try {
-            removeFlow(data.getFlowId(), data.getDirection());
-        } catch (InvalidProtocolBufferException e) {
-            log.error("Marshalling error on {}", data);
-        }
+        removeFlow(data.getFlowId(), data.getDirection(), data);
     }
 
-    private void removeFlow(String flowId, FlowDirection direction) throws InvalidProtocolBufferException {
+    private void removeFlow(String flowId, FlowDirection direction, Object data) {
         Builder builder = CommandPacket.newBuilder();
         Flow flow = Flow.newBuilder()
                 .setFlowId(flowId)
@@ -220,8 +212,32 @@ public class Gate {
         Control.RemoveFlow removeFlow = Control.RemoveFlow.newBuilder().setFlow(flow).build();
         builder.setType(Type.REMOVE_FLOW);
         builder.addCommand(Any.pack(removeFlow));
-        CommandPacket packet = builder.build();
-        zeroMqClient.send(packet);
+        send(builder.build(), data);
+    }
+
+    /**
+     * Send the command without waiting for the response, only a failure is logged.
+     */
+    private void send(CommandPacket packet, Object data) {
+        whenComplete(zeroMqClient.send(packet), data, (response, error) -> {
+            if (error != null) {
+                log.error("Unable to send {} command on {}: {}", packet.getType(), data, error.toString());
+            }
+        });
+    }
+
+    /**
+     * Handle the server response in the callback executor. A failure of the callback itself is logged, otherwise it
+     * would be lost in the future returned by whenCompleteAsync.
+     */
+    private <T> void whenComplete(CompletableFuture<T> future, Object data, BiConsumer<T, Throwable> callback) {
+        future.whenCompleteAsync((response, error) -> {
+            try {
+                callback.accept(response, error);
+            } catch (Exception e) {
+                log.error("Unable to handle the server response on {}", data, e);
+            }
+        }, callbackExecutor);
     }
 
     private CommandPacket getFlowListCommandPacket(String switchIdKey) {
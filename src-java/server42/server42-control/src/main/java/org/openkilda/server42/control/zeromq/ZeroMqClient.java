@@ -13,7 +13,6 @@
  *   limitations under the License.
  */
 
-
 package org.openkilda.server42.control.zeromq;
 
 import org.openkilda.server42.control.messaging.flowrtt.Control.CommandPacket;
@@ -29,103 +28,223 @@ import org.zeromq.ZMQ.Poller;
 import org.zeromq.ZMQ.Socket;
 import zmq.ZError;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
-// Lazy Pirate pattern from http://zguide.zeromq.org/page:all#Client-Side-Reliability-Lazy-Pirate-Pattern
+/**
+ * Asynchronous client of the server42 control socket. Requests are pipelined over a single DEALER socket and
+ * correlated with responses by the communication id, so any number of requests (limited by
+ * {@code maxInFlight}) can wait for the response at the same time.
+ * <p/>
+ * ZeroMQ sockets are not thread-safe, so the socket is owned by the client thread. Callers put requests into a queue,
+ * the thread sends them, receives responses and completes the futures. A request which isn't answered within the
+ * request timeout is sent again, up to {@code requestRetries} attempts in total (the Lazy Pirate pattern, but the
+ * DEALER socket doesn't get stuck, so it is kept as is). After the last attempt the request fails with
+ * {@link TimeoutException} and a late response is dropped.
+ * <p/>
+ * Messages are framed with an empty delimiter frame, so the server side can be a REP socket.
+ */
 @Component
 @Slf4j
-public class ZeroMqClient {
+public class ZeroMqClient extends Thread {
+    private static final byte[] DELIMITER = new byte[0];
+    private static final long POLL_INTERVAL_MILLIS = 10;
 
-    private ZContext ctx;
-    private Socket client;
-    private Poller poller;
+    private final String serverEndpoint;
+    private final long requestTimeout;
+    private final int requestRetries;
+    private final int maxInFlight;
 
-    @Value("${openkilda.server42.control.zeromq.server.endpoint}")
-    private String serverEndpoint;
+    private final AtomicLong communicationIdSequence = new AtomicLong();
+    private final Queue<PendingRequest> outgoing = new ConcurrentLinkedQueue<>();
 
-    @Value("${openkilda.server42.control.zeromq.request.timeout}")
-    private Long requestTimeout;
+    // both are ordered by the deadline, as all requests have the same timeout
+    private final Queue<PendingRequest> awaitingSend = new ArrayDeque<>();
+    private final Map<Long, PendingRequest> inFlight = new LinkedHashMap<>();
+
+    private ZContext ctx;
 
-    @Value("${openkilda.server42.control.zeromq.request.retries}")
-    private Long requestRetries;
+    public ZeroMqClient(@Value("${openkilda.server42.control.zeromq.server.endpoint}") String serverEndpoint,
+                        @Value("${openkilda.server42.control.zeromq.request.timeout}") long requestTimeout,
+                        @Value("${openkilda.server42.control.zeromq.request.retries}") int requestRetries,
+                        @Value("${openkilda.server42.control.zeromq.request.max_in_flight:100}") int maxInFlight) {
+        super("server42-control-zeromq-client");
+        this.serverEndpoint = serverEndpoint;
+        this.requestTimeout = requestTimeout;
+        this.requestRetries = requestRetries;
+        this.maxInFlight = maxInFlight;
+    }
 
     @PostConstruct
-    private void init() {
+    void init() {
         ctx = new ZContext();
+        start();
     }
 
-
     @PreDestroy
-    private void clear() {
+    void clear() {
+        interrupt();
+        try {
+            join(requestTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
         ctx.close();
     }
 
     /**
-     * Send message to server and return result is success.
-     * @return CommandPacketResponse or null in case of error
+     * Send the command to the server. The communication id of the command is replaced by the client one.
+     *
+     * @return future of the server response, completed exceptionally with {@link TimeoutException} if there is no
+     *     response on any of the attempts
      */
-    public CommandPacketResponse send(CommandPacket commandPacket) throws InvalidProtocolBufferException {
-
-        byte[] response = sendRequest(commandPacket.toByteArray());
+    public CompletableFuture<CommandPacketResponse> send(CommandPacket commandPacket) {
+        long communicationId = communicationIdSequence.incrementAndGet();
+        byte[] request = commandPacket.toBuilder().setCommunicationId(communicationId).build().toByteArray();
+        PendingRequest pendingRequest = new PendingRequest(communicationId, request, requestRetries);
+        outgoing.add(pendingRequest);
+        return pendingRequest.future;
+    }
 
-        if (response == null) {
-            return null;
+    /**
+     * Send queued requests, receive responses and resend or expire timed out requests.
+     */
+    @Override
+    public void run() {
+        Socket client = ctx.createSocket(ZMQ.DEALER);
+        client.setLinger(0);
+        client.connect(serverEndpoint);
+        log.info("connect to server {}", serverEndpoint);
+        Poller poller = ctx.createPoller(1);
+        poller.register(client, Poller.POLLIN);
+        try {
+            while (!isInterrupted()) {
+                try {
+                    sendQueued(client);
+                    if (poller.poll(POLL_INTERVAL_MILLIS) == -1) {
+                        break;  // Interrupted
+                    }
+                    if (poller.pollin(0)) {
+                        receiveAll(client);
+                    }
+                    expire(System.currentTimeMillis());
+                } catch (org.zeromq.ZMQException ex) {
+                    if (ex.getErrorCode() == ZError.ETERM) {
+                        break;
+                    }
+                    log.error(ex.toString());
+                }
+            }
+        } finally {
+            poller.unregister(client);
+            ctx.destroySocket(client);
+            failAll();
         }
-
-        return CommandPacketResponse.parseFrom(response);
     }
 
-    private byte[] sendRequest(byte[] request) {
-        long retriesLeft = requestRetries;
-        while (retriesLeft > 0 && !Thread.currentThread().isInterrupted()) {
-            try {
-                if (client == null) {
-                    reconnect();
-                }
+    private void sendQueued(Socket client) {
+        PendingRequest request;
+        while ((request = outgoing.poll()) != null) {
+            request.deadline = System.currentTimeMillis() + requestTimeout;
+            awaitingSend.add(request);
+        }
+        while (inFlight.size() < maxInFlight && (request = awaitingSend.peek()) != null) {
+            if (!client.send(DELIMITER, ZMQ.SNDMORE | ZMQ.DONTWAIT)) {
+                break;  // server is not connected or the send queue is full, retry on the next round
+            }
+            // the rest of a multipart message is accepted once its first frame is accepted
+            client.send(request.payload, 0);
+            awaitingSend.poll();
+            inFlight.put(request.communicationId, request);
+        }
+    }
 
-                client.send(request);
+    private void receiveAll(Socket client) {
+        byte[] frame;
+        while ((frame = client.recv(ZMQ.DONTWAIT)) != null) {
+            if (frame.length == 0 && client.hasReceiveMore()) {
+                frame = client.recv(ZMQ.DONTWAIT);
+            }
+            handleResponse(frame);
+        }
+    }
 
-                int rc = poller.poll(requestTimeout);
-                if (rc == -1) {
-                    break; //  Interrupted
-                }
-                if (poller.pollin(0)) {
-                    return client.recv();
-                } else if (--retriesLeft == 0) {
-                    log.error("server seems to be offline, abandoning\n");
-                    break;
-                } else {
-                    log.warn("no response from server, retrying");
-                    //  Old socket is confused; close it and open a new one
-                    reconnect();
-
-                    //  Send request again, on new socket
-                    client.send(request);
-                }
-            } catch (org.zeromq.ZMQException ex) {
-                log.error(ex.toString());
-                if (ex.getErrorCode() == ZError.EFSM) {
-                    reconnect();
-                }
+    private void handleResponse(byte[] frame) {
+        try {
+            CommandPacketResponse response = CommandPacketResponse.parseFrom(frame);
+            PendingRequest request = inFlight.remove(response.getCommunicationId());
+            if (request == null) {
+                log.debug("Drop the response on an unknown or timed out request {}", response.getCommunicationId());
+            } else {
+                request.future.complete(response);
             }
+        } catch (InvalidProtocolBufferException e) {
+            log.error("Marshalling error on the server response: {}", e.toString());
+        }
+    }
+
+    private void expire(long now) {
+        List<PendingRequest> retries = new ArrayList<>();
+        expire(awaitingSend.iterator(), now, retries);
+        expire(inFlight.values().iterator(), now, retries);
+        // the new deadline is the latest one, so the queue stays ordered
+        for (PendingRequest request : retries) {
+            request.deadline = now + requestTimeout;
+            awaitingSend.add(request);
         }
-        return null;
     }
 
-    private void reconnect() {
-        if (client != null) {
-            if (poller != null) {
-                poller.unregister(client);
+    private void expire(Iterator<PendingRequest> requests, long now, List<PendingRequest> retries) {
+        while (requests.hasNext()) {
+            PendingRequest request = requests.next();
+            if (request.deadline > now) {
+                break;
+            }
+            requests.remove();
+            if (--request.attemptsLeft > 0) {
+                log.warn("No response from server on the request {}, retrying", request.communicationId);
+                retries.add(request);
+            } else {
+                log.error("No response from server on the request {}, abandoning", request.communicationId);
+                request.future.completeExceptionally(new TimeoutException(String.format(
+                        "No response from server %s within %d attempts of %d ms", serverEndpoint, requestRetries,
+                        requestTimeout)));
             }
-            ctx.destroySocket(client);
         }
-        log.info("reconnecting to server {}", serverEndpoint);
-        client = ctx.createSocket(ZMQ.REQ);
-        client.connect(serverEndpoint);
-        if (poller == null) {
-            poller = ctx.createPoller(1);
+    }
+
+    private void failAll() {
+        IllegalStateException error = new IllegalStateException("ZeroMQ client is stopped");
+        inFlight.values().forEach(request -> request.future.completeExceptionally(error));
+        inFlight.clear();
+        awaitingSend.forEach(request -> request.future.completeExceptionally(error));
+        awaitingSend.clear();
+        outgoing.forEach(request -> request.future.completeExceptionally(error));
+        outgoing.clear();
+    }
+
+    private static class PendingRequest {
+        final long communicationId;
+        final byte[] payload;
+        final CompletableFuture<CommandPacketResponse> future = new CompletableFuture<>();
+        long deadline;
+        int attemptsLeft;
+
+        PendingRequest(long communicationId, byte[] payload, int attempts) {
+            this.communicationId = communicationId;
+            this.payload = payload;
+            this.attemptsLeft = attempts;
         }
-        poller.register(client, Poller.POLLIN);
     }
 }
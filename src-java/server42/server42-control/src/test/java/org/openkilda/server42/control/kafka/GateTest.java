@@ -16,8 +16,10 @@
 package org.openkilda.server42.control.kafka;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -41,6 +43,7 @@ import org.openkilda.server42.messaging.FlowDirection;
 
 import com.google.protobuf.Any;
 import com.google.protobuf.InvalidProtocolBufferException;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
@@ -55,6 +58,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest(classes = {Gate.class})
@@ -65,6 +69,7 @@ import java.util.Map;
         KafkaTemplate.class
 })
 public class GateTest {
+    private static final long CALLBACK_TIMEOUT_MILLIS = 1000;
 
     @MockBean
     KafkaTemplate<String, Object> template;
@@ -86,6 +91,12 @@ public class GateTest {
     @Autowired
     private SwitchToVlanMapping switchToVlanMapping;
 
+    @Before
+    public void setUp() {
+        when(zeroMqClient.send(any())).thenReturn(
+                CompletableFuture.completedFuture(CommandPacketResponse.getDefaultInstance()));
+    }
+
     @Test
     public void addFlow() throws Exception {
 
@@ -189,7 +200,7 @@ public class GateTest {
 
         when(zeroMqClient.send(argThat(
                 commandPacket -> commandPacket.getType() == Type.LIST_FLOWS)))
-                .thenReturn(commandPacketResponse);
+                .thenReturn(CompletableFuture.completedFuture(commandPacketResponse));
 
 
         String switchId = "00:00:1b:45:18:d6:71:5a";
@@ -198,13 +209,30 @@ public class GateTest {
         gate.listen(new ListFlowsRequest(headers), switchId);
 
         ArgumentCaptor<ListFlowsResponse> argument = ArgumentCaptor.forClass(ListFlowsResponse.class);
-        verify(template).send(eq(toStorm), argument.capture());
+        verify(template, timeout(CALLBACK_TIMEOUT_MILLIS)).send(eq(toStorm), argument.capture());
 
         ListFlowsResponse response = argument.getValue();
 
         assertThat(response.getFlowIds()).contains(flow1.getFlowId(), flow2.getFlowId());
     }
 
+    @Test
+    public void shouldHandleResponsesAfterFailedCallback() throws Exception {
+        when(zeroMqClient.send(argThat(
+                commandPacket -> commandPacket.getType() == Type.LIST_FLOWS)))
+                .thenReturn(CompletableFuture.completedFuture(CommandPacketResponse.getDefaultInstance()));
+        when(template.send(eq(toStorm), any()))
+                .thenThrow(new IllegalStateException("some kafka error"))
+                .thenReturn(null);
+
+        String switchId = "00:00:1b:45:18:d6:71:5a";
+        Headers headers = Headers.builder().correlationId("some-correlation-id").build();
+        gate.listen(new ListFlowsRequest(headers), switchId);
+        gate.listen(new ListFlowsRequest(headers), switchId);
+
+        verify(template, timeout(CALLBACK_TIMEOUT_MILLIS).times(2)).send(eq(toStorm), any());
+    }
+
 
     @Test
     public void pushSettingsTest() throws Exception {
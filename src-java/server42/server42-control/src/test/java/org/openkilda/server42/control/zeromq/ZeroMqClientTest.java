@@ -0,0 +1,174 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.server42.control.zeromq;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import org.openkilda.server42.control.messaging.flowrtt.Control.CommandPacket;
+import org.openkilda.server42.control.messaging.flowrtt.Control.CommandPacket.Type;
+import org.openkilda.server42.control.messaging.flowrtt.Control.CommandPacketResponse;
+import org.openkilda.server42.control.messaging.flowrtt.Control.Flow;
+import org.openkilda.server42.control.messaging.flowrtt.Control.ListFlowsFilter;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.zeromq.ZContext;
+import org.zeromq.ZMQ;
+import org.zeromq.ZMQ.Socket;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class ZeroMqClientTest {
+    private static final long REQUEST_TIMEOUT = 1000;
+    private static final int REQUEST_RETRIES = 2;
+    private static final int MAX_IN_FLIGHT = 10;
+
+    private ZContext context;
+    private Socket server;
+    private ZeroMqClient client;
+
+    @Before
+    public void setUp() {
+        // ROUTER socket plays the server, so it can hold requests and answer them in any order
+        context = new ZContext();
+        server = context.createSocket(ZMQ.ROUTER);
+        server.setReceiveTimeOut(5000);
+        int port = server.bindToRandomPort("tcp://127.0.0.1");
+
+        client = new ZeroMqClient("tcp://127.0.0.1:" + port, REQUEST_TIMEOUT, REQUEST_RETRIES, MAX_IN_FLIGHT);
+        client.init();
+    }
+
+    @After
+    public void tearDown() {
+        client.clear();
+        context.close();
+    }
+
+    @Test
+    public void shouldPipelineRequestsAndCorrelateResponses() throws Exception {
+        List<CompletableFuture<CommandPacketResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < MAX_IN_FLIGHT * 2; i++) {
+            responses.add(client.send(listFlows("mac-" + i)));
+        }
+
+        List<ReceivedRequest> requests = new ArrayList<>();
+        for (int i = 0; i < MAX_IN_FLIGHT; i++) {
+            requests.add(receive());
+        }
+        // the rest of requests waits for free in-flight slots
+        server.setReceiveTimeOut(200);
+        assertThat(server.recv()).isNull();
+        server.setReceiveTimeOut(5000);
+
+        Collections.reverse(requests);
+        requests.forEach(this::reply);
+        for (int i = 0; i < MAX_IN_FLIGHT; i++) {
+            reply(receive());
+        }
+
+        for (int i = 0; i < responses.size(); i++) {
+            CommandPacketResponse response = responses.get(i).get(5, TimeUnit.SECONDS);
+            assertThat(response.getResponse(0).unpack(Flow.class).getDstMac()).isEqualTo("mac-" + i);
+        }
+    }
+
+    @Test
+    public void shouldResendRequestWithoutResponse() throws Exception {
+        CompletableFuture<CommandPacketResponse> future = client.send(listFlows("resent"));
+        ReceivedRequest first = receive();
+        ReceivedRequest resent = receive();
+        assertThat(resent.packet.getCommunicationId()).isEqualTo(first.packet.getCommunicationId());
+
+        reply(resent);
+
+        CommandPacketResponse response = future.get(5, TimeUnit.SECONDS);
+        assertThat(response.getResponse(0).unpack(Flow.class).getDstMac()).isEqualTo("resent");
+    }
+
+    @Test
+    public void shouldTimeoutRequestAndKeepConnection() throws Exception {
+        CompletableFuture<CommandPacketResponse> lost = client.send(listFlows("lost"));
+        ReceivedRequest lostRequest = receive();
+        for (int i = 1; i < REQUEST_RETRIES; i++) {
+            assertThat(receive().packet.getCommunicationId()).isEqualTo(lostRequest.packet.getCommunicationId());
+        }
+        try {
+            lost.get(5, TimeUnit.SECONDS);
+            fail("Request without response must time out after the last attempt");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause()).isInstanceOf(TimeoutException.class);
+        }
+
+        CompletableFuture<CommandPacketResponse> answered = client.send(listFlows("answered"));
+        ReceivedRequest answeredRequest = receive();
+        // late response is dropped
+        reply(lostRequest);
+        reply(answeredRequest);
+
+        CommandPacketResponse response = answered.get(5, TimeUnit.SECONDS);
+        assertThat(response.getResponse(0).unpack(Flow.class).getDstMac()).isEqualTo("answered");
+    }
+
+    private static CommandPacket listFlows(String dstMac) {
+        return CommandPacket.newBuilder()
+                .setType(Type.LIST_FLOWS)
+                .addCommand(Any.pack(ListFlowsFilter.newBuilder().setDstMac(dstMac).build()))
+                .build();
+    }
+
+    private ReceivedRequest receive() throws Exception {
+        byte[] identity = server.recv();
+        assertThat(identity).isNotNull();
+        assertThat(server.recv()).isEmpty();
+        return new ReceivedRequest(identity, CommandPacket.parseFrom(server.recv()));
+    }
+
+    private void reply(ReceivedRequest request) {
+        try {
+            ListFlowsFilter filter = request.packet.getCommand(0).unpack(ListFlowsFilter.class);
+            CommandPacketResponse response = CommandPacketResponse.newBuilder()
+                    .setCommunicationId(request.packet.getCommunicationId())
+                    .addResponse(Any.pack(Flow.newBuilder().setDstMac(filter.getDstMac()).build()))
+                    .build();
+            server.sendMore(request.identity);
+            server.sendMore(new byte[0]);
+            server.send(response.toByteArray());
+        } catch (InvalidProtocolBufferException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class ReceivedRequest {
+        final byte[] identity;
+        final CommandPacket packet;
+
+        ReceivedRequest(byte[] identity, CommandPacket packet) {
+            this.identity = identity;
+            this.packet = packet;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.server42.stats.zeromq;
+
+import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacket;
+import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacketBucket;
+
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.clients.producer.internals.DefaultPartitioner;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the path of one probe round of all flows from received protobuf buckets to serialized Kafka records, with
+ * and without the aggregation. Records are serialized by the same JSON serializer as the application uses, but are
+ * not sent anywhere.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatsCollectorBenchmark {
+    private static final String TOPIC = "kilda.server42-stats.flowrtt.priv";
+    private static final int PARTITIONS = 8;
+    private static final int PACKETS_PER_BUCKET = 1000;
+
+    @Param({"1000", "100000"})
+    private int flowCount;
+
+    /**
+     * Zero means the aggregation is disabled.
+     */
+    @Param({"0", "1000"})
+    private long aggregationWindowMillis;
+
+    private final List<byte[]> buckets = new ArrayList<>();
+    private SerializingProducer producer;
+    private StatsCollector statsCollector;
+
+    /**
+     * Generates buckets with a forward and a reverse packet of each flow and creates the collector.
+     */
+    @Setup
+    public void setUp() {
+        FlowLatencyPacketBucket.Builder bucket = FlowLatencyPacketBucket.newBuilder();
+        for (int i = 0; i < flowCount * 2; i++) {
+            long t0 = ((long) i << 32) + i;
+            bucket.addPacket(FlowLatencyPacket.newBuilder()
+                    .setFlowId("flow-" + i / 2)
+                    .setDirection(i % 2 == 0)
+                    .setT0(t0)
+                    .setT1(t0 + 10_000 + i % 1000)
+                    .setPacketId(i)
+                    .build());
+            if (bucket.getPacketCount() == PACKETS_PER_BUCKET) {
+                buckets.add(bucket.build().toByteArray());
+                bucket = FlowLatencyPacketBucket.newBuilder();
+            }
+        }
+        if (bucket.getPacketCount() > 0) {
+            buckets.add(bucket.build().toByteArray());
+        }
+
+        producer = new SerializingProducer(cluster());
+        KafkaTemplate<String, Object> template = new KafkaTemplate<>(() -> producer);
+        statsCollector = new StatsCollector(template, TOPIC, aggregationWindowMillis, 95, 1000);
+    }
+
+    /**
+     * Processes one probe round and returns the size of produced records.
+     */
+    @Benchmark
+    public long probeRound() throws Exception {
+        for (byte[] each : buckets) {
+            statsCollector.sendStats(FlowLatencyPacketBucket.parseFrom(each));
+        }
+        if (aggregationWindowMillis > 0) {
+            statsCollector.flushAggregatedStats(System.currentTimeMillis());
+        }
+        long result = producer.serializedBytes;
+        producer.serializedBytes = 0;
+        producer.clear();
+        return result;
+    }
+
+    private static Cluster cluster() {
+        Node node = new Node(0, "localhost", 9092);
+        Node[] nodes = new Node[] {node};
+        List<PartitionInfo> partitions = new ArrayList<>();
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitions.add(new PartitionInfo(TOPIC, i, node, nodes, nodes));
+        }
+        return new Cluster("benchmark", Collections.singletonList(node), partitions,
+                Collections.emptySet(), Collections.emptySet());
+    }
+
+    /**
+     * Mock producer which serializes values and survives closing, as {@link KafkaTemplate} closes the producer after
+     * each operation.
+     */
+    private static class SerializingProducer extends MockProducer<String, Object> {
+        private final JsonSerializer<Object> valueSerializer = new JsonSerializer<>();
+        private long serializedBytes;
+
+        SerializingProducer(Cluster cluster) {
+            super(cluster, true, new DefaultPartitioner(), new StringSerializer(), new JsonSerializer<>());
+        }
+
+        @Override
+        public synchronized Future<RecordMetadata> send(ProducerRecord<String, Object> record, Callback callback) {
+            serializedBytes += valueSerializer.serialize(record.topic(), record.value()).length;
+            return super.send(record, callback);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void close(Duration timeout) {
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.server42.stats.aggregation;
+
+import org.openkilda.messaging.info.stats.FlowRttStatsEntry;
+import org.openkilda.server42.messaging.FlowDirection;
+import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacket;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects flow RTT measurements and summarizes them per flow and direction. Measurements are kept until
+ * {@link #drain()} is called, so the caller defines the aggregation window.
+ * <p/>
+ * The implementation is not thread-safe.
+ */
+public class FlowRttAggregator {
+    private static final long TEN_TO_NINE = 1_000_000_000;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final double percentile;
+    private final Map<Key, Measurements> measurements = new HashMap<>();
+
+    /**
+     * Creates the aggregator.
+     *
+     * @param percentile percentile to report along with min/avg/max, in the (0, 100] range
+     */
+    public FlowRttAggregator(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be in the (0, 100] range");
+        }
+        this.percentile = percentile;
+    }
+
+    /**
+     * Add the RTT measurement of the packet.
+     */
+    public void add(FlowLatencyPacket packet) {
+        Key key = new Key(packet.getFlowId(), FlowDirection.fromBoolean(packet.getDirection()).name().toLowerCase());
+        long t0 = noviflowTimestamp(packet.getT0());
+        long t1 = noviflowTimestamp(packet.getT1());
+        measurements.computeIfAbsent(key, ignore -> new Measurements()).add(t1 - t0, t1);
+    }
+
+    public boolean isEmpty() {
+        return measurements.isEmpty();
+    }
+
+    /**
+     * Summarize collected measurements and forget them.
+     */
+    public List<FlowRttStatsEntry> drain() {
+        List<FlowRttStatsEntry> result = new ArrayList<>(measurements.size());
+        for (Map.Entry<Key, Measurements> entry : measurements.entrySet()) {
+            result.add(entry.getValue().summarize(entry.getKey()));
+        }
+        measurements.clear();
+        return result;
+    }
+
+    /**
+     * Transform noviflow nanosecond precision time representation into regular.
+     */
+    private static long noviflowTimestamp(long timestamp) {
+        long seconds = (timestamp >> 32);
+        long nanoseconds = (timestamp & 0xFFFFFFFFL);
+        return seconds * TEN_TO_NINE + nanoseconds;
+    }
+
+    @Value
+    private static class Key {
+        String flowId;
+        String direction;
+    }
+
+    private class Measurements {
+        private long[] rtt = new long[INITIAL_CAPACITY];
+        private int count;
+        private long sum;
+        private long timestamp;
+
+        void add(long value, long measuredAt) {
+            if (count == rtt.length) {
+                rtt = Arrays.copyOf(rtt, count * 2);
+            }
+            rtt[count++] = value;
+            sum += value;
+            timestamp = Math.max(timestamp, measuredAt);
+        }
+
+        FlowRttStatsEntry summarize(Key key) {
+            Arrays.sort(rtt, 0, count);
+            // nearest-rank percentile
+            int rank = (int) Math.ceil(percentile / 100 * count);
+            return FlowRttStatsEntry.builder()
+                    .flowId(key.getFlowId())
+                    .direction(key.getDirection())
+                    .timestamp(timestamp)
+                    .count(count)
+                    .min(rtt[0])
+                    .avg(sum / count)
+                    .max(rtt[count - 1])
+                    .percentile(percentile)
+                    .percentileValue(rtt[Math.max(rank, 1) - 1])
+                    .build();
+        }
+    }
+}
@@ -17,14 +17,18 @@
 package org.openkilda.server42.stats.zeromq;
 
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.FlowRttStatsBatchData;
 import org.openkilda.messaging.info.stats.FlowRttStatsData;
+import org.openkilda.messaging.info.stats.FlowRttStatsEntry;
 import org.openkilda.server42.messaging.FlowDirection;
+import org.openkilda.server42.stats.aggregation.FlowRttAggregator;
 import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacket;
 import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacketBucket;
 
 import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.apache.kafka.common.utils.Utils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
@@ -33,6 +37,11 @@ import org.zeromq.ZMQ;
 import org.zeromq.ZMQ.Socket;
 import zmq.ZError;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
@@ -45,17 +54,45 @@ public class StatsCollector extends Thread {
     @Value("${openkilda.server42.stats.zeromq.server.endpoint}")
     private String connectEndpoint;
 
-    @Value("${openkilda.server42.stats.kafka.topic.flowrtt.to_storm}")
-    private String toStorm;
+    private final String toStorm;
+    private final long aggregationWindowMillis;
+    private final int aggregationBatchSize;
+    private final FlowRttAggregator aggregator;
+
     private String sessionId;
     private ZContext context;
 
-    public StatsCollector(KafkaTemplate<String, Object> template) {
+    private long aggregationWindowStart;
+    private long batchCounter;
+
+    /**
+     * Create the collector.
+     *
+     * @param aggregationWindowMillis window to aggregate FlowRTT stats over, zero disables the aggregation and each
+     *     packet is sent as a separate {@link FlowRttStatsData} message
+     * @param aggregationPercentile percentile to report along with min/avg/max of the aggregated stats
+     * @param aggregationBatchSize max number of aggregated entries in one message
+     */
+    public StatsCollector(KafkaTemplate<String, Object> template,
+                          @Value("${openkilda.server42.stats.kafka.topic.flowrtt.to_storm}") String toStorm,
+                          @Value("${openkilda.server42.stats.aggregation.window.millis:0}")
+                                  long aggregationWindowMillis,
+                          @Value("${openkilda.server42.stats.aggregation.percentile:95}")
+                                  double aggregationPercentile,
+                          @Value("${openkilda.server42.stats.aggregation.batch.size:1000}")
+                                  int aggregationBatchSize) {
         this.template = template;
+        this.toStorm = toStorm;
+        this.aggregationWindowMillis = aggregationWindowMillis;
+        this.aggregationBatchSize = aggregationBatchSize;
+        this.aggregator = aggregationWindowMillis > 0 ? new FlowRttAggregator(aggregationPercentile) : null;
     }
 
     @PostConstruct
     private void init() {
+        if (aggregator != null) {
+            log.info("FlowRTT stats aggregation window is {} ms", aggregationWindowMillis);
+        }
         context = new ZContext();
         this.start();
     }
@@ -85,6 +122,7 @@ public class StatsCollector extends Thread {
                     log.debug("recv {}", recv);
                     if (recv == null && server.errno() == ZError.EAGAIN) {
                         log.debug("EAGAIN received");
+                        flushAggregatedStatsIfDue(System.currentTimeMillis());
                         break;
                     } else if (recv != null && recv.length == 0) {
                         log.debug("ping received");
@@ -118,8 +156,15 @@ public class StatsCollector extends Thread {
     }
 
     void sendStats(FlowLatencyPacketBucket flowLatencyPacketBucket) throws InvalidProtocolBufferException {
-
         long currentTimeMillis = System.currentTimeMillis();
+        if (aggregator != null) {
+            for (FlowLatencyPacket packet : flowLatencyPacketBucket.getPacketList()) {
+                aggregator.add(packet);
+            }
+            flushAggregatedStatsIfDue(currentTimeMillis);
+            return;
+        }
+
         for (FlowLatencyPacket packet : flowLatencyPacketBucket.getPacketList()) {
             FlowRttStatsData data = new FlowRttStatsData(
                     packet.getFlowId(),
@@ -134,4 +179,51 @@ public class StatsCollector extends Thread {
             template.send(toStorm, packet.getFlowId(), message);
         }
     }
+
+    private void flushAggregatedStatsIfDue(long currentTimeMillis) {
+        if (aggregator == null) {
+            return;
+        }
+        if (aggregationWindowStart == 0) {
+            aggregationWindowStart = currentTimeMillis;
+        } else if (currentTimeMillis - aggregationWindowStart >= aggregationWindowMillis) {
+            flushAggregatedStats(currentTimeMillis);
+            aggregationWindowStart = currentTimeMillis;
+        }
+    }
+
+    /**
+     * Send summaries collected by the aggregator. Entries are grouped by the partition their flow id key would be
+     * sent to by the default partitioner, so a flow stays in the same partition regardless of the aggregation, and
+     * each partition receives one message per {@code aggregationBatchSize} entries.
+     */
+    void flushAggregatedStats(long currentTimeMillis) {
+        if (aggregator.isEmpty()) {
+            return;
+        }
+        int partitionCount = template.partitionsFor(toStorm).size();
+        Map<Integer, List<FlowRttStatsEntry>> batches = new HashMap<>();
+        for (FlowRttStatsEntry entry : aggregator.drain()) {
+            int partition = partitionFor(entry.getFlowId(), partitionCount);
+            List<FlowRttStatsEntry> batch = batches.computeIfAbsent(partition, ignore -> new ArrayList<>());
+            batch.add(entry);
+            if (batch.size() >= aggregationBatchSize) {
+                sendBatch(partition, batch, currentTimeMillis);
+                batches.remove(partition);
+            }
+        }
+        batches.forEach((partition, batch) -> sendBatch(partition, batch, currentTimeMillis));
+    }
+
+    private void sendBatch(int partition, List<FlowRttStatsEntry> batch, long currentTimeMillis) {
+        FlowRttStatsBatchData data = FlowRttStatsBatchData.builder().stats(batch).build();
+        InfoMessage message = new InfoMessage(data, currentTimeMillis,
+                String.format("stats42-%s-batch-%d", sessionId, batchCounter++));
+        log.debug("Send {} FlowRTT stats entries into partition {}", batch.size(), partition);
+        template.send(toStorm, partition, null, message);
+    }
+
+    private static int partitionFor(String flowId, int partitionCount) {
+        return Utils.toPositive(Utils.murmur2(flowId.getBytes(StandardCharsets.UTF_8))) % partitionCount;
+    }
 }
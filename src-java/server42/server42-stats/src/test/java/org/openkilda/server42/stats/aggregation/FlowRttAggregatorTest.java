@@ -0,0 +1,91 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.server42.stats.aggregation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.stats.FlowRttStatsEntry;
+import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacket;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class FlowRttAggregatorTest {
+    private static final long SECOND = 1L << 32;
+
+    @Test
+    public void shouldSummarizeMeasurementsPerFlowAndDirection() {
+        FlowRttAggregator aggregator = new FlowRttAggregator(90);
+        for (int i = 1; i <= 10; i++) {
+            aggregator.add(packet("flow1", false, i, i * 100));
+        }
+        aggregator.add(packet("flow1", true, 1, 5000));
+        aggregator.add(packet("flow2", false, 1, 700));
+
+        Map<String, FlowRttStatsEntry> entries = aggregator.drain().stream()
+                .collect(Collectors.toMap(entry -> entry.getFlowId() + "-" + entry.getDirection(),
+                        Function.identity()));
+        assertEquals(3, entries.size());
+
+        FlowRttStatsEntry forward = entries.get("flow1-forward");
+        assertEquals(10, forward.getCount());
+        assertEquals(100, forward.getMin());
+        assertEquals(550, forward.getAvg());
+        assertEquals(1000, forward.getMax());
+        assertEquals(900, forward.getPercentileValue());
+        assertEquals(90, forward.getPercentile(), 0);
+        // timestamp of the latest measurement, t1 converted to nanoseconds
+        assertEquals(10_000_000_000L + 1000, forward.getTimestamp());
+
+        FlowRttStatsEntry reverse = entries.get("flow1-reverse");
+        assertEquals(1, reverse.getCount());
+        assertEquals(5000, reverse.getMin());
+        assertEquals(5000, reverse.getPercentileValue());
+
+        assertEquals(700, entries.get("flow2-forward").getAvg());
+    }
+
+    @Test
+    public void shouldForgetMeasurementsOnDrain() {
+        FlowRttAggregator aggregator = new FlowRttAggregator(95);
+        aggregator.add(packet("flow1", false, 1, 100));
+        assertEquals(1, aggregator.drain().size());
+
+        assertTrue(aggregator.isEmpty());
+        List<FlowRttStatsEntry> entries = aggregator.drain();
+        assertTrue(entries.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidPercentile() {
+        new FlowRttAggregator(0);
+    }
+
+    private static FlowLatencyPacket packet(String flowId, boolean direction, long seconds, long rtt) {
+        // noviflow timestamps, seconds in upper 32 bits and nanoseconds in lower ones
+        return FlowLatencyPacket.newBuilder()
+                .setFlowId(flowId)
+                .setDirection(direction)
+                .setT0(seconds * SECOND)
+                .setT1(seconds * SECOND + rtt)
+                .build();
+    }
+}
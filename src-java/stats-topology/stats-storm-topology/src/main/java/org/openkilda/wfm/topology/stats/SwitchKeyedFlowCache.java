@@ -0,0 +1,163 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Open-addressing (linear probing) map from a switch and a long key (a cookie or a meter id) to {@link CacheFlowEntry}.
+ * Keys are kept in primitive arrays, so neither lookups nor updates allocate key objects.
+ * <p/>
+ * The implementation is not thread-safe.
+ */
+public class SwitchKeyedFlowCache implements Serializable {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] switchIds;
+    private long[] keys;
+    private CacheFlowEntry[] entries;
+    private int mask;
+    private int size;
+
+    public SwitchKeyedFlowCache() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Returns the entry mapped to the switch and key, or null if there's no such mapping.
+     */
+    public CacheFlowEntry get(long switchId, long key) {
+        for (int slot = slot(switchId, key); entries[slot] != null; slot = (slot + 1) & mask) {
+            if (switchIds[slot] == switchId && keys[slot] == key) {
+                return entries[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps the entry to the switch and key, replacing the existing mapping.
+     */
+    public void put(long switchId, long key, CacheFlowEntry entry) {
+        Objects.requireNonNull(entry, "entry");
+        int slot = slot(switchId, key);
+        for (; entries[slot] != null; slot = (slot + 1) & mask) {
+            if (switchIds[slot] == switchId && keys[slot] == key) {
+                entries[slot] = entry;
+                return;
+            }
+        }
+        switchIds[slot] = switchId;
+        keys[slot] = key;
+        entries[slot] = entry;
+        if (++size > entries.length / 2) {
+            resize(entries.length * 2);
+        }
+    }
+
+    /**
+     * Removes the mapping of the switch and key.
+     *
+     * @return the removed entry, or null if there was no mapping.
+     */
+    public CacheFlowEntry remove(long switchId, long key) {
+        int slot = slot(switchId, key);
+        for (; entries[slot] != null; slot = (slot + 1) & mask) {
+            if (switchIds[slot] == switchId && keys[slot] == key) {
+                CacheFlowEntry removed = entries[slot];
+                shiftBack(slot);
+                size--;
+                return removed;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all mappings.
+     */
+    public void clear() {
+        Arrays.fill(entries, null);
+        size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SwitchKeyedFlowCache{size=" + size + "}";
+    }
+
+    /**
+     * Fills the freed slot with the following entries of the probe sequence, so lookups don't need tombstones.
+     */
+    private void shiftBack(int freeSlot) {
+        int slot = freeSlot;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (entries[slot] == null) {
+                break;
+            }
+            int homeSlot = slot(switchIds[slot], keys[slot]);
+            // Move the entry only if its home slot is not within (freeSlot, slot], taking wrapping into account.
+            if (((slot - homeSlot) & mask) >= ((slot - freeSlot) & mask)) {
+                switchIds[freeSlot] = switchIds[slot];
+                keys[freeSlot] = keys[slot];
+                entries[freeSlot] = entries[slot];
+                freeSlot = slot;
+            }
+        }
+        entries[freeSlot] = null;
+    }
+
+    private void resize(int capacity) {
+        long[] oldSwitchIds = switchIds;
+        long[] oldKeys = keys;
+        CacheFlowEntry[] oldEntries = entries;
+
+        allocate(capacity);
+        for (int i = 0; i < oldEntries.length; i++) {
+            if (oldEntries[i] != null) {
+                int slot = slot(oldSwitchIds[i], oldKeys[i]);
+                while (entries[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                switchIds[slot] = oldSwitchIds[i];
+                keys[slot] = oldKeys[i];
+                entries[slot] = oldEntries[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        switchIds = new long[capacity];
+        keys = new long[capacity];
+        entries = new CacheFlowEntry[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(long switchId, long key) {
+        long hash = (switchId * 0x9E3779B97F4A7C15L) ^ key;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+}
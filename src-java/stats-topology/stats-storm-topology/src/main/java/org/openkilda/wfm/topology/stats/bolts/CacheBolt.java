@@ -45,10 +45,10 @@ import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
-import org.openkilda.wfm.topology.stats.CookieCacheKey;
 import org.openkilda.wfm.topology.stats.MeasurePoint;
 import org.openkilda.wfm.topology.stats.MeterCacheKey;
 import org.openkilda.wfm.topology.stats.StatsComponentType;
+import org.openkilda.wfm.topology.stats.SwitchKeyedFlowCache;
 import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.Commands;
 import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.FieldsNames;
 
@@ -86,10 +86,10 @@ public class CacheBolt extends AbstractBolt {
     private final PersistenceManager persistenceManager;
 
     /**
-     * Cookie to flow and meter to flow maps.
+     * Cookie to flow and meter to flow maps, both are keyed by the switch.
      */
-    private final Map<CookieCacheKey, CacheFlowEntry> cookieToFlow = new HashMap<>();
-    private final Map<MeterCacheKey, CacheFlowEntry> switchAndMeterToFlow = new HashMap<>();
+    private final SwitchKeyedFlowCache cookieToFlow = new SwitchKeyedFlowCache();
+    private final SwitchKeyedFlowCache switchAndMeterToFlow = new SwitchKeyedFlowCache();
 
     public CacheBolt(PersistenceManager persistenceManager) {
         this.persistenceManager = persistenceManager;
@@ -97,44 +97,40 @@ public class CacheBolt extends AbstractBolt {
 
     private void initFlowCache(FlowRepository flowRepository) {
         try {
-            flowRepository.findAll().stream()
+            flowRepository.findAllDetached().stream()
                     .flatMap(this::extractAllFlowPaths)
                     .forEach(path -> {
                         long cookie = path.getCookie().getValue();
-                        String flowId = path.getFlow().getFlowId();
-                        SwitchId srcSwitchId = path.getSrcSwitchId();
-                        SwitchId dstSwitchId = path.getDestSwitchId();
+                        String flowId = path.getFlow().getFlowId().intern();
+                        long srcSwitchId = path.getSrcSwitchId().toLong();
+                        long dstSwitchId = path.getDestSwitchId().toLong();
 
+                        // All transit switches of the path share the same entry.
+                        CacheFlowEntry transitEntry = new CacheFlowEntry(flowId, cookie, TRANSIT);
                         path.getSegments().stream()
                                 .skip(1) // src switch of first segment is path ingress switch
                                 .map(PathSegment::getSrcSwitch)
                                 .map(Switch::getSwitchId)
-                                .map(switchId -> new CookieCacheKey(switchId, cookie))
-                                .forEach(key -> cookieToFlow.put(key, new CacheFlowEntry(flowId, cookie, TRANSIT)));
-
-                        CookieCacheKey srcKey = new CookieCacheKey(srcSwitchId, cookie);
+                                .forEach(switchId -> cookieToFlow.put(switchId.toLong(), cookie, transitEntry));
 
                         if (path.isOneSwitchFlow()) {
-                            cookieToFlow.put(srcKey, new CacheFlowEntry(flowId, cookie, ONE_SWITCH));
+                            cookieToFlow.put(srcSwitchId, cookie, new CacheFlowEntry(flowId, cookie, ONE_SWITCH));
                         } else {
-                            cookieToFlow.put(srcKey, new CacheFlowEntry(flowId, cookie, INGRESS));
-                            cookieToFlow.putAll(makeFlowAttendantCookiesMapping(flowId, srcSwitchId, path.getCookie()));
-                            cookieToFlow.put(
-                                    new CookieCacheKey(dstSwitchId, cookie),
-                                    new CacheFlowEntry(flowId, cookie, EGRESS));
+                            cookieToFlow.put(srcSwitchId, cookie, new CacheFlowEntry(flowId, cookie, INGRESS));
+                            putFlowAttendantCookies(flowId, srcSwitchId, path.getCookie());
+                            cookieToFlow.put(dstSwitchId, cookie, new CacheFlowEntry(flowId, cookie, EGRESS));
                         }
 
                         if (path.getMeterId() != null) {
                             MeasurePoint measurePoint = path.isOneSwitchFlow() ? ONE_SWITCH : INGRESS;
-                            switchAndMeterToFlow.put(
-                                    new MeterCacheKey(srcSwitchId, path.getMeterId().getValue()),
+                            switchAndMeterToFlow.put(srcSwitchId, path.getMeterId().getValue(),
                                     new CacheFlowEntry(flowId, cookie, measurePoint));
                         } else {
                             log.warn("Flow {} has no meter ID", flowId);
                         }
                     });
-            logger.debug("cookieToFlow cache: {}, switchAndMeterToFlow cache: {}", cookieToFlow, switchAndMeterToFlow);
-            logger.info("Stats Cache: Initialized");
+            logger.info("Stats Cache: Initialized, {} cookie entries, {} meter entries", cookieToFlow.size(),
+                    switchAndMeterToFlow.size());
         } catch (Exception ex) {
             logger.error("Error on initFlowCache", ex);
         }
@@ -210,24 +206,26 @@ public class CacheBolt extends AbstractBolt {
                 break;
             case REMOVE:
                 removeCookieFlowCache(switchId, cookie);
-                switchAndMeterToFlow.remove(new MeterCacheKey(switchId, meterId));
+                if (meterId != null) {
+                    switchAndMeterToFlow.remove(switchId.toLong(), meterId);
+                }
                 break;
             default:
                 logger.error("invalid command");
                 break;
         }
 
-        logger.debug("updated cookieToFlow: {}", cookieToFlow);
+        logger.debug("updated cookieToFlow: {} entries", cookieToFlow.size());
     }
 
     @VisibleForTesting
     Map<Long, CacheFlowEntry> createCookieToFlowCache(FlowStatsData data) {
         Map<Long, CacheFlowEntry> cache = new HashMap<>();
 
+        long switchId = data.getSwitchId().toLong();
         for (FlowStatsEntry entry : data.getStats()) {
-            CookieCacheKey key = new CookieCacheKey(data.getSwitchId(), entry.getCookie());
-            if (cookieToFlow.containsKey(key)) {
-                CacheFlowEntry cacheFlowEntry = cookieToFlow.get(key);
+            CacheFlowEntry cacheFlowEntry = cookieToFlow.get(switchId, entry.getCookie());
+            if (cacheFlowEntry != null) {
                 cache.put(entry.getCookie(), cacheFlowEntry);
             }
         }
@@ -238,11 +236,11 @@ public class CacheBolt extends AbstractBolt {
     Map<MeterCacheKey, CacheFlowEntry> createSwitchAndMeterToFlowCache(MeterStatsData data) {
         Map<MeterCacheKey, CacheFlowEntry> cache = new HashMap<>();
 
+        long switchId = data.getSwitchId().toLong();
         for (MeterStatsEntry entry : data.getStats()) {
-            MeterCacheKey key = new MeterCacheKey(data.getSwitchId(), entry.getMeterId());
-            if (switchAndMeterToFlow.containsKey(key)) {
-                CacheFlowEntry cacheEntry = switchAndMeterToFlow.get(key);
-                cache.put(key, cacheEntry);
+            CacheFlowEntry cacheEntry = switchAndMeterToFlow.get(switchId, entry.getMeterId());
+            if (cacheEntry != null) {
+                cache.put(new MeterCacheKey(data.getSwitchId(), entry.getMeterId()), cacheEntry);
             }
         }
         return cache;
@@ -259,40 +257,32 @@ public class CacheBolt extends AbstractBolt {
 
     private void updateCookieFlowCache(
             Long cookie, String flowId, SwitchId switchId, MeasurePoint measurePoint) {
-        cookieToFlow.put(new CookieCacheKey(switchId, cookie), new CacheFlowEntry(flowId, cookie, measurePoint));
+        String internedFlowId = flowId.intern();
+        cookieToFlow.put(switchId.toLong(), cookie, new CacheFlowEntry(internedFlowId, cookie, measurePoint));
         if (measurePoint == INGRESS) {
-            cookieToFlow.putAll(makeFlowAttendantCookiesMapping(flowId, switchId, cookie));
+            putFlowAttendantCookies(internedFlowId, switchId.toLong(), new FlowSegmentCookie(cookie));
         }
     }
 
     private void updateSwitchMeterFlowCache(
             Long cookie, Long meterId, String flowId, SwitchId switchId, MeasurePoint measurePoint) {
-        MeterCacheKey key = new MeterCacheKey(switchId, meterId);
-        switchAndMeterToFlow.put(key, new CacheFlowEntry(flowId, cookie, measurePoint));
+        if (meterId != null) {
+            switchAndMeterToFlow.put(switchId.toLong(), meterId,
+                    new CacheFlowEntry(flowId.intern(), cookie, measurePoint));
+        }
     }
 
     private void removeCookieFlowCache(SwitchId switchId, long cookie) {
-        cookieToFlow.remove(new CookieCacheKey(switchId, cookie));
+        cookieToFlow.remove(switchId.toLong(), cookie);
         for (Long entry : makeAttendantFlowCookies(cookie)) {
-            cookieToFlow.remove(new CookieCacheKey(switchId, entry));
+            cookieToFlow.remove(switchId.toLong(), entry);
         }
     }
 
-    private Map<CookieCacheKey, CacheFlowEntry> makeFlowAttendantCookiesMapping(
-            String flowId, SwitchId ingressSwitchId, long cookie) {
-        return makeFlowAttendantCookiesMapping(flowId, ingressSwitchId, new FlowSegmentCookie(cookie));
-    }
-
-    private Map<CookieCacheKey, CacheFlowEntry> makeFlowAttendantCookiesMapping(
-            String flowId, SwitchId ingressSwitchId, FlowSegmentCookie cookie) {
-        Map<CookieCacheKey, CacheFlowEntry> results = new HashMap<>();
-
+    private void putFlowAttendantCookies(String flowId, long ingressSwitchId, FlowSegmentCookie cookie) {
         long server42Cookie = cookie.toBuilder().type(CookieType.SERVER_42_INGRESS).build().getValue();
-        results.put(
-                new CookieCacheKey(ingressSwitchId, server42Cookie),
+        cookieToFlow.put(ingressSwitchId, server42Cookie,
                 new CacheFlowEntry(flowId, server42Cookie, INGRESS_ATTENDANT));
-
-        return results;
     }
 
     private Set<Long> makeAttendantFlowCookies(long rawCookie) {
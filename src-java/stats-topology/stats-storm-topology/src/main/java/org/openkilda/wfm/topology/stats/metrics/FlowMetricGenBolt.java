@@ -21,6 +21,7 @@ import static org.openkilda.wfm.topology.stats.MeasurePoint.ONE_SWITCH;
 import static org.openkilda.wfm.topology.stats.StatsTopology.STATS_FIELD;
 import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.COOKIE_CACHE_FIELD;
 
+import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsEntry;
 import org.openkilda.model.SwitchId;
@@ -32,9 +33,13 @@ import org.openkilda.wfm.topology.stats.FlowCookieException;
 import org.openkilda.wfm.topology.stats.FlowDirectionHelper;
 import org.openkilda.wfm.topology.stats.FlowDirectionHelper.Direction;
 
+import lombok.Value;
 import org.apache.storm.tuple.Tuple;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -44,6 +49,9 @@ import javax.annotation.Nullable;
  */
 public class FlowMetricGenBolt extends MetricGenBolt {
 
+    private final MetricTagsCache<RawTagsKey> rawTagsCache = new MetricTagsCache<>(TAGS_CACHE_SIZE);
+    private final MetricTagsCache<FlowTagsKey> flowTagsCache = new MetricTagsCache<>(TAGS_CACHE_SIZE);
+
     public FlowMetricGenBolt(String metricPrefix) {
         super(metricPrefix);
     }
@@ -81,58 +89,88 @@ public class FlowMetricGenBolt extends MetricGenBolt {
             }
         }
 
-        emitAnySwitchMetrics(entry, timestamp, switchId, flowId);
+        List<Datapoint> datapoints = new ArrayList<>(9);
+        addAnySwitchMetrics(datapoints, entry, timestamp, switchId, flowId);
 
-        if (flowEntry != null) {
-            Map<String, String> flowTags = makeFlowTags(entry, flowEntry.getFlowId());
+        if (flowEntry != null && isFlowSegmentEntry) {
+            Map<String, String> flowTags = flowTagsCache.get(
+                    new FlowTagsKey(flowEntry.getFlowId(), FlowDirectionHelper.findDirection(entry.getCookie())),
+                    FlowMetricGenBolt::makeFlowTags);
 
-            if (isFlowSegmentEntry) {
-                if (flowEntry.getMeasurePoint() == INGRESS || flowEntry.getMeasurePoint() == ONE_SWITCH) {
-                    emitIngressMetrics(entry, timestamp, flowTags);
-                }
-                if (flowEntry.getMeasurePoint() == EGRESS || flowEntry.getMeasurePoint() == ONE_SWITCH) {
-                    emitEgressMetrics(entry, timestamp, flowTags);
-                }
+            if (flowEntry.getMeasurePoint() == INGRESS || flowEntry.getMeasurePoint() == ONE_SWITCH) {
+                addIngressMetrics(datapoints, entry, timestamp, flowTags);
+            }
+            if (flowEntry.getMeasurePoint() == EGRESS || flowEntry.getMeasurePoint() == ONE_SWITCH) {
+                addEgressMetrics(datapoints, entry, timestamp, flowTags);
             }
         }
+
+        emitMetrics(datapoints);
     }
 
-    private void emitAnySwitchMetrics(FlowStatsEntry entry, long timestamp, SwitchId switchId, String flowId) {
-        Map<String, String> tags = new HashMap<>();
-        tags.put("switchid", switchId.toOtsdFormat());
-        tags.put("cookie", String.valueOf(entry.getCookie()));
-        tags.put("tableid", String.valueOf(entry.getTableId()));
-        tags.put("outPort", String.valueOf(entry.getOutPort()));
-        tags.put("inPort", String.valueOf(entry.getInPort()));
-        tags.put("flowid", flowId);
-        tags.put("direction", FlowDirectionHelper.findDirectionSafe(entry.getCookie())
-                .orElse(Direction.UNKNOWN)
-                .name().toLowerCase());
-        CookieType cookieType = new Cookie(entry.getCookie()).getType();
-        tags.put("type", cookieType.name().toLowerCase());
+    private void addAnySwitchMetrics(List<Datapoint> datapoints, FlowStatsEntry entry, long timestamp,
+                                     SwitchId switchId, String flowId) {
+        Map<String, String> tags = rawTagsCache.get(
+                new RawTagsKey(switchId, entry.getCookie(), entry.getTableId(), entry.getInPort(), entry.getOutPort(),
+                        flowId),
+                FlowMetricGenBolt::makeRawTags);
 
-        emitMetric("flow.raw.packets", timestamp, entry.getPacketCount(), tags);
-        emitMetric("flow.raw.bytes", timestamp, entry.getByteCount(), tags);
-        emitMetric("flow.raw.bits", timestamp, entry.getByteCount() * 8, tags);
+        datapoints.add(datapoint("flow.raw.packets", timestamp, entry.getPacketCount(), tags));
+        datapoints.add(datapoint("flow.raw.bytes", timestamp, entry.getByteCount(), tags));
+        datapoints.add(datapoint("flow.raw.bits", timestamp, entry.getByteCount() * 8, tags));
     }
 
-    private void emitIngressMetrics(FlowStatsEntry entry, long timestamp, Map<String, String> tags) {
-        emitMetric("flow.ingress.packets", timestamp, entry.getPacketCount(), tags);
-        emitMetric("flow.ingress.bytes", timestamp, entry.getByteCount(), tags);
-        emitMetric("flow.ingress.bits", timestamp, entry.getByteCount() * 8, tags);
+    private void addIngressMetrics(List<Datapoint> datapoints, FlowStatsEntry entry, long timestamp,
+                                   Map<String, String> tags) {
+        datapoints.add(datapoint("flow.ingress.packets", timestamp, entry.getPacketCount(), tags));
+        datapoints.add(datapoint("flow.ingress.bytes", timestamp, entry.getByteCount(), tags));
+        datapoints.add(datapoint("flow.ingress.bits", timestamp, entry.getByteCount() * 8, tags));
     }
 
-    private void emitEgressMetrics(FlowStatsEntry entry, long timestamp, Map<String, String> tags) {
-        emitMetric("flow.packets", timestamp, entry.getPacketCount(), tags);
-        emitMetric("flow.bytes", timestamp, entry.getByteCount(), tags);
-        emitMetric("flow.bits", timestamp, entry.getByteCount() * 8, tags);
+    private void addEgressMetrics(List<Datapoint> datapoints, FlowStatsEntry entry, long timestamp,
+                                  Map<String, String> tags) {
+        datapoints.add(datapoint("flow.packets", timestamp, entry.getPacketCount(), tags));
+        datapoints.add(datapoint("flow.bytes", timestamp, entry.getByteCount(), tags));
+        datapoints.add(datapoint("flow.bits", timestamp, entry.getByteCount() * 8, tags));
     }
 
-    private Map<String, String> makeFlowTags(FlowStatsEntry entry, String flowId) throws FlowCookieException {
+    private static Map<String, String> makeRawTags(RawTagsKey key) {
         Map<String, String> tags = new HashMap<>();
-        tags.put("flowid", flowId);
-        tags.put("direction", FlowDirectionHelper.findDirection(entry.getCookie()).name().toLowerCase());
+        tags.put("switchid", key.getSwitchId().toOtsdFormat());
+        tags.put("cookie", String.valueOf(key.getCookie()));
+        tags.put("tableid", String.valueOf(key.getTableId()));
+        tags.put("outPort", String.valueOf(key.getOutPort()));
+        tags.put("inPort", String.valueOf(key.getInPort()));
+        tags.put("flowid", key.getFlowId());
+        tags.put("direction", FlowDirectionHelper.findDirectionSafe(key.getCookie())
+                .orElse(Direction.UNKNOWN)
+                .name().toLowerCase());
+        CookieType cookieType = new Cookie(key.getCookie()).getType();
+        tags.put("type", cookieType.name().toLowerCase());
+        return tags;
+    }
+
+    private static Map<String, String> makeFlowTags(FlowTagsKey key) {
+        Map<String, String> tags = new HashMap<>();
+        tags.put("flowid", key.getFlowId());
+        tags.put("direction", key.getDirection().name().toLowerCase());
 
         return tags;
     }
+
+    @Value
+    private static class RawTagsKey implements Serializable {
+        SwitchId switchId;
+        long cookie;
+        int tableId;
+        int inPort;
+        int outPort;
+        String flowId;
+    }
+
+    @Value
+    private static class FlowTagsKey implements Serializable {
+        String flowId;
+        Direction direction;
+    }
 }
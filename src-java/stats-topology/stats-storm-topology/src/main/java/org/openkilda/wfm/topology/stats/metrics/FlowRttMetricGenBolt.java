@@ -18,8 +18,11 @@ package org.openkilda.wfm.topology.stats.metrics;
 import static org.openkilda.wfm.share.utils.TimestampHelper.noviflowTimestamp;
 import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
 
+import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.FlowRttStatsBatchData;
 import org.openkilda.messaging.info.stats.FlowRttStatsData;
+import org.openkilda.messaging.info.stats.FlowRttStatsEntry;
 import org.openkilda.wfm.share.zk.ZkStreams;
 import org.openkilda.wfm.share.zk.ZooKeeperBolt;
 
@@ -28,6 +31,8 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 
+import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -42,20 +47,54 @@ public class FlowRttMetricGenBolt extends MetricGenBolt {
     protected void handleInput(Tuple input) throws Exception {
         if (active) {
             InfoMessage message = (InfoMessage) input.getValueByField(MESSAGE_FIELD);
-            FlowRttStatsData data = (FlowRttStatsData) message.getData();
-            Map<String, String> tags = ImmutableMap.of(
-                    "direction", data.getDirection(),
-                    "flowid", data.getFlowId()
-            );
+            InfoData data = message.getData();
+            if (data instanceof FlowRttStatsData) {
+                handleFlowRttStats((FlowRttStatsData) data);
+            } else if (data instanceof FlowRttStatsBatchData) {
+                for (FlowRttStatsEntry entry : ((FlowRttStatsBatchData) data).getStats()) {
+                    handleFlowRttStats(entry);
+                }
+            } else {
+                unhandledInput(input);
+            }
+        }
+    }
 
-            long t0 = noviflowTimestamp(data.getT0());
-            long t1 = noviflowTimestamp(data.getT1());
+    private void handleFlowRttStats(FlowRttStatsData data) {
+        Map<String, String> tags = ImmutableMap.of(
+                "direction", data.getDirection(),
+                "flowid", data.getFlowId()
+        );
 
-            // We decided to use t1 time as a timestamp for Datapoint.
-            long timestamp = TimeUnit.NANOSECONDS.toMillis(t1);
+        long t0 = noviflowTimestamp(data.getT0());
+        long t1 = noviflowTimestamp(data.getT1());
 
-            emitMetric("flow.rtt", timestamp, t1 - t0, tags);
-        }
+        // We decided to use t1 time as a timestamp for Datapoint.
+        long timestamp = TimeUnit.NANOSECONDS.toMillis(t1);
+
+        emitMetric("flow.rtt", timestamp, t1 - t0, tags);
+    }
+
+    private void handleFlowRttStats(FlowRttStatsEntry entry) {
+        Map<String, String> tags = ImmutableMap.of(
+                "direction", entry.getDirection(),
+                "flowid", entry.getFlowId()
+        );
+        Map<String, String> percentileTags = ImmutableMap.of(
+                "direction", entry.getDirection(),
+                "flowid", entry.getFlowId(),
+                "percentile", BigDecimal.valueOf(entry.getPercentile()).stripTrailingZeros().toPlainString()
+        );
+
+        // timestamp of the latest measurement in the aggregation window, same as t1 of a single measurement
+        long timestamp = TimeUnit.NANOSECONDS.toMillis(entry.getTimestamp());
+
+        emitMetrics(Arrays.asList(
+                datapoint("flow.rtt", timestamp, entry.getAvg(), tags),
+                datapoint("flow.rtt.min", timestamp, entry.getMin(), tags),
+                datapoint("flow.rtt.max", timestamp, entry.getMax(), tags),
+                datapoint("flow.rtt.percentile", timestamp, entry.getPercentileValue(), percentileTags),
+                datapoint("flow.rtt.count", timestamp, entry.getCount(), tags)));
     }
 
     @Override
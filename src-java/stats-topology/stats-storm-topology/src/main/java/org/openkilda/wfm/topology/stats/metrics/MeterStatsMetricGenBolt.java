@@ -26,11 +26,15 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
 import org.openkilda.wfm.topology.stats.FlowCookieException;
 import org.openkilda.wfm.topology.stats.FlowDirectionHelper;
+import org.openkilda.wfm.topology.stats.FlowDirectionHelper.Direction;
 import org.openkilda.wfm.topology.stats.MeterCacheKey;
 
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.storm.tuple.Tuple;
 
+import java.io.Serializable;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import javax.annotation.Nullable;
@@ -40,6 +44,8 @@ public class MeterStatsMetricGenBolt extends MetricGenBolt {
 
     public static final String UNKNOWN = "unknown";
 
+    private final MetricTagsCache<MeterTagsKey> tagsCache = new MetricTagsCache<>(TAGS_CACHE_SIZE);
+
     public MeterStatsMetricGenBolt(String metricPrefix) {
         super(metricPrefix);
     }
@@ -78,45 +84,70 @@ public class MeterStatsMetricGenBolt extends MetricGenBolt {
     }
 
     private void emitDefaultRuleMeterStats(MeterStatsEntry meterStats, Long timestamp, SwitchId switchId) {
-        Map<String, String> tags = createCommonTags(switchId, meterStats.getMeterId());
-        tags.put("cookieHex", createCookieForDefaultRule(meterStats.getMeterId()).toString());
-
-        emitMetric("switch.flow.system.meter.packets", timestamp, meterStats.getPacketsInCount(), tags);
-        emitMetric("switch.flow.system.meter.bytes", timestamp, meterStats.getByteInCount(), tags);
-        emitMetric("switch.flow.system.meter.bits", timestamp, meterStats.getByteInCount() * 8, tags);
+        Map<String, String> tags = tagsCache.get(
+                new MeterTagsKey(switchId, meterStats.getMeterId(), null, null, null),
+                MeterStatsMetricGenBolt::makeDefaultRuleTags);
+
+        emitMetrics(Arrays.asList(
+                datapoint("switch.flow.system.meter.packets", timestamp, meterStats.getPacketsInCount(), tags),
+                datapoint("switch.flow.system.meter.bytes", timestamp, meterStats.getByteInCount(), tags),
+                datapoint("switch.flow.system.meter.bits", timestamp, meterStats.getByteInCount() * 8, tags)));
     }
 
     private void emitFlowMeterStats(MeterStatsEntry meterStats, Long timestamp, SwitchId switchId,
                                     @Nullable CacheFlowEntry cacheEntry) throws FlowCookieException {
-        String direction = UNKNOWN;
-        String flowId = UNKNOWN;
-        String cookie = UNKNOWN;
-
+        MeterTagsKey key;
         if (cacheEntry == null) {
             if (log.isDebugEnabled()) {
                 log.debug("Missed cache for switch '{}' meterId '{}'", switchId, meterStats.getMeterId());
             }
+            key = new MeterTagsKey(switchId, meterStats.getMeterId(), null, null, null);
         } else {
-            direction = FlowDirectionHelper.findDirection(cacheEntry.getCookie()).name().toLowerCase();
-            flowId = cacheEntry.getFlowId();
-            cookie = cacheEntry.getCookie().toString();
+            key = new MeterTagsKey(switchId, meterStats.getMeterId(), cacheEntry.getFlowId(), cacheEntry.getCookie(),
+                    FlowDirectionHelper.findDirection(cacheEntry.getCookie()));
         }
 
-        Map<String, String> tags = createCommonTags(switchId, meterStats.getMeterId());
+        Map<String, String> tags = tagsCache.get(key, MeterStatsMetricGenBolt::makeFlowTags);
 
-        tags.put("direction", direction);
-        tags.put("flowid", flowId);
-        tags.put("cookie", cookie);
+        emitMetrics(Arrays.asList(
+                datapoint("flow.meter.packets", timestamp, meterStats.getPacketsInCount(), tags),
+                datapoint("flow.meter.bytes", timestamp, meterStats.getByteInCount(), tags),
+                datapoint("flow.meter.bits", timestamp, meterStats.getByteInCount() * 8, tags)));
+    }
+
+    private static Map<String, String> makeDefaultRuleTags(MeterTagsKey key) {
+        Map<String, String> tags = createCommonTags(key.getSwitchId(), key.getMeterId());
+        tags.put("cookieHex", createCookieForDefaultRule(key.getMeterId()).toString());
+        return tags;
+    }
 
-        emitMetric("flow.meter.packets", timestamp, meterStats.getPacketsInCount(), tags);
-        emitMetric("flow.meter.bytes", timestamp, meterStats.getByteInCount(), tags);
-        emitMetric("flow.meter.bits", timestamp, meterStats.getByteInCount() * 8, tags);
+    private static Map<String, String> makeFlowTags(MeterTagsKey key) {
+        Map<String, String> tags = createCommonTags(key.getSwitchId(), key.getMeterId());
+        if (key.getFlowId() == null) {
+            tags.put("direction", UNKNOWN);
+            tags.put("flowid", UNKNOWN);
+            tags.put("cookie", UNKNOWN);
+        } else {
+            tags.put("direction", key.getDirection().name().toLowerCase());
+            tags.put("flowid", key.getFlowId());
+            tags.put("cookie", key.getCookie().toString());
+        }
+        return tags;
     }
 
-    private Map<String, String> createCommonTags(SwitchId switchId, long meterId) {
+    private static Map<String, String> createCommonTags(SwitchId switchId, long meterId) {
         Map<String, String> tags = new HashMap<>();
         tags.put("switchid", switchId.toOtsdFormat());
         tags.put("meterid", String.valueOf(meterId));
         return tags;
     }
+
+    @Value
+    private static class MeterTagsKey implements Serializable {
+        SwitchId switchId;
+        long meterId;
+        String flowId;
+        Long cookie;
+        Direction direction;
+    }
 }
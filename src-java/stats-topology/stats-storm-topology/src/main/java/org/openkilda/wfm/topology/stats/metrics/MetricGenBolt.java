@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.stats.metrics;
 
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointEntries;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.JsonEncodeException;
 import org.openkilda.wfm.share.utils.MetricFormatter;
@@ -26,12 +27,15 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public abstract class MetricGenBolt extends AbstractBolt {
+    protected static final int TAGS_CACHE_SIZE = 100_000;
 
     private MetricFormatter metricFormatter;
+    private final Map<String, String> formattedMetrics = new HashMap<>();
 
     public MetricGenBolt(String metricPrefix) {
         this.metricFormatter = new MetricFormatter(metricPrefix);
@@ -62,6 +66,24 @@ public abstract class MetricGenBolt extends AbstractBolt {
         }
     }
 
+    /**
+     * Emits the datapoints as a single {@link DatapointEntries} message. Datapoints of the same switch object
+     * usually share one tag set, so it's cheaper to encode and pass them through the topology together.
+     */
+    void emitMetrics(List<Datapoint> datapoints) {
+        DatapointEntries entries = new DatapointEntries(datapoints);
+        try {
+            getOutput().emit(Collections.singletonList(Utils.MAPPER.writeValueAsString(entries)));
+        } catch (JsonProcessingException e) {
+            log.error("Error during serialization of datapoints", e);
+        }
+    }
+
+    Datapoint datapoint(String metric, long timestamp, Number value, Map<String, String> tags) {
+        String formattedMetric = formattedMetrics.computeIfAbsent(metric, metricFormatter::format);
+        return new Datapoint(formattedMetric, timestamp, tags, value);
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(AbstractTopology.fieldMessage);
@@ -0,0 +1,67 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats.metrics;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of immutable metric tag sets. The same switch objects (rules, meters, ports, tables) are
+ * reported on every stats poll, so their tags are built once and shared by all emitted datapoints.
+ * <p/>
+ * The implementation is not thread-safe.
+ */
+class MetricTagsCache<K> implements Serializable {
+    private final LruMap<K> cache;
+
+    MetricTagsCache(int maxSize) {
+        this.cache = new LruMap<>(maxSize);
+    }
+
+    /**
+     * Returns the tags cached for the key, building them with the provided function on a miss. The built tags are
+     * wrapped into an unmodifiable map.
+     */
+    Map<String, String> get(K key, Function<K, Map<String, String>> builder) {
+        Map<String, String> tags = cache.get(key);
+        if (tags == null) {
+            tags = Collections.unmodifiableMap(builder.apply(key));
+            cache.put(key, tags);
+        }
+        return tags;
+    }
+
+    int size() {
+        return cache.size();
+    }
+
+    private static class LruMap<K> extends LinkedHashMap<K, Map<String, String>> {
+        private final int maxSize;
+
+        LruMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Map<String, String>> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
@@ -23,12 +23,17 @@ import org.openkilda.messaging.info.stats.PortStatsEntry;
 import org.openkilda.model.SwitchId;
 
 import com.google.common.collect.ImmutableMap;
+import lombok.Value;
 import org.apache.storm.tuple.Tuple;
 
+import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Map;
 
 public class PortMetricGenBolt extends MetricGenBolt {
 
+    private final MetricTagsCache<PortTagsKey> tagsCache = new MetricTagsCache<>(TAGS_CACHE_SIZE);
+
     public PortMetricGenBolt(String metricPrefix) {
         super(metricPrefix);
     }
@@ -45,24 +50,36 @@ public class PortMetricGenBolt extends MetricGenBolt {
     }
 
     private void emit(PortStatsEntry entry, long timestamp, SwitchId switchId) {
-        Map<String, String> tags = ImmutableMap.of(
-                "switchid", switchId.toOtsdFormat(),
-                "port", String.valueOf(entry.getPortNo())
+        Map<String, String> tags = tagsCache.get(new PortTagsKey(switchId, entry.getPortNo()),
+                PortMetricGenBolt::makeTags);
+
+        emitMetrics(Arrays.asList(
+                datapoint("switch.rx-packets", timestamp, entry.getRxPackets(), tags),
+                datapoint("switch.tx-packets", timestamp, entry.getTxPackets(), tags),
+                datapoint("switch.rx-bytes", timestamp, entry.getRxBytes(), tags),
+                datapoint("switch.rx-bits", timestamp, entry.getRxBytes() * 8, tags),
+                datapoint("switch.tx-bytes", timestamp, entry.getTxBytes(), tags),
+                datapoint("switch.tx-bits", timestamp, entry.getTxBytes() * 8, tags),
+                datapoint("switch.rx-dropped", timestamp, entry.getRxDropped(), tags),
+                datapoint("switch.tx-dropped", timestamp, entry.getTxDropped(), tags),
+                datapoint("switch.rx-errors", timestamp, entry.getRxErrors(), tags),
+                datapoint("switch.tx-errors", timestamp, entry.getTxErrors(), tags),
+                datapoint("switch.rx-frame-error", timestamp, entry.getRxFrameErr(), tags),
+                datapoint("switch.rx-over-error", timestamp, entry.getRxOverErr(), tags),
+                datapoint("switch.rx-crc-error", timestamp, entry.getRxCrcErr(), tags),
+                datapoint("switch.collisions", timestamp, entry.getCollisions(), tags)));
+    }
+
+    private static Map<String, String> makeTags(PortTagsKey key) {
+        return ImmutableMap.of(
+                "switchid", key.getSwitchId().toOtsdFormat(),
+                "port", String.valueOf(key.getPortNo())
         );
+    }
 
-        emitMetric("switch.rx-packets", timestamp, entry.getRxPackets(), tags);
-        emitMetric("switch.tx-packets", timestamp, entry.getTxPackets(), tags);
-        emitMetric("switch.rx-bytes", timestamp, entry.getRxBytes(), tags);
-        emitMetric("switch.rx-bits", timestamp, entry.getRxBytes() * 8, tags);
-        emitMetric("switch.tx-bytes", timestamp, entry.getTxBytes(), tags);
-        emitMetric("switch.tx-bits", timestamp, entry.getTxBytes() * 8, tags);
-        emitMetric("switch.rx-dropped", timestamp, entry.getRxDropped(), tags);
-        emitMetric("switch.tx-dropped", timestamp, entry.getTxDropped(), tags);
-        emitMetric("switch.rx-errors", timestamp, entry.getRxErrors(), tags);
-        emitMetric("switch.tx-errors", timestamp, entry.getTxErrors(), tags);
-        emitMetric("switch.rx-frame-error", timestamp, entry.getRxFrameErr(), tags);
-        emitMetric("switch.rx-over-error", timestamp, entry.getRxOverErr(), tags);
-        emitMetric("switch.rx-crc-error", timestamp, entry.getRxCrcErr(), tags);
-        emitMetric("switch.collisions", timestamp, entry.getCollisions(), tags);
+    @Value
+    private static class PortTagsKey implements Serializable {
+        SwitchId switchId;
+        int portNo;
     }
 }
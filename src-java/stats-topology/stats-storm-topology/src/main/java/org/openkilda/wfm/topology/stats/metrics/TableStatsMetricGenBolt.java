@@ -22,12 +22,17 @@ import org.openkilda.messaging.info.stats.TableStatsEntry;
 import org.openkilda.model.SwitchId;
 
 import com.google.common.collect.ImmutableMap;
+import lombok.Value;
 import org.apache.storm.tuple.Tuple;
 
+import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Map;
 
 public class TableStatsMetricGenBolt extends MetricGenBolt {
 
+    private final MetricTagsCache<TableTagsKey> tagsCache = new MetricTagsCache<>(TAGS_CACHE_SIZE);
+
     public TableStatsMetricGenBolt(String metricPrefix) {
         super(metricPrefix);
     }
@@ -42,14 +47,26 @@ public class TableStatsMetricGenBolt extends MetricGenBolt {
 
     private void emit(SwitchId switchId, TableStatsEntry entry) {
         long timestamp = getCommandContext().getCreateTime();
-        Map<String, String> tags = ImmutableMap.of(
-                "switchid", switchId.toOtsdFormat(),
-                "tableid", String.valueOf(entry.getTableId())
+        Map<String, String> tags = tagsCache.get(new TableTagsKey(switchId, entry.getTableId()),
+                TableStatsMetricGenBolt::makeTags);
+
+        emitMetrics(Arrays.asList(
+                datapoint("switch.table.active", timestamp, entry.getActiveEntries(), tags),
+                datapoint("switch.table.lookup", timestamp, entry.getLookupCount(), tags),
+                datapoint("switch.table.matched", timestamp, entry.getMatchedCount(), tags),
+                datapoint("switch.table.missed", timestamp, entry.getLookupCount() - entry.getMatchedCount(), tags)));
+    }
+
+    private static Map<String, String> makeTags(TableTagsKey key) {
+        return ImmutableMap.of(
+                "switchid", key.getSwitchId().toOtsdFormat(),
+                "tableid", String.valueOf(key.getTableId())
         );
+    }
 
-        emitMetric("switch.table.active", timestamp, entry.getActiveEntries(), tags);
-        emitMetric("switch.table.lookup", timestamp, entry.getLookupCount(), tags);
-        emitMetric("switch.table.matched", timestamp, entry.getMatchedCount(), tags);
-        emitMetric("switch.table.missed", timestamp, entry.getLookupCount() - entry.getMatchedCount(), tags);
+    @Value
+    private static class TableTagsKey implements Serializable {
+        SwitchId switchId;
+        int tableId;
     }
 }
@@ -41,10 +41,13 @@ import org.openkilda.messaging.command.flow.BaseFlow;
 import org.openkilda.messaging.command.flow.InstallOneSwitchFlow;
 import org.openkilda.messaging.command.flow.RemoveFlow;
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointEntries;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.grpc.GetPacketInOutStatsResponse;
+import org.openkilda.messaging.info.stats.FlowRttStatsBatchData;
 import org.openkilda.messaging.info.stats.FlowRttStatsData;
+import org.openkilda.messaging.info.stats.FlowRttStatsEntry;
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsEntry;
 import org.openkilda.messaging.info.stats.MeterConfigReply;
@@ -679,6 +682,46 @@ public class StatsTopologyTest extends AbstractStormTest {
         assertEquals(timestamp, datapoint.getTime().longValue());
     }
 
+    @Test
+    public void flowRttBatchTest() throws IOException {
+        long timestamp = TimeUnit.SECONDS.toNanos(1_600_000_000L) + 123_456_789;
+        FlowRttStatsEntry entry = FlowRttStatsEntry.builder()
+                .flowId(flowId)
+                .direction("reverse")
+                .timestamp(timestamp)
+                .count(10)
+                .min(100)
+                .avg(150)
+                .max(300)
+                .percentile(99.9)
+                .percentileValue(290)
+                .build();
+        FlowRttStatsBatchData batch = FlowRttStatsBatchData.builder()
+                .stats(Collections.singletonList(entry))
+                .build();
+        InfoMessage infoMessage = new InfoMessage(batch, timestamp, UUID.randomUUID().toString(),
+                Destination.WFM_STATS, null);
+
+        sendMessage(infoMessage, statsTopologyConfig.getServer42StatsFlowRttTopic());
+
+        List<Datapoint> datapoints = pollDatapoints(5);
+        Map<String, Datapoint> datapointMap = createDatapointMap(datapoints);
+
+        assertEquals(150, datapointMap.get(METRIC_PREFIX + "flow.rtt").getValue().longValue());
+        assertEquals(100, datapointMap.get(METRIC_PREFIX + "flow.rtt.min").getValue().longValue());
+        assertEquals(300, datapointMap.get(METRIC_PREFIX + "flow.rtt.max").getValue().longValue());
+        assertEquals(10, datapointMap.get(METRIC_PREFIX + "flow.rtt.count").getValue().longValue());
+        Datapoint percentile = datapointMap.get(METRIC_PREFIX + "flow.rtt.percentile");
+        assertEquals(290, percentile.getValue().longValue());
+        assertEquals("99.9", percentile.getTags().get("percentile"));
+
+        datapoints.forEach(datapoint -> {
+            assertEquals("reverse", datapoint.getTags().get("direction"));
+            assertEquals(flowId, datapoint.getTags().get("flowid"));
+            assertEquals(TimeUnit.NANOSECONDS.toMillis(timestamp), datapoint.getTime().longValue());
+        });
+    }
+
     @Test
     public void tableStatsTest() throws IOException {
         TableStatsEntry entry = TableStatsEntry.builder()
@@ -849,7 +892,7 @@ public class StatsTopologyTest extends AbstractStormTest {
     private List<Datapoint> pollDatapoints(int expectedDatapointCount) {
         List<Datapoint> datapoints = new ArrayList<>();
 
-        for (int i = 0; i < expectedDatapointCount; i++) {
+        while (datapoints.size() < expectedDatapointCount) {
             ConsumerRecord<String, String> record = null;
             try {
                 record = otsdbConsumer.pollMessage(POLL_TIMEOUT);
@@ -857,8 +900,12 @@ public class StatsTopologyTest extends AbstractStormTest {
                     throw new AssertionError(format(POLL_DATAPOINT_ASSERT_MESSAGE,
                             expectedDatapointCount, datapoints.size()));
                 }
-                Datapoint datapoint = objectMapper.readValue(record.value(), Datapoint.class);
-                datapoints.add(datapoint);
+                InfoData data = objectMapper.readValue(record.value(), InfoData.class);
+                if (data instanceof DatapointEntries) {
+                    datapoints.addAll(((DatapointEntries) data).getDatapointEntries());
+                } else {
+                    datapoints.add((Datapoint) data);
+                }
             } catch (InterruptedException e) {
                 throw new AssertionError(format(POLL_DATAPOINT_ASSERT_MESSAGE,
                         expectedDatapointCount, datapoints.size()));
@@ -866,6 +913,10 @@ public class StatsTopologyTest extends AbstractStormTest {
                 throw new AssertionError(format("Could not parse datapoint object: '%s'", record.value()));
             }
         }
+        if (datapoints.size() > expectedDatapointCount) {
+            throw new AssertionError(format(
+                    "Got more then %d datapoints. Received %d", expectedDatapointCount, datapoints.size()));
+        }
         try {
             // ensure that we received exact expected count of records
             ConsumerRecord<String, String> record = otsdbConsumer.pollMessage(POLL_TIMEOUT);
@@ -0,0 +1,90 @@
+/* Copyright 2021 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class SwitchKeyedFlowCacheTest {
+    private static final long SWITCH_1 = 1L;
+    private static final long SWITCH_2 = 2L;
+    private static final long COOKIE = 0x4000000000000001L;
+
+    private final SwitchKeyedFlowCache cache = new SwitchKeyedFlowCache();
+
+    @Test
+    public void shouldPutAndGetBySwitchAndKey() {
+        CacheFlowEntry first = entry("flow1", COOKIE);
+        CacheFlowEntry second = entry("flow2", COOKIE);
+        cache.put(SWITCH_1, COOKIE, first);
+        cache.put(SWITCH_2, COOKIE, second);
+
+        assertSame(first, cache.get(SWITCH_1, COOKIE));
+        assertSame(second, cache.get(SWITCH_2, COOKIE));
+        assertNull(cache.get(SWITCH_1, COOKIE + 1));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void shouldReplaceExistingEntry() {
+        cache.put(SWITCH_1, COOKIE, entry("flow1", COOKIE));
+        CacheFlowEntry replacement = entry("flow2", COOKIE);
+        cache.put(SWITCH_1, COOKIE, replacement);
+
+        assertSame(replacement, cache.get(SWITCH_1, COOKIE));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldKeepEntriesOnResizeAndRemove() {
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            cache.put(i % 7, i, entry("flow" + i, i));
+        }
+        assertEquals(count, cache.size());
+
+        for (int i = 0; i < count; i += 2) {
+            assertEquals("flow" + i, cache.remove(i % 7, i).getFlowId());
+        }
+        assertEquals(count / 2, cache.size());
+
+        for (int i = 0; i < count; i++) {
+            CacheFlowEntry found = cache.get(i % 7, i);
+            if (i % 2 == 0) {
+                assertNull(found);
+            } else {
+                assertEquals("flow" + i, found.getFlowId());
+            }
+        }
+        assertNull(cache.remove(SWITCH_1, -1));
+    }
+
+    @Test
+    public void shouldClearAllEntries() {
+        cache.put(SWITCH_1, COOKIE, entry("flow1", COOKIE));
+        cache.clear();
+
+        assertNull(cache.get(SWITCH_1, COOKIE));
+        assertEquals(0, cache.size());
+    }
+
+    private static CacheFlowEntry entry(String flowId, long cookie) {
+        return new CacheFlowEntry(flowId, cookie, MeasurePoint.INGRESS);
+    }
+}
@@ -79,7 +79,7 @@ public class CacheBoltTest {
     @Test
     public void cacheBoltInitCookieTest() {
         Flow flow = getFlow();
-        when(flowRepository.findAll()).thenReturn(Collections.singletonList(flow));
+        when(flowRepository.findAllDetached()).thenReturn(Collections.singletonList(flow));
         when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
         when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
 
@@ -112,7 +112,7 @@ public class CacheBoltTest {
     @Test
     public void cacheBoltInitMeterTest() {
         Flow flow = getFlow();
-        when(flowRepository.findAll()).thenReturn(Collections.singletonList(flow));
+        when(flowRepository.findAllDetached()).thenReturn(Collections.singletonList(flow));
         when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
         when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
 